@@ -0,0 +1,31 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the province/ward import.
+ * Maps to the address.import.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "address.import")
+@Data
+public class AddressImportProperties {
+
+    /**
+     * Rows sent to the database per JDBC batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Log progress every this many rows read.
+     */
+    private int progressInterval = 5000;
+
+    /**
+     * Longest accepted value in the SQL file, in characters. Guards against
+     * reading a whole malformed file into one value.
+     */
+    private int maxValueLength = 4096;
+}
@@ -0,0 +1,124 @@
+package org.example.QuanLyMuaVu.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables @Async and provides the bounded executor the domain event listeners
+ * run on (see DomainEventListener).
+ * <p>
+ * - Bounded queue (events.async.queue-capacity); when it is full the
+ *   publishing thread runs the listener itself (back-pressure, nothing is
+ *   dropped)
+ * - Queued events are handled before shutdown completes, up to
+ *   events.async.await-termination-seconds
+ * - Metrics: events.async.queue.size and events.async.active gauges,
+ *   events.async.wait (queued time) and events.async.duration timers,
+ *   events.async.rejected and events.async.failures counters
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+
+    static final String QUEUE_METRIC = "events.async.queue.size";
+    static final String ACTIVE_METRIC = "events.async.active";
+    static final String WAIT_METRIC = "events.async.wait";
+    static final String DURATION_METRIC = "events.async.duration";
+    static final String REJECTED_METRIC = "events.async.rejected";
+    static final String FAILURES_METRIC = "events.async.failures";
+
+    private final DomainEventProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(DomainEventProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor domainEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setTaskDecorator(timed());
+        executor.setRejectedExecutionHandler(callerRunsCounted());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(properties.getAwaitTerminationSeconds());
+        executor.initialize();
+
+        Gauge.builder(QUEUE_METRIC, executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(ACTIVE_METRIC, executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Default executor for @Async methods without a qualifier.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return domainEventExecutor();
+    }
+
+    /**
+     * Listeners return void, so their exceptions end here instead of in a
+     * caller.
+     */
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> {
+            meterRegistry.counter(FAILURES_METRIC, "listener",
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName()).increment();
+            log.error("Async listener {}.{} failed", method.getDeclaringClass().getSimpleName(),
+                    method.getName(), ex);
+        };
+    }
+
+    private TaskDecorator timed() {
+        Timer wait = Timer.builder(WAIT_METRIC).register(meterRegistry);
+        Timer duration = Timer.builder(DURATION_METRIC).register(meterRegistry);
+        return task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                wait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    private ThreadPoolExecutor.CallerRunsPolicy callerRunsCounted() {
+        Counter rejected = Counter.builder(REJECTED_METRIC).register(meterRegistry);
+        return new ThreadPoolExecutor.CallerRunsPolicy() {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                rejected.increment();
+                super.rejectedExecution(task, executor);
+            }
+        };
+    }
+}
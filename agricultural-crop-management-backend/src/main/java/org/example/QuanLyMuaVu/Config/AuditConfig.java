@@ -1,13 +1,10 @@
 package org.example.QuanLyMuaVu.Config;
 
-import org.example.QuanLyMuaVu.Entity.User;
-import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Util.CurrentUserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Optional;
 
@@ -15,27 +12,17 @@ import java.util.Optional;
 @EnableJpaAuditing
 public class AuditConfig {
 
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
 
-    public AuditConfig(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public AuditConfig(CurrentUserService currentUserService) {
+        this.currentUserService = currentUserService;
     }
 
+    /**
+     * Auditor is the user_id claim of the current JWT; no user lookup is needed.
+     */
     @Bean
     public AuditorAware<Long> auditorAware() {
-        return () -> {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return Optional.empty();
-            }
-
-            String username = authentication.getName();
-            if (username == null || "anonymousUser".equals(username)) {
-                return Optional.empty();
-            }
-
-            return userRepository.findByUsername(username)
-                    .map(User::getId);
-        };
+        return () -> Optional.ofNullable(currentUserService.getCurrentUserIdOrNull());
     }
 }
@@ -0,0 +1,31 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for audit log snapshots.
+ * Maps to the audit.snapshot.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "audit.snapshot")
+@Data
+public class AuditSnapshotProperties {
+
+    /**
+     * Snapshots larger than this (in UTF-8 bytes) are stored gzip-compressed.
+     */
+    private int compressThresholdBytes = 1024;
+
+    /**
+     * Every this many entries of an entity, the full state is stored instead
+     * of a diff, bounding how many diffs a reader replays.
+     */
+    private int keyframeInterval = 20;
+
+    /**
+     * Entities whose last audited state is kept in memory to diff against.
+     */
+    private int stateCacheSize = 10000;
+}
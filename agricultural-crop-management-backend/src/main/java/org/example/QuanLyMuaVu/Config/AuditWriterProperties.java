@@ -0,0 +1,38 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the background audit log writer.
+ * Maps to the audit.writer.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "audit.writer")
+@Data
+public class AuditWriterProperties {
+
+    /**
+     * Audit entries waiting to be written. Entries arriving while the queue is
+     * full go to the spill file instead.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Rows inserted per JDBC batch.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Interval between flushes of the queue. A full batch is flushed right
+     * away.
+     */
+    private long flushIntervalMs = 500;
+
+    /**
+     * File (JSON lines) receiving entries that could not be queued or written.
+     * It is replayed into the database on the next startup.
+     */
+    private String spillFile = "audit-spill.jsonl";
+}
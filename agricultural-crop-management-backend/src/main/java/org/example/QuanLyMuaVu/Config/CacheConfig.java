@@ -1,37 +1,66 @@
 package org.example.QuanLyMuaVu.Config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Cache configuration for the application.
- * Uses simple in-memory caching for address data (countries, provinces, wards).
+ * Uses bounded Caffeine caches for @Cacheable results, declared per cache
+ * name under cache.specs in application.yaml.
  * <p>
- * For production with high traffic, consider switching to Redis:
- * 1. Add spring-boot-starter-data-redis dependency
- * 2. Configure Redis connection in application.properties
- * 3. Replace ConcurrentMapCacheManager with RedisCacheManager
+ * Every cache records statistics; Spring Boot publishes them as the
+ * cache.gets, cache.puts, cache.evictions and cache.load.duration metrics,
+ * tagged by cache name, under /actuator/metrics. /actuator/caches lists and
+ * clears the caches.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /**
-     * Configure in-memory cache manager for address data.
-     * Cache entries will persist until application restart or manual eviction.
-     */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "countries", // All countries list
-                "country", // Single country by ID
-                "provinces", // All provinces list
-                "province", // Single province by ID
-                "wards", // Wards by province ID
-                "ward" // Single ward by ID
-        );
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only declared caches exist, as with the former fixed cache names
+        cacheManager.setCacheNames(List.of());
+
+        for (Map.Entry<String, CacheSpecProperties.Spec> entry : properties.getSpecs().entrySet()) {
+            CacheSpecProperties.Spec spec = entry.getValue().withDefaults(properties.getDefaults());
+            cacheManager.registerCustomCache(entry.getKey(), caffeine(entry.getKey(), spec).build());
+        }
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(String name, CacheSpecProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        if (spec.getMaximumSize() != null && spec.getMaximumWeight() != null) {
+            throw new IllegalStateException(
+                    "Cache '" + name + "' sets both maximum-size and maximum-weight");
+        }
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((key, value) -> value instanceof Collection<?> list ? Math.max(1, list.size()) : 1);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        } else {
+            throw new IllegalStateException(
+                    "Cache '" + name + "' has no size bound; set maximum-size or maximum-weight");
+        }
+
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
     }
 }
@@ -0,0 +1,61 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache settings for the application cache manager.
+ * Maps to the cache section in application.yaml
+ * <p>
+ * Every cache name used by {@code @Cacheable} must be declared under
+ * {@code cache.specs}; unset settings fall back to {@code cache.defaults}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+@Data
+public class CacheSpecProperties {
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Maximum number of entries. Mutually exclusive with maximumWeight.
+         */
+        private Long maximumSize;
+
+        /**
+         * Maximum total weight; a list value weighs its element count, any
+         * other value weighs 1. Use for caches of search results.
+         */
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite;
+
+        private Duration expireAfterAccess;
+
+        /**
+         * This spec with unset values taken from {@code defaults}. The size
+         * bound is inherited only as a whole, so a cache bounded by weight
+         * never picks up the default maximum size.
+         */
+        public Spec withDefaults(Spec defaults) {
+            Spec resolved = new Spec();
+            boolean ownBound = maximumSize != null || maximumWeight != null;
+            resolved.setMaximumSize(ownBound ? maximumSize : defaults.getMaximumSize());
+            resolved.setMaximumWeight(ownBound ? maximumWeight : defaults.getMaximumWeight());
+            resolved.setExpireAfterWrite(expireAfterWrite != null ? expireAfterWrite : defaults.getExpireAfterWrite());
+            resolved.setExpireAfterAccess(
+                    expireAfterAccess != null ? expireAfterAccess : defaults.getExpireAfterAccess());
+            return resolved;
+        }
+    }
+}
@@ -1,78 +1,78 @@
 package org.example.QuanLyMuaVu.Config;
 
-import com.nimbusds.jose.JOSEException;
-import org.example.QuanLyMuaVu.DTO.Request.IntrospectRequest;
-import org.example.QuanLyMuaVu.Service.AuthenticationService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.example.QuanLyMuaVu.Service.RevokedTokenIndex;
+import org.example.QuanLyMuaVu.Service.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.spec.SecretKeySpec;
-import java.text.ParseException;
-import java.util.Objects;
+import java.time.Duration;
 
+/**
+ * Decodes bearer tokens in a single verification pass.
+ * <p>
+ * A token seen before is served from {@link VerifiedTokenCache}. Otherwise
+ * Nimbus parses it and checks the HS512 signature and expiry once (no clock
+ * skew, same as JwtTokenService.verifyToken), then the JWT ID is checked
+ * against the in-memory revoked token index before the result is cached.
+ */
 @Component
 @Slf4j
 public class CustomJwtDecoder implements JwtDecoder {
-    @Value("${jwt.signerKey}")
-    private String signerKey;
 
-    @Autowired
-    @Lazy
-    private AuthenticationService authenticationService;
+    private final NimbusJwtDecoder nimbusJwtDecoder;
+    private final RevokedTokenIndex revokedTokenIndex;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+    public CustomJwtDecoder(@Value("${jwt.signerKey}") String signerKey,
+            RevokedTokenIndex revokedTokenIndex,
+            VerifiedTokenCache verifiedTokenCache) {
+        this.revokedTokenIndex = revokedTokenIndex;
+        this.verifiedTokenCache = verifiedTokenCache;
+
+        log.debug("Khoi tao bo giai ma Nimbus JWT bang thuat toan HS512");
+        SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
+        this.nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        this.nimbusJwtDecoder.setJwtValidator(
+                new DelegatingOAuth2TokenValidator<>(new JwtTimestampValidator(Duration.ZERO)));
+    }
 
     @Override
     public Jwt decode(String token) throws JwtException {
+        Jwt cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         log.debug("Dang co gang giai ma JWT token: {}", token.substring(0, Math.min(20, token.length())) + "...");
+        long stamp = verifiedTokenCache.generation();
 
+        Jwt decodedJwt;
         try {
-            // First, introspect the token to check if it's valid
-            var response = authenticationService.introspect(
-                    IntrospectRequest.builder().token(token).build());
-
-            if (!response.isValid()) {
-                log.warn("Kiem tra token khong thanh cong token khong hop le");
-                throw new JwtException("Token invalid");
-            }
-
-            log.debug("Kiem tra token thanh cong tien hanh giai ma JWT");
-
-        } catch (JOSEException | ParseException e) {
-            log.error("Loi trong qua trinh tu kiem tra token: {}", e.getMessage(), e);
-            throw new JwtException("Xac thuc token that bai: " + e.getMessage());
+            decodedJwt = nimbusJwtDecoder.decode(token);
+        } catch (JwtException e) {
+            log.warn("Kiem tra token khong thanh cong token khong hop le: {}", e.getMessage());
+            throw new JwtException("Giai ma JWT khong thanh cong: " + e.getMessage(), e);
         }
 
-        // Initialize JWT decoder if not already done
-        if (Objects.isNull(nimbusJwtDecoder)) {
-            log.debug("Khoi tao bo giai ma Nimbus JWT bang thuat toan HS512");
-            try {
-                SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-                nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                        .macAlgorithm(MacAlgorithm.HS512)
-                        .build();
-                log.debug("Bo giai ma Nimbus JWT da duoc khoi tao thanh cong");
-            } catch (Exception e) {
-                log.error("Khong the khoi tao bo giai ma JWT: {}", e.getMessage(), e);
-                throw new JwtException("Khoi tao bo giai ma JWT khong thanh cong: " + e.getMessage());
-            }
+        String jwtId = decodedJwt.getId();
+        if (jwtId == null || revokedTokenIndex.isRevoked(jwtId)) {
+            log.warn("Token da bi thu hoi hoac thieu JIT: {}", jwtId);
+            throw new JwtException("Token invalid");
         }
 
-        try {
-            Jwt decodedJwt = nimbusJwtDecoder.decode(token);
-            log.debug("JWT token da duoc giai ma thanh cong cho chu the: {}", decodedJwt.getSubject());
-            return decodedJwt;
-        } catch (Exception e) {
-            log.error("Khong giai ma duoc JWT token: {}", e.getMessage(), e);
-            throw new JwtException("Giai ma JWT khong thanh cong: " + e.getMessage());
-        }
+        verifiedTokenCache.put(token, decodedJwt, stamp);
+        log.debug("JWT token da duoc giai ma thanh cong cho chu the: {}", decodedJwt.getSubject());
+        return decodedJwt;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration properties for the farmer dashboard.
+ * Maps to the dashboard.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dashboard")
+@Data
+public class DashboardProperties {
+
+    private Overview overview = new Overview();
+
+    private Cache cache = new Cache();
+
+    private Alerts alerts = new Alerts();
+
+    @Data
+    public static class Overview {
+
+        /**
+         * Budget for the whole overview fan-out. Sections not finished within
+         * it are left out of the response and reported as degraded.
+         */
+        private long sectionTimeoutMs = 2000;
+
+        private Executor executor = new Executor();
+    }
+
+    @Data
+    public static class Alerts {
+
+        /**
+         * Low-stock threshold for supply items without their own
+         * lowStockThreshold.
+         */
+        private BigDecimal defaultLowStockThreshold = BigDecimal.valueOf(5);
+
+        /**
+         * Lots expiring within this many days count as expiring.
+         */
+        private int expiringWithinDays = 30;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Safety-net lifetime of a cached entry. Entries are normally evicted
+         * earlier by domain events.
+         */
+        private long ttlSeconds = 300;
+
+        private int maxEntriesPerRegion = 10000;
+    }
+
+    @Data
+    public static class Executor {
+        private int corePoolSize = 8;
+        private int maxPoolSize = 16;
+        private int queueCapacity = 200;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration properties for the synthetic dataset generator.
+ * Maps to the datagen.* keys (see application-datagen.properties)
+ * <p>
+ * Per-parent sizes are means: each farm, plot, season or lot gets between half
+ * and one and a half times the value. The defaults produce about 1,000 farms,
+ * 10,000 plots and 40,000 seasons, with half a million tasks and expenses,
+ * 600,000 field logs and a million stock movements.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+@Data
+public class DataGenProperties {
+
+    /**
+     * Seed of the random generator. The same seed and anchor date on an empty
+     * database produce the same rows.
+     */
+    private long seed = 42;
+
+    /**
+     * Day the data is generated around: past seasons are completed, the
+     * latest one is active. Defaults to today.
+     */
+    private LocalDate anchorDate;
+
+    private int farms = 1000;
+
+    private int farmsPerOwner = 2;
+
+    private int plotsPerFarm = 10;
+
+    private int seasonsPerPlot = 4;
+
+    private int tasksPerSeason = 12;
+
+    private int expensesPerSeason = 10;
+
+    private int fieldLogsPerSeason = 15;
+
+    private int lotsPerWarehouse = 40;
+
+    private int movementsPerLot = 25;
+
+    /**
+     * Rows sent to the database per JDBC batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Log progress every this many farms.
+     */
+    private int progressInterval = 100;
+
+    /**
+     * Stop the application once the datagen profile has generated the data.
+     */
+    private boolean exitWhenDone = true;
+}
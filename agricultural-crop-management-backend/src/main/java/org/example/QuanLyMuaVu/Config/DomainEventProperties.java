@@ -0,0 +1,31 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the executor running asynchronous domain event
+ * listeners. Maps to the events.async.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "events.async")
+@Data
+public class DomainEventProperties {
+
+    private int corePoolSize = 2;
+
+    private int maxPoolSize = 8;
+
+    /**
+     * Events waiting for a thread. Once full (and the pool at its maximum)
+     * the publishing thread runs the listener itself, which slows publishers
+     * down instead of dropping events.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * How long shutdown waits for queued events to be handled.
+     */
+    private int awaitTerminationSeconds = 30;
+}
@@ -0,0 +1,54 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the transactional outbox.
+ * Maps to the outbox.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxProperties {
+
+    /**
+     * Rows claimed and delivered together.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Batches delivered per poll before yielding to the next poll.
+     */
+    private int maxBatchesPerPoll = 20;
+
+    /**
+     * How long a claimed batch stays with its node. A node dying mid-batch
+     * delays those events by at most this much.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(2);
+
+    /**
+     * Failed deliveries before an event is marked DEAD.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay before retrying a failed delivery, doubled per further failure
+     * up to 64 times this value.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(10);
+
+    /**
+     * Age after which PUBLISHED rows are deleted.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Rows deleted per statement when compacting.
+     */
+    private int compactionChunkSize = 5000;
+}
@@ -0,0 +1,28 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the overdue task job.
+ * Maps to the tasks.overdue.* keys in application.properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tasks.overdue")
+@Data
+public class OverdueTaskProperties {
+
+    /**
+     * Width of the task id range updated per transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Longest time a node holding the job lock keeps the other nodes out if
+     * it dies mid-run.
+     */
+    private Duration lockLease = Duration.ofMinutes(15);
+}
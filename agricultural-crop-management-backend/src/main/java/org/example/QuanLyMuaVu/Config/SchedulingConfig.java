@@ -0,0 +1,12 @@
+package org.example.QuanLyMuaVu.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (revoked token purge/sync, overdue tasks).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -67,6 +67,9 @@ public class SecurityConfig {
                                                 .requestMatchers(HttpMethod.GET, "/api/v1/address/**").permitAll()
                                                 // Admin APIs
                                                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                                                // Operational metrics
+                                                .requestMatchers("/actuator/health").permitAll()
+                                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                                 // Farmer APIs and farm-scoped resources (day-to-day operations)
                                                 .requestMatchers("/api/v1/farmer/**").hasRole("FARMER")
                                                 .requestMatchers("/api/v1/farms/**", "/api/v1/plots/**",
@@ -12,6 +12,8 @@ import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
 import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
 import org.example.QuanLyMuaVu.Service.AddressImportService;
 import org.example.QuanLyMuaVu.Service.AddressService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,11 +25,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * REST endpoints for address data (provinces, wards).
  * <p>
  * Public GET endpoints are available for frontend address selection dropdowns.
+ * They carry an ETag of the address data version, so clients revalidate with
+ * If-None-Match and get 304 until an import changes the data.
  * Import endpoints require ADMIN role.
  */
 @RestController
@@ -44,23 +49,25 @@ public class AddressController {
 
     @Operation(summary = "List all provinces", description = "Get list of all provinces with optional filters")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified")
     })
     @GetMapping("/provinces")
-    public ApiResponse<List<ProvinceResponse>> listProvinces(
+    public ResponseEntity<ApiResponse<List<ProvinceResponse>>> listProvinces(
             @Parameter(description = "Optional keyword to search by province name") @RequestParam(value = "keyword", required = false) String keyword,
             @Parameter(description = "Optional type filter: 'thanh-pho' (city) or 'tinh' (province)") @RequestParam(value = "type", required = false) String type) {
-        return ApiResponse.success(addressService.getAllProvinces(keyword, type));
+        return versioned(() -> addressService.getAllProvinces(keyword, type));
     }
 
     @Operation(summary = "Get province by ID", description = "Get a single province by its ID")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Province not found")
     })
     @GetMapping("/provinces/{id}")
-    public ApiResponse<ProvinceResponse> getProvince(@PathVariable Integer id) {
-        return ApiResponse.success(addressService.getProvinceById(id));
+    public ResponseEntity<ApiResponse<ProvinceResponse>> getProvince(@PathVariable Integer id) {
+        return versioned(() -> addressService.getProvinceById(id));
     }
 
     // ==================== WARD ENDPOINTS ====================
@@ -68,23 +75,25 @@ public class AddressController {
     @Operation(summary = "List wards by province", description = "Get list of wards for a specific province")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Province not found")
     })
     @GetMapping("/provinces/{provinceId}/wards")
-    public ApiResponse<List<WardResponse>> listWardsByProvince(
+    public ResponseEntity<ApiResponse<List<WardResponse>>> listWardsByProvince(
             @PathVariable Integer provinceId,
             @Parameter(description = "Optional keyword to search by ward name") @RequestParam(value = "keyword", required = false) String keyword) {
-        return ApiResponse.success(addressService.getWardsByProvinceId(provinceId, keyword));
+        return versioned(() -> addressService.getWardsByProvinceId(provinceId, keyword));
     }
 
     @Operation(summary = "Get ward by ID", description = "Get a single ward by its ID")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Ward not found")
     })
     @GetMapping("/wards/{id}")
-    public ApiResponse<WardResponse> getWard(@PathVariable Integer id) {
-        return ApiResponse.success(addressService.getWardById(id));
+    public ResponseEntity<ApiResponse<WardResponse>> getWard(@PathVariable Integer id) {
+        return versioned(() -> addressService.getWardById(id));
     }
 
     // ==================== STATISTICS ENDPOINT ====================
@@ -114,7 +123,7 @@ public class AddressController {
         return ApiResponse.success(addressImportService.importFromSqlFile(file.getInputStream()));
     }
 
-    @Operation(summary = "Force reimport address data", description = "Clear all address data and reimport from SQL file (Admin only)")
+    @Operation(summary = "Force reimport address data", description = "Replace all address data with the SQL file contents; removed rows are deleted (Admin only)")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reimport successful"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
@@ -127,4 +136,18 @@ public class AddressController {
             @RequestParam("file") MultipartFile file) throws IOException {
         return ApiResponse.success(addressImportService.forceReimport(file.getInputStream()));
     }
+
+    /**
+     * Wrap a lookup in a 200 response tagged with the data version. Spring
+     * answers 304 instead when the request's If-None-Match matches. The
+     * version is read first, so a concurrent import can only leave the tag
+     * older than the body, never newer.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> versioned(Supplier<T> lookup) {
+        String version = addressService.getDataVersion();
+        return ResponseEntity.ok()
+                .eTag(version)
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(lookup.get()));
+    }
 }
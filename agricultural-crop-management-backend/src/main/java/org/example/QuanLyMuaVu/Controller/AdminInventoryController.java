@@ -0,0 +1,74 @@
+package org.example.QuanLyMuaVu.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Request.LowStockThresholdRequest;
+import org.example.QuanLyMuaVu.DTO.Response.StockBalanceReconcileResponse;
+import org.example.QuanLyMuaVu.DTO.Response.SupplyItemResponse;
+import org.example.QuanLyMuaVu.Service.StockBalanceService;
+import org.example.QuanLyMuaVu.Service.SuppliesService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin maintenance endpoints for the stock balance ledger and supply item
+ * alert settings.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/inventory")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminInventoryController {
+
+    StockBalanceService stockBalanceService;
+    SuppliesService suppliesService;
+
+    @Operation(summary = "Verify stock balances", description = "Recompute balances from stock movements and report any drift without changing data")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/balances/verify")
+    public ApiResponse<StockBalanceReconcileResponse> verifyBalances() {
+        return ApiResponse.success(stockBalanceService.verify());
+    }
+
+    @Operation(summary = "Rebuild stock balances", description = "Recompute balances from stock movements and rewrite any drifted rows")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping("/balances/rebuild")
+    public ApiResponse<StockBalanceReconcileResponse> rebuildBalances() {
+        return ApiResponse.success(stockBalanceService.rebuild());
+    }
+
+    @Operation(summary = "Set low-stock threshold", description = "Set the on-hand quantity at or below which lots of a supply item raise a low-stock alert; null restores the default")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid threshold"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Supply item not found")
+    })
+    @PutMapping("/items/{id}/low-stock-threshold")
+    public ApiResponse<SupplyItemResponse> updateLowStockThreshold(
+            @PathVariable Integer id,
+            @Valid @RequestBody LowStockThresholdRequest request) {
+        return ApiResponse.success(suppliesService.updateLowStockThreshold(id, request.getThreshold()));
+    }
+}
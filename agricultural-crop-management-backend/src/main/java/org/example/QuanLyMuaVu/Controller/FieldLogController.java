@@ -63,8 +63,13 @@ public class FieldLogController {
                         @Parameter(description = "From date (yyyy-MM-dd)") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
                         @Parameter(description = "To date (yyyy-MM-dd)") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
                         @Parameter(description = "Page index (0-based)") @RequestParam(value = "page", defaultValue = "0") int page,
+                        @Parameter(description = "Keyset cursor (empty for first page); enables cursor mode") @RequestParam(value = "cursor", required = false) String cursor,
                         @Parameter(description = "Page size") @RequestParam(value = "size", defaultValue = "20") int size,
                         @Parameter(description = "Sort field") @RequestParam(value = "sort", defaultValue = "logDate,desc") String sort) {
+                if (cursor != null) {
+                        return ApiResponse.success(fieldLogService.listFieldLogsForSeasonByCursor(
+                                        seasonId, from, to, type, q, cursor, size));
+                }
                 return ApiResponse.success(
                                 fieldLogService.listFieldLogsForSeason(seasonId, from, to, type, q, page, size));
         }
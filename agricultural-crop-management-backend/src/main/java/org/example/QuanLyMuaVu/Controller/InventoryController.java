@@ -118,7 +118,11 @@ public class InventoryController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (cursor != null) {
+            return ApiResponse.success(inventoryService.getMovementsByCursor(warehouseId, type, from, to, cursor, size));
+        }
         Pageable pageable = PageRequest.of(page, size);
         return ApiResponse.success(inventoryService.getMovements(warehouseId, type, from, to, pageable));
     }
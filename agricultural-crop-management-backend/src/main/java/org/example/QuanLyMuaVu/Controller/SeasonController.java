@@ -59,7 +59,12 @@ public class SeasonController {
                         @Parameter(description = "From date (yyyy-MM-dd)") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
                         @Parameter(description = "To date (yyyy-MM-dd)") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
                         @Parameter(description = "Page index (0-based)") @RequestParam(value = "page", defaultValue = "0") int page,
+                        @Parameter(description = "Keyset cursor (empty for first page); enables cursor mode") @RequestParam(value = "cursor", required = false) String cursor,
                         @Parameter(description = "Page size") @RequestParam(value = "size", defaultValue = "20") int size) {
+                if (cursor != null) {
+                        return ApiResponse.success(
+                                        seasonService.searchMySeasonsByCursor(plotId, cropId, status, from, to, cursor, size));
+                }
                 return ApiResponse.success(seasonService.searchMySeasons(plotId, cropId, status, from, to, page, size));
         }
 
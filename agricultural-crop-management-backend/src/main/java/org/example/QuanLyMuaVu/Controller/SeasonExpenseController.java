@@ -178,6 +178,7 @@ public class SeasonExpenseController {
                         @Parameter(description = "Maximum amount") @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount,
                         @Parameter(description = "Search keyword for item name") @RequestParam(value = "q", required = false) String keyword,
                         @Parameter(description = "Page index (0-based)") @RequestParam(value = "page", defaultValue = "0") int page,
+                        @Parameter(description = "Keyset cursor (empty for first page); enables cursor mode") @RequestParam(value = "cursor", required = false) String cursor,
                         @Parameter(description = "Page size") @RequestParam(value = "size", defaultValue = "20") int size) {
 
                 ExpenseSearchCriteria criteria = ExpenseSearchCriteria.builder()
@@ -192,7 +193,9 @@ public class SeasonExpenseController {
                                 .keyword(keyword)
                                 .build();
 
-                PageResponse<ExpenseResponse> result = seasonExpenseService.SearchExpense(criteria, page, size);
+                PageResponse<ExpenseResponse> result = cursor != null
+                                ? seasonExpenseService.SearchExpenseByCursor(criteria, cursor, size)
+                                : seasonExpenseService.SearchExpense(criteria, page, size);
 
                 // BR187: If no results found, return with MSG 10 message
                 if (result.getItems().isEmpty()) {
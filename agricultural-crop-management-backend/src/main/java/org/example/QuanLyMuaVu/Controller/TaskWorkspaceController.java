@@ -54,10 +54,16 @@ public class TaskWorkspaceController {
             @Parameter(description = "Filter by season ID") @RequestParam(required = false) Integer seasonId,
             @Parameter(description = "Search by title (min 2 chars)") @RequestParam(required = false) String q,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Keyset cursor (empty for first page); enables cursor mode, sorted by id") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") Integer size,
-            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort by field (default createdAt; only id in cursor mode)") @RequestParam(required = false) String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDirection
     ) {
+        if (cursor != null) {
+            return ApiResponse.success(taskWorkspaceService.listTasksByCursor(
+                    status, seasonId, q, cursor, size, sortBy, sortDirection
+            ));
+        }
         return ApiResponse.success(taskWorkspaceService.listTasks(
                 status, seasonId, q, page, size, sortBy, sortDirection
         ));
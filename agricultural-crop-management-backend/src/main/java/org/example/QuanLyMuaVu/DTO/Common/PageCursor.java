@@ -0,0 +1,142 @@
+package org.example.QuanLyMuaVu.DTO.Common;
+
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset (seek) pagination cursor.
+ * <p>
+ * A cursor identifies the boundary row of the previous page by its
+ * (sort key, id) pair plus the direction to read in. It is serialized as a
+ * URL-safe Base64 string so clients treat it as opaque and pass it back as the
+ * {@code cursor} request parameter.
+ * <p>
+ * An empty {@code cursor} parameter requests the first page in cursor mode.
+ * The sort key is optional: lists ordered by id only leave it {@code null}.
+ */
+public final class PageCursor {
+
+    public enum Direction {
+        NEXT,
+        PREV
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final Direction direction;
+    private final String sortKey;
+    private final Integer id;
+
+    private PageCursor(Direction direction, String sortKey, Integer id) {
+        this.direction = direction;
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Cursor for the first page in cursor mode.
+     */
+    public static PageCursor first() {
+        return new PageCursor(Direction.NEXT, null, null);
+    }
+
+    /**
+     * Encoded cursor for the page following the row with the given key.
+     */
+    public static String after(String sortKey, Integer id) {
+        return new PageCursor(Direction.NEXT, sortKey, id).encode();
+    }
+
+    /**
+     * Encoded cursor for the page preceding the row with the given key.
+     */
+    public static String before(String sortKey, Integer id) {
+        return new PageCursor(Direction.PREV, sortKey, id).encode();
+    }
+
+    /**
+     * Decode a cursor request parameter.
+     *
+     * @param cursor the opaque cursor, blank for the first page
+     * @throws AppException with INVALID_CURSOR if the cursor cannot be decoded
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            Direction direction = switch (parts[0]) {
+                case "N" -> Direction.NEXT;
+                case "P" -> Direction.PREV;
+                default -> throw new AppException(ErrorCode.INVALID_CURSOR);
+            };
+            String sortKey = parts[1].isEmpty() ? null : parts[1];
+            return new PageCursor(direction, sortKey, Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = (direction == Direction.PREV ? "P" : "N") + SEPARATOR
+                + (sortKey != null ? sortKey : "") + SEPARATOR
+                + (id != null ? id : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public boolean isBackward() {
+        return direction == Direction.PREV;
+    }
+
+    /**
+     * Order in which the seek query must read rows for a list displayed in
+     * {@code order}. Backward pages are read in reverse and flipped afterwards.
+     */
+    public Sort.Direction fetchDirection(Sort.Direction order) {
+        if (!isBackward()) {
+            return order;
+        }
+        return order.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    /**
+     * Upper bound (exclusive) of the seek, or {@code null} when the query reads
+     * upwards.
+     */
+    public Integer idBelow(Sort.Direction order) {
+        return readsDownwards(order) ? id : null;
+    }
+
+    /**
+     * Lower bound (exclusive) of the seek, or {@code null} when the query reads
+     * downwards.
+     */
+    public Integer idAbove(Sort.Direction order) {
+        return readsDownwards(order) ? null : id;
+    }
+
+    public String sortKeyBelow(Sort.Direction order) {
+        return readsDownwards(order) ? sortKey : null;
+    }
+
+    public String sortKeyAbove(Sort.Direction order) {
+        return readsDownwards(order) ? null : sortKey;
+    }
+
+    private boolean readsDownwards(Sort.Direction order) {
+        return fetchDirection(order).isDescending();
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.QuanLyMuaVu.DTO.Common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 public class PageResponse<T> {
 
@@ -12,6 +16,15 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
 
+    /**
+     * Keyset mode only: opaque cursors for the adjacent pages, {@code null} when
+     * there is no such page. Offset responses never carry them.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String prevCursor;
+
     public List<T> getItems() {
         return items;
     }
@@ -52,6 +65,22 @@ public class PageResponse<T> {
         this.totalPages = totalPages;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
     public static <T> PageResponse<T> of(Page<?> pageData, List<T> items) {
         PageResponse<T> response = new PageResponse<>();
         response.setItems(items);
@@ -61,4 +90,43 @@ public class PageResponse<T> {
         response.setTotalPages(pageData.getTotalPages());
         return response;
     }
+
+    /**
+     * Build a keyset page from the rows of a seek query.
+     * <p>
+     * {@code rows} must hold up to {@code size + 1} rows in the order the query
+     * read them ({@link PageCursor#fetchDirection}); the extra row only signals
+     * that another page exists. Total counts are not computed in keyset mode, so
+     * {@code totalElements} and {@code totalPages} are reported as -1.
+     */
+    public static <E, T> PageResponse<T> ofKeyset(
+            List<E> rows,
+            int size,
+            PageCursor cursor,
+            Function<E, String> sortKey,
+            Function<E, Integer> id,
+            Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> window = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (cursor.isBackward()) {
+            Collections.reverse(window);
+        }
+
+        boolean hasNext = cursor.isBackward() || hasMore;
+        boolean hasPrev = cursor.isBackward() ? hasMore : !cursor.isFirst();
+
+        PageResponse<T> response = new PageResponse<>();
+        response.setItems(window.stream().map(mapper).toList());
+        response.setPage(0);
+        response.setSize(size);
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        if (!window.isEmpty()) {
+            E first = window.get(0);
+            E last = window.get(window.size() - 1);
+            response.setNextCursor(hasNext ? PageCursor.after(sortKey.apply(last), id.apply(last)) : null);
+            response.setPrevCursor(hasPrev ? PageCursor.before(sortKey.apply(first), id.apply(first)) : null);
+        }
+        return response;
+    }
 }
@@ -0,0 +1,26 @@
+package org.example.QuanLyMuaVu.DTO.Request;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LowStockThresholdRequest {
+
+    /**
+     * On-hand quantity at or below which lots of the item are reported as low
+     * stock. Null clears the override and restores the default threshold.
+     */
+    @DecimalMin(value = "0.0", message = "KEY_INVALID")
+    BigDecimal threshold;
+}
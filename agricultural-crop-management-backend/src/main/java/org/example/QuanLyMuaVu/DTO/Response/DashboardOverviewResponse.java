@@ -1,5 +1,6 @@
 package org.example.QuanLyMuaVu.DTO.Response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.experimental.FieldDefaults;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,6 +31,13 @@ public class DashboardOverviewResponse {
     Harvest harvest;
     Alerts alerts;
 
+    /**
+     * Sections that failed or exceeded the time budget and are missing from
+     * this response; null when the overview is complete.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<String> degradedSections;
+
     @Data
     @Builder
     @NoArgsConstructor
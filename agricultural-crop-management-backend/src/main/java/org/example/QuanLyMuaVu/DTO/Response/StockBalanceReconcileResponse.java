@@ -0,0 +1,41 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of comparing the stock balance ledger against the movement history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockBalanceReconcileResponse {
+
+    /** True if drifted balances were rewritten from the movement history. */
+    boolean repaired;
+    int checkedKeys;
+    int driftCount;
+    List<Drift> drifts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Drift {
+        Integer supplyLotId;
+        Integer warehouseId;
+        Integer locationId;
+        BigDecimal ledgerQuantity;
+        BigDecimal movementQuantity;
+    }
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.math.BigDecimal;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,4 +21,5 @@ public class SupplyItemResponse {
     String activeIngredient;
     String unit;
     Boolean restrictedFlag;
+    BigDecimal lowStockThreshold;
 }
@@ -3,13 +3,15 @@ package org.example.QuanLyMuaVu.Entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Enums.AuditSnapshotFormat;
 
 import java.time.LocalDateTime;
 
 /**
  * Audit log entity for tracking critical operations across the system.
  * Records WHO did WHAT, WHEN, and retains a snapshot of data before the
- * operation.
+ * operation, stored as a diff against the previous entry of the same entity
+ * (see AuditSnapshotCodec).
  * Essential for compliance, debugging, and manual recovery in case of
  * accidental deletions.
  */
@@ -47,7 +49,14 @@ public class AuditLog {
     LocalDateTime performedAt;
 
     @Column(name = "snapshot_data", columnDefinition = "TEXT")
-    String snapshotDataJson; // JSON snapshot of entity before operation
+    String snapshotDataJson; // JSON state or diff (see snapshotFormat), Base64 gzip if snapshotCompressed
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "snapshot_format", length = 10)
+    AuditSnapshotFormat snapshotFormat; // null on rows older than the format: full JSON snapshot
+
+    @Column(name = "snapshot_compressed")
+    Boolean snapshotCompressed;
 
     @Column(name = "reason", length = 500)
     String reason; // User-provided reason for the operation
@@ -24,6 +24,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@NamedEntityGraph(name = "Expense.listView", attributeNodes = {
+        @NamedAttributeNode(value = "season", subgraph = "season"),
+        @NamedAttributeNode("task"),
+        @NamedAttributeNode("user")
+}, subgraphs = @NamedSubgraph(name = "season", attributeNodes = @NamedAttributeNode("plot")))
 @Table(name = "expenses")
 public class Expense {
     @Id
@@ -31,11 +36,11 @@ public class Expense {
     @Column(name = "expense_id")
     Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "season_id", nullable = false)
     Season season;
 
@@ -43,7 +48,7 @@ public class Expense {
      * BR: Optional task reference.
      * Task must belong to the same season if provided.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     Task task;
 
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@NamedEntityGraph(name = "Harvest.withSeason", attributeNodes = @NamedAttributeNode("season"))
 @Table(name = "harvests")
 public class Harvest {
     @Id
@@ -22,7 +23,7 @@ public class Harvest {
     @Column(name = "harvest_id")
     Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "season_id")
     Season season;
 
@@ -2,8 +2,10 @@ package org.example.QuanLyMuaVu.Entity;
 
 import java.util.Date;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -19,4 +21,18 @@ public class InvalidatedToken {
     @Id
     String id;
     Date expiryTime;
-}
\ No newline at end of file
+
+    /**
+     * When the revocation was written; other nodes sync the rows created
+     * since their last sync (see RevokedTokenIndex).
+     */
+    @Column(name = "created_at")
+    Date createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = new Date();
+        }
+    }
+}
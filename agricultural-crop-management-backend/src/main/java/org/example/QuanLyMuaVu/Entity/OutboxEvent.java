@@ -0,0 +1,78 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event recorded in the same transaction as the change that raised
+ * it, and delivered to the event listeners by OutboxRelay once committed.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status,id"),
+        @Index(name = "uk_outbox_event_id", columnList = "event_id", unique = true)
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    /**
+     * DomainEvent.eventId; the idempotency key listeners see on every
+     * delivery of this event.
+     */
+    @Column(name = "event_id", nullable = false, length = 36)
+    String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    String eventType;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    String aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    String payload;
+
+    @Column(name = "occurred_on", nullable = false)
+    LocalDateTime occurredOn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    /**
+     * Batch that currently owns the row; only meaningful until claimed_until.
+     */
+    @Column(name = "claim_token", length = 36)
+    String claimToken;
+
+    /**
+     * The row is not claimable before this time: end of the current claim, or
+     * of the back-off after a failed delivery.
+     */
+    @Column(name = "claimed_until")
+    LocalDateTime claimedUntil;
+
+    @Column(name = "published_at")
+    LocalDateTime publishedAt;
+
+    @Column(name = "last_error", length = 500)
+    String lastError;
+}
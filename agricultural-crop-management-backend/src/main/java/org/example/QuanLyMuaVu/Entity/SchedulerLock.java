@@ -0,0 +1,38 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job, shared by every node of the cluster. Written
+ * only through SchedulerLockService.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "lock_name", length = 64)
+    String name;
+
+    @Column(name = "locked_until", nullable = false)
+    LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    String lockedBy;
+}
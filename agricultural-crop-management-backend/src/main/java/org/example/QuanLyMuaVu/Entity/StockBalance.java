@@ -0,0 +1,86 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running on-hand quantity of a supply lot at a warehouse/location.
+ * <p>
+ * Maintained in the same transaction as every {@link StockMovement} insert so
+ * that on-hand reads do not have to sum the full movement history. A
+ * {@code null} location is the "no specific location" bucket of the warehouse;
+ * its {@code locationKey} is 0, so the unique key covers that bucket too.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "stock_balances", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "supply_lot_id", "warehouse_id", "location_key" })
+})
+public class StockBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supply_lot_id", nullable = false)
+    SupplyLot supplyLot;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    Warehouse warehouse;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    StockLocation location;
+
+    /**
+     * {@code location.id}, or 0 for the warehouse-level bucket. Set on every
+     * write; MySQL unique keys would treat a null location as distinct.
+     */
+    @Column(name = "location_key", nullable = false)
+    Integer locationKey;
+
+    @Column(name = "quantity", nullable = false, precision = 14, scale = 3)
+    BigDecimal quantity;
+
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        locationKey = keyOf(location);
+        updatedAt = LocalDateTime.now();
+    }
+
+    public static int keyOf(StockLocation location) {
+        return location != null ? location.getId() : 0;
+    }
+}
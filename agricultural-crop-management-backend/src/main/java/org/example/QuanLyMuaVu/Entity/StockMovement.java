@@ -4,11 +4,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -29,6 +33,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@NamedEntityGraph(name = "StockMovement.listView", attributeNodes = {
+        @NamedAttributeNode(value = "supplyLot", subgraph = "supplyLot"),
+        @NamedAttributeNode("warehouse"),
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("season"),
+        @NamedAttributeNode("task")
+}, subgraphs = @NamedSubgraph(name = "supplyLot", attributeNodes = @NamedAttributeNode("supplyItem")))
 @Table(name = "stock_movements")
 public class StockMovement {
 
@@ -37,15 +48,15 @@ public class StockMovement {
     @Column(name = "id")
     Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supply_lot_id", nullable = false)
     SupplyLot supplyLot;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "warehouse_id", nullable = false)
     Warehouse warehouse;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     StockLocation location;
 
@@ -59,11 +70,11 @@ public class StockMovement {
     @Column(name = "movement_date", nullable = false)
     LocalDateTime movementDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "season_id")
     Season season;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     Task task;
 
@@ -14,6 +14,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
+import java.math.BigDecimal;
+
 @Getter
 @Setter
 @Builder
@@ -40,5 +42,12 @@ public class SupplyItem {
 
     @Column(name = "restricted_flag")
     Boolean restrictedFlag;
+
+    /**
+     * On-hand quantity at or below which a lot of this item raises a low-stock
+     * alert. Null falls back to dashboard.alerts.default-low-stock-threshold.
+     */
+    @Column(name = "low_stock_threshold", precision = 14, scale = 3)
+    BigDecimal lowStockThreshold;
 }
 
@@ -2,6 +2,7 @@ package org.example.QuanLyMuaVu.Entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,9 +14,11 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import org.example.QuanLyMuaVu.Enums.UserStatus;
 
@@ -65,15 +68,25 @@ public class User {
     @Column(name = "status", nullable = false)
     UserStatus status = UserStatus.ACTIVE;
 
-    @ManyToOne
+    /*
+     * Associations are lazy and left out of the Lombok equals/hashCode/toString,
+     * so logging or comparing a user never loads them.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "province_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     Province province;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ward_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     Ward ward;
 
     @ManyToMany
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @jakarta.persistence.JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
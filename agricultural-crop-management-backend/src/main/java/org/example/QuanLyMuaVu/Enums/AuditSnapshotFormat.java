@@ -0,0 +1,12 @@
+package org.example.QuanLyMuaVu.Enums;
+
+/**
+ * Format of an audit log snapshot. Rows written before formats existed have
+ * none and hold a full JSON snapshot.
+ */
+public enum AuditSnapshotFormat {
+    /** Full projection of the entity (a keyframe) */
+    STATE,
+    /** JSON-patch-style operations applied to the previous entry's state */
+    DIFF
+}
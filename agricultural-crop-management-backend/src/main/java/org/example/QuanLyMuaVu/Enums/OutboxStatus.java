@@ -0,0 +1,13 @@
+package org.example.QuanLyMuaVu.Enums;
+
+/**
+ * Delivery state of an outbox row.
+ */
+public enum OutboxStatus {
+    /** Waiting for (another) delivery attempt */
+    PENDING,
+    /** Delivered to every local listener */
+    PUBLISHED,
+    /** Gave up after outbox.max-attempts failed deliveries */
+    DEAD
+}
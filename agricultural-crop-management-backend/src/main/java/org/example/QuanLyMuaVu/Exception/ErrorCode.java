@@ -17,6 +17,7 @@ public enum ErrorCode {
         RESOURCE_NOT_FOUND("ERR_RESOURCE_NOT_FOUND", "Resource not found", HttpStatus.NOT_FOUND),
         DUPLICATE_RESOURCE("ERR_DUPLICATE_RESOURCE", "Resource already exists", HttpStatus.CONFLICT),
         UNAUTHENTICATED("ERR_UNAUTHENTICATED", "Unauthenticated", HttpStatus.UNAUTHORIZED),
+        INVALID_CURSOR("ERR_INVALID_CURSOR", "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
 
         // User errors
         USERNAME_BLANK("ERR_USERNAME_BLANK", "Username must not be blank", HttpStatus.BAD_REQUEST),
@@ -118,6 +119,7 @@ public enum ErrorCode {
 
         // Inventory errors
         INSUFFICIENT_STOCK("ERR_INSUFFICIENT_STOCK", "Insufficient stock for this operation", HttpStatus.BAD_REQUEST),
+        STOCK_BUSY("ERR_STOCK_BUSY", "Stock is being updated by another request, please retry", HttpStatus.CONFLICT),
         ADJUST_NOTE_REQUIRED("ERR_ADJUST_NOTE_REQUIRED", "Note is required for ADJUST movements",
                         HttpStatus.BAD_REQUEST),
         OUT_SEASON_REQUIRED("ERR_OUT_SEASON_REQUIRED", "Season is required for OUT movements", HttpStatus.BAD_REQUEST),
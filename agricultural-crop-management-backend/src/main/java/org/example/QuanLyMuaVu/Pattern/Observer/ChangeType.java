@@ -0,0 +1,10 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+/**
+ * Kind of change carried by record-level domain events.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
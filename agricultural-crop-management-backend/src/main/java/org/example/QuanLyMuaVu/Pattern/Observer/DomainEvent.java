@@ -1,5 +1,7 @@
 package org.example.QuanLyMuaVu.Pattern.Observer;
 
+import org.example.QuanLyMuaVu.Entity.Season;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -49,4 +51,16 @@ public abstract class DomainEvent {
      * Returns the event type name for logging/auditing.
      */
     public abstract String getEventType();
+
+    /**
+     * Resolves the farm owner of a season (season -> plot -> farm -> owner),
+     * or null if the chain is incomplete.
+     */
+    protected static Long ownerIdOf(Season season) {
+        if (season == null || season.getPlot() == null || season.getPlot().getFarm() == null
+                || season.getPlot().getFarm().getOwner() == null) {
+            return null;
+        }
+        return season.getPlot().getFarm().getOwner().getId();
+    }
 }
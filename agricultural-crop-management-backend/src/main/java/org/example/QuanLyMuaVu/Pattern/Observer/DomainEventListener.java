@@ -1,9 +1,9 @@
 package org.example.QuanLyMuaVu.Pattern.Observer;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -15,9 +15,11 @@ import org.springframework.stereotype.Component;
  * - Statistics updates
  * - Audit trail persistence
  * <p>
- * Uses Spring's @EventListener for automatic event subscription.
- * 
- * @Async enables non-blocking event processing.
+ * Handlers consume the events through the transactional outbox
+ * (OutboxRelay): they only see committed changes, run on the domain event
+ * executor of one node, and are retried if they throw. Delivery is
+ * at-least-once, so side effects added here must be idempotent on
+ * {@link OutboxMessage#getEventId()}.
  */
 @Component
 @RequiredArgsConstructor
@@ -27,14 +29,14 @@ public class DomainEventListener {
     // TODO: Inject notification service when available
     // private final NotificationService notificationService;
 
-    @EventListener
-    @Async
-    public void handleSeasonCreated(SeasonCreatedEvent event) {
+    @EventListener(condition = "#message.eventType == 'SEASON_CREATED'")
+    public void handleSeasonCreated(OutboxMessage message) {
+        JsonNode event = message.getPayload();
         log.info("[EVENT] Season created: id={}, name={}, plotId={}, cropId={}",
-                event.getSeasonId(),
-                event.getSeasonName(),
-                event.getPlotId(),
-                event.getCropId());
+                event.path("seasonId").asText(),
+                event.path("seasonName").asText(),
+                event.path("plotId").asText(),
+                event.path("cropId").asText());
 
         // TODO: Future enhancements:
         // 1. Auto-generate tasks from crop-specific templates
@@ -42,14 +44,14 @@ public class DomainEventListener {
         // 3. Update farm dashboard statistics
     }
 
-    @EventListener
-    @Async
-    public void handleTaskCompleted(TaskCompletedEvent event) {
+    @EventListener(condition = "#message.eventType == 'TASK_COMPLETED'")
+    public void handleTaskCompleted(OutboxMessage message) {
+        JsonNode event = message.getPayload();
         log.info("[EVENT] Task completed: id={}, title={}, seasonId={}, previousStatus={}",
-                event.getTaskId(),
-                event.getTaskTitle(),
-                event.getSeasonId(),
-                event.getPreviousStatus());
+                event.path("taskId").asText(),
+                event.path("taskTitle").asText(),
+                event.path("seasonId").asText(),
+                event.path("previousStatus").asText());
 
         // TODO: Future enhancements:
         // 1. Update season progress percentage
@@ -57,18 +59,18 @@ public class DomainEventListener {
         // 3. Send completion notification
     }
 
-    @EventListener
-    @Async
-    public void handleIncidentReported(IncidentReportedEvent event) {
+    @EventListener(condition = "#message.eventType == 'INCIDENT_REPORTED'")
+    public void handleIncidentReported(OutboxMessage message) {
+        JsonNode event = message.getPayload();
         log.info("[EVENT] Incident reported: id={}, type={}, severity={}, seasonId={}, by user={}",
-                event.getIncidentId(),
-                event.getIncidentType(),
-                event.getSeverity(),
-                event.getSeasonId(),
-                event.getReportedByUserId());
+                event.path("incidentId").asText(),
+                event.path("incidentType").asText(),
+                event.path("severity").asText(),
+                event.path("seasonId").asText(),
+                event.path("reportedByUserId").asText());
 
         // HIGH severity incidents should trigger auto-task creation
-        if ("HIGH".equalsIgnoreCase(event.getSeverity())) {
+        if ("HIGH".equalsIgnoreCase(event.path("severity").asText())) {
             log.warn("[EVENT] HIGH severity incident detected - consider auto-creating mitigation task");
             // TODO: Auto-create mitigation task:
             // taskService.createMitigationTask(event.getSeasonId(), event.getIncidentId());
@@ -0,0 +1,34 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.Expense;
+
+/**
+ * Observer Pattern: Expense Changed Event.
+ * <p>
+ * Published when an expense is created, updated or deleted.
+ * Listeners can use this to:
+ * - Refresh season cost KPIs and dashboard expense totals
+ * - Track budget consumption
+ */
+@Getter
+public class ExpenseChangedEvent extends DomainEvent {
+
+    private final Integer expenseId;
+    private final Integer seasonId;
+    private final Long ownerId;
+    private final ChangeType changeType;
+
+    public ExpenseChangedEvent(Expense expense, ChangeType changeType) {
+        super("Expense", expense.getId() != null ? expense.getId().toString() : "unknown");
+        this.expenseId = expense.getId();
+        this.seasonId = expense.getSeason() != null ? expense.getSeason().getId() : null;
+        this.ownerId = ownerIdOf(expense.getSeason());
+        this.changeType = changeType;
+    }
+
+    @Override
+    public String getEventType() {
+        return "EXPENSE_" + changeType.name();
+    }
+}
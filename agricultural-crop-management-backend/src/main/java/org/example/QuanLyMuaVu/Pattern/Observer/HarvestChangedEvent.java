@@ -0,0 +1,34 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.Harvest;
+
+/**
+ * Observer Pattern: Harvest Changed Event.
+ * <p>
+ * Published when a harvest record is created, updated or deleted.
+ * Listeners can use this to:
+ * - Refresh season yield and revenue figures
+ * - Update dashboard harvest totals
+ */
+@Getter
+public class HarvestChangedEvent extends DomainEvent {
+
+    private final Integer harvestId;
+    private final Integer seasonId;
+    private final Long ownerId;
+    private final ChangeType changeType;
+
+    public HarvestChangedEvent(Harvest harvest, ChangeType changeType) {
+        super("Harvest", harvest.getId() != null ? harvest.getId().toString() : "unknown");
+        this.harvestId = harvest.getId();
+        this.seasonId = harvest.getSeason() != null ? harvest.getSeason().getId() : null;
+        this.ownerId = ownerIdOf(harvest.getSeason());
+        this.changeType = changeType;
+    }
+
+    @Override
+    public String getEventType() {
+        return "HARVEST_" + changeType.name();
+    }
+}
@@ -21,6 +21,7 @@ public class IncidentReportedEvent extends DomainEvent {
     private final String severity;
     private final Integer seasonId;
     private final Long reportedByUserId;
+    private final Long ownerId;
 
     public IncidentReportedEvent(Incident incident) {
         super("Incident", incident.getId() != null ? incident.getId().toString() : "unknown");
@@ -29,6 +30,7 @@ public class IncidentReportedEvent extends DomainEvent {
         this.severity = incident.getSeverity() != null ? incident.getSeverity().name() : null;
         this.seasonId = incident.getSeason() != null ? incident.getSeason().getId() : null;
         this.reportedByUserId = incident.getReportedBy() != null ? incident.getReportedBy().getId() : null;
+        this.ownerId = ownerIdOf(incident.getSeason());
     }
 
     @Override
@@ -0,0 +1,48 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Observer Pattern: a domain event delivered from the outbox.
+ * <p>
+ * Published by OutboxRelay once the transaction that raised the event has
+ * committed, on whichever node claimed it. Delivery is at-least-once: a
+ * listener can see the same event again (after a failure or a node crash), and
+ * should use {@link #getEventId()} as its idempotency key for side effects.
+ * <p>
+ * The payload holds the properties of the original event, e.g.
+ * {@code payload.path("seasonId")}.
+ */
+@Getter
+public class OutboxMessage {
+
+    private final String eventId;
+    private final String eventType;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final LocalDateTime occurredOn;
+    private final JsonNode payload;
+
+    /**
+     * 1 on the first delivery.
+     */
+    private final int attempt;
+
+    public OutboxMessage(String eventId, String eventType, String aggregateType, String aggregateId,
+            LocalDateTime occurredOn, JsonNode payload, int attempt) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.occurredOn = occurredOn;
+        this.payload = payload;
+        this.attempt = attempt;
+    }
+
+    public boolean isRedelivery() {
+        return attempt > 1;
+    }
+}
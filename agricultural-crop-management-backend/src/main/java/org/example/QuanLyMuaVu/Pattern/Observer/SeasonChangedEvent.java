@@ -0,0 +1,36 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.Season;
+
+/**
+ * Observer Pattern: Season Changed Event.
+ * <p>
+ * Published when a season's details are edited or a planned season is
+ * deleted. Creation and lifecycle moves are published as
+ * {@link SeasonCreatedEvent} and {@link SeasonStatusChangedEvent}.
+ * Listeners can use this to:
+ * - Refresh the season context shown on the dashboard
+ * - Re-plan tasks against changed season dates
+ */
+@Getter
+public class SeasonChangedEvent extends DomainEvent {
+
+    private final Integer seasonId;
+    private final Integer plotId;
+    private final Long ownerId;
+    private final ChangeType changeType;
+
+    public SeasonChangedEvent(Season season, ChangeType changeType) {
+        super("Season", season.getId() != null ? season.getId().toString() : "unknown");
+        this.seasonId = season.getId();
+        this.plotId = season.getPlot() != null ? season.getPlot().getId() : null;
+        this.ownerId = ownerIdOf(season);
+        this.changeType = changeType;
+    }
+
+    @Override
+    public String getEventType() {
+        return "SEASON_" + changeType.name();
+    }
+}
@@ -19,6 +19,7 @@ public class SeasonCreatedEvent extends DomainEvent {
     private final String seasonName;
     private final Integer plotId;
     private final Integer cropId;
+    private final Long ownerId;
 
     public SeasonCreatedEvent(Season season) {
         super("Season", season.getId() != null ? season.getId().toString() : "unknown");
@@ -26,6 +27,7 @@ public class SeasonCreatedEvent extends DomainEvent {
         this.seasonName = season.getSeasonName();
         this.plotId = season.getPlot() != null ? season.getPlot().getId() : null;
         this.cropId = season.getCrop() != null ? season.getCrop().getId() : null;
+        this.ownerId = ownerIdOf(season);
     }
 
     @Override
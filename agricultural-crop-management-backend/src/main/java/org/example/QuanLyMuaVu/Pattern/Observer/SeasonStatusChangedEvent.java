@@ -0,0 +1,36 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+
+/**
+ * Observer Pattern: Season Status Changed Event.
+ * <p>
+ * Published when a season moves through its lifecycle (start, complete,
+ * cancel, archive).
+ * Listeners can use this to:
+ * - Refresh per-status season counts
+ * - Re-resolve the "current season" dashboard context
+ */
+@Getter
+public class SeasonStatusChangedEvent extends DomainEvent {
+
+    private final Integer seasonId;
+    private final SeasonStatus previousStatus;
+    private final SeasonStatus newStatus;
+    private final Long ownerId;
+
+    public SeasonStatusChangedEvent(Season season, SeasonStatus previousStatus) {
+        super("Season", season.getId() != null ? season.getId().toString() : "unknown");
+        this.seasonId = season.getId();
+        this.previousStatus = previousStatus;
+        this.newStatus = season.getStatus();
+        this.ownerId = ownerIdOf(season);
+    }
+
+    @Override
+    public String getEventType() {
+        return "SEASON_STATUS_CHANGED";
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+
+/**
+ * Observer Pattern: Stock Movement Recorded Event.
+ * <p>
+ * Published when an IN/OUT/ADJUST movement is recorded against a lot.
+ * Listeners can use this to:
+ * - Refresh low-stock and expiring-lot alerts
+ * - Notify the farm owner when stock drops below threshold
+ */
+@Getter
+public class StockMovementRecordedEvent extends DomainEvent {
+
+    private final Integer movementId;
+    private final Integer supplyLotId;
+    private final Integer warehouseId;
+    private final StockMovementType movementType;
+    private final Long ownerId;
+
+    public StockMovementRecordedEvent(StockMovement movement) {
+        super("StockMovement", movement.getId() != null ? movement.getId().toString() : "unknown");
+        this.movementId = movement.getId();
+        this.supplyLotId = movement.getSupplyLot() != null ? movement.getSupplyLot().getId() : null;
+        this.warehouseId = movement.getWarehouse() != null ? movement.getWarehouse().getId() : null;
+        this.movementType = movement.getMovementType();
+        this.ownerId = movement.getWarehouse() != null && movement.getWarehouse().getFarm() != null
+                && movement.getWarehouse().getFarm().getOwner() != null
+                        ? movement.getWarehouse().getFarm().getOwner().getId()
+                        : null;
+    }
+
+    @Override
+    public String getEventType() {
+        return "STOCK_MOVEMENT_RECORDED";
+    }
+}
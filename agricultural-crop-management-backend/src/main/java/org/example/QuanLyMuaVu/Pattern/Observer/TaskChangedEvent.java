@@ -0,0 +1,38 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Entity.Task;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+
+/**
+ * Observer Pattern: Task Changed Event.
+ * <p>
+ * Published when a task is created, edited, started, cancelled or deleted.
+ * Completion is published as {@link TaskCompletedEvent} instead.
+ * Listeners can use this to:
+ * - Refresh season task counts and progress
+ * - Notify the assignee of rescheduled work
+ */
+@Getter
+public class TaskChangedEvent extends DomainEvent {
+
+    private final Integer taskId;
+    private final Integer seasonId;
+    private final TaskStatus status;
+    private final Long ownerId;
+    private final ChangeType changeType;
+
+    public TaskChangedEvent(Task task, ChangeType changeType) {
+        super("Task", task.getId() != null ? task.getId().toString() : "unknown");
+        this.taskId = task.getId();
+        this.seasonId = task.getSeason() != null ? task.getSeason().getId() : null;
+        this.status = task.getStatus();
+        this.ownerId = ownerIdOf(task.getSeason());
+        this.changeType = changeType;
+    }
+
+    @Override
+    public String getEventType() {
+        return "TASK_" + changeType.name();
+    }
+}
@@ -21,6 +21,7 @@ public class TaskCompletedEvent extends DomainEvent {
     private final String taskTitle;
     private final Integer seasonId;
     private final TaskStatus previousStatus;
+    private final Long ownerId;
 
     public TaskCompletedEvent(Task task, TaskStatus previousStatus) {
         super("Task", task.getId() != null ? task.getId().toString() : "unknown");
@@ -28,6 +29,7 @@ public class TaskCompletedEvent extends DomainEvent {
         this.taskTitle = task.getTitle();
         this.seasonId = task.getSeason() != null ? task.getSeason().getId() : null;
         this.previousStatus = previousStatus;
+        this.ownerId = ownerIdOf(task.getSeason());
     }
 
     @Override
@@ -0,0 +1,37 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import lombok.Getter;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+
+/**
+ * Observer Pattern: Task Overdue Event.
+ * <p>
+ * Published by the overdue task job for every task it moves to OVERDUE.
+ * Listeners can use this to:
+ * - Refresh dashboard task counters
+ * - Remind the task owner
+ */
+@Getter
+public class TaskOverdueEvent extends DomainEvent {
+
+    private final Integer taskId;
+    private final String taskTitle;
+    private final Integer seasonId;
+    private final TaskStatus previousStatus;
+    private final Long ownerId;
+
+    public TaskOverdueEvent(Integer taskId, String taskTitle, Integer seasonId, TaskStatus previousStatus,
+            Long ownerId) {
+        super("Task", taskId != null ? taskId.toString() : "unknown");
+        this.taskId = taskId;
+        this.taskTitle = taskTitle;
+        this.seasonId = seasonId;
+        this.previousStatus = previousStatus;
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public String getEventType() {
+        return "TASK_OVERDUE";
+    }
+}
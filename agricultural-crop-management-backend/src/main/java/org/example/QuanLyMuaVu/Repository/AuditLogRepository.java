@@ -21,4 +21,11 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      * Find audit logs by operation type (e.g., all SOFT_DELETE operations).
      */
     List<AuditLog> findByOperationOrderByPerformedAtDesc(String operation);
+
+    /**
+     * All audit logs of an entity in the order they happened, for replaying
+     * snapshot diffs. Entries spilled by the writer are inserted late, so the
+     * id does not give that order.
+     */
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByPerformedAtAscIdAsc(String entityType, Integer entityId);
 }
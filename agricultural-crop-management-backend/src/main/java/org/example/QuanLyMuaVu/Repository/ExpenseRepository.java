@@ -1,7 +1,12 @@
 package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.Expense;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,10 +16,12 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
+public interface ExpenseRepository extends JpaRepository<Expense, Integer>, JpaSpecificationExecutor<Expense> {
 
+    @EntityGraph("Expense.listView")
     List<Expense> findByItemNameContainingIgnoreCase(String itemName);
 
+    @EntityGraph("Expense.listView")
     List<Expense> findAllBySeason_Id(Integer seasonId);
 
     List<Expense> findAllBySeason_IdAndExpenseDateBetween(Integer seasonId, LocalDate from, LocalDate to);
@@ -22,12 +29,22 @@ public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
     boolean existsBySeason_Id(Integer seasonId);
 
     // Methods for fetching all farmer's expenses
+    @EntityGraph("Expense.listView")
     List<Expense> findAllByUser_IdOrderByExpenseDateDesc(Long userId);
 
     List<Expense> findAllByUser_IdAndSeason_IdOrderByExpenseDateDesc(Long userId, Integer seasonId);
 
+    @EntityGraph("Expense.listView")
     List<Expense> findAllByUser_IdAndItemNameContainingIgnoreCaseOrderByExpenseDateDesc(Long userId, String itemName);
 
+    /**
+     * Expense search page, fetched with season, plot, task and user for the
+     * list view. The count query is not affected.
+     */
+    @Override
+    @EntityGraph("Expense.listView")
+    Page<Expense> findAll(Specification<Expense> spec, Pageable pageable);
+
     /**
      * Sum total expenses for a season.
      * Used for dashboard expense totals.
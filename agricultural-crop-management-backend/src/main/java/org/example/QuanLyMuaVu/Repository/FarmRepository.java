@@ -4,6 +4,7 @@ import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,8 +16,10 @@ import java.util.Optional;
 @Repository
 public interface FarmRepository extends JpaRepository<Farm, Integer> {
 
+        @EntityGraph("Farm.withAddress")
         List<Farm> findAllByOwner(User owner);
 
+        @EntityGraph("Farm.withAddress")
         Optional<Farm> findByIdAndOwner(Integer id, User owner);
 
         boolean existsByOwnerAndNameIgnoreCase(User owner, String name);
@@ -66,6 +69,13 @@ public interface FarmRepository extends JpaRepository<Farm, Integer> {
         @Query("SELECT COUNT(f) > 0 FROM Farm f WHERE f.id = :farmId AND f.owner.id = :ownerId")
         boolean existsByIdAndOwnerId(@Param("farmId") Integer farmId, @Param("ownerId") Long ownerId);
 
+        /**
+         * Owner id of a farm, read from farms.owner_id without loading the farm.
+         * Used by OwnershipIndex.
+         */
+        @Query("SELECT f.owner.id FROM Farm f WHERE f.id = :farmId")
+        Optional<Long> findOwnerIdById(@Param("farmId") Integer farmId);
+
         /**
          * Count active farms by owner ID.
          * Used for dashboard active farms count.
@@ -76,6 +86,7 @@ public interface FarmRepository extends JpaRepository<Farm, Integer> {
         @Query("SELECT f FROM Farm f WHERE f.owner = :owner "
                         + "AND (:keyword IS NULL OR LOWER(f.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
                         + "AND (:active IS NULL OR f.active = :active)")
+        @EntityGraph("Farm.withAddress")
         Page<Farm> searchByOwnerAndKeywordAndActive(
                         @Param("owner") User owner,
                         @Param("keyword") String keyword,
@@ -1,7 +1,10 @@
 package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.FieldLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -15,4 +18,25 @@ public interface FieldLogRepository extends JpaRepository<FieldLog, Integer> {
     List<FieldLog> findAllBySeason_IdAndLogDateBetween(Integer seasonId, LocalDate from, LocalDate to);
 
     boolean existsBySeason_Id(Integer seasonId);
+
+    /**
+     * Keyset page of a season's field logs ordered by id (direction and limit
+     * come from the pageable). Text filters are expected in lower case.
+     */
+    @Query("SELECT l FROM FieldLog l WHERE l.season.id = :seasonId " +
+            "AND (:from IS NULL OR l.logDate >= :from) " +
+            "AND (:to IS NULL OR l.logDate <= :to) " +
+            "AND (:type IS NULL OR LOWER(l.logType) LIKE CONCAT('%', :type, '%')) " +
+            "AND (:q IS NULL OR LOWER(l.notes) LIKE CONCAT('%', :q, '%')) " +
+            "AND (:idBelow IS NULL OR l.id < :idBelow) " +
+            "AND (:idAbove IS NULL OR l.id > :idAbove)")
+    List<FieldLog> seekBySeasonId(
+            @Param("seasonId") Integer seasonId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("type") String type,
+            @Param("q") String q,
+            @Param("idBelow") Integer idBelow,
+            @Param("idAbove") Integer idAbove,
+            Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.Harvest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,6 +23,26 @@ public interface HarvestRepository extends JpaRepository<Harvest, Integer> {
 
     boolean existsBySeason_Id(Integer seasonId);
 
+    /**
+     * Keyset page of the owner's harvests ordered by id (direction and limit come
+     * from the pageable). idBelow/idAbove are the exclusive seek bounds.
+     */
+    @Query("SELECT h FROM Harvest h WHERE h.season.plot.farm.owner.id = :ownerId " +
+            "AND (:seasonId IS NULL OR h.season.id = :seasonId) " +
+            "AND (:from IS NULL OR h.harvestDate >= :from) " +
+            "AND (:to IS NULL OR h.harvestDate <= :to) " +
+            "AND (:idBelow IS NULL OR h.id < :idBelow) " +
+            "AND (:idAbove IS NULL OR h.id > :idAbove)")
+    @EntityGraph("Harvest.withSeason")
+    List<Harvest> seekByFarmOwnerId(
+            @Param("ownerId") Long ownerId,
+            @Param("seasonId") Integer seasonId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("idBelow") Integer idBelow,
+            @Param("idAbove") Integer idAbove,
+            Pageable pageable);
+
     @Query("SELECT COALESCE(SUM(h.quantity), 0) FROM Harvest h WHERE h.season.id = :seasonId")
     BigDecimal sumQuantityBySeasonId(@Param("seasonId") Integer seasonId);
 
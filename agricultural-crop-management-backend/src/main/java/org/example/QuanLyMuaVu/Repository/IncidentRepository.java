@@ -4,19 +4,33 @@ import org.example.QuanLyMuaVu.Entity.Incident;
 import org.example.QuanLyMuaVu.Entity.Season;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Enums.IncidentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IncidentRepository extends JpaRepository<Incident, Integer>, JpaSpecificationExecutor<Incident> {
 
+    @EntityGraph("Incident.listView")
     List<Incident> findAllBySeason(Season season);
 
+    /**
+     * Incident search page, fetched with season and reporter for the list
+     * view. The count query is not affected.
+     */
+    @Override
+    @EntityGraph("Incident.listView")
+    Page<Incident> findAll(Specification<Incident> spec, Pageable pageable);
+
     /**
      * Count incidents by season and status for summary chips
      */
@@ -35,4 +49,19 @@ public interface IncidentRepository extends JpaRepository<Incident, Integer>, Jp
     @Query("SELECT COUNT(i) FROM Incident i WHERE i.season.plot.farm.owner.id = :ownerId AND i.status IN :openStatuses")
     long countByFarmOwnerIdAndStatusIn(@Param("ownerId") Long ownerId,
             @Param("openStatuses") List<IncidentStatus> openStatuses);
+
+    /**
+     * Count incidents per season in the given statuses in a single grouped
+     * query. Seasons without such incidents are absent from the result.
+     */
+    @Query("SELECT i.season.id AS seasonId, COUNT(i) AS total FROM Incident i "
+            + "WHERE i.season.id IN :seasonIds AND i.status IN :statuses GROUP BY i.season.id")
+    List<SeasonCount> countGroupedBySeasonIdInAndStatusIn(@Param("seasonIds") Collection<Integer> seasonIds,
+            @Param("statuses") Collection<IncidentStatus> statuses);
+
+    interface SeasonCount {
+        Integer getSeasonId();
+
+        Long getTotal();
+    }
 }
@@ -1,9 +1,31 @@
 package org.example.QuanLyMuaVu.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {}
\ No newline at end of file
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+
+    /**
+     * Revocations whose access token expired after {@code cutoff}; those are
+     * the ones that can still reject a presented token.
+     */
+    List<InvalidatedToken> findAllByExpiryTimeAfter(Date cutoff);
+
+    /**
+     * Revocations written after {@code since}, by any node.
+     */
+    List<InvalidatedToken> findAllByCreatedAtAfter(Date since);
+
+    @Modifying
+    @Query("delete from InvalidatedToken t where t.expiryTime < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Date cutoff);
+}
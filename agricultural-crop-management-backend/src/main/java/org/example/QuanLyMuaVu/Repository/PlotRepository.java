@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Plot;
 import org.example.QuanLyMuaVu.Entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,8 +33,16 @@ public interface PlotRepository extends JpaRepository<Plot, Integer> {
      * @return Optional containing the plot if found and owned
      */
     @Query("SELECT p FROM Plot p WHERE p.id = :plotId AND p.farm.owner.id = :ownerId")
+    @EntityGraph("Plot.withFarm")
     Optional<Plot> findByIdAndFarmOwnerId(@Param("plotId") Integer plotId, @Param("ownerId") Long ownerId);
 
+    /**
+     * Farm id of a plot, read from plots.farm_id without loading the plot.
+     * Used by OwnershipIndex.
+     */
+    @Query("SELECT p.farm.id FROM Plot p WHERE p.id = :plotId")
+    Optional<Integer> findFarmIdById(@Param("plotId") Integer plotId);
+
     /**
      * Find all plots for farms owned by the specified user.
      * 
@@ -41,6 +50,7 @@ public interface PlotRepository extends JpaRepository<Plot, Integer> {
      * @return list of plots for farms owned by the user
      */
     @Query("SELECT p FROM Plot p WHERE p.farm.owner.id = :ownerId")
+    @EntityGraph("Plot.withFarm")
     List<Plot> findAllByFarmOwnerId(@Param("ownerId") Long ownerId);
 
     /**
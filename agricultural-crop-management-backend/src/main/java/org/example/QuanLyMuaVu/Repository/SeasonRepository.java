@@ -3,12 +3,15 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Season;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,13 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
 
     List<Season> findAllByPlot_Id(Integer plotId);
 
+    /**
+     * Seasons of several plots with plot, crop and variety, for per-plot
+     * summaries built from one query.
+     */
+    @EntityGraph("Season.detail")
+    List<Season> findAllByPlot_IdIn(Collection<Integer> plotIds);
+
     List<Season> findAllByPlot_User(User user);
 
     List<Season> findAllByPlot_Farm_IdIn(Iterable<Integer> farmIds);
@@ -52,6 +62,20 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
     @Query("SELECT s FROM Season s WHERE s.id = :seasonId AND s.plot.farm.owner.id = :ownerId")
     Optional<Season> findByIdAndFarmOwnerId(@Param("seasonId") Integer seasonId, @Param("ownerId") Long ownerId);
 
+    /**
+     * Plot id of a season, read from seasons.plot_id without loading the
+     * season. Used by OwnershipIndex.
+     */
+    @Query("SELECT s.plot.id FROM Season s WHERE s.id = :seasonId")
+    Optional<Integer> findPlotIdById(@Param("seasonId") Integer seasonId);
+
+    /**
+     * Find a season with its plot, crop and variety, as needed by the detail
+     * view and the dashboard overview.
+     */
+    @EntityGraph("Season.detail")
+    Optional<Season> findDetailById(Integer seasonId);
+
     /**
      * Find all seasons for farms owned by the specified user.
      * 
@@ -59,6 +83,7 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
      * @return list of seasons for farms owned by the user
      */
     @Query("SELECT s FROM Season s WHERE s.plot.farm.owner.id = :ownerId")
+    @EntityGraph("Season.detail")
     List<Season> findAllByFarmOwnerId(@Param("ownerId") Long ownerId);
 
     /**
@@ -79,11 +104,26 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
     @Query("SELECT COUNT(s) FROM Season s WHERE s.status = :status AND s.plot.farm.owner.id = :ownerId")
     long countByStatusAndFarmOwnerId(@Param("status") SeasonStatus status, @Param("ownerId") Long ownerId);
 
+    /**
+     * Count seasons per status for a farm owner in a single grouped query.
+     * Statuses without seasons are absent from the result.
+     */
+    @Query("SELECT s.status AS status, COUNT(s) AS total FROM Season s "
+            + "WHERE s.plot.farm.owner.id = :ownerId GROUP BY s.status")
+    List<StatusCount> countGroupedByStatusForFarmOwnerId(@Param("ownerId") Long ownerId);
+
+    interface StatusCount {
+        SeasonStatus getStatus();
+
+        Long getTotal();
+    }
+
     /**
      * Find the most recent ACTIVE season for an owner, ordered by start_date desc.
      * Used as default season for dashboard.
      */
     @Query("SELECT s FROM Season s WHERE s.status = 'ACTIVE' AND s.plot.farm.owner.id = :ownerId ORDER BY s.startDate DESC")
+    @EntityGraph("Season.detail")
     List<Season> findActiveSeasonsByOwnerIdOrderByStartDateDesc(@Param("ownerId") Long ownerId);
 
     /**
@@ -122,4 +162,30 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
             "OR LOWER(s.crop.cropName) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
             "ORDER BY s.startDate DESC")
     List<Season> searchByKeywordAndOwnerId(@Param("keyword") String keyword, @Param("ownerId") Long ownerId);
+
+    /**
+     * Keyset page of the seasons visible to a farmer (owned farm or legacy plot
+     * creator), ordered by id (direction and limit come from the pageable).
+     * A season matches the date range when [startDate, endDate or startDate]
+     * overlaps [from, to].
+     */
+    @Query("SELECT s FROM Season s JOIN s.plot p JOIN p.farm f LEFT JOIN p.user pu " +
+            "WHERE (f.owner.id = :userId OR pu.id = :userId) " +
+            "AND (:plotId IS NULL OR p.id = :plotId) " +
+            "AND (:cropId IS NULL OR s.crop.id = :cropId) " +
+            "AND (:status IS NULL OR s.status = :status) " +
+            "AND (:to IS NULL OR s.startDate <= :to) " +
+            "AND (:from IS NULL OR COALESCE(s.endDate, s.startDate) >= :from) " +
+            "AND (:idBelow IS NULL OR s.id < :idBelow) " +
+            "AND (:idAbove IS NULL OR s.id > :idAbove)")
+    List<Season> seekVisibleToUser(
+            @Param("userId") Long userId,
+            @Param("plotId") Integer plotId,
+            @Param("cropId") Integer cropId,
+            @Param("status") SeasonStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("idBelow") Integer idBelow,
+            @Param("idAbove") Integer idAbove,
+            Pageable pageable);
 }
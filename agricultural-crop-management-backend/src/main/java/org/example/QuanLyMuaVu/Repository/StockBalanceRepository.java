@@ -0,0 +1,195 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockLocation;
+import org.example.QuanLyMuaVu.Entity.SupplyLot;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StockBalanceRepository extends JpaRepository<StockBalance, Integer> {
+
+        /**
+         * Lock every balance row of a lot at a warehouse (SELECT ... FOR UPDATE),
+         * in id order so concurrent withdrawals acquire locks consistently.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+        @Query("""
+                        select b from StockBalance b
+                        where b.supplyLot = :lot
+                          and b.warehouse = :warehouse
+                        order by b.id
+                        """)
+        List<StockBalance> lockAllByLotAndWarehouse(
+                        @Param("lot") SupplyLot lot,
+                        @Param("warehouse") Warehouse warehouse);
+
+        /**
+         * Lock the whole ledger (SELECT ... FOR UPDATE) in id order, for a
+         * rebuild. Waits for the movements in flight; new movements wait until
+         * the surrounding transaction ends.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("select b from StockBalance b order by b.id")
+        List<StockBalance> lockAll();
+
+        /**
+         * On-hand quantity read from the ledger. Same semantics as
+         * {@link StockMovementRepository#calculateOnHandQuantity}: a null location
+         * sums every location of the warehouse.
+         */
+        @Query("""
+                        select coalesce(sum(b.quantity), 0)
+                        from StockBalance b
+                        where b.supplyLot = :lot
+                          and b.warehouse = :warehouse
+                          and (:location is null or b.location = :location)
+                        """)
+        BigDecimal sumOnHand(
+                        @Param("lot") SupplyLot lot,
+                        @Param("warehouse") Warehouse warehouse,
+                        @Param("location") StockLocation location);
+
+        /**
+         * On-hand report: one row per lot with positive stock at the warehouse
+         * (or one of its locations), filtered and paged in the database.
+         * {@code q} must already be lower-cased.
+         */
+        @Query(value = """
+                        select l.id as lotId, l.batchCode as batchCode, i.name as itemName, i.unit as unit,
+                               l.expiryDate as expiryDate, l.status as lotStatus, sum(b.quantity) as onHand
+                        from StockBalance b
+                        join b.supplyLot l
+                        join l.supplyItem i
+                        where b.warehouse = :warehouse
+                          and (:location is null or b.location = :location)
+                          and (:lotId is null or l.id = :lotId)
+                          and (:q is null or lower(l.batchCode) like concat('%', :q, '%')
+                               or lower(i.name) like concat('%', :q, '%'))
+                        group by l.id, l.batchCode, i.name, i.unit, l.expiryDate, l.status
+                        having sum(b.quantity) > 0
+                        order by l.id
+                        """, countQuery = """
+                        select count(l.id)
+                        from SupplyLot l
+                        join l.supplyItem i
+                        where (:lotId is null or l.id = :lotId)
+                          and (:q is null or lower(l.batchCode) like concat('%', :q, '%')
+                               or lower(i.name) like concat('%', :q, '%'))
+                          and l.id in (
+                              select b.supplyLot.id from StockBalance b
+                              where b.warehouse = :warehouse
+                                and (:location is null or b.location = :location)
+                              group by b.supplyLot.id
+                              having sum(b.quantity) > 0)
+                        """)
+        Page<OnHandTotal> findOnHandByWarehouse(
+                        @Param("warehouse") Warehouse warehouse,
+                        @Param("location") StockLocation location,
+                        @Param("lotId") Integer lotId,
+                        @Param("q") String q,
+                        Pageable pageable);
+
+        /**
+         * Low-stock alerts: one row per (lot, warehouse) of the owner whose
+         * on-hand quantity is at or below the item's threshold, lowest first.
+         */
+        @Query("""
+                        select l.id as lotId, l.batchCode as batchCode, i.name as itemName, i.unit as unit,
+                               w.name as warehouseName, sum(b.quantity) as onHand
+                        from StockBalance b
+                        join b.supplyLot l
+                        join l.supplyItem i
+                        join b.warehouse w
+                        where w.farm.owner.id = :ownerId
+                        group by l.id, l.batchCode, i.name, i.unit, i.lowStockThreshold, w.id, w.name
+                        having sum(b.quantity) <= coalesce(i.lowStockThreshold, :defaultThreshold)
+                        order by sum(b.quantity), l.id, w.id
+                        """)
+        List<LowStockRow> findLowStockByOwner(
+                        @Param("ownerId") Long ownerId,
+                        @Param("defaultThreshold") BigDecimal defaultThreshold,
+                        Pageable pageable);
+
+        /**
+         * Number of rows {@link #findLowStockByOwner} would return, counted in
+         * the database.
+         */
+        @Query(value = """
+                        select count(*) from (
+                            select b.supply_lot_id
+                            from stock_balances b
+                            join warehouses w on w.id = b.warehouse_id
+                            join farms f on f.farm_id = w.farm_id
+                            join supply_lots l on l.id = b.supply_lot_id
+                            join supply_items i on i.id = l.supply_item_id
+                            where f.owner_id = :ownerId
+                            group by b.supply_lot_id, b.warehouse_id, i.low_stock_threshold
+                            having sum(b.quantity) <= coalesce(i.low_stock_threshold, :defaultThreshold)
+                        ) low_stock
+                        """, nativeQuery = true)
+        long countLowStockByOwner(
+                        @Param("ownerId") Long ownerId,
+                        @Param("defaultThreshold") BigDecimal defaultThreshold);
+
+        /**
+         * Number of the owner's lots with stock on hand that expire on or
+         * before {@code until} (already expired lots included).
+         */
+        @Query("""
+                        select count(l) from SupplyLot l
+                        where l.expiryDate <= :until
+                          and l.id in (
+                              select b.supplyLot.id from StockBalance b
+                              where b.warehouse.farm.owner.id = :ownerId
+                              group by b.supplyLot.id
+                              having sum(b.quantity) > 0)
+                        """)
+        long countExpiringByOwner(
+                        @Param("ownerId") Long ownerId,
+                        @Param("until") LocalDate until);
+
+        interface LowStockRow {
+                Integer getLotId();
+
+                String getBatchCode();
+
+                String getItemName();
+
+                String getUnit();
+
+                String getWarehouseName();
+
+                BigDecimal getOnHand();
+        }
+
+        interface OnHandTotal {
+                Integer getLotId();
+
+                String getBatchCode();
+
+                String getItemName();
+
+                String getUnit();
+
+                LocalDate getExpiryDate();
+
+                String getLotStatus();
+
+                BigDecimal getOnHand();
+        }
+}
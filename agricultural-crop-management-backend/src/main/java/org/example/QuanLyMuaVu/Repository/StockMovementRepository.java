@@ -7,6 +7,7 @@ import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.example.QuanLyMuaVu.Enums.StockMovementType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -59,6 +60,7 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, In
                           and (:to is null or m.movementDate <= :to)
                         order by m.movementDate desc
                         """)
+        @EntityGraph("StockMovement.listView")
         Page<StockMovement> findByWarehouseWithFilters(
                         @Param("warehouse") Warehouse warehouse,
                         @Param("type") StockMovementType type,
@@ -66,8 +68,61 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, In
                         @Param("to") LocalDateTime to,
                         Pageable pageable);
 
+        /**
+         * Keyset page of movement history ordered by (movementDate, id); direction
+         * and limit come from the pageable. The below/above pairs are the
+         * exclusive seek bounds.
+         */
+        @Query("""
+                        select m from StockMovement m
+                        where m.warehouse = :warehouse
+                          and (:type is null or m.movementType = :type)
+                          and (:from is null or m.movementDate >= :from)
+                          and (:to is null or m.movementDate <= :to)
+                          and (:dateBelow is null or m.movementDate < :dateBelow
+                               or (m.movementDate = :dateBelow and m.id < :idBelow))
+                          and (:dateAbove is null or m.movementDate > :dateAbove
+                               or (m.movementDate = :dateAbove and m.id > :idAbove))
+                        """)
+        @EntityGraph("StockMovement.listView")
+        List<StockMovement> seekByWarehouseWithFilters(
+                        @Param("warehouse") Warehouse warehouse,
+                        @Param("type") StockMovementType type,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("dateBelow") LocalDateTime dateBelow,
+                        @Param("idBelow") Integer idBelow,
+                        @Param("dateAbove") LocalDateTime dateAbove,
+                        @Param("idAbove") Integer idAbove,
+                        Pageable pageable);
+
+        /**
+         * Signed movement totals per (lot, warehouse, location), used to rebuild
+         * and verify the stock balance ledger.
+         */
+        @Query("""
+                        select m.supplyLot.id as lotId, m.warehouse.id as warehouseId, l.id as locationId,
+                               sum(case when m.movementType = org.example.QuanLyMuaVu.Enums.StockMovementType.OUT then -m.quantity
+                                        else m.quantity end) as total
+                        from StockMovement m
+                        left join m.location l
+                        group by m.supplyLot.id, m.warehouse.id, l.id
+                        """)
+        List<MovementTotal> sumQuantityGroupedByBalanceKey();
+
+        interface MovementTotal {
+                Integer getLotId();
+
+                Integer getWarehouseId();
+
+                Integer getLocationId();
+
+                BigDecimal getTotal();
+        }
+
         /**
          * Find all movements for a warehouse (simpler version)
          */
+        @EntityGraph("StockMovement.listView")
         Page<StockMovement> findByWarehouseOrderByMovementDateDesc(Warehouse warehouse, Pageable pageable);
 }
@@ -5,6 +5,7 @@ import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Enums.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,7 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
         // Existing season-scoped methods
         List<Task> findByTitleContainingIgnoreCase(String title);
 
+        @EntityGraph("Task.listView")
         List<Task> findAllBySeason_Id(Integer seasonId);
 
         boolean existsBySeason_Id(Integer seasonId);
@@ -35,6 +38,7 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
         Page<Task> findByUserAndTitleContainingIgnoreCase(User user, String title, Pageable pageable);
 
+        @EntityGraph("Task.listView")
         Optional<Task> findByIdAndUser(Integer id, User user);
 
         // Complex query for multiple filters
@@ -42,6 +46,7 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
                         "AND (:status IS NULL OR t.status = :status) " +
                         "AND (:seasonId IS NULL OR t.season.id = :seasonId) " +
                         "AND (:searchQuery IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchQuery, '%')))")
+        @EntityGraph("Task.listView")
         Page<Task> findByUserWithFilters(
                         @Param("user") User user,
                         @Param("status") TaskStatus status,
@@ -49,16 +54,74 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
                         @Param("searchQuery") String searchQuery,
                         Pageable pageable);
 
-        // Bulk update for overdue tasks
+        /**
+         * Keyset page of a user's tasks ordered by id (direction and limit come
+         * from the pageable). idBelow/idAbove are the exclusive seek bounds.
+         */
+        @Query("SELECT t FROM Task t WHERE t.user = :user " +
+                        "AND (:status IS NULL OR t.status = :status) " +
+                        "AND (:seasonId IS NULL OR t.season.id = :seasonId) " +
+                        "AND (:searchQuery IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchQuery, '%'))) " +
+                        "AND (:idBelow IS NULL OR t.id < :idBelow) " +
+                        "AND (:idAbove IS NULL OR t.id > :idAbove)")
+        @EntityGraph("Task.listView")
+        List<Task> seekByUserWithFilters(
+                        @Param("user") User user,
+                        @Param("status") TaskStatus status,
+                        @Param("seasonId") Integer seasonId,
+                        @Param("searchQuery") String searchQuery,
+                        @Param("idBelow") Integer idBelow,
+                        @Param("idAbove") Integer idAbove,
+                        Pageable pageable);
+
+        // Overdue engine (see OverdueTaskService): id range, chunk candidates, bulk update
+        @Query("SELECT MIN(t.id) AS minId, MAX(t.id) AS maxId FROM Task t " +
+                        "WHERE t.dueDate < :currentDate AND t.status IN :pendingStatuses")
+        IdRange findOverdueIdRange(
+                        @Param("currentDate") LocalDate currentDate,
+                        @Param("pendingStatuses") List<TaskStatus> pendingStatuses);
+
+        @Query("SELECT t.id AS id, t.title AS title, t.status AS status, s.id AS seasonId, o.id AS ownerId " +
+                        "FROM Task t LEFT JOIN t.season s LEFT JOIN s.plot p LEFT JOIN p.farm f LEFT JOIN f.owner o " +
+                        "WHERE t.id BETWEEN :fromId AND :toId " +
+                        "AND t.dueDate < :currentDate AND t.status IN :pendingStatuses")
+        List<OverdueCandidate> findOverdueCandidates(
+                        @Param("fromId") Integer fromId,
+                        @Param("toId") Integer toId,
+                        @Param("currentDate") LocalDate currentDate,
+                        @Param("pendingStatuses") List<TaskStatus> pendingStatuses);
+
         @Modifying
         @Query("UPDATE Task t SET t.status = :overdueStatus " +
-                        "WHERE t.dueDate < :currentDate " +
-                        "AND t.status IN :pendingStatuses")
-        int updateOverdueTasks(
-                        @Param("currentDate") LocalDate currentDate,
+                        "WHERE t.id IN :ids AND t.status IN :pendingStatuses")
+        int markOverdue(
+                        @Param("ids") Collection<Integer> ids,
                         @Param("overdueStatus") TaskStatus overdueStatus,
                         @Param("pendingStatuses") List<TaskStatus> pendingStatuses);
 
+        @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.status = :status")
+        List<Integer> findIdsByIdInAndStatus(
+                        @Param("ids") Collection<Integer> ids,
+                        @Param("status") TaskStatus status);
+
+        interface IdRange {
+                Integer getMinId();
+
+                Integer getMaxId();
+        }
+
+        interface OverdueCandidate {
+                Integer getId();
+
+                String getTitle();
+
+                TaskStatus getStatus();
+
+                Integer getSeasonId();
+
+                Long getOwnerId();
+        }
+
         // ===========================================================================
         // DASHBOARD QUERIES
         // ===========================================================================
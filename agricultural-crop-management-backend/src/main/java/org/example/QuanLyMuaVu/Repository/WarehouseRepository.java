@@ -3,9 +3,12 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WarehouseRepository extends JpaRepository<Warehouse, Integer> {
@@ -13,4 +16,11 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Integer> {
     List<Warehouse> findAllByFarm(Farm farm);
 
     List<Warehouse> findByFarmIn(List<Farm> farms);
+
+    /**
+     * Farm id of a warehouse, read from warehouses.farm_id without loading the
+     * warehouse. Used by OwnershipIndex.
+     */
+    @Query("SELECT w.farm.id FROM Warehouse w WHERE w.id = :warehouseId")
+    Optional<Integer> findFarmIdById(@Param("warehouseId") Integer warehouseId);
 }
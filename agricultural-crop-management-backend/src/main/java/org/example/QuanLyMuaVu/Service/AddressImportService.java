@@ -4,34 +4,43 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.example.QuanLyMuaVu.Entity.Province;
-import org.example.QuanLyMuaVu.Entity.Ward;
+import org.example.QuanLyMuaVu.Config.AddressImportProperties;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
 import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Util.SqlInsertReader;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
  * Service for importing address data from SQL files.
  * Supports both automatic import on startup (if tables are empty) and manual
  * import via API.
+ * <p>
+ * The file is streamed through {@link SqlInsertReader} and rows are written
+ * with JDBC batches of address.import.batch-size, so memory stays flat and
+ * larger datasets import as fast as the database accepts them. The upserts
+ * use ON DUPLICATE KEY UPDATE with a row alias on MySQL (8.0.19+) and MERGE
+ * on other databases (H2 in tests). Column names are the ones Hibernate maps
+ * the Province and Ward entities to.
  */
 @Slf4j
 @Service
@@ -41,12 +50,25 @@ public class AddressImportService {
 
     ProvinceRepository provinceRepository;
     WardRepository wardRepository;
+    AddressIndex addressIndex;
+    JdbcTemplate jdbcTemplate;
+    AddressImportProperties properties;
 
-    // Regex patterns for parsing SQL INSERT statements
-    private static final Pattern PROVINCE_VALUES = Pattern.compile(
-            "\\((\\d+),\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)'\\)");
-    private static final Pattern WARD_VALUES = Pattern.compile(
-            "\\((\\d+),\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*(\\d+)\\)");
+    private static final String UPSERT_PROVINCE_MYSQL = """
+            INSERT INTO provinces (id, name, slug, type, name_with_type) VALUES (?, ?, ?, ?, ?) AS new
+            ON DUPLICATE KEY UPDATE name = new.name, slug = new.slug, type = new.type,
+                name_with_type = new.name_with_type""";
+    private static final String UPSERT_WARD_MYSQL = """
+            INSERT INTO wards (id, name, slug, type, name_with_type, province_id) VALUES (?, ?, ?, ?, ?, ?) AS new
+            ON DUPLICATE KEY UPDATE name = new.name, slug = new.slug, type = new.type,
+                name_with_type = new.name_with_type, province_id = new.province_id""";
+    private static final String UPSERT_PROVINCE_MERGE = """
+            MERGE INTO provinces (id, name, slug, type, name_with_type) KEY (id) VALUES (?, ?, ?, ?, ?)""";
+    private static final String UPSERT_WARD_MERGE = """
+            MERGE INTO wards (id, name, slug, type, name_with_type, province_id) KEY (id)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String DELETE_PROVINCE = "DELETE FROM provinces WHERE id = ?";
+    private static final String DELETE_WARD = "DELETE FROM wards WHERE id = ?";
 
     /**
      * Automatically import address data on application startup if tables are empty.
@@ -60,8 +82,8 @@ public class AddressImportService {
                 ClassPathResource resource = new ClassPathResource("loc.sql");
                 if (resource.exists()) {
                     ImportResult result = importFromSqlFile(resource.getInputStream());
-                    log.info("Address import completed: {} provinces, {} wards",
-                            result.getProvincesImported(), result.getWardsImported());
+                    log.info("Address import completed: {} provinces, {} wards in {} ms",
+                            result.getProvincesImported(), result.getWardsImported(), result.getDurationMs());
                 } else {
                     log.warn("loc.sql not found in classpath. Skipping automatic import.");
                 }
@@ -75,117 +97,192 @@ public class AddressImportService {
 
     /**
      * Import address data from SQL file input stream.
+     * Provinces and wards are each imported only while their table is empty.
      * This method can be called from API endpoint for manual import.
      */
     @Transactional
-    @CacheEvict(value = { "provinces", "province", "wards", "ward" }, allEntries = true)
     public ImportResult importFromSqlFile(InputStream inputStream) {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            StringBuilder sql = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sql.append(line).append("\n");
+        invalidateAddressIndexAfterCommit();
+        Run run = new Run(provinceRepository.count() == 0, wardRepository.count() == 0);
+        run.read(inputStream);
+        return run.result();
+    }
+
+    /**
+     * Force re-import: upsert every row of the file, then delete the provinces
+     * and wards it no longer contains. All of it runs in one transaction, so
+     * readers see either the old data or the new, never empty tables. Fails,
+     * changing nothing, if a removed ward or province is still referenced.
+     */
+    @Transactional
+    public ImportResult forceReimport(InputStream inputStream) {
+        log.warn("Force reimport requested. Replacing existing address data...");
+        invalidateAddressIndexAfterCommit();
+        Run run = new Run(true, true);
+        run.read(inputStream);
+        run.removeStale();
+        return run.result();
+    }
+
+    /**
+     * Rebuild the address index from the committed tables; a rolled back
+     * import leaves it untouched.
+     */
+    private void invalidateAddressIndexAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addressIndex.invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addressIndex.invalidate();
+            }
+        });
+    }
+
+    /**
+     * State of one import: pending batches, imported ids and counters.
+     */
+    private class Run {
+
+        final boolean importProvinces;
+        final boolean importWards;
+        final String upsertProvince;
+        final String upsertWard;
+        final long startNanos = System.nanoTime();
+
+        final Set<Integer> provinceIds = new HashSet<>();
+        final Set<Integer> wardIds = new HashSet<>();
+        final Set<Integer> knownProvinceIds = new HashSet<>();
+        final List<Object[]> provinceBatch = new ArrayList<>();
+        final List<Object[]> wardBatch = new ArrayList<>();
+        long rowsRead;
+        int wardsSkipped;
+        int provincesRemoved;
+        int wardsRemoved;
+
+        Run(boolean importProvinces, boolean importWards) {
+            this.importProvinces = importProvinces;
+            this.importWards = importWards;
+            boolean mysql = isMySql();
+            this.upsertProvince = mysql ? UPSERT_PROVINCE_MYSQL : UPSERT_PROVINCE_MERGE;
+            this.upsertWard = mysql ? UPSERT_WARD_MYSQL : UPSERT_WARD_MERGE;
+            if (importWards) {
+                knownProvinceIds.addAll(jdbcTemplate.queryForList("SELECT id FROM provinces", Integer.class));
             }
-            String sqlContent = sql.toString();
-
-            int provincesImported = 0;
-            int wardsImported = 0;
-
-            // Import provinces
-            Map<Integer, Province> provinceMap = new HashMap<>();
-            if (provinceRepository.count() == 0) {
-                List<Province> provinces = parseProvinces(sqlContent);
-                provinceRepository.saveAll(provinces);
-                provincesImported = provinces.size();
-                provinces.forEach(p -> provinceMap.put(p.getId(), p));
-                log.debug("Imported {} provinces", provincesImported);
+        }
+
+        void read(InputStream inputStream) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                new SqlInsertReader(reader, properties.getMaxValueLength()).readAll(this::row);
+                flush(upsertProvince, provinceBatch);
+                flush(upsertWard, wardBatch);
+            } catch (Exception e) {
+                log.error("Error importing address data: {}", e.getMessage(), e);
+                throw new AppException(ErrorCode.ADDRESS_IMPORT_FAILED);
+            }
+            if (wardsSkipped > 0) {
+                log.warn("Skipped {} wards whose province is not in the data", wardsSkipped);
+            }
+        }
+
+        void row(String table, List<String> values) {
+            if (importProvinces && "provinces".equals(table)) {
+                Integer id = Integer.valueOf(values.get(0));
+                provinceIds.add(id);
+                knownProvinceIds.add(id);
+                add(upsertProvince, provinceBatch, id, values.get(1), values.get(2), values.get(3),
+                        values.get(4));
+            } else if (importWards && "wards".equals(table)) {
+                Integer id = Integer.valueOf(values.get(0));
+                Integer provinceId = Integer.valueOf(values.get(5));
+                if (!knownProvinceIds.contains(provinceId)) {
+                    log.debug("Province not found for ward: {} with provinceId: {}", values.get(1), provinceId);
+                    wardsSkipped++;
+                    return;
+                }
+                wardIds.add(id);
+                add(upsertWard, wardBatch, id, values.get(1), values.get(2), values.get(3),
+                        values.get(4), provinceId);
             } else {
-                provinceRepository.findAll().forEach(p -> provinceMap.put(p.getId(), p));
+                return;
             }
+            if (++rowsRead % properties.getProgressInterval() == 0) {
+                log.info("Address import: {} rows ({} rows/s)", rowsRead, rowsPerSecond(rowsRead));
+            }
+        }
 
-            // Import wards
-            if (wardRepository.count() == 0) {
-                List<Ward> wards = parseWards(sqlContent, provinceMap);
-                wardRepository.saveAll(wards);
-                wardsImported = wards.size();
-                log.debug("Imported {} wards", wardsImported);
+        /**
+         * Delete rows missing from the imported file, wards first.
+         */
+        void removeStale() {
+            List<Object[]> staleWards = stale("SELECT id FROM wards", wardIds);
+            List<Object[]> staleProvinces = stale("SELECT id FROM provinces", provinceIds);
+            try {
+                batchUpdate(DELETE_WARD, staleWards);
+                batchUpdate(DELETE_PROVINCE, staleProvinces);
+            } catch (DataIntegrityViolationException e) {
+                log.error("Address reimport would remove provinces or wards still in use: {}", e.getMessage());
+                throw new AppException(ErrorCode.ADDRESS_IMPORT_FAILED);
             }
+            wardsRemoved = staleWards.size();
+            provincesRemoved = staleProvinces.size();
+        }
 
+        ImportResult result() {
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info("Address import finished: {} provinces, {} wards, {} removed in {} ms ({} rows/s)",
+                    provinceIds.size(), wardIds.size(), provincesRemoved + wardsRemoved, durationMs,
+                    rowsPerSecond(rowsRead));
             return ImportResult.builder()
-                    .provincesImported(provincesImported)
-                    .wardsImported(wardsImported)
+                    .provincesImported(provinceIds.size())
+                    .wardsImported(wardIds.size())
+                    .provincesRemoved(provincesRemoved)
+                    .wardsRemoved(wardsRemoved)
+                    .wardsSkipped(wardsSkipped)
+                    .durationMs(durationMs)
                     .success(true)
                     .build();
-
-        } catch (Exception e) {
-            log.error("Error importing address data: {}", e.getMessage(), e);
-            throw new AppException(ErrorCode.ADDRESS_IMPORT_FAILED);
         }
-    }
-
-    /**
-     * Force re-import by clearing existing data and importing fresh.
-     * Use with caution - this will delete all existing address data.
-     */
-    @Transactional
-    @CacheEvict(value = { "provinces", "province", "wards", "ward" }, allEntries = true)
-    public ImportResult forceReimport(InputStream inputStream) {
-        log.warn("Force reimport requested. Clearing existing address data...");
-        wardRepository.deleteAll();
-        provinceRepository.deleteAll();
-        return importFromSqlFile(inputStream);
-    }
 
-    // ==================== PARSING METHODS ====================
+        private void add(String sql, List<Object[]> batch, Object... args) {
+            batch.add(args);
+            if (batch.size() >= properties.getBatchSize()) {
+                flush(sql, batch);
+            }
+        }
 
-    private List<Province> parseProvinces(String sql) {
-        List<Province> provinces = new ArrayList<>();
-        Matcher matcher = PROVINCE_VALUES.matcher(sql);
+        private void flush(String sql, List<Object[]> batch) {
+            batchUpdate(sql, batch);
+            batch.clear();
+        }
 
-        while (matcher.find()) {
-            try {
-                Province province = Province.builder()
-                        .id(Integer.parseInt(matcher.group(1)))
-                        .name(matcher.group(2))
-                        .slug(matcher.group(3))
-                        .type(matcher.group(4))
-                        .nameWithType(matcher.group(5))
-                        .build();
-                provinces.add(province);
-            } catch (NumberFormatException e) {
-                log.warn("Failed to parse province entry: {}", matcher.group(0));
+        private void batchUpdate(String sql, List<Object[]> rows) {
+            for (int from = 0; from < rows.size(); from += properties.getBatchSize()) {
+                int to = Math.min(rows.size(), from + properties.getBatchSize());
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, to));
             }
         }
-        return provinces;
-    }
 
-    private List<Ward> parseWards(String sql, Map<Integer, Province> provinceMap) {
-        List<Ward> wards = new ArrayList<>();
-        Matcher matcher = WARD_VALUES.matcher(sql);
+        private List<Object[]> stale(String selectIds, Set<Integer> keep) {
+            return jdbcTemplate.queryForList(selectIds, Integer.class).stream()
+                    .filter(id -> !keep.contains(id))
+                    .map(id -> new Object[] { id })
+                    .toList();
+        }
+
+        private boolean isMySql() {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            return "MySQL".equalsIgnoreCase(product);
+        }
 
-        while (matcher.find()) {
-            try {
-                int provinceId = Integer.parseInt(matcher.group(6));
-                Province province = provinceMap.get(provinceId);
-
-                if (province != null) {
-                    Ward ward = Ward.builder()
-                            .id(Integer.parseInt(matcher.group(1)))
-                            .name(matcher.group(2))
-                            .slug(matcher.group(3))
-                            .type(matcher.group(4))
-                            .nameWithType(matcher.group(5))
-                            .province(province)
-                            .build();
-                    wards.add(ward);
-                } else {
-                    log.warn("Province not found for ward: {} with provinceId: {}", matcher.group(2), provinceId);
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Failed to parse ward entry: {}", matcher.group(0));
-            }
+        private long rowsPerSecond(long rows) {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            return rows * 1_000_000_000L / elapsedNanos;
         }
-        return wards;
     }
 
     // ==================== RESULT DTO ====================
@@ -195,6 +292,10 @@ public class AddressImportService {
     public static class ImportResult {
         private int provincesImported;
         private int wardsImported;
+        private int provincesRemoved;
+        private int wardsRemoved;
+        private int wardsSkipped;
+        private long durationMs;
         private boolean success;
         private String message;
     }
@@ -0,0 +1,260 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
+import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
+import org.example.QuanLyMuaVu.Mapper.AddressMapper;
+import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
+import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Util.TextSearchUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory copy of the province/ward tables for address lookups.
+ * <p>
+ * The data set (a few dozen provinces, a few thousand wards) is loaded on
+ * first use into a {@link Snapshot}. Readers only dereference a volatile
+ * field, so lookups and searches never touch the database. After an import
+ * {@link #invalidate()} marks the snapshot stale; the next reader rebuilds it
+ * and swaps it in as a whole while concurrent readers keep using the old one.
+ * A rebuild that fails leaves the snapshot stale, so the next reader retries.
+ * <p>
+ * Searches fold diacritics ("ha noi" finds "Hà Nội") and match anywhere in
+ * the name, listing names that start with the keyword (or have a word that
+ * does) first.
+ * <p>
+ * {@link Snapshot#version()} is a digest of the content, so it is identical on
+ * every node and across restarts and can be used as an HTTP ETag.
+ */
+@Component
+@Slf4j
+public class AddressIndex {
+
+    private final ProvinceRepository provinceRepository;
+    private final WardRepository wardRepository;
+    private final AddressMapper addressMapper;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Snapshot snapshot;
+    /** Value of invalidations when the current snapshot started loading. */
+    private volatile long loadedAt;
+
+    public AddressIndex(ProvinceRepository provinceRepository,
+            WardRepository wardRepository,
+            AddressMapper addressMapper) {
+        this.provinceRepository = provinceRepository;
+        this.wardRepository = wardRepository;
+        this.addressMapper = addressMapper;
+    }
+
+    /**
+     * Current snapshot, loading or rebuilding it if needed.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !isStale()) {
+            return current;
+        }
+        // While one thread rebuilds, others keep serving the previous snapshot
+        if (current != null && !rebuildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        }
+        try {
+            if (snapshot == null || isStale()) {
+                // Read before loading: an import committed meanwhile keeps the result stale.
+                // Nothing changes if load() fails, so the next reader tries again.
+                long seen = invalidations.get();
+                snapshot = load();
+                loadedAt = seen;
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Mark the snapshot stale after the address tables changed. Call once the
+     * change is committed.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    private boolean isStale() {
+        return loadedAt != invalidations.get();
+    }
+
+    private Snapshot load() {
+        List<ProvinceResponse> provinces = provinceRepository.findAll().stream()
+                .map(addressMapper::toProvinceResponse)
+                .sorted(Comparator.comparing(ProvinceResponse::getId))
+                .toList();
+        List<WardResponse> wards = wardRepository.findAll().stream()
+                .map(addressMapper::toWardResponse)
+                .sorted(Comparator.comparing(WardResponse::getId))
+                .toList();
+
+        Snapshot loaded = new Snapshot(provinces, wards);
+        log.info("Address index loaded - {} provinces, {} wards, version {}",
+                provinces.size(), wards.size(), loaded.version());
+        return loaded;
+    }
+
+    /**
+     * One immutable version of the address data.
+     */
+    public static final class Snapshot {
+
+        private final String version;
+        private final List<Entry<ProvinceResponse>> provinces;
+        private final Map<Integer, ProvinceResponse> provincesById;
+        private final Map<Integer, List<Entry<WardResponse>>> wardsByProvince;
+        private final Map<Integer, WardResponse> wardsById;
+
+        Snapshot(List<ProvinceResponse> provinceList, List<WardResponse> wardList) {
+            this.provinces = provinceList.stream().map(p -> Entry.of(p, p.getName())).toList();
+            this.provincesById = index(provinceList, ProvinceResponse::getId);
+            this.wardsById = index(wardList, WardResponse::getId);
+
+            Map<Integer, List<Entry<WardResponse>>> byProvince = new LinkedHashMap<>();
+            provinceList.forEach(p -> byProvince.put(p.getId(), new ArrayList<>()));
+            for (WardResponse ward : wardList) {
+                byProvince.computeIfAbsent(ward.getProvinceId(), id -> new ArrayList<>())
+                        .add(Entry.of(ward, ward.getName()));
+            }
+            byProvince.replaceAll((id, entries) -> List.copyOf(entries));
+            this.wardsByProvince = Map.copyOf(byProvince);
+
+            this.version = digest(provinceList, wardList);
+        }
+
+        public String version() {
+            return version;
+        }
+
+        public int provinceCount() {
+            return provinces.size();
+        }
+
+        public int wardCount() {
+            return wardsById.size();
+        }
+
+        public ProvinceResponse province(Integer id) {
+            return id != null ? provincesById.get(id) : null;
+        }
+
+        public WardResponse ward(Integer id) {
+            return id != null ? wardsById.get(id) : null;
+        }
+
+        public boolean hasProvince(Integer id) {
+            return province(id) != null;
+        }
+
+        /**
+         * Provinces matching the keyword (folded) and, if given, the exact type.
+         */
+        public List<ProvinceResponse> searchProvinces(String keyword, String type) {
+            String trimmedType = type != null && !type.isBlank() ? type.trim() : null;
+            return search(provinces, keyword,
+                    province -> trimmedType == null || trimmedType.equals(province.getType()));
+        }
+
+        /**
+         * Wards of a province matching the keyword (folded).
+         */
+        public List<WardResponse> searchWards(Integer provinceId, String keyword) {
+            return search(wardsByProvince.getOrDefault(provinceId, List.of()), keyword, ward -> true);
+        }
+
+        private static <T> List<T> search(List<Entry<T>> entries, String keyword,
+                Predicate<T> filter) {
+            String folded = TextSearchUtils.fold(keyword);
+            if (folded.isEmpty()) {
+                return entries.stream().map(Entry::value).filter(filter).toList();
+            }
+            List<T> prefixMatches = new ArrayList<>();
+            List<T> infixMatches = new ArrayList<>();
+            for (Entry<T> entry : entries) {
+                if (!filter.test(entry.value())) {
+                    continue;
+                }
+                int at = entry.folded().indexOf(folded);
+                if (at < 0) {
+                    continue;
+                }
+                if (at == 0 || entry.folded().contains(" " + folded)) {
+                    prefixMatches.add(entry.value());
+                } else {
+                    infixMatches.add(entry.value());
+                }
+            }
+            prefixMatches.addAll(infixMatches);
+            return List.copyOf(prefixMatches);
+        }
+
+        private static <T> Map<Integer, T> index(List<T> values, Function<T, Integer> id) {
+            Map<Integer, T> byId = new LinkedHashMap<>();
+            values.forEach(value -> byId.put(id.apply(value), value));
+            return Map.copyOf(byId);
+        }
+
+        private static String digest(List<ProvinceResponse> provinceList, List<WardResponse> wardList) {
+            try {
+                MessageDigest sha = MessageDigest.getInstance("SHA-256");
+                for (ProvinceResponse p : provinceList) {
+                    update(sha, p.getId(), p.getName(), p.getSlug(), p.getType(), p.getNameWithType());
+                }
+                for (WardResponse w : wardList) {
+                    update(sha, w.getId(), w.getName(), w.getSlug(), w.getType(), w.getNameWithType(),
+                            w.getProvinceId());
+                }
+                return HexFormat.of().formatHex(sha.digest(), 0, 8);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private static void update(MessageDigest sha, Object... fields) {
+            for (Object field : fields) {
+                sha.update(Objects.toString(field, "").getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0);
+            }
+        }
+    }
+
+    /**
+     * A value with its folded name, computed once per snapshot.
+     */
+    private record Entry<T>(T value, String folded) {
+
+        static <T> Entry<T> of(T value, String name) {
+            return new Entry<>(value, TextSearchUtils.fold(name));
+        }
+    }
+}
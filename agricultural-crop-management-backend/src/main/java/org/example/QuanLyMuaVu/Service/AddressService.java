@@ -5,106 +5,82 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
 import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
-import org.example.QuanLyMuaVu.Entity.Province;
-import org.example.QuanLyMuaVu.Entity.Ward;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
-import org.example.QuanLyMuaVu.Mapper.AddressMapper;
-import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
-import org.example.QuanLyMuaVu.Repository.WardRepository;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Service for address lookup operations (provinces, wards).
- * All read operations are cacheable since administrative data rarely changes.
+ * All reads are served from {@link AddressIndex}, an in-memory copy of the
+ * administrative data, which rarely changes.
  */
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@Transactional(readOnly = true)
 public class AddressService {
 
-    ProvinceRepository provinceRepository;
-    WardRepository wardRepository;
-    AddressMapper addressMapper;
+    AddressIndex addressIndex;
+
+    /**
+     * Version of the address data, for use as an HTTP ETag. Changes only when
+     * the data does.
+     */
+    public String getDataVersion() {
+        return addressIndex.snapshot().version();
+    }
 
     // ==================== PROVINCE OPERATIONS ====================
 
     /**
      * Get all provinces with optional keyword and type filter.
+     * The keyword is matched accent-insensitively anywhere in the name; names
+     * starting with it come first.
      *
      * @param keyword optional search keyword
      * @param type    optional type filter ("thanh-pho" for city, "tinh" for
      *                province)
      */
-    @Cacheable(value = "provinces", key = "#keyword + '-' + #type")
     public List<ProvinceResponse> getAllProvinces(String keyword, String type) {
-        List<Province> provinces;
-
-        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
-        boolean hasType = type != null && !type.trim().isEmpty();
-
-        if (hasKeyword && hasType) {
-            provinces = provinceRepository.findByNameContainingIgnoreCaseAndType(keyword.trim(), type.trim());
-        } else if (hasKeyword) {
-            provinces = provinceRepository.findByNameContainingIgnoreCase(keyword.trim());
-        } else if (hasType) {
-            provinces = provinceRepository.findByType(type.trim());
-        } else {
-            provinces = provinceRepository.findAll();
-        }
-
-        return provinces.stream()
-                .map(addressMapper::toProvinceResponse)
-                .toList();
+        return addressIndex.snapshot().searchProvinces(keyword, type);
     }
 
     /**
      * Get a single province by ID.
      */
-    @Cacheable(value = "province", key = "#id")
     public ProvinceResponse getProvinceById(Integer id) {
-        Province province = provinceRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.PROVINCE_NOT_FOUND));
-        return addressMapper.toProvinceResponse(province);
+        ProvinceResponse province = addressIndex.snapshot().province(id);
+        if (province == null) {
+            throw new AppException(ErrorCode.PROVINCE_NOT_FOUND);
+        }
+        return province;
     }
 
     // ==================== WARD OPERATIONS ====================
 
     /**
-     * Get all wards for a specific province with optional keyword search.
+     * Get all wards for a specific province with optional keyword search
+     * (accent-insensitive, as for provinces).
      */
-    @Cacheable(value = "wards", key = "#provinceId + '-' + #keyword")
     public List<WardResponse> getWardsByProvinceId(Integer provinceId, String keyword) {
+        AddressIndex.Snapshot snapshot = addressIndex.snapshot();
         // Verify province exists
-        if (!provinceRepository.existsById(provinceId)) {
+        if (!snapshot.hasProvince(provinceId)) {
             throw new AppException(ErrorCode.PROVINCE_NOT_FOUND);
         }
-
-        List<Ward> wards;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            wards = wardRepository.findByProvinceIdAndNameContainingIgnoreCase(provinceId, keyword.trim());
-        } else {
-            wards = wardRepository.findByProvinceId(provinceId);
-        }
-
-        return wards.stream()
-                .map(addressMapper::toWardResponse)
-                .toList();
+        return snapshot.searchWards(provinceId, keyword);
     }
 
     /**
      * Get a single ward by ID.
      */
-    @Cacheable(value = "ward", key = "#id")
     public WardResponse getWardById(Integer id) {
-        Ward ward = wardRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.WARD_NOT_FOUND));
-        return addressMapper.toWardResponse(ward);
+        WardResponse ward = addressIndex.snapshot().ward(id);
+        if (ward == null) {
+            throw new AppException(ErrorCode.WARD_NOT_FOUND);
+        }
+        return ward;
     }
 
     // ==================== UTILITY METHODS ====================
@@ -113,9 +89,10 @@ public class AddressService {
      * Get count of all address entities (for import statistics).
      */
     public AddressStats getStats() {
+        AddressIndex.Snapshot snapshot = addressIndex.snapshot();
         return AddressStats.builder()
-                .provinceCount(provinceRepository.count())
-                .wardCount(wardRepository.count())
+                .provinceCount(snapshot.provinceCount())
+                .wardCount(snapshot.wardCount())
                 .build();
     }
 
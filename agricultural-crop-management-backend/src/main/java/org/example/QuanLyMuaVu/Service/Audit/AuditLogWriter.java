@@ -0,0 +1,406 @@
+package org.example.QuanLyMuaVu.Service.Audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.AuditWriterProperties;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Enums.AuditSnapshotFormat;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind pipeline for non-critical audit logs.
+ * <p>
+ * Callers enqueue on a lock-free queue bounded by audit.writer.queue-capacity
+ * and return immediately. A single background thread drains the queue every
+ * audit.writer.flush-interval-ms (or as soon as a batch is full) and inserts
+ * the rows with JDBC batching, outside of any caller's transaction.
+ * <p>
+ * Nothing is silently dropped: entries that do not fit in the queue, and
+ * batches the database rejects, are appended to audit.writer.spill-file,
+ * which is replayed on the next startup, as are entries submitted while the
+ * writer is stopped. A replay interrupted by a crash is resumed, so a spilled
+ * entry may be written twice but is not lost. The writer stops after the web server has drained its
+ * requests and flushes the queue before the datasource closes.
+ * <p>
+ * Spilled entries reach the table later than entries submitted after them,
+ * so they are spilled as full-state keyframes (never as diffs) and the next
+ * entry of the same entity is a keyframe too (see AuditSnapshotCodec).
+ * <p>
+ * Metrics: audit.writer.queue.size gauge, audit.writer.batch timer,
+ * audit.writer.written, audit.writer.write.failures, audit.writer.spilled and
+ * audit.writer.lost counters.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    static final String QUEUE_METRIC = "audit.writer.queue.size";
+    static final String BATCH_METRIC = "audit.writer.batch";
+    static final String WRITTEN_METRIC = "audit.writer.written";
+    static final String WRITE_FAILURES_METRIC = "audit.writer.write.failures";
+    static final String SPILLED_METRIC = "audit.writer.spilled";
+    static final String LOST_METRIC = "audit.writer.lost";
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs (entity_type, entity_id, operation, performed_by, performed_at, snapshot_data,
+                snapshot_format, snapshot_compressed, reason, ip_address)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditSnapshotCodec auditSnapshotCodec;
+    private final AuditWriterProperties properties;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Object spillLock = new Object();
+    private final Object replayLock = new Object();
+    private final Counter written;
+    private final Counter writeFailures;
+    private final Counter spilled;
+    private final Counter lost;
+    private final Timer batchTimer;
+
+    private volatile ScheduledExecutorService flusher;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            AuditSnapshotCodec auditSnapshotCodec, AuditWriterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.auditSnapshotCodec = auditSnapshotCodec;
+        this.properties = properties;
+        this.written = Counter.builder(WRITTEN_METRIC).register(meterRegistry);
+        this.writeFailures = Counter.builder(WRITE_FAILURES_METRIC).register(meterRegistry);
+        this.spilled = Counter.builder(SPILLED_METRIC).register(meterRegistry);
+        this.lost = Counter.builder(LOST_METRIC).register(meterRegistry);
+        this.batchTimer = Timer.builder(BATCH_METRIC).register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC, queued, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Queue an entry whose snapshot is already a full state (or not an
+     * AuditSnapshotCodec snapshot at all).
+     */
+    public void submit(AuditLog entry) {
+        submit(entry, null);
+    }
+
+    /**
+     * Queue an entry for writing; never blocks on the database.
+     *
+     * @param state the full state behind the entry's snapshot, stored instead
+     *              of a diff if the entry has to be spilled
+     */
+    public void submit(AuditLog entry, ObjectNode state) {
+        Pending pending = new Pending(entry, state);
+        if (flusher == null) {
+            // Not started or already stopped: nothing would drain the queue
+            spill(List.of(pending));
+            return;
+        }
+        int size = queued.incrementAndGet();
+        if (size > properties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            spill(List.of(pending));
+            return;
+        }
+        queue.offer(pending);
+        ScheduledExecutorService current = flusher;
+        if (current == null) {
+            // Stopped while this entry was queued, maybe after the final flush
+            flush();
+        } else if (size == batchSize()) {
+            try {
+                current.execute(this::flushQuietly);
+            } catch (RejectedExecutionException stopping) {
+                // Shutting down: stop() flushes the queue
+            }
+        }
+    }
+
+    /**
+     * Write everything queued so far.
+     *
+     * @return the number of rows inserted
+     */
+    public synchronized int flush() {
+        int batchSize = batchSize();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        int inserted = 0;
+        while (true) {
+            Pending pending;
+            while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (batch.isEmpty()) {
+                return inserted;
+            }
+            queued.addAndGet(-batch.size());
+            inserted += insert(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Insert the entries of the spill file left by an earlier run. Entries that
+     * fail again are spilled anew.
+     * <p>
+     * The spill file is renamed to a .replay file first and deleted only once
+     * each of its entries is inserted or spilled anew. A .replay file left by a
+     * replay that did not finish (the process died) is replayed before the
+     * current spill file; entries it had already inserted are then written a
+     * second time.
+     * <p>
+     * While the writer runs, the replay runs on its thread, after the replay
+     * queued by {@link #start()}; replays never overlap, so no file is
+     * replayed twice.
+     *
+     * @return the number of rows inserted
+     */
+    public int replaySpill() {
+        ScheduledExecutorService current = flusher;
+        if (current != null) {
+            try {
+                return current.submit(this::replaySpillNow).get();
+            } catch (RejectedExecutionException stopping) {
+                // Shutting down: replay on this thread
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while replaying the audit spill file", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            }
+        }
+        return replaySpillNow();
+    }
+
+    private int replaySpillNow() {
+        synchronized (replayLock) {
+            return replaySpillFiles();
+        }
+    }
+
+    private int replaySpillFiles() {
+        Path spillFile = Path.of(properties.getSpillFile());
+        Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        int inserted = 0;
+        if (Files.exists(replayFile)) {
+            log.warn("Resuming an unfinished audit spill replay from {}", replayFile);
+            inserted += replay(replayFile);
+            if (Files.exists(replayFile)) {
+                return inserted;
+            }
+        }
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) {
+                return inserted;
+            }
+            try {
+                // No REPLACE_EXISTING: an undeleted .replay file still holds entries
+                Files.move(spillFile, replayFile);
+            } catch (IOException e) {
+                log.error("[AUDIT_FAILURE] Cannot move audit spill file {} to {}", spillFile, replayFile, e);
+                return inserted;
+            }
+        }
+        inserted += replay(replayFile);
+        log.info("Replayed {} audit log entries from {}", inserted, spillFile);
+        return inserted;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::replaySpillNow);
+        executor.scheduleWithFixedDelay(this::flushQuietly, properties.getFlushIntervalMs(),
+                properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        flusher = executor;
+    }
+
+    /**
+     * Stops the background thread, then writes what is still queued (or spills
+     * it if the database is unavailable).
+     */
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = flusher;
+        flusher = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = flush();
+        if (remaining > 0) {
+            log.info("Flushed {} audit log entries on shutdown", remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    /**
+     * Stop only after the web server: its graceful shutdown (phase
+     * DEFAULT_PHASE - 1024) and stop (DEFAULT_PHASE - 2048) let in-flight
+     * requests finish, and those still submit audit entries.
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Insert the entries of a .replay file, then delete it. The file is kept
+     * if it cannot be read.
+     *
+     * @return the number of rows inserted
+     */
+    private int replay(Path replayFile) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("[AUDIT_FAILURE] Cannot read audit spill file {}", replayFile, e);
+            return 0;
+        }
+
+        List<Pending> batch = new ArrayList<>(batchSize());
+        int inserted = 0;
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(new Pending(objectMapper.readValue(line, AuditLog.class), null));
+            } catch (JsonProcessingException e) {
+                lost.increment();
+                log.error("[AUDIT_FAILURE] Unreadable line in audit spill file: {}", line, e);
+            }
+            if (batch.size() == batchSize()) {
+                inserted += insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            inserted += insert(batch);
+        }
+        // Every entry is now inserted or spilled anew by insert()
+        try {
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.warn("Cannot delete replayed audit spill file {}", replayFile, e);
+        }
+        return inserted;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the scheduled flush alive; insert() already spilled what it could
+            log.error("[AUDIT_FAILURE] Audit log flush failed", e);
+        }
+    }
+
+    private int insert(List<Pending> batch) {
+        try {
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, pending) -> {
+                AuditLog entry = pending.entry();
+                ps.setString(1, entry.getEntityType());
+                ps.setObject(2, entry.getEntityId());
+                ps.setString(3, entry.getOperation());
+                ps.setString(4, entry.getPerformedBy());
+                ps.setTimestamp(5, Timestamp.valueOf(entry.getPerformedAt()));
+                ps.setString(6, entry.getSnapshotDataJson());
+                ps.setString(7, entry.getSnapshotFormat() != null ? entry.getSnapshotFormat().name() : null);
+                ps.setObject(8, entry.getSnapshotCompressed());
+                ps.setString(9, entry.getReason());
+                ps.setString(10, entry.getIpAddress());
+            }));
+            written.increment(batch.size());
+            return batch.size();
+        } catch (DataAccessException e) {
+            writeFailures.increment(batch.size());
+            log.error("[AUDIT_FAILURE] Failed to write {} audit log entries, spilling to {}", batch.size(),
+                    properties.getSpillFile(), e);
+            spill(batch);
+            return 0;
+        }
+    }
+
+    private void spill(List<Pending> entries) {
+        synchronized (spillLock) {
+            try (BufferedWriter out = Files.newBufferedWriter(Path.of(properties.getSpillFile()),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Pending pending : entries) {
+                    out.write(objectMapper.writeValueAsString(asKeyframe(pending)));
+                    out.newLine();
+                }
+                spilled.increment(entries.size());
+            } catch (IOException e) {
+                lost.increment(entries.size());
+                log.error("[AUDIT_FAILURE] Lost {} audit log entries: cannot write spill file {}", entries.size(),
+                        properties.getSpillFile(), e);
+            }
+        }
+    }
+
+    /**
+     * The entry with a full-state snapshot, and its entity's next entry forced
+     * to a keyframe: a diff must not depend on a row that is written later.
+     */
+    private AuditLog asKeyframe(Pending pending) {
+        AuditLog entry = pending.entry();
+        auditSnapshotCodec.forget(entry.getEntityType(), entry.getEntityId());
+        if (entry.getSnapshotFormat() == AuditSnapshotFormat.DIFF && pending.state() != null) {
+            AuditSnapshotCodec.Encoded keyframe = auditSnapshotCodec.keyframe(pending.state());
+            entry.setSnapshotDataJson(keyframe.data());
+            entry.setSnapshotFormat(keyframe.format());
+            entry.setSnapshotCompressed(keyframe.compressed());
+        }
+        return entry;
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+
+    private record Pending(AuditLog entry, ObjectNode state) {
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.QuanLyMuaVu.Service.Audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.QuanLyMuaVu.Config.AuditSnapshotProperties;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Enums.AuditSnapshotFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes and decodes audit log snapshots.
+ * <p>
+ * An entity's audit entries store a bounded projection of its fields (no
+ * associated entities, only their ids). The first entry, and every
+ * audit.snapshot.keyframe-interval-th one after it, stores the full projection
+ * (STATE). The others store only the fields that changed since the state
+ * this node wrote last for the entity, as JSON-patch-style add/replace/remove
+ * operations, together with a hash of that base state (DIFF). Snapshots above
+ * audit.snapshot.compress-threshold-bytes are gzip-compressed and Base64
+ * encoded.
+ * <p>
+ * The last state written per entity is kept in a bounded in-memory cache, so
+ * writing a diff needs no read. On a cache miss the entry is a keyframe: the
+ * stored entries may lag behind the AuditLogWriter queue, so they are never a
+ * diff base. Entries are replayed in performedAt order. When another node
+ * wrote the entity in between, the previous replayed state is not the base of
+ * a diff; replay then applies it to the latest earlier state with the base
+ * hash, so interleaved writers on several nodes rebuild the states they saw.
+ */
+@Component
+public class AuditSnapshotCodec {
+
+    private final ObjectMapper objectMapper;
+    private final AuditSnapshotProperties properties;
+    private final Cache<String, LastState> lastStates;
+
+    public AuditSnapshotCodec(ObjectMapper objectMapper, AuditSnapshotProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.lastStates = Caffeine.newBuilder()
+                .maximumSize(properties.getStateCacheSize())
+                .build();
+    }
+
+    /**
+     * The audited fields of a farm. Reads only the ids of its associations, so
+     * lazy proxies stay uninitialized.
+     */
+    public ObjectNode project(Farm farm) {
+        ObjectNode state = objectMapper.createObjectNode();
+        state.put("id", farm.getId());
+        state.put("name", farm.getName());
+        state.put("ownerId", farm.getOwner() != null ? farm.getOwner().getId() : null);
+        state.put("provinceId", farm.getProvince() != null ? farm.getProvince().getId() : null);
+        state.put("wardId", farm.getWard() != null ? farm.getWard().getId() : null);
+        state.put("area", farm.getArea());
+        state.put("active", farm.getActive());
+        return state;
+    }
+
+    /**
+     * Encode the next snapshot of an entity and remember its state as the base
+     * of the following diff.
+     *
+     * @param keyframe store the full state whatever the previous entries are
+     *                 (creation, irreversible operations)
+     */
+    public Encoded encode(String entityType, Integer entityId, ObjectNode state, boolean keyframe) {
+        String key = key(entityType, entityId);
+        LastState last = keyframe ? null : lastStates.getIfPresent(key);
+        Encoded encoded;
+        int diffs;
+        if (last == null || last.diffsSinceKeyframe() + 1 >= properties.getKeyframeInterval()) {
+            encoded = compress(AuditSnapshotFormat.STATE, state.toString());
+            diffs = 0;
+        } else {
+            ObjectNode snapshot = objectMapper.createObjectNode();
+            // Hashed as replay reads it back (numbers parsed from text)
+            snapshot.put("base", hash(normalize(last.state())));
+            snapshot.set("ops", diff(last.state(), state));
+            encoded = compress(AuditSnapshotFormat.DIFF, snapshot.toString());
+            diffs = last.diffsSinceKeyframe() + 1;
+        }
+        lastStates.put(key, new LastState(state.deepCopy(), diffs));
+        return encoded;
+    }
+
+    /**
+     * The full-state snapshot of {@code state}, leaving the remembered states
+     * untouched. Used to store an already encoded diff as a keyframe.
+     */
+    public Encoded keyframe(ObjectNode state) {
+        return compress(AuditSnapshotFormat.STATE, state.toString());
+    }
+
+    /**
+     * Drop the remembered state of an entity, e.g. when the entry encoded last
+     * may still be rolled back or is written out of order. The next entry of
+     * the entity is a keyframe.
+     */
+    public void forget(String entityType, Integer entityId) {
+        lastStates.invalidate(key(entityType, entityId));
+    }
+
+    /**
+     * The state of the entity after each entry.
+     *
+     * @param entries the entries of one entity in performedAt order
+     * @return one state per entry, in the same order
+     */
+    public List<ObjectNode> replay(List<AuditLog> entries) {
+        List<ObjectNode> states = new ArrayList<>(entries.size());
+        Map<String, ObjectNode> statesByHash = new HashMap<>();
+        ObjectNode state = objectMapper.createObjectNode();
+        for (AuditLog entry : entries) {
+            JsonNode snapshot = read(entry);
+            if (entry.getSnapshotFormat() == AuditSnapshotFormat.DIFF) {
+                // Its base is the previous state unless another node wrote in between
+                state = apply(statesByHash.getOrDefault(snapshot.path("base").asText(), state),
+                        (ArrayNode) snapshot.path("ops"));
+            } else {
+                state = snapshot.isObject() ? (ObjectNode) snapshot : objectMapper.createObjectNode();
+            }
+            statesByHash.put(hash(state), state);
+            states.add(state);
+        }
+        return states;
+    }
+
+    /**
+     * The stored snapshot of an entry, decompressed: a state object or a diff
+     * object holding the base hash and its operations.
+     */
+    public JsonNode read(AuditLog entry) {
+        String data = entry.getSnapshotDataJson();
+        if (data == null) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(Boolean.TRUE.equals(entry.getSnapshotCompressed())
+                    ? decompress(data)
+                    : data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable snapshot of audit log " + entry.getId(), e);
+        }
+    }
+
+    /**
+     * Operations turning {@code from} into {@code to}, one per changed
+     * top-level field.
+     */
+    static ArrayNode diff(ObjectNode from, ObjectNode to) {
+        ArrayNode operations = from.arrayNode();
+        for (Map.Entry<String, JsonNode> field : to.properties()) {
+            JsonNode previous = from.get(field.getKey());
+            if (previous == null) {
+                operations.addObject().put("op", "add").put("path", pointer(field.getKey()))
+                        .set("value", field.getValue());
+            } else if (!previous.equals(field.getValue())) {
+                operations.addObject().put("op", "replace").put("path", pointer(field.getKey()))
+                        .set("value", field.getValue());
+            }
+        }
+        for (Map.Entry<String, JsonNode> field : from.properties()) {
+            if (!to.has(field.getKey())) {
+                operations.addObject().put("op", "remove").put("path", pointer(field.getKey()));
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Apply operations produced by {@link #diff} to a copy of {@code state}.
+     */
+    static ObjectNode apply(ObjectNode state, ArrayNode operations) {
+        ObjectNode result = state.deepCopy();
+        for (JsonNode operation : operations) {
+            String field = field(operation.path("path").asText());
+            switch (operation.path("op").asText()) {
+                case "add", "replace" -> result.set(field, operation.get("value"));
+                case "remove" -> result.remove(field);
+                default -> throw new IllegalStateException("Unsupported snapshot operation " + operation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hash of a state, independent of its field order.
+     */
+    static String hash(ObjectNode state) {
+        Map<String, String> fields = new TreeMap<>();
+        state.properties().forEach(field -> fields.put(field.getKey(), field.getValue().toString()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(fields.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectNode normalize(ObjectNode state) {
+        try {
+            return (ObjectNode) objectMapper.readTree(state.toString());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit state " + state, e);
+        }
+    }
+
+    private Encoded compress(AuditSnapshotFormat format, String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= properties.getCompressThresholdBytes()) {
+            return new Encoded(format, json, false);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Encoded(format, Base64.getEncoder().encodeToString(buffer.toByteArray()), true);
+    }
+
+    private static String decompress(String data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(data)))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(String entityType, Integer entityId) {
+        return entityType + ":" + entityId;
+    }
+
+    /** RFC 6901 pointer to a top-level field. */
+    private static String pointer(String field) {
+        return "/" + field.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String field(String pointer) {
+        return pointer.substring(1).replace("~1", "/").replace("~0", "~");
+    }
+
+    /**
+     * A snapshot ready to store in AuditLog.
+     */
+    public record Encoded(AuditSnapshotFormat format, String data, boolean compressed) {
+    }
+
+    private record LastState(ObjectNode state, int diffsSinceKeyframe) {
+    }
+}
@@ -1,26 +1,31 @@
 package org.example.QuanLyMuaVu.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.example.QuanLyMuaVu.Entity.AuditLog;
 import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Enums.AuditSnapshotFormat;
 import org.example.QuanLyMuaVu.Repository.AuditLogRepository;
+import org.example.QuanLyMuaVu.Service.Audit.AuditLogWriter;
+import org.example.QuanLyMuaVu.Service.Audit.AuditSnapshotCodec;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * Service for creating audit logs of critical operations.
  * 
  * Transaction Strategy:
- * - Non-critical operations (soft delete, restore, create, update): Use
- * REQUIRES_NEW propagation.
+ * - Non-critical operations (soft delete, restore, create, update): Queued on
+ * the AuditLogWriter and batch-inserted in the background.
  * Audit logs persist independently, even if main operation fails.
  * Audit failures are logged but don't fail the business operation.
  * 
@@ -28,6 +33,13 @@ import java.time.LocalDateTime;
  * Audit logging runs in the same transaction as the delete.
  * If audit fails, the entire transaction (including delete) is rolled back.
  * This ensures we NEVER have a permanent deletion without an audit trail.
+ * 
+ * Snapshots hold a projection of the farm, as a diff against the previous
+ * entry where possible (see AuditSnapshotCodec). Read them back through
+ * getFarmAuditTrail, which replays the diffs into full states.
+ * 
+ * Failures of either path are counted in audit.log.failures (tag mode=async
+ * or mode=critical).
  */
 @Slf4j
 @Service
@@ -35,14 +47,19 @@ import java.time.LocalDateTime;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuditLogService {
 
+    static final String FAILURES_METRIC = "audit.log.failures";
+
     AuditLogRepository auditLogRepository;
-    ObjectMapper objectMapper;
+    AuditSnapshotCodec auditSnapshotCodec;
+    AuditLogWriter auditLogWriter;
+    MeterRegistry meterRegistry;
 
     /**
      * Log non-critical farm operations (CREATE, UPDATE, SOFT_DELETE, RESTORE).
      * 
-     * Uses REQUIRES_NEW propagation to ensure audit log is saved in a separate
-     * transaction.
+     * The snapshot is taken on the caller's thread, then the entry is handed to
+     * the AuditLogWriter, which inserts it in a later batch outside the
+     * caller's transaction: no extra transaction or connection here.
      * If the main operation fails, the audit log still persists.
      * If audit logging fails, it's logged as an error but doesn't fail the business
      * operation.
@@ -56,7 +73,6 @@ public class AuditLogService {
      * @param reason      Optional reason provided by the user
      * @param ipAddress   IP address of the request
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logFarmOperation(
             Farm farm,
             String operation,
@@ -64,9 +80,12 @@ public class AuditLogService {
             String reason,
             String ipAddress) {
         try {
-            createAuditLog(farm, operation, performedBy, reason, ipAddress);
+            ObjectNode state = auditSnapshotCodec.project(farm);
+            // The state goes along so the writer can store a keyframe if it has to spill the entry
+            auditLogWriter.submit(createAuditLog(farm, state, operation, performedBy, reason, ipAddress,
+                    "CREATE".equals(operation)), state);
             log.info(
-                    "[AUDIT] Non-critical operation logged: entityType=FARM, entityId={}, operation={}, performedBy={}",
+                    "[AUDIT] Non-critical operation queued: entityType=FARM, entityId={}, operation={}, performedBy={}",
                     farm.getId(), operation, performedBy);
 
         } catch (Exception e) {
@@ -75,9 +94,8 @@ public class AuditLogService {
             log.error(
                     "[AUDIT_FAILURE] Failed to create audit log for farm operation: farmId={}, operation={}, error={}",
                     farm.getId(), operation, e.getMessage(), e);
-
-            // TODO: Send alert to monitoring system (e.g., DataDog, CloudWatch, PagerDuty)
-            // This is a degraded state that should be investigated
+            // Degraded state: alert on this counter
+            meterRegistry.counter(FAILURES_METRIC, "mode", "async", "operation", operation).increment();
         }
     }
 
@@ -112,7 +130,10 @@ public class AuditLogService {
             String reason,
             String ipAddress) {
         try {
-            createAuditLog(farm, operation, performedBy, reason, ipAddress);
+            // Full state, and not remembered as a diff base: this transaction may still roll back
+            auditLogRepository.save(createAuditLog(farm, auditSnapshotCodec.project(farm), operation, performedBy,
+                    reason, ipAddress, true));
+            auditSnapshotCodec.forget("FARM", farm.getId());
             log.info(
                     "[AUDIT_CRITICAL] Critical operation logged: entityType=FARM, entityId={}, operation={}, performedBy={}",
                     farm.getId(), operation, performedBy);
@@ -123,8 +144,8 @@ public class AuditLogService {
                     "Transaction will be rolled back. farmId={}, operation={}, error={}",
                     farm.getId(), operation, e.getMessage(), e);
 
-            // TODO: Send CRITICAL alert to monitoring system
-            // This should trigger immediate investigation
+            // Should page immediately: the hard delete is refused until this is fixed
+            meterRegistry.counter(FAILURES_METRIC, "mode", "critical", "operation", operation).increment();
 
             // Re-throw to cause transaction rollback
             throw new RuntimeException("Critical audit logging failed for " + operation +
@@ -133,39 +154,72 @@ public class AuditLogService {
     }
 
     /**
-     * Shared logic to create audit log entry.
-     * Minimizes PII in snapshot by redacting sensitive fields if needed.
+     * Shared logic to build the audit log entry.
+     * The snapshot is a projection of the farm's own columns: owner, province and
+     * ward are referenced by id only, which also keeps their PII out of the log.
+     *
+     * @param state    the farm's projection, from AuditSnapshotCodec#project
+     * @param keyframe store the full projection instead of a diff
      */
-    private void createAuditLog(
+    private AuditLog createAuditLog(
             Farm farm,
+            ObjectNode state,
             String operation,
             String performedBy,
             String reason,
-            String ipAddress) throws JsonProcessingException {
+            String ipAddress,
+            boolean keyframe) {
 
-        // Serialize farm to JSON snapshot
-        // TODO: Consider redacting sensitive PII fields (e.g., detailed address) for
-        // GDPR compliance
-        String snapshot = objectMapper.writeValueAsString(farm);
+        AuditSnapshotCodec.Encoded snapshot = auditSnapshotCodec.encode("FARM", farm.getId(), state, keyframe);
 
-        AuditLog auditLog = AuditLog.builder()
+        return AuditLog.builder()
                 .entityType("FARM")
                 .entityId(farm.getId())
                 .operation(operation)
                 .performedBy(performedBy)
                 .performedAt(LocalDateTime.now())
-                .snapshotDataJson(snapshot)
+                .snapshotDataJson(snapshot.data())
+                .snapshotFormat(snapshot.format())
+                .snapshotCompressed(snapshot.compressed())
                 .reason(reason)
                 .ipAddress(ipAddress)
                 .build();
+    }
 
-        auditLogRepository.save(auditLog);
+    /**
+     * Retrieve audit trail for a specific farm, most recent first.
+     * Every entry's snapshot is the full state of the farm at that entry,
+     * rebuilt by replaying the stored diffs. The entries are read-only: they
+     * must not be saved back.
+     */
+    @Transactional(readOnly = true)
+    public List<AuditLog> getFarmAuditTrail(Integer farmId) {
+        List<AuditLog> entries = auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtAscIdAsc("FARM", farmId);
+        List<ObjectNode> states = auditSnapshotCodec.replay(entries);
+        for (int i = 0; i < entries.size(); i++) {
+            AuditLog entry = entries.get(i);
+            entry.setSnapshotDataJson(states.get(i).toString());
+            entry.setSnapshotFormat(AuditSnapshotFormat.STATE);
+            entry.setSnapshotCompressed(false);
+        }
+        entries.sort(Comparator.comparing(AuditLog::getPerformedAt).thenComparing(AuditLog::getId).reversed());
+        return entries;
     }
 
     /**
-     * Retrieve audit trail for a specific farm.
+     * The audited state of a farm as of {@code at}: the snapshot of its last
+     * entry performed at or before that time, or null if there is none.
      */
-    public java.util.List<AuditLog> getFarmAuditTrail(Integer farmId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtDesc("FARM", farmId);
+    @Transactional(readOnly = true)
+    public ObjectNode getFarmStateAt(Integer farmId, LocalDateTime at) {
+        List<AuditLog> entries = auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtAscIdAsc("FARM", farmId);
+        List<ObjectNode> states = auditSnapshotCodec.replay(entries);
+        ObjectNode state = null;
+        for (int i = 0; i < entries.size(); i++) {
+            if (!entries.get(i).getPerformedAt().isAfter(at)) {
+                state = states.get(i);
+            }
+        }
+        return state;
     }
 }
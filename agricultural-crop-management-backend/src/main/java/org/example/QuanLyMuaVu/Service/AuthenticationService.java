@@ -26,6 +26,7 @@ import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
 import org.example.QuanLyMuaVu.Repository.UserRepository;
 import com.nimbusds.jose.*;
+import com.nimbusds.jwt.SignedJWT;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -51,6 +52,7 @@ public class AuthenticationService {
     InvalidatedTokenRepository invalidatedTokenRepository;
     PasswordEncoder passwordEncoder;
     JwtTokenService jwtTokenService;
+    RevokedTokenIndex revokedTokenIndex;
 
     public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException, ParseException {
         var token = request.getToken();
@@ -189,15 +191,7 @@ public class AuthenticationService {
         try {
             var signToken = jwtTokenService.verifyToken(request.getToken(), true);
 
-            String jit = signToken.getJWTClaimsSet().getJWTID();
-            Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
-
-            InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                    .id(jit)
-                    .expiryTime(expiryTime)
-                    .build();
-
-            invalidatedTokenRepository.save(invalidatedToken);
+            String jit = revoke(signToken);
             log.info("Token invalidated successfully - JIT: {}", jit);
         } catch (AppException exception) {
             log.info("Logout - Token already expired or invalid");
@@ -209,15 +203,7 @@ public class AuthenticationService {
 
         var signedJWT = jwtTokenService.verifyToken(request.getToken(), true);
 
-        var jit = signedJWT.getJWTClaimsSet().getJWTID();
-        var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-
-        InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                .id(jit)
-                .expiryTime(expiryTime)
-                .build();
-
-        invalidatedTokenRepository.save(invalidatedToken);
+        var jit = revoke(signedJWT);
         log.debug("Old token invalidated - JIT: {}", jit);
 
         var email = signedJWT.getJWTClaimsSet().getClaim("email");
@@ -238,6 +224,22 @@ public class AuthenticationService {
     // PRIVATE HELPERS
     // =========================================================================
 
+    /**
+     * Persist the revocation of a token, then make it effective on this node
+     * immediately.
+     */
+    private String revoke(SignedJWT signedJWT) throws ParseException {
+        String jit = signedJWT.getJWTClaimsSet().getJWTID();
+        Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
+
+        invalidatedTokenRepository.save(InvalidatedToken.builder()
+                .id(jit)
+                .expiryTime(expiryTime)
+                .build());
+        revokedTokenIndex.revoke(jit, expiryTime);
+        return jit;
+    }
+
     /**
      * Determine primary role for a user.
      * Business rule: prefer ADMIN over FARMER, otherwise take first role.
@@ -13,6 +13,8 @@ import org.example.QuanLyMuaVu.Mapper.CropMapper;
 import org.example.QuanLyMuaVu.Mapper.VarietyMapper;
 import org.example.QuanLyMuaVu.Repository.CropRepository;
 import org.example.QuanLyMuaVu.Repository.VarietyRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class CropService {
     VarietyRepository varietyRepository;
     VarietyMapper varietyMapper;
 
+    @CacheEvict(value = { "crops", "crop" }, allEntries = true)
     public CropResponse create(CropRequest request) {
         if (cropRepository.existsByCropNameIgnoreCase(request.getCropName())) {
             throw new AppException(ErrorCode.DUPLICATE_RESOURCE);
@@ -36,16 +39,19 @@ public class CropService {
         return cropMapper.toResponse(cropRepository.save(crop));
     }
 
+    @Cacheable("crops")
     public List<CropResponse> getAll() {
         return cropRepository.findAll().stream().map(cropMapper::toResponse).toList();
     }
 
+    @Cacheable(value = "crop", key = "#id")
     public CropResponse getById(Integer id) {
         return cropRepository.findById(id)
                 .map(cropMapper::toResponse)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
     }
 
+    @CacheEvict(value = { "crops", "crop" }, allEntries = true)
     public CropResponse update(Integer id, CropRequest request) {
         Crop crop = cropRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -59,6 +65,7 @@ public class CropService {
         return cropMapper.toResponse(cropRepository.save(crop));
     }
 
+    @CacheEvict(value = { "crops", "crop" }, allEntries = true)
     public void delete(Integer id) {
         Crop crop = cropRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -2,28 +2,28 @@ package org.example.QuanLyMuaVu.Service.Dashboard;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.DashboardProperties;
 import org.example.QuanLyMuaVu.DTO.Response.DashboardOverviewResponse;
 import org.example.QuanLyMuaVu.DTO.Response.LowStockAlertResponse;
-import org.example.QuanLyMuaVu.Entity.Farm;
-import org.example.QuanLyMuaVu.Entity.SupplyLot;
-import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.example.QuanLyMuaVu.Enums.IncidentStatus;
 import org.example.QuanLyMuaVu.Repository.IncidentRepository;
-import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
-import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
-import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
-import org.example.QuanLyMuaVu.Service.FarmerOwnershipService;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Util.CurrentUserService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Service responsible for Dashboard alerts aggregation.
  * Single Responsibility: Alert computation and low stock detection.
+ * <p>
+ * Alerts are computed set-based from the stock balance ledger across all of
+ * the owner's warehouses; counts are aggregated in the database. A lot is low
+ * on stock when its on-hand quantity in a warehouse is at or below its
+ * item's lowStockThreshold (or the configured default).
  */
 @Service
 @RequiredArgsConstructor
@@ -31,13 +31,12 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class DashboardAlertsService {
 
-    private final FarmerOwnershipService ownershipService;
     private final IncidentRepository incidentRepository;
-    private final WarehouseRepository warehouseRepository;
-    private final StockMovementRepository stockMovementRepository;
-    private final SupplyLotRepository supplyLotRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+    private final CurrentUserService currentUserService;
+    private final DashboardCache dashboardCache;
+    private final DashboardProperties properties;
 
-    private static final int LOW_STOCK_THRESHOLD = 5;
     private static final List<IncidentStatus> OPEN_STATUSES = List.of(
             IncidentStatus.OPEN, IncidentStatus.IN_PROGRESS);
 
@@ -45,90 +44,50 @@ public class DashboardAlertsService {
      * Build alerts summary for owner.
      */
     public DashboardOverviewResponse.Alerts buildAlerts(Long ownerId) {
-        // Open incidents
-        long openIncidents = incidentRepository.countByFarmOwnerIdAndStatusIn(ownerId, OPEN_STATUSES);
-
-        // Expiring lots (within 30 days)
-        int expiringLots = countExpiringLots();
+        DashboardProperties.Alerts config = properties.getAlerts();
 
-        // Low stock count
-        int lowStockCount = getLowStock(100).size();
+        long openIncidents = incidentRepository.countByFarmOwnerIdAndStatusIn(ownerId, OPEN_STATUSES);
+        long expiringLots = stockBalanceRepository.countExpiringByOwner(ownerId,
+                LocalDate.now().plusDays(config.getExpiringWithinDays()));
+        long lowStockCount = stockBalanceRepository.countLowStockByOwner(ownerId,
+                config.getDefaultLowStockThreshold());
 
         return DashboardOverviewResponse.Alerts.builder()
                 .openIncidents((int) openIncidents)
-                .expiringLots(expiringLots)
-                .lowStockItems(lowStockCount)
+                .expiringLots((int) expiringLots)
+                .lowStockItems((int) lowStockCount)
                 .build();
     }
 
     /**
-     * Get low stock alerts.
+     * Get low stock alerts, cached per (owner, limit).
      */
     public List<LowStockAlertResponse> getLowStock(int limit) {
-        List<Farm> farms = ownershipService.getOwnedFarms();
-        if (farms.isEmpty()) {
+        if (limit <= 0) {
             return List.of();
         }
-
-        List<LowStockAlertResponse> lowStockItems = new ArrayList<>();
-
-        for (Farm farm : farms) {
-            List<Warehouse> warehouses = warehouseRepository.findAllByFarm(farm);
-            for (Warehouse warehouse : warehouses) {
-                List<Integer> lotIds = stockMovementRepository.findDistinctSupplyLotIdsByWarehouse(warehouse, null);
-                for (Integer lotId : lotIds) {
-                    SupplyLot lot = supplyLotRepository.findById(lotId).orElse(null);
-                    if (lot == null)
-                        continue;
-
-                    BigDecimal onHand = stockMovementRepository.calculateOnHandQuantity(lot, warehouse, null);
-                    if (onHand != null && onHand.compareTo(BigDecimal.valueOf(LOW_STOCK_THRESHOLD)) <= 0) {
-                        lowStockItems.add(LowStockAlertResponse.builder()
-                                .supplyLotId(lot.getId())
-                                .batchCode(lot.getBatchCode())
-                                .itemName(lot.getSupplyItem() != null ? lot.getSupplyItem().getName() : "Unknown")
-                                .warehouseName(warehouse.getName())
-                                .locationLabel("")
-                                .onHand(onHand)
-                                .unit(lot.getSupplyItem() != null ? lot.getSupplyItem().getUnit() : "unit")
-                                .build());
-                    }
-
-                    if (lowStockItems.size() >= limit)
-                        break;
-                }
-                if (lowStockItems.size() >= limit)
-                    break;
-            }
-            if (lowStockItems.size() >= limit)
-                break;
-        }
-
-        return lowStockItems;
+        Long ownerId = currentUserService.getCurrentUserId();
+        return dashboardCache.get(DashboardCache.Region.LOW_STOCK, new DashboardCache.Key(ownerId, null, limit),
+                () -> loadLowStock(ownerId, limit));
     }
 
     // =========================================================================
     // PRIVATE HELPERS
     // =========================================================================
 
-    private int countExpiringLots() {
-        int expiringLots = 0;
-        LocalDate expiryThreshold = LocalDate.now().plusDays(30);
-        List<Farm> farms = ownershipService.getOwnedFarms();
-
-        for (Farm farm : farms) {
-            List<Warehouse> warehouses = warehouseRepository.findAllByFarm(farm);
-            for (Warehouse warehouse : warehouses) {
-                List<Integer> lotIds = stockMovementRepository.findDistinctSupplyLotIdsByWarehouse(warehouse, null);
-                for (Integer lotId : lotIds) {
-                    SupplyLot lot = supplyLotRepository.findById(lotId).orElse(null);
-                    if (lot != null && lot.getExpiryDate() != null
-                            && !lot.getExpiryDate().isAfter(expiryThreshold)) {
-                        expiringLots++;
-                    }
-                }
-            }
-        }
-        return expiringLots;
+    private List<LowStockAlertResponse> loadLowStock(Long ownerId, int limit) {
+        return stockBalanceRepository.findLowStockByOwner(ownerId,
+                properties.getAlerts().getDefaultLowStockThreshold(), PageRequest.of(0, limit))
+                .stream()
+                .map(row -> LowStockAlertResponse.builder()
+                        .supplyLotId(row.getLotId())
+                        .batchCode(row.getBatchCode())
+                        .itemName(row.getItemName() != null ? row.getItemName() : "Unknown")
+                        .warehouseName(row.getWarehouseName())
+                        .locationLabel("")
+                        .onHand(row.getOnHand())
+                        .unit(row.getUnit() != null ? row.getUnit() : "unit")
+                        .build())
+                .toList();
     }
 }
@@ -0,0 +1,223 @@
+package org.example.QuanLyMuaVu.Service.Dashboard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.QuanLyMuaVu.Config.DashboardProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-(owner, season) cache for dashboard aggregates.
+ * <p>
+ * Each region is an LRU map capped at {@code maxEntriesPerRegion}. Entries are
+ * evicted precisely by {@link DashboardCacheInvalidator} when a domain event
+ * touches the owner's data; the TTL is only a safety net for writes that do
+ * not publish an event.
+ * <p>
+ * Metrics, tagged by region:
+ * - {@value #GETS_METRIC} with result=hit|miss
+ * - {@value #EVICTIONS_METRIC} with cause=size|expired|invalidated
+ * - {@value #SIZE_METRIC}
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCache {
+
+    static final String GETS_METRIC = "dashboard.cache.gets";
+    static final String EVICTIONS_METRIC = "dashboard.cache.evictions";
+    static final String SIZE_METRIC = "dashboard.cache.size";
+
+    public enum Region {
+        OVERVIEW,
+        PLOT_STATUS,
+        LOW_STOCK
+    }
+
+    /**
+     * Cache key. {@code seasonId} is null when the value does not depend on a
+     * season (or the caller let the season be resolved); {@code discriminator}
+     * holds any further request parameter, e.g. the low-stock limit.
+     */
+    public record Key(Long ownerId, Integer seasonId, Object discriminator) {
+
+        public static Key of(Long ownerId) {
+            return new Key(ownerId, null, null);
+        }
+
+        public static Key of(Long ownerId, Integer seasonId) {
+            return new Key(ownerId, seasonId, null);
+        }
+    }
+
+    private final DashboardProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Region, RegionStore> regions = new EnumMap<>(Region.class);
+
+    @PostConstruct
+    void init() {
+        for (Region region : Region.values()) {
+            RegionStore store = new RegionStore(region, properties.getCache().getMaxEntriesPerRegion());
+            Gauge.builder(SIZE_METRIC, store, RegionStore::size)
+                    .tag("region", region.name())
+                    .register(meterRegistry);
+            regions.put(region, store);
+        }
+    }
+
+    /**
+     * Return the cached value for the key, computing it with {@code loader} on
+     * a miss. The loaded value is stored only if {@code cacheable} accepts it.
+     */
+    public <T> T get(Region region, Key key, Supplier<T> loader, Predicate<T> cacheable) {
+        RegionStore store = regions.get(region);
+        @SuppressWarnings("unchecked")
+        T cached = (T) store.get(key);
+        if (cached != null) {
+            store.hits.increment();
+            return cached;
+        }
+        store.misses.increment();
+
+        long generation = store.generation();
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            store.put(key, value, generation);
+        }
+        return value;
+    }
+
+    public <T> T get(Region region, Key key, Supplier<T> loader) {
+        return get(region, key, loader, value -> true);
+    }
+
+    /**
+     * Drop every entry of the owner in the region.
+     */
+    public void evictOwner(Region region, Long ownerId) {
+        if (ownerId == null) {
+            return;
+        }
+        regions.get(region).evictIf(key -> ownerId.equals(key.ownerId()));
+    }
+
+    /**
+     * Drop the owner's entries for one season in the region, together with the
+     * entries whose season was resolved implicitly (they may point at it).
+     */
+    public void evictSeason(Region region, Long ownerId, Integer seasonId) {
+        if (ownerId == null) {
+            return;
+        }
+        if (seasonId == null) {
+            evictOwner(region, ownerId);
+            return;
+        }
+        regions.get(region).evictIf(key -> ownerId.equals(key.ownerId())
+                && (key.seasonId() == null || seasonId.equals(key.seasonId())));
+    }
+
+    /**
+     * Drop every entry in the region, for changes that are not owner-scoped.
+     */
+    public void evictAll(Region region) {
+        regions.get(region).evictIf(key -> true);
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final class RegionStore {
+
+        private final int maxEntries;
+        private final LinkedHashMap<Key, Entry> entries;
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter sizeEvictions;
+        private final Counter expiredEvictions;
+        private final Counter invalidations;
+        private long generation;
+
+        RegionStore(Region region, int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+            String tag = region.name();
+            this.hits = counter(GETS_METRIC, tag, "result", "hit");
+            this.misses = counter(GETS_METRIC, tag, "result", "miss");
+            this.sizeEvictions = counter(EVICTIONS_METRIC, tag, "cause", "size");
+            this.expiredEvictions = counter(EVICTIONS_METRIC, tag, "cause", "expired");
+            this.invalidations = counter(EVICTIONS_METRIC, tag, "cause", "invalidated");
+        }
+
+        synchronized Object get(Key key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(key);
+                expiredEvictions.increment();
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        /**
+         * Store a value loaded while the region was at {@code loadedAt}. If an
+         * invalidation ran meanwhile the value may predate it and is dropped.
+         */
+        synchronized void put(Key key, Object value, long loadedAt) {
+            if (loadedAt != generation) {
+                return;
+            }
+            long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getCache().getTtlSeconds());
+            entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+            Iterator<Key> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+        }
+
+        synchronized void evictIf(Predicate<Key> predicate) {
+            generation++;
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                if (predicate.test(it.next())) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private Counter counter(String name, String region, String tagKey, String tagValue) {
+            return Counter.builder(name)
+                    .tag("region", region)
+                    .tag(tagKey, tagValue)
+                    .register(meterRegistry);
+        }
+    }
+}
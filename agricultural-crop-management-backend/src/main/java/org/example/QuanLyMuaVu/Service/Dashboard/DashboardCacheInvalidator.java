@@ -0,0 +1,93 @@
+package org.example.QuanLyMuaVu.Service.Dashboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Pattern.Observer.ExpenseChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.HarvestChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.IncidentReportedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonCreatedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonStatusChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.StockMovementRecordedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskCompletedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskOverdueEvent;
+import org.example.QuanLyMuaVu.Service.Dashboard.DashboardCache.Region;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts dashboard cache entries when a domain event changes the data behind
+ * them.
+ * <p>
+ * Runs after the publishing transaction commits, so a concurrent reader cannot
+ * reload the pre-commit state into the cache. Events published outside a
+ * transaction are handled immediately.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCacheInvalidator {
+
+    private final DashboardCache cache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeasonCreated(SeasonCreatedEvent event) {
+        // A new season can become the implicit season context and adds a plot stage
+        cache.evictOwner(Region.OVERVIEW, event.getOwnerId());
+        cache.evictOwner(Region.PLOT_STATUS, event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeasonStatusChanged(SeasonStatusChangedEvent event) {
+        cache.evictOwner(Region.OVERVIEW, event.getOwnerId());
+        cache.evictOwner(Region.PLOT_STATUS, event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeasonChanged(SeasonChangedEvent event) {
+        // Dates and names feed the season context; a deleted season leaves the plot stages
+        cache.evictOwner(Region.OVERVIEW, event.getOwnerId());
+        cache.evictOwner(Region.PLOT_STATUS, event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        cache.evictSeason(Region.OVERVIEW, event.getOwnerId(), event.getSeasonId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCompleted(TaskCompletedEvent event) {
+        cache.evictSeason(Region.OVERVIEW, event.getOwnerId(), event.getSeasonId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskOverdue(TaskOverdueEvent event) {
+        cache.evictSeason(Region.OVERVIEW, event.getOwnerId(), event.getSeasonId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentReported(IncidentReportedEvent event) {
+        // Open incidents feed both the overview alerts and plot health
+        cache.evictOwner(Region.OVERVIEW, event.getOwnerId());
+        cache.evictOwner(Region.PLOT_STATUS, event.getOwnerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        cache.evictSeason(Region.OVERVIEW, event.getOwnerId(), event.getSeasonId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHarvestChanged(HarvestChangedEvent event) {
+        cache.evictSeason(Region.OVERVIEW, event.getOwnerId(), event.getSeasonId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovementRecorded(StockMovementRecordedEvent event) {
+        // Stock feeds the overview alerts section as well as the low-stock list
+        cache.evictOwner(Region.OVERVIEW, event.getOwnerId());
+        cache.evictOwner(Region.LOW_STOCK, event.getOwnerId());
+        log.debug("Evicted dashboard stock entries for owner {}", event.getOwnerId());
+    }
+}
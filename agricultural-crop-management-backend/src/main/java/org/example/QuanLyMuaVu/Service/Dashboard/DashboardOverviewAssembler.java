@@ -0,0 +1,200 @@
+package org.example.QuanLyMuaVu.Service.Dashboard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.DashboardProperties;
+import org.example.QuanLyMuaVu.DTO.Response.DashboardOverviewResponse;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the dashboard overview by running its independent sections
+ * (counts, KPIs, expenses, harvest, alerts) concurrently.
+ * <p>
+ * Each section runs on a bounded pool in its own read-only transaction with
+ * the caller's SecurityContext. All sections share one time budget; a section
+ * that fails or misses it is left null and listed in
+ * {@code degradedSections} instead of failing the whole overview. A section
+ * that misses the budget is cancelled, which interrupts its thread; a section
+ * the saturated pool rejects is degraded the same way rather than run on the
+ * request thread, where the budget could not bound it.
+ * Per-section durations are published as the {@value #SECTION_TIMER} timer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardOverviewAssembler {
+
+    static final String SECTION_TIMER = "dashboard.overview.section";
+    static final String TIMEOUT_COUNTER = "dashboard.overview.section.timeouts";
+    static final String REJECTED_COUNTER = "dashboard.overview.section.rejections";
+
+    private final DashboardKpiService kpiService;
+    private final DashboardAlertsService alertsService;
+    private final FarmRepository farmRepository;
+    private final PlotRepository plotRepository;
+    private final SeasonRepository seasonRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final DashboardProperties properties;
+
+    private ThreadPoolTaskExecutor threadPool;
+    private ExecutorService executor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        DashboardProperties.Executor config = properties.getOverview().getExecutor();
+        threadPool = new ThreadPoolTaskExecutor();
+        threadPool.setCorePoolSize(config.getCorePoolSize());
+        threadPool.setMaxPoolSize(config.getMaxPoolSize());
+        threadPool.setQueueCapacity(config.getQueueCapacity());
+        threadPool.setThreadNamePrefix("dashboard-");
+        threadPool.initialize();
+        executor = new DelegatingSecurityContextExecutorService(threadPool.getThreadPoolExecutor());
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Build the overview for an owner and (optional) season context.
+     */
+    public DashboardOverviewResponse assemble(Long ownerId, Season season) {
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(properties.getOverview().getSectionTimeoutMs());
+
+        Future<DashboardOverviewResponse.Counts> counts = submit("counts", () -> buildCounts(ownerId));
+        Future<DashboardOverviewResponse.Kpis> kpis = submit("kpis", () -> kpiService.buildKpis(season));
+        Future<DashboardOverviewResponse.Expenses> expenses = submit("expenses",
+                () -> kpiService.buildExpenses(season));
+        Future<DashboardOverviewResponse.Harvest> harvest = submit("harvest",
+                () -> kpiService.buildHarvest(season));
+        Future<DashboardOverviewResponse.Alerts> alerts = submit("alerts",
+                () -> alertsService.buildAlerts(ownerId));
+
+        List<String> degraded = new ArrayList<>();
+        return DashboardOverviewResponse.builder()
+                .seasonContext(buildSeasonContext(season))
+                .counts(await("counts", counts, deadline, degraded))
+                .kpis(await("kpis", kpis, deadline, degraded))
+                .expenses(await("expenses", expenses, deadline, degraded))
+                .harvest(await("harvest", harvest, deadline, degraded))
+                .alerts(await("alerts", alerts, deadline, degraded))
+                .degradedSections(degraded.isEmpty() ? null : degraded)
+                .build();
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    private <T> Future<T> submit(String section, Supplier<T> work) {
+        try {
+            return executor.submit(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "success";
+                try {
+                    return readOnlyTransaction.execute(status -> work.get());
+                } catch (RuntimeException e) {
+                    outcome = "error";
+                    throw e;
+                } finally {
+                    sample.stop(meterRegistry.timer(SECTION_TIMER, "section", section, "outcome", outcome));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(String section, Future<T> future, long deadline, List<String> degraded) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter(TIMEOUT_COUNTER, "section", section).increment();
+            log.warn("Dashboard section '{}' exceeded the overview time budget", section);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AppException appException) {
+                throw appException;
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+                meterRegistry.counter(REJECTED_COUNTER, "section", section).increment();
+                log.warn("Dashboard section '{}' rejected: the dashboard pool is saturated", section);
+                degraded.add(section);
+                return null;
+            }
+            log.error("Dashboard section '{}' failed: {}", section, e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        degraded.add(section);
+        return null;
+    }
+
+    private DashboardOverviewResponse.SeasonContext buildSeasonContext(Season season) {
+        if (season == null) {
+            return null;
+        }
+        return DashboardOverviewResponse.SeasonContext.builder()
+                .seasonId(season.getId())
+                .seasonName(season.getSeasonName())
+                .startDate(season.getStartDate())
+                .endDate(season.getEndDate())
+                .plannedHarvestDate(season.getPlannedHarvestDate())
+                .build();
+    }
+
+    private DashboardOverviewResponse.Counts buildCounts(Long ownerId) {
+        long activeFarms = farmRepository.countByOwnerIdAndActiveTrue(ownerId);
+        long activePlots = plotRepository.countByFarmOwnerId(ownerId);
+
+        Map<String, Integer> seasonsByStatus = new LinkedHashMap<>();
+        for (SeasonStatus status : SeasonStatus.values()) {
+            seasonsByStatus.put(status.name(), 0);
+        }
+        for (SeasonRepository.StatusCount row : seasonRepository.countGroupedByStatusForFarmOwnerId(ownerId)) {
+            if (row.getStatus() != null) {
+                seasonsByStatus.put(row.getStatus().name(), row.getTotal().intValue());
+            }
+        }
+
+        return DashboardOverviewResponse.Counts.builder()
+                .activeFarms((int) activeFarms)
+                .activePlots((int) activePlots)
+                .seasonsByStatus(seasonsByStatus)
+                .build();
+    }
+}
@@ -5,21 +5,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.QuanLyMuaVu.DTO.Response.*;
 import org.example.QuanLyMuaVu.Entity.*;
 import org.example.QuanLyMuaVu.Enums.IncidentStatus;
-import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Enums.TaskStatus;
-import org.example.QuanLyMuaVu.Exception.AppException;
-import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.*;
 import org.example.QuanLyMuaVu.Service.Dashboard.DashboardAlertsService;
-import org.example.QuanLyMuaVu.Service.Dashboard.DashboardKpiService;
+import org.example.QuanLyMuaVu.Service.Dashboard.DashboardCache;
+import org.example.QuanLyMuaVu.Service.Dashboard.DashboardOverviewAssembler;
 import org.example.QuanLyMuaVu.Util.CurrentUserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -28,8 +28,10 @@ import java.util.stream.Collectors;
  * 
  * Responsibilities split into:
  * - DashboardService (this): Orchestration and general queries
+ * - DashboardOverviewAssembler: Concurrent overview section assembly
  * - DashboardKpiService: KPI calculations
  * - DashboardAlertsService: Alert aggregation
+ * - DashboardCache: Per-owner caching of overview, plot status and low stock
  */
 @Service
 @RequiredArgsConstructor
@@ -39,37 +41,35 @@ public class DashboardService {
 
     private final CurrentUserService currentUserService;
     private final FarmerOwnershipService ownershipService;
-    private final FarmRepository farmRepository;
     private final PlotRepository plotRepository;
     private final SeasonRepository seasonRepository;
     private final DashboardTaskViewRepository dashboardTaskViewRepository;
     private final IncidentRepository incidentRepository;
-    private final UserRepository userRepository;
 
     // Delegated services (SRP compliance)
-    private final DashboardKpiService kpiService;
     private final DashboardAlertsService alertsService;
+    private final DashboardOverviewAssembler overviewAssembler;
+    private final DashboardCache dashboardCache;
 
     private static final List<TaskStatus> COMPLETED_STATUSES = List.of(TaskStatus.DONE, TaskStatus.CANCELLED);
+    private static final List<IncidentStatus> OPEN_INCIDENT_STATUSES = List.of(
+            IncidentStatus.OPEN, IncidentStatus.IN_PROGRESS);
 
     /**
      * Get dashboard overview with all aggregated metrics.
+     * Runs outside a transaction: the sections are assembled concurrently, each
+     * in its own read-only transaction (see DashboardOverviewAssembler).
+     * Complete overviews are cached per (owner, season); degraded ones are not.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardOverviewResponse getOverview(Integer seasonId) {
         Long ownerId = currentUserService.getCurrentUserId();
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-
-        Season season = resolveSeasonContext(seasonId, ownerId);
-
-        return DashboardOverviewResponse.builder()
-                .seasonContext(buildSeasonContext(season))
-                .counts(buildCounts(ownerId))
-                .kpis(kpiService.buildKpis(season))
-                .expenses(kpiService.buildExpenses(season))
-                .harvest(kpiService.buildHarvest(season))
-                .alerts(alertsService.buildAlerts(ownerId))
-                .build();
+        return dashboardCache.get(DashboardCache.Region.OVERVIEW, DashboardCache.Key.of(ownerId, seasonId),
+                () -> {
+                    Season season = resolveSeasonContext(seasonId, ownerId);
+                    return overviewAssembler.assemble(ownerId, season);
+                },
+                overview -> overview.getDegradedSections() == null);
     }
 
     /**
@@ -77,12 +77,9 @@ public class DashboardService {
      */
     public Page<TodayTaskResponse> getTodayTasks(Integer seasonId, Pageable pageable) {
         Long ownerId = currentUserService.getCurrentUserId();
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-
         LocalDate today = LocalDate.now();
         Page<DashboardTaskView> tasks = dashboardTaskViewRepository.findTodayTasks(
-                user.getId(), seasonId, today, pageable);
+                ownerId, seasonId, today, pageable);
 
         return tasks.map(this::mapToTodayTaskResponse);
     }
@@ -92,14 +89,11 @@ public class DashboardService {
      */
     public List<TodayTaskResponse> getUpcomingTasks(int days, Integer seasonId) {
         Long ownerId = currentUserService.getCurrentUserId();
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-
         LocalDate today = LocalDate.now();
         LocalDate untilDate = today.plusDays(days);
 
         List<DashboardTaskView> tasks = dashboardTaskViewRepository.findUpcomingTasks(
-                user.getId(), seasonId, today, untilDate, COMPLETED_STATUSES);
+                ownerId, seasonId, today, untilDate, COMPLETED_STATUSES);
 
         return tasks.stream()
                 .map(this::mapToTodayTaskResponse)
@@ -111,11 +105,8 @@ public class DashboardService {
      */
     public List<PlotStatusResponse> getPlotStatus(Integer seasonId) {
         Long ownerId = currentUserService.getCurrentUserId();
-        List<Plot> plots = plotRepository.findAllByFarmOwnerId(ownerId);
-
-        return plots.stream()
-                .map(this::mapToPlotStatusResponse)
-                .collect(Collectors.toList());
+        return dashboardCache.get(DashboardCache.Region.PLOT_STATUS, DashboardCache.Key.of(ownerId),
+                () -> buildPlotStatus(plotRepository.findAllByFarmOwnerId(ownerId)));
     }
 
     /**
@@ -129,6 +120,10 @@ public class DashboardService {
     // PRIVATE HELPERS
     // =========================================================================
 
+    /**
+     * The season comes with its plot loaded (Season.detail): the overview
+     * sections read it on worker threads, where it cannot be lazily loaded.
+     */
     private Season resolveSeasonContext(Integer seasonId, Long ownerId) {
         if (seasonId != null) {
             return ownershipService.requireOwnedSeason(seasonId);
@@ -149,36 +144,6 @@ public class DashboardService {
         return null;
     }
 
-    private DashboardOverviewResponse.SeasonContext buildSeasonContext(Season season) {
-        if (season == null) {
-            return null;
-        }
-        return DashboardOverviewResponse.SeasonContext.builder()
-                .seasonId(season.getId())
-                .seasonName(season.getSeasonName())
-                .startDate(season.getStartDate())
-                .endDate(season.getEndDate())
-                .plannedHarvestDate(season.getPlannedHarvestDate())
-                .build();
-    }
-
-    private DashboardOverviewResponse.Counts buildCounts(Long ownerId) {
-        long activeFarms = farmRepository.countByOwnerIdAndActiveTrue(ownerId);
-        long activePlots = plotRepository.countByFarmOwnerId(ownerId);
-
-        Map<String, Integer> seasonsByStatus = new LinkedHashMap<>();
-        for (SeasonStatus status : SeasonStatus.values()) {
-            long count = seasonRepository.countByStatusAndFarmOwnerId(status, ownerId);
-            seasonsByStatus.put(status.name(), (int) count);
-        }
-
-        return DashboardOverviewResponse.Counts.builder()
-                .activeFarms((int) activeFarms)
-                .activePlots((int) activePlots)
-                .seasonsByStatus(seasonsByStatus)
-                .build();
-    }
-
     private TodayTaskResponse mapToTodayTaskResponse(DashboardTaskView task) {
         String plotName = task.getPlotName() != null ? task.getPlotName() : "";
         String type = inferTaskType(task.getTitle(), task.getDescription());
@@ -211,32 +176,54 @@ public class DashboardService {
         return "scouting";
     }
 
-    private PlotStatusResponse mapToPlotStatusResponse(Plot plot) {
+    /**
+     * Plot status rows from a fixed number of queries however many plots the
+     * owner has: the seasons of all plots, then the open incident counts of
+     * each plot's latest season.
+     */
+    private List<PlotStatusResponse> buildPlotStatus(List<Plot> plots) {
+        if (plots.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Season> latestSeasonByPlot = seasonRepository
+                .findAllByPlot_IdIn(plots.stream().map(Plot::getId).toList()).stream()
+                .collect(Collectors.toMap(season -> season.getPlot().getId(), season -> season,
+                        BinaryOperator.maxBy(Comparator.comparing(Season::getStartDate))));
+
+        Map<Integer, Long> openIncidentsBySeason = latestSeasonByPlot.isEmpty()
+                ? Map.of()
+                : incidentRepository.countGroupedBySeasonIdInAndStatusIn(
+                        latestSeasonByPlot.values().stream().map(Season::getId).toList(),
+                        OPEN_INCIDENT_STATUSES).stream()
+                        .collect(Collectors.toMap(IncidentRepository.SeasonCount::getSeasonId,
+                                IncidentRepository.SeasonCount::getTotal));
+
+        return plots.stream()
+                .map(plot -> {
+                    Season latestSeason = latestSeasonByPlot.get(plot.getId());
+                    long openCount = latestSeason != null
+                            ? openIncidentsBySeason.getOrDefault(latestSeason.getId(), 0L)
+                            : 0;
+                    return mapToPlotStatusResponse(plot, latestSeason, openCount);
+                })
+                .toList();
+    }
+
+    private PlotStatusResponse mapToPlotStatusResponse(Plot plot, Season latestSeason, long openCount) {
         String cropName = "N/A";
         String stage = "N/A";
         String health = "HEALTHY";
 
-        List<Season> seasons = seasonRepository.findAllByPlot_Id(plot.getId());
-        if (!seasons.isEmpty()) {
-            Season latestSeason = seasons.stream()
-                    .max(Comparator.comparing(Season::getStartDate))
-                    .orElse(null);
-            if (latestSeason != null) {
-                if (latestSeason.getCrop() != null) {
-                    cropName = latestSeason.getCrop().getCropName();
-                }
-                stage = latestSeason.getStatus() != null ? latestSeason.getStatus().name() : "N/A";
-
-                List<Incident> incidents = incidentRepository.findAllBySeason(latestSeason);
-                long openCount = incidents.stream()
-                        .filter(i -> i.getStatus() == IncidentStatus.OPEN
-                                || i.getStatus() == IncidentStatus.IN_PROGRESS)
-                        .count();
-                if (openCount > 2) {
-                    health = "CRITICAL";
-                } else if (openCount > 0) {
-                    health = "WARNING";
-                }
+        if (latestSeason != null) {
+            if (latestSeason.getCrop() != null) {
+                cropName = latestSeason.getCrop().getCropName();
+            }
+            stage = latestSeason.getStatus() != null ? latestSeason.getStatus().name() : "N/A";
+
+            if (openCount > 2) {
+                health = "CRITICAL";
+            } else if (openCount > 0) {
+                health = "WARNING";
             }
         }
 
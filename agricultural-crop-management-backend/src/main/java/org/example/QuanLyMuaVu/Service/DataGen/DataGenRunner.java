@@ -0,0 +1,50 @@
+package org.example.QuanLyMuaVu.Service.DataGen;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.DataGenProperties;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point of the dataset generator, active with the datagen
+ * profile:
+ *
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=datagen --datagen.farms=5000 --datagen.seed=7
+ * </pre>
+ *
+ * Unless datagen.exit-when-done is false, the application stops once the
+ * data is written.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DataGenRunner implements ApplicationRunner {
+
+    SyntheticDatasetGenerator generator;
+    DataGenProperties properties;
+    ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticDatasetGenerator.GenerationResult result = generator.generate(properties);
+        result.getRowsByTable().forEach((table, rows) -> log.info("  {}: {} rows", table, rows));
+        log.info("Generated {} rows (seed {}, anchor {}) in {} ms", result.getTotalRows(), result.getSeed(),
+                result.getAnchorDate(), result.getDurationMs());
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
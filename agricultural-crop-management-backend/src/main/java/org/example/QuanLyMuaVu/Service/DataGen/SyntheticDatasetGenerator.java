@@ -0,0 +1,598 @@
+package org.example.QuanLyMuaVu.Service.DataGen;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.DataGenProperties;
+import org.example.QuanLyMuaVu.Constant.PredefinedRole;
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Entity.Role;
+import org.example.QuanLyMuaVu.Entity.SupplyItem;
+import org.example.QuanLyMuaVu.Enums.LogType;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.example.QuanLyMuaVu.Repository.RoleRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyItemRepository;
+import org.example.QuanLyMuaVu.Service.AddressImportService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic farm dataset of production shape and volume for
+ * performance tests, benchmarks and load tests.
+ * <p>
+ * Rows are written with JDBC batches. Ids are assigned here, after the
+ * highest existing id of each table, so child rows never wait for generated
+ * keys. Batches commit as they are written: an interrupted run keeps the rows
+ * written so far. The same seed and anchor date on the same starting data
+ * produce the same rows, on MySQL or H2.
+ * <p>
+ * Generated farmers are named gen_farmer_{id}, have the FARMER role and the
+ * password {@value #PASSWORD}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SyntheticDatasetGenerator {
+
+    public static final String PASSWORD = "datagen123";
+
+    JdbcTemplate jdbcTemplate;
+    RoleRepository roleRepository;
+    CropRepository cropRepository;
+    SupplyItemRepository supplyItemRepository;
+    AddressImportService addressImportService;
+    PasswordEncoder passwordEncoder;
+
+    private static final List<String> DEFAULT_CROPS = List.of("Lúa", "Ngô", "Cà phê", "Hồ tiêu", "Sầu riêng");
+    private static final List<String> SOIL_TYPES = List.of("ALLUVIAL", "BASALT", "GREY", "SANDY", "LOAM");
+    private static final List<String> TASK_TITLES = List.of(
+            "Land preparation", "Sowing", "Irrigation", "Fertilizing NPK", "Weeding",
+            "Pest spraying", "Field inspection", "Harvest");
+    private static final List<String> EXPENSE_CATEGORIES = List.of(
+            "SEED", "FERTILIZER", "PESTICIDE", "LABOR", "MACHINERY", "IRRIGATION", "OTHER");
+    private static final int LOCATIONS_PER_WAREHOUSE = 4;
+
+    /**
+     * Generate a dataset of the given shape.
+     */
+    public GenerationResult generate(DataGenProperties spec) {
+        Run run = new Run(spec);
+        run.generate();
+        return run.result();
+    }
+
+    /**
+     * State of one generation: random source, reference data, id sequences
+     * and pending batches.
+     */
+    private class Run {
+
+        final DataGenProperties spec;
+        final SplittableRandom random;
+        final LocalDate anchor;
+        final long startNanos = System.nanoTime();
+
+        final String passwordHash;
+        final long farmerRoleId;
+        final List<Integer> cropIds = new ArrayList<>();
+        final Map<Integer, String> cropNames = new LinkedHashMap<>();
+        final List<Integer> supplyItemIds = new ArrayList<>();
+        final List<int[]> wards;
+
+        // In foreign key order: flushing a batch flushes the ones before it
+        final List<Batch> batches = new ArrayList<>();
+        final Batch users = batch("users", "user_id", """
+                INSERT INTO users (user_id, user_name, email, phone, full_name, password_hash, status,
+                    province_id, ward_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch userRoles = batch("user_roles", null,
+                "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)");
+        final Batch farms = batch("farms", "farm_id", """
+                INSERT INTO farms (farm_id, owner_id, farm_name, province_id, ward_id, area, active)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""");
+        final Batch plots = batch("plots", "plot_id", """
+                INSERT INTO plots (plot_id, created_by, farm_id, plot_name, area, soil_type, status, created_at,
+                    updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch seasons = batch("seasons", "season_id", """
+                INSERT INTO seasons (season_id, season_name, plot_id, crop_id, start_date, planned_harvest_date,
+                    end_date, status, initial_plant_count, current_plant_count, expected_yield_kg,
+                    actual_yield_kg, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch tasks = batch("tasks", "task_id", """
+                INSERT INTO tasks (task_id, user_id, season_id, title, planned_date, due_date, status,
+                    actual_start_date, actual_end_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch expenses = batch("expenses", "expense_id", """
+                INSERT INTO expenses (expense_id, user_id, season_id, task_id, category, item_name, unit_price,
+                    quantity, total_cost, amount, expense_date, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch fieldLogs = batch("field_logs", "field_log_id", """
+                INSERT INTO field_logs (field_log_id, season_id, log_date, log_type, notes, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)""");
+        final Batch warehouses = batch("warehouses", "id", """
+                INSERT INTO warehouses (id, farm_id, name, type, province_id, ward_id)
+                VALUES (?, ?, ?, ?, ?, ?)""");
+        final Batch locations = batch("stock_locations", "id", """
+                INSERT INTO stock_locations (id, warehouse_id, zone, aisle, shelf, bin)
+                VALUES (?, ?, ?, ?, ?, ?)""");
+        final Batch lots = batch("supply_lots", "id", """
+                INSERT INTO supply_lots (id, supply_item_id, batch_code, expiry_date, status)
+                VALUES (?, ?, ?, ?, ?)""");
+        final Batch movements = batch("stock_movements", "id", """
+                INSERT INTO stock_movements (id, supply_lot_id, warehouse_id, location_id, movement_type, quantity,
+                    movement_date, season_id, note) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""");
+        final Batch balances = batch("stock_balances", "id", """
+                INSERT INTO stock_balances (id, supply_lot_id, warehouse_id, location_id, location_key, quantity, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""");
+
+        Run(DataGenProperties spec) {
+            this.spec = spec;
+            this.random = new SplittableRandom(spec.getSeed());
+            this.anchor = spec.getAnchorDate() != null ? spec.getAnchorDate() : LocalDate.now();
+            // One hash for every generated farmer: hashing per user would dominate the run
+            this.passwordHash = passwordEncoder.encode(PASSWORD);
+            this.farmerRoleId = roleRepository.findByCode(PredefinedRole.FARMER_ROLE)
+                    .orElseGet(() -> roleRepository.save(Role.builder()
+                            .code(PredefinedRole.FARMER_ROLE)
+                            .name("Farmer")
+                            .description("Farmer user")
+                            .build()))
+                    .getId();
+            loadCrops();
+            loadSupplyItems();
+            this.wards = loadWards();
+        }
+
+        void generate() {
+            log.info("Generating dataset: {} farms, seed {}, anchor {}", spec.getFarms(), spec.getSeed(), anchor);
+            int generated = 0;
+            while (generated < spec.getFarms()) {
+                long ownerId = seedOwner();
+                int owned = Math.min(around(spec.getFarmsPerOwner()), spec.getFarms() - generated);
+                for (int i = 0; i < Math.max(1, owned); i++) {
+                    seedFarm(ownerId);
+                    if (++generated % Math.max(1, spec.getProgressInterval()) == 0) {
+                        log.info("Dataset generation: {} farms, {} rows ({} rows/s)", generated, rowsAdded(),
+                                rowsPerSecond(rowsAdded()));
+                    }
+                }
+            }
+            flushThrough(batches.get(batches.size() - 1));
+            restartIdentityColumns();
+        }
+
+        GenerationResult result() {
+            Map<String, Long> rows = new LinkedHashMap<>();
+            batches.forEach(batch -> rows.put(batch.table, batch.added));
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info("Dataset generation finished: {} rows in {} ms ({} rows/s)", rowsAdded(), durationMs,
+                    rowsPerSecond(rowsAdded()));
+            return GenerationResult.builder()
+                    .seed(spec.getSeed())
+                    .anchorDate(anchor)
+                    .rowsByTable(rows)
+                    .totalRows(rowsAdded())
+                    .durationMs(durationMs)
+                    .build();
+        }
+
+        // =====================================================================
+        // FARMS
+        // =====================================================================
+
+        long seedOwner() {
+            long userId = users.nextId();
+            int[] ward = pick(wards);
+            users.add(userId, "gen_farmer_" + userId, "gen_farmer_" + userId + "@datagen.local",
+                    String.format(Locale.ROOT, "09%08d", random.nextInt(100_000_000)),
+                    "Nông dân " + userId, passwordHash, UserStatus.ACTIVE.name(), ward[1], ward[0]);
+            userRoles.add(userId, farmerRoleId);
+            return userId;
+        }
+
+        void seedFarm(long ownerId) {
+            long farmId = farms.nextId();
+            int[] ward = pick(wards);
+
+            int plotCount = around(spec.getPlotsPerFarm());
+            BigDecimal[] plotAreas = new BigDecimal[plotCount];
+            BigDecimal farmArea = BigDecimal.ZERO;
+            for (int p = 0; p < plotCount; p++) {
+                plotAreas[p] = decimal(0.2, 5.0, 2);
+                farmArea = farmArea.add(plotAreas[p]);
+            }
+            farms.add(farmId, ownerId, "Trang trại " + farmId, ward[1], ward[0], farmArea, true);
+
+            List<Long> farmSeasonIds = new ArrayList<>();
+            for (int p = 0; p < plotCount; p++) {
+                long plotId = plots.nextId();
+                LocalDateTime createdAt = anchor.minusYears(3).atTime(8, 0);
+                plots.add(plotId, ownerId, farmId, "Lô " + (p + 1), plotAreas[p], pick(SOIL_TYPES), "IN_USE",
+                        createdAt, createdAt);
+                seedSeasons(ownerId, plotId, plotAreas[p], farmSeasonIds);
+            }
+            seedInventory(farmId, ward, farmSeasonIds);
+        }
+
+        /**
+         * Back-to-back seasons ending around the anchor date: the latest is
+         * active (sometimes still planned), the earlier ones completed.
+         */
+        void seedSeasons(long ownerId, long plotId, BigDecimal plotArea, List<Long> farmSeasonIds) {
+            int count = around(spec.getSeasonsPerPlot());
+            LocalDate[] starts = new LocalDate[count];
+            int[] lengths = new int[count];
+            boolean planned = random.nextInt(100) < 15;
+            LocalDate start = planned ? anchor.plusDays(between(5, 30)) : anchor.minusDays(between(0, 60));
+            for (int i = count - 1; i >= 0; i--) {
+                lengths[i] = between(90, 150);
+                starts[i] = start;
+                start = start.minusDays(between(100, 190));
+            }
+
+            for (int i = 0; i < count; i++) {
+                SeasonStatus status = i < count - 1
+                        ? (random.nextInt(100) < 5 ? SeasonStatus.CANCELLED : SeasonStatus.COMPLETED)
+                        : (planned ? SeasonStatus.PLANNED : SeasonStatus.ACTIVE);
+                long seasonId = seedSeason(ownerId, plotId, plotArea, starts[i], lengths[i], status, i + 1);
+                if (status != SeasonStatus.PLANNED) {
+                    farmSeasonIds.add(seasonId);
+                }
+            }
+        }
+
+        long seedSeason(long ownerId, long plotId, BigDecimal plotArea, LocalDate start, int length,
+                SeasonStatus status, int number) {
+            long seasonId = seasons.nextId();
+            Integer cropId = pick(cropIds);
+            LocalDate plannedHarvest = start.plusDays(length);
+            boolean finished = status == SeasonStatus.COMPLETED || status == SeasonStatus.CANCELLED;
+            LocalDate endDate = finished ? plannedHarvest.plusDays(between(-5, 10)) : null;
+            int initialPlants = between(500, 5000);
+            BigDecimal expectedYield = plotArea.multiply(BigDecimal.valueOf(between(3000, 7000)));
+            BigDecimal actualYield = status == SeasonStatus.COMPLETED
+                    ? expectedYield.multiply(decimal(0.7, 1.15, 2)).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+            seasons.add(seasonId, "Vụ " + number + " - " + cropNames.get(cropId), plotId, cropId, start,
+                    plannedHarvest, endDate, status.name(), initialPlants,
+                    status == SeasonStatus.PLANNED ? initialPlants : initialPlants * between(85, 100) / 100,
+                    expectedYield, actualYield, start.minusDays(7).atTime(8, 0));
+
+            LocalDate lastDay = endDate != null ? endDate : plannedHarvest;
+            List<Long> taskIds = seedTasks(ownerId, seasonId, start, lastDay, finished);
+            if (status != SeasonStatus.PLANNED) {
+                // Nothing is spent or logged after the anchor date
+                LocalDate until = lastDay.isBefore(anchor) ? lastDay : anchor;
+                seedExpenses(ownerId, seasonId, start, until, taskIds);
+                seedFieldLogs(seasonId, start, until);
+            }
+            return seasonId;
+        }
+
+        List<Long> seedTasks(long ownerId, long seasonId, LocalDate start, LocalDate end, boolean finished) {
+            int count = around(spec.getTasksPerSeason());
+            long days = Math.max(1, ChronoUnit.DAYS.between(start, end));
+            List<Long> taskIds = new ArrayList<>(count);
+            for (int t = 0; t < count; t++) {
+                long taskId = tasks.nextId();
+                LocalDate planned = start.plusDays(days * t / count);
+                LocalDate due = planned.plusDays(between(3, 10));
+                TaskStatus status = taskStatus(planned, due, finished);
+                LocalDate actualStart = status == TaskStatus.DONE || status == TaskStatus.IN_PROGRESS
+                        ? planned
+                        : null;
+                LocalDate actualEnd = status == TaskStatus.DONE ? due.minusDays(between(0, 2)) : null;
+                tasks.add(taskId, ownerId, seasonId, TASK_TITLES.get(t * TASK_TITLES.size() / count), planned,
+                        due, status.name(), actualStart, actualEnd, planned.minusDays(3).atTime(7, 0));
+                taskIds.add(taskId);
+            }
+            return taskIds;
+        }
+
+        TaskStatus taskStatus(LocalDate planned, LocalDate due, boolean seasonFinished) {
+            int roll = random.nextInt(100);
+            if (seasonFinished) {
+                return roll < 92 ? TaskStatus.DONE : TaskStatus.CANCELLED;
+            }
+            if (due.isBefore(anchor)) {
+                return roll < 80 ? TaskStatus.DONE : roll < 92 ? TaskStatus.OVERDUE : TaskStatus.CANCELLED;
+            }
+            if (!planned.isAfter(anchor)) {
+                return roll < 60 ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+            }
+            return TaskStatus.PENDING;
+        }
+
+        void seedExpenses(long ownerId, long seasonId, LocalDate from, LocalDate until, List<Long> taskIds) {
+            int count = around(spec.getExpensesPerSeason());
+            long days = Math.max(0, ChronoUnit.DAYS.between(from, until));
+            for (int e = 0; e < count; e++) {
+                long expenseId = expenses.nextId();
+                String category = pick(EXPENSE_CATEGORIES);
+                BigDecimal unitPrice = BigDecimal.valueOf(between(10, 2000) * 1000L);
+                int quantity = between(1, 50);
+                BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(quantity));
+                LocalDate date = from.plusDays(days == 0 ? 0 : random.nextLong(days + 1));
+                Long taskId = !taskIds.isEmpty() && random.nextBoolean() ? pick(taskIds) : null;
+                expenses.add(expenseId, ownerId, seasonId, taskId, category,
+                        category.charAt(0) + category.substring(1).toLowerCase(Locale.ROOT) + " " + expenseId,
+                        unitPrice, quantity, total, total, date, date.atTime(18, 0));
+            }
+        }
+
+        void seedFieldLogs(long seasonId, LocalDate from, LocalDate until) {
+            int count = around(spec.getFieldLogsPerSeason());
+            long days = Math.max(0, ChronoUnit.DAYS.between(from, until));
+            LogType[] types = LogType.values();
+            for (int l = 0; l < count; l++) {
+                LogType type = types[random.nextInt(types.length)];
+                LocalDate date = from.plusDays(days == 0 ? 0 : random.nextLong(days + 1));
+                fieldLogs.add(fieldLogs.nextId(), seasonId, date, type.name(), type.getDescription(),
+                        date.atTime(17, 0));
+            }
+        }
+
+        // =====================================================================
+        // INVENTORY
+        // =====================================================================
+
+        /**
+         * One warehouse per farm. Each lot is received once, then mostly
+         * issued to the farm's seasons, with occasional restocks and
+         * adjustments; its balance row is the signed sum of its movements.
+         */
+        void seedInventory(long farmId, int[] ward, List<Long> farmSeasonIds) {
+            long warehouseId = warehouses.nextId();
+            warehouses.add(warehouseId, farmId, "Kho " + farmId, "INPUT", ward[1], ward[0]);
+            long[] locationIds = new long[LOCATIONS_PER_WAREHOUSE];
+            for (int i = 0; i < locationIds.length; i++) {
+                locationIds[i] = locations.nextId();
+                locations.add(locationIds[i], warehouseId, i < 2 ? "A" : "B", String.valueOf(i % 2 + 1),
+                        String.valueOf(i + 1), null);
+            }
+
+            int lotCount = around(spec.getLotsPerWarehouse());
+            for (int l = 0; l < lotCount; l++) {
+                long lotId = lots.nextId();
+                lots.add(lotId, pick(supplyItemIds), "GEN-" + lotId, anchor.plusDays(between(-60, 720)),
+                        "IN_STOCK");
+                seedMovements(lotId, warehouseId, locationIds[random.nextInt(locationIds.length)],
+                        farmSeasonIds);
+            }
+        }
+
+        void seedMovements(long lotId, long warehouseId, long locationId, List<Long> farmSeasonIds) {
+            int count = around(spec.getMovementsPerLot());
+            LocalDateTime first = anchor.minusDays(between(30, 365)).atTime(7, 0);
+            long stepMinutes = ChronoUnit.MINUTES.between(first, anchor.atStartOfDay()) / Math.max(1, count);
+
+            long balance = 0;
+            for (int m = 0; m < count; m++) {
+                LocalDateTime date = first.plusMinutes(stepMinutes * m + random.nextLong(Math.max(1, stepMinutes)));
+                int roll = random.nextInt(100);
+                StockMovementType type;
+                long quantity;
+                Long seasonId = null;
+                String note = null;
+                if (m > 0 && roll < 65 && balance > 0 && !farmSeasonIds.isEmpty()) {
+                    type = StockMovementType.OUT;
+                    quantity = Math.max(1, balance * between(5, 40) / 100);
+                    seasonId = pick(farmSeasonIds);
+                } else if (m > 0 && roll >= 90) {
+                    type = StockMovementType.ADJUST;
+                    quantity = between(1, 10);
+                    note = "Kiểm kê";
+                } else {
+                    type = StockMovementType.IN;
+                    quantity = between(100, 1000);
+                }
+                balance += type == StockMovementType.OUT ? -quantity : quantity;
+                movements.add(movements.nextId(), lotId, warehouseId, locationId, type.name(),
+                        BigDecimal.valueOf(quantity), date, seasonId, note);
+            }
+            balances.add(balances.nextId(), lotId, warehouseId, locationId, locationId, BigDecimal.valueOf(balance),
+                    anchor.atStartOfDay());
+        }
+
+        // =====================================================================
+        // REFERENCE DATA
+        // =====================================================================
+
+        void loadCrops() {
+            List<Crop> crops = new ArrayList<>(cropRepository.findAll());
+            if (crops.isEmpty()) {
+                crops = cropRepository.saveAll(DEFAULT_CROPS.stream()
+                        .map(name -> Crop.builder().cropName(name).build())
+                        .toList());
+            }
+            crops.sort(Comparator.comparing(Crop::getId));
+            crops.forEach(crop -> {
+                cropIds.add(crop.getId());
+                cropNames.put(crop.getId(), crop.getCropName());
+            });
+        }
+
+        void loadSupplyItems() {
+            List<SupplyItem> items = new ArrayList<>(supplyItemRepository.findAll());
+            if (items.isEmpty()) {
+                items = supplyItemRepository.saveAll(List.of(
+                        supplyItem("Phân NPK 16-16-8", "kg", 50),
+                        supplyItem("Phân Urê", "kg", 50),
+                        supplyItem("Phân Kali", "kg", 30),
+                        supplyItem("Thuốc trừ sâu", "l", 10),
+                        supplyItem("Thuốc trừ cỏ", "l", 10),
+                        supplyItem("Giống lúa", "kg", 100)));
+            }
+            items.sort(Comparator.comparing(SupplyItem::getId));
+            items.forEach(item -> supplyItemIds.add(item.getId()));
+        }
+
+        List<int[]> loadWards() {
+            String sql = "SELECT id, province_id FROM wards ORDER BY id";
+            List<int[]> rows = jdbcTemplate.query(sql, (rs, i) -> new int[] { rs.getInt(1), rs.getInt(2) });
+            if (rows.isEmpty()) {
+                addressImportService.importOnStartupIfEmpty();
+                rows = jdbcTemplate.query(sql, (rs, i) -> new int[] { rs.getInt(1), rs.getInt(2) });
+            }
+            if (rows.isEmpty()) {
+                throw new IllegalStateException("No wards to place farms in: import loc.sql first");
+            }
+            return rows;
+        }
+
+        // =====================================================================
+        // BATCHES AND IDS
+        // =====================================================================
+
+        Batch batch(String table, String idColumn, String sql) {
+            Batch batch = new Batch(table, idColumn, sql);
+            batches.add(batch);
+            return batch;
+        }
+
+        /**
+         * Flush {@code last} and every batch its rows may reference.
+         */
+        void flushThrough(Batch last) {
+            for (Batch batch : batches) {
+                batch.flush();
+                if (batch == last) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Ids were assigned explicitly. MySQL moves AUTO_INCREMENT past them,
+         * H2 identity columns have to be told.
+         */
+        void restartIdentityColumns() {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toUpperCase(Locale.ROOT).contains("H2")) {
+                return;
+            }
+            for (Batch batch : batches) {
+                if (batch.idColumn != null) {
+                    jdbcTemplate.execute("ALTER TABLE " + batch.table + " ALTER COLUMN " + batch.idColumn
+                            + " RESTART WITH " + batch.nextId);
+                }
+            }
+        }
+
+        long rowsAdded() {
+            return batches.stream().mapToLong(batch -> batch.added).sum();
+        }
+
+        long rowsPerSecond(long rows) {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            return rows * 1_000_000_000L / elapsedNanos;
+        }
+
+        /**
+         * Pending rows of one table and its id sequence.
+         */
+        class Batch {
+
+            final String table;
+            final String idColumn;
+            final String sql;
+            final List<Object[]> rows = new ArrayList<>();
+            long nextId;
+            long added;
+
+            Batch(String table, String idColumn, String sql) {
+                this.table = table;
+                this.idColumn = idColumn;
+                this.sql = sql;
+                this.nextId = idColumn == null ? 0
+                        : jdbcTemplate.queryForObject(
+                                "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class) + 1;
+            }
+
+            long nextId() {
+                return nextId++;
+            }
+
+            void add(Object... args) {
+                rows.add(args);
+                added++;
+                if (rows.size() >= spec.getBatchSize()) {
+                    flushThrough(this);
+                }
+            }
+
+            void flush() {
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                    rows.clear();
+                }
+            }
+        }
+
+        // =====================================================================
+        // RANDOM
+        // =====================================================================
+
+        /**
+         * Uniform between half and one and a half times the mean, at least 1
+         * for a positive mean.
+         */
+        int around(int mean) {
+            if (mean <= 0) {
+                return 0;
+            }
+            return Math.max(1, between(mean / 2, mean + mean / 2));
+        }
+
+        int between(int min, int max) {
+            return min + random.nextInt(max - min + 1);
+        }
+
+        BigDecimal decimal(double min, double max, int scale) {
+            return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(scale, RoundingMode.HALF_UP);
+        }
+
+        <T> T pick(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+    }
+
+    private static SupplyItem supplyItem(String name, String unit, int lowStockThreshold) {
+        return SupplyItem.builder()
+                .name(name)
+                .unit(unit)
+                .lowStockThreshold(BigDecimal.valueOf(lowStockThreshold))
+                .build();
+    }
+
+    // ==================== RESULT DTO ====================
+
+    @lombok.Builder
+    @lombok.Data
+    public static class GenerationResult {
+        private long seed;
+        private LocalDate anchorDate;
+        private Map<String, Long> rowsByTable;
+        private long totalRows;
+        private long durationMs;
+    }
+}
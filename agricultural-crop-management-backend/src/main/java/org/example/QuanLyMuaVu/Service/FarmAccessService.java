@@ -11,9 +11,7 @@ import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.FarmRepository;
-import org.example.QuanLyMuaVu.Repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.example.QuanLyMuaVu.Util.CurrentUserService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,6 +25,10 @@ import java.util.List;
  * quality and incident modules to enforce the ACM business rules on top of
  * RBAC.
  * <p>
+ * Ownership is resolved by id through {@link OwnershipIndex}; the entity graph
+ * is only walked for entities that are not persisted yet and legacy plots
+ * without a farm.
+ * <p>
  * Note: FarmMember functionality was removed as per DDL schema update.
  */
 @Service
@@ -35,25 +37,14 @@ import java.util.List;
 public class FarmAccessService {
 
     FarmRepository farmRepository;
-    UserRepository userRepository;
+    CurrentUserService currentUserService;
+    OwnershipIndex ownershipIndex;
 
+    /**
+     * Current user, shared across the request (see CurrentUserService).
+     */
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
-
-        // JWT subject contains user_id as a string, not username
-        String userIdStr = authentication.getName();
-        try {
-            Long userId = Long.parseLong(userIdStr);
-            return userRepository.findById(userId)
-                    .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        } catch (NumberFormatException e) {
-            // If it's not a number, try looking up by username (for backward compatibility)
-            return userRepository.findByUsername(userIdStr)
-                    .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        }
+        return currentUserService.getCurrentUser();
     }
 
     /**
@@ -74,14 +65,10 @@ public class FarmAccessService {
         if (farm == null) {
             throw new AppException(ErrorCode.FARM_NOT_FOUND);
         }
-
-        User currentUser = getCurrentUser();
-
-        if (farm.getOwner() != null && farm.getOwner().getId().equals(currentUser.getId())) {
-            return;
-        }
-
-        throw new AppException(ErrorCode.FORBIDDEN);
+        Long ownerId = farm.getId() != null
+                ? ownershipIndex.ownerOfFarm(farm.getId())
+                : farm.getOwner() != null ? farm.getOwner().getId() : null;
+        assertCurrentUserIsOwner(ownerId);
     }
 
     public void assertCurrentUserCanAccessPlot(Plot plot) {
@@ -89,6 +76,12 @@ public class FarmAccessService {
             throw new AppException(ErrorCode.PLOT_NOT_FOUND);
         }
 
+        Integer farmId = plot.getId() != null ? ownershipIndex.farmOfPlot(plot.getId()) : null;
+        if (farmId != null) {
+            assertCurrentUserIsOwner(ownershipIndex.ownerOfFarm(farmId));
+            return;
+        }
+
         Farm farm = plot.getFarm();
         if (farm != null) {
             assertCurrentUserCanAccessFarm(farm);
@@ -96,8 +89,8 @@ public class FarmAccessService {
         }
 
         // Legacy fallback when plots are not linked to farms: require direct ownership.
-        User currentUser = getCurrentUser();
-        if (plot.getUser() != null && plot.getUser().getId().equals(currentUser.getId())) {
+        Long currentUserId = currentUserService.getCurrentUserId();
+        if (plot.getUser() != null && plot.getUser().getId().equals(currentUserId)) {
             return;
         }
 
@@ -108,6 +101,13 @@ public class FarmAccessService {
         if (season == null) {
             throw new AppException(ErrorCode.SEASON_NOT_FOUND);
         }
+
+        Integer farmId = season.getId() != null ? ownershipIndex.farmOfSeason(season.getId()) : null;
+        if (farmId != null) {
+            assertCurrentUserIsOwner(ownershipIndex.ownerOfFarm(farmId));
+            return;
+        }
+
         Plot plot = season.getPlot();
         if (plot == null) {
             throw new AppException(ErrorCode.FORBIDDEN);
@@ -119,10 +119,24 @@ public class FarmAccessService {
         if (warehouse == null) {
             throw new AppException(ErrorCode.RESOURCE_NOT_FOUND);
         }
+
+        Integer farmId = warehouse.getId() != null ? ownershipIndex.farmOfWarehouse(warehouse.getId()) : null;
+        if (farmId != null) {
+            assertCurrentUserIsOwner(ownershipIndex.ownerOfFarm(farmId));
+            return;
+        }
+
         Farm farm = warehouse.getFarm();
         if (farm == null) {
             throw new AppException(ErrorCode.FORBIDDEN);
         }
         assertCurrentUserCanAccessFarm(farm);
     }
+
+    // Ownership only needs the id from the token, not the User row
+    private void assertCurrentUserIsOwner(Long ownerId) {
+        if (ownerId == null || !ownerId.equals(currentUserService.getCurrentUserId())) {
+            throw new AppException(ErrorCode.FORBIDDEN);
+        }
+    }
 }
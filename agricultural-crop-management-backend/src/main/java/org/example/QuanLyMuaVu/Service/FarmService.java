@@ -32,6 +32,7 @@ public class FarmService {
     private final ProvinceRepository provinceRepository;
     private final WardRepository wardRepository;
     private final CurrentUserService currentUserService;
+    private final OwnershipIndex ownershipIndex;
 
     @Transactional(readOnly = true)
     public List<FarmResponse> getMyFarms() {
@@ -101,6 +102,7 @@ public class FarmService {
                 .build();
 
         Farm savedFarm = farmRepository.save(farm);
+        ownershipIndex.evictFarm(savedFarm.getId());
         return toResponse(savedFarm);
     }
 
@@ -173,6 +175,7 @@ public class FarmService {
 
         farm.setActive(false);
         farmRepository.save(farm);
+        ownershipIndex.evictFarm(farmId);
     }
 
     private User getCurrentUser() {
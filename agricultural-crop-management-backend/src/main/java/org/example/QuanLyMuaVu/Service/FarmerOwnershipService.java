@@ -3,13 +3,11 @@ package org.example.QuanLyMuaVu.Service;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Plot;
 import org.example.QuanLyMuaVu.Entity.Season;
-import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.FarmRepository;
 import org.example.QuanLyMuaVu.Repository.PlotRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
-import org.example.QuanLyMuaVu.Repository.UserRepository;
 import org.example.QuanLyMuaVu.Util.CurrentUserService;
 import org.springframework.stereotype.Service;
 
@@ -43,6 +41,9 @@ import java.util.List;
  * - FARM_NOT_FOUND / PLOT_NOT_FOUND / SEASON_NOT_FOUND if resource doesn't
  * exist
  * - NOT_OWNER (403) if resource exists but belongs to another farmer
+ * 
+ * Ownership is resolved through OwnershipIndex, so a denied request never
+ * loads the entity and the isOwned* checks never load anything.
  */
 @Service
 @RequiredArgsConstructor
@@ -50,10 +51,10 @@ import java.util.List;
 public class FarmerOwnershipService {
 
     private final CurrentUserService currentUserService;
-    private final UserRepository userRepository;
     private final FarmRepository farmRepository;
     private final PlotRepository plotRepository;
     private final SeasonRepository seasonRepository;
+    private final OwnershipIndex ownershipIndex;
 
     // =========================================================================
     // FARM OWNERSHIP
@@ -86,16 +87,18 @@ public class FarmerOwnershipService {
             throw new AppException(ErrorCode.FARM_NOT_FOUND);
         }
 
-        Farm farm = farmRepository.findById(farmId)
-                .orElseThrow(() -> new AppException(ErrorCode.FARM_NOT_FOUND));
-
-        if (!farm.getOwner().getId().equals(ownerId)) {
+        Long actualOwnerId = ownershipIndex.ownerOfFarm(farmId);
+        if (actualOwnerId == null) {
+            throw new AppException(ErrorCode.FARM_NOT_FOUND);
+        }
+        if (!actualOwnerId.equals(ownerId)) {
             log.warn("Access denied: User {} attempted to access farm {} owned by user {}",
-                    ownerId, farmId, farm.getOwner().getId());
+                    ownerId, farmId, actualOwnerId);
             throw new AppException(ErrorCode.NOT_OWNER);
         }
 
-        return farm;
+        return farmRepository.findById(farmId)
+                .orElseThrow(() -> new AppException(ErrorCode.FARM_NOT_FOUND));
     }
 
     /**
@@ -105,12 +108,8 @@ public class FarmerOwnershipService {
      * @return true if current user owns the farm, false otherwise
      */
     public boolean isOwnedFarm(Integer farmId) {
-        try {
-            requireOwnedFarm(farmId);
-            return true;
-        } catch (AppException e) {
-            return false;
-        }
+        Long ownerId = ownershipIndex.ownerOfFarm(farmId);
+        return ownerId != null && ownerId.equals(currentUserService.getCurrentUserIdOrNull());
     }
 
     /**
@@ -119,10 +118,7 @@ public class FarmerOwnershipService {
      * @return list of farms owned by current user
      */
     public List<Farm> getOwnedFarms() {
-        Long currentUserId = currentUserService.getCurrentUserId();
-        User owner = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        return farmRepository.findAllByOwner(owner);
+        return farmRepository.findAllByOwner(currentUserService.getCurrentUser());
     }
 
     // =========================================================================
@@ -156,18 +152,20 @@ public class FarmerOwnershipService {
             throw new AppException(ErrorCode.PLOT_NOT_FOUND);
         }
 
-        Plot plot = plotRepository.findById(plotId)
-                .orElseThrow(() -> new AppException(ErrorCode.PLOT_NOT_FOUND));
-
         // Check via farm ownership
-        Farm farm = plot.getFarm();
-        if (farm == null || !farm.getOwner().getId().equals(ownerId)) {
+        Integer farmId = ownershipIndex.farmOfPlot(plotId);
+        if (farmId == null && !plotRepository.existsById(plotId)) {
+            throw new AppException(ErrorCode.PLOT_NOT_FOUND);
+        }
+        Long actualOwnerId = ownershipIndex.ownerOfFarm(farmId);
+        if (actualOwnerId == null || !actualOwnerId.equals(ownerId)) {
             log.warn("Access denied: User {} attempted to access plot {} via farm owned by user {}",
-                    ownerId, plotId, farm != null ? farm.getOwner().getId() : "null");
+                    ownerId, plotId, actualOwnerId != null ? actualOwnerId : "null");
             throw new AppException(ErrorCode.NOT_OWNER);
         }
 
-        return plot;
+        return plotRepository.findById(plotId)
+                .orElseThrow(() -> new AppException(ErrorCode.PLOT_NOT_FOUND));
     }
 
     /**
@@ -177,12 +175,8 @@ public class FarmerOwnershipService {
      * @return true if current user owns the plot, false otherwise
      */
     public boolean isOwnedPlot(Integer plotId) {
-        try {
-            requireOwnedPlot(plotId);
-            return true;
-        } catch (AppException e) {
-            return false;
-        }
+        Long ownerId = ownershipIndex.ownerOfPlot(plotId);
+        return ownerId != null && ownerId.equals(currentUserService.getCurrentUserIdOrNull());
     }
 
     /**
@@ -191,10 +185,7 @@ public class FarmerOwnershipService {
      * @return list of plots for current user's farms
      */
     public List<Plot> getOwnedPlots() {
-        Long currentUserId = currentUserService.getCurrentUserId();
-        User owner = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        return plotRepository.findAllByUser(owner);
+        return plotRepository.findAllByUser(currentUserService.getCurrentUser());
     }
 
     // =========================================================================
@@ -219,7 +210,8 @@ public class FarmerOwnershipService {
      * 
      * @param seasonId the season ID to check
      * @param ownerId  the expected owner's user ID
-     * @return the Season entity if owned by specified user
+     * @return the Season entity, with plot, crop and variety loaded, if owned by
+     *         specified user
      * @throws AppException with SEASON_NOT_FOUND if season doesn't exist
      * @throws AppException with NOT_OWNER if season's farm belongs to another user
      */
@@ -228,23 +220,20 @@ public class FarmerOwnershipService {
             throw new AppException(ErrorCode.SEASON_NOT_FOUND);
         }
 
-        Season season = seasonRepository.findById(seasonId)
-                .orElseThrow(() -> new AppException(ErrorCode.SEASON_NOT_FOUND));
-
-        // Check via plot -> farm ownership chain
-        Plot plot = season.getPlot();
-        if (plot == null) {
-            throw new AppException(ErrorCode.PLOT_NOT_FOUND);
+        // Check via plot -> farm ownership chain (seasons.plot_id is NOT NULL)
+        Integer farmId = ownershipIndex.farmOfSeason(seasonId);
+        if (farmId == null && !seasonRepository.existsById(seasonId)) {
+            throw new AppException(ErrorCode.SEASON_NOT_FOUND);
         }
-
-        Farm farm = plot.getFarm();
-        if (farm == null || !farm.getOwner().getId().equals(ownerId)) {
+        Long actualOwnerId = ownershipIndex.ownerOfFarm(farmId);
+        if (actualOwnerId == null || !actualOwnerId.equals(ownerId)) {
             log.warn("Access denied: User {} attempted to access season {} via farm owned by user {}",
-                    ownerId, seasonId, farm != null ? farm.getOwner().getId() : "null");
+                    ownerId, seasonId, actualOwnerId != null ? actualOwnerId : "null");
             throw new AppException(ErrorCode.NOT_OWNER);
         }
 
-        return season;
+        return seasonRepository.findDetailById(seasonId)
+                .orElseThrow(() -> new AppException(ErrorCode.SEASON_NOT_FOUND));
     }
 
     /**
@@ -254,12 +243,8 @@ public class FarmerOwnershipService {
      * @return true if current user owns the season, false otherwise
      */
     public boolean isOwnedSeason(Integer seasonId) {
-        try {
-            requireOwnedSeason(seasonId);
-            return true;
-        } catch (AppException e) {
-            return false;
-        }
+        Long ownerId = ownershipIndex.ownerOfSeason(seasonId);
+        return ownerId != null && ownerId.equals(currentUserService.getCurrentUserIdOrNull());
     }
 
     /**
@@ -332,7 +317,7 @@ public class FarmerOwnershipService {
      */
     public Season requireOwnedSeasonOrAdmin(Integer seasonId) {
         if (isCurrentUserAdmin()) {
-            return seasonRepository.findById(seasonId)
+            return seasonRepository.findDetailById(seasonId)
                     .orElseThrow(() -> new AppException(ErrorCode.SEASON_NOT_FOUND));
         }
         return requireOwnedSeason(seasonId);
@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Request.CreateFieldLogRequest;
 import org.example.QuanLyMuaVu.DTO.Request.UpdateFieldLogRequest;
@@ -91,6 +92,39 @@ public class FieldLogService {
         return PageResponse.of(pageData, pageItems);
     }
 
+    /**
+     * Keyset variant of {@link #listFieldLogsForSeason}: filters and seeks on
+     * field log id (newest first) in the database.
+     */
+    public PageResponse<FieldLogResponse> listFieldLogsForSeasonByCursor(
+            Integer seasonId,
+            LocalDate from,
+            LocalDate to,
+            String type,
+            String searchQuery,
+            String cursor,
+            int size) {
+        Season season = getSeasonForCurrentFarmer(seasonId);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        String typeFilter = type != null && !type.isBlank() ? type.trim().toLowerCase() : null;
+        String queryFilter = searchQuery != null && searchQuery.length() >= 2 ? searchQuery.toLowerCase() : null;
+
+        Pageable pageable = PageRequest.of(0, size + 1,
+                Sort.by(pageCursor.fetchDirection(Sort.Direction.DESC), "id"));
+        List<FieldLog> rows = fieldLogRepository.seekBySeasonId(
+                season.getId(),
+                from,
+                to,
+                typeFilter,
+                queryFilter,
+                pageCursor.idBelow(Sort.Direction.DESC),
+                pageCursor.idAbove(Sort.Direction.DESC),
+                pageable);
+
+        return PageResponse.ofKeyset(rows, size, pageCursor, log -> null, FieldLog::getId, this::toResponse);
+    }
+
     public FieldLogResponse createFieldLog(Integer seasonId, CreateFieldLogRequest request) {
         Season season = getSeasonForCurrentFarmer(seasonId);
         ensureSeasonOpenForLogs(season, true);
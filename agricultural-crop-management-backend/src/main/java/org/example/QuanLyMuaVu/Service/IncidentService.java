@@ -18,6 +18,8 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.IncidentRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.IncidentReportedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +44,7 @@ public class IncidentService {
     IncidentRepository incidentRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * List incidents with pagination and filters
@@ -131,6 +134,7 @@ public class IncidentService {
                 .build();
 
         Incident saved = incidentRepository.save(incident);
+        eventPublisher.publishEvent(new IncidentReportedEvent(saved));
         return toResponse(saved);
     }
 
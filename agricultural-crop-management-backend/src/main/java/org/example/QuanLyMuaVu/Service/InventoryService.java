@@ -3,6 +3,8 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementRequest;
 import org.example.QuanLyMuaVu.DTO.Response.OnHandRowResponse;
@@ -19,27 +21,36 @@ import org.example.QuanLyMuaVu.Enums.StockMovementType;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
 import org.example.QuanLyMuaVu.Repository.StockLocationRepository;
 import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
 import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
 import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
 import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.StockMovementRecordedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
 @Transactional
 public class InventoryService {
 
@@ -51,6 +62,13 @@ public class InventoryService {
     SeasonRepository seasonRepository;
     TaskRepository taskRepository;
     FarmAccessService farmAccessService;
+    StockBalanceService stockBalanceService;
+    StockBalanceRepository stockBalanceRepository;
+    TransactionTemplate transactionTemplate;
+    ApplicationEventPublisher eventPublisher;
+
+    private static final int MOVEMENT_MAX_ATTEMPTS = 3;
+    private static final long MOVEMENT_RETRY_BACKOFF_MS = 50;
 
     // ============================================
     // GET MY WAREHOUSES
@@ -99,81 +117,31 @@ public class InventoryService {
             }
         }
 
-        // Get all distinct supply lot IDs with movements at this warehouse/location
-        List<Integer> lotIds = stockMovementRepository.findDistinctSupplyLotIdsByWarehouse(warehouse, location);
-
-        if (lotIds.isEmpty()) {
-            return createEmptyPageResponse(pageable);
-        }
-
-        // Filter by specific lot if provided
-        if (lotId != null) {
-            if (!lotIds.contains(lotId)) {
-                return createEmptyPageResponse(pageable);
-            }
-            lotIds = List.of(lotId);
-        }
-
-        // Build on-hand rows
-        List<OnHandRowResponse> allRows = new ArrayList<>();
-        for (Integer lid : lotIds) {
-            SupplyLot lot = supplyLotRepository.findById(lid).orElse(null);
-            if (lot == null)
-                continue;
-
-            // Filter by search query if provided
-            if (q != null && !q.isBlank()) {
-                String searchLower = q.toLowerCase();
-                boolean matches = false;
-                if (lot.getBatchCode() != null && lot.getBatchCode().toLowerCase().contains(searchLower)) {
-                    matches = true;
-                }
-                if (lot.getSupplyItem() != null && lot.getSupplyItem().getName() != null
-                        && lot.getSupplyItem().getName().toLowerCase().contains(searchLower)) {
-                    matches = true;
-                }
-                if (!matches)
-                    continue;
-            }
+        String searchQuery = q != null && !q.isBlank() ? q.trim().toLowerCase() : null;
 
-            BigDecimal onHand = stockMovementRepository.calculateOnHandQuantity(lot, warehouse, location);
+        // One grouped query over the balance ledger: lot + item joined, summed,
+        // filtered and paged in the database
+        Page<StockBalanceRepository.OnHandTotal> totals = stockBalanceRepository.findOnHandByWarehouse(
+                warehouse, location, lotId, searchQuery, pageable);
 
-            // Only include rows with positive on-hand
-            if (onHand.compareTo(BigDecimal.ZERO) > 0) {
-                OnHandRowResponse row = OnHandRowResponse.builder()
+        final StockLocation rowLocation = location;
+        List<OnHandRowResponse> rows = totals.getContent().stream()
+                .map(total -> OnHandRowResponse.builder()
                         .warehouseId(warehouse.getId())
                         .warehouseName(warehouse.getName())
-                        .locationId(location != null ? location.getId() : null)
-                        .locationLabel(location != null ? buildLocationLabel(location) : "Any Location")
-                        .supplyLotId(lot.getId())
-                        .batchCode(lot.getBatchCode())
-                        .supplyItemName(lot.getSupplyItem() != null ? lot.getSupplyItem().getName() : null)
-                        .unit(lot.getSupplyItem() != null ? lot.getSupplyItem().getUnit() : null)
-                        .expiryDate(lot.getExpiryDate())
-                        .lotStatus(lot.getStatus())
-                        .onHandQuantity(onHand)
-                        .build();
-                allRows.add(row);
-            }
-        }
-
-        // Manual pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allRows.size());
-
-        if (start >= allRows.size()) {
-            return createEmptyPageResponse(pageable);
-        }
-
-        List<OnHandRowResponse> pagedRows = allRows.subList(start, end);
+                        .locationId(rowLocation != null ? rowLocation.getId() : null)
+                        .locationLabel(rowLocation != null ? buildLocationLabel(rowLocation) : "Any Location")
+                        .supplyLotId(total.getLotId())
+                        .batchCode(total.getBatchCode())
+                        .supplyItemName(total.getItemName())
+                        .unit(total.getUnit())
+                        .expiryDate(total.getExpiryDate())
+                        .lotStatus(total.getLotStatus())
+                        .onHandQuantity(total.getOnHand())
+                        .build())
+                .collect(Collectors.toList());
 
-        PageResponse<OnHandRowResponse> response = new PageResponse<>();
-        response.setItems(pagedRows);
-        response.setPage(pageable.getPageNumber());
-        response.setSize(pageable.getPageSize());
-        response.setTotalElements(allRows.size());
-        response.setTotalPages((int) Math.ceil((double) allRows.size() / pageable.getPageSize()));
-        return response;
+        return PageResponse.of(totals, rows);
     }
 
     // ============================================
@@ -203,10 +171,67 @@ public class InventoryService {
         return PageResponse.of(movementsPage, items);
     }
 
+    // ============================================
+    // GET MOVEMENTS (Keyset History)
+    // ============================================
+    public PageResponse<StockMovementResponse> getMovementsByCursor(Integer warehouseId, String type,
+            LocalDate from, LocalDate to, String cursor, int size) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new AppException(ErrorCode.WAREHOUSE_NOT_FOUND));
+        ensureWarehouseOwnership(warehouse);
+
+        StockMovementType movementType = null;
+        if (type != null && !type.isBlank()) {
+            movementType = StockMovementType.fromCode(type);
+        }
+
+        LocalDateTime fromDateTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toDateTime = to != null ? to.atTime(23, 59, 59) : null;
+
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Sort.Direction fetchDirection = pageCursor.fetchDirection(Sort.Direction.DESC);
+        Pageable pageable = PageRequest.of(0, size + 1,
+                Sort.by(fetchDirection, "movementDate").and(Sort.by(fetchDirection, "id")));
+
+        List<StockMovement> rows = stockMovementRepository.seekByWarehouseWithFilters(
+                warehouse, movementType, fromDateTime, toDateTime,
+                parseCursorDate(pageCursor.sortKeyBelow(Sort.Direction.DESC)),
+                pageCursor.idBelow(Sort.Direction.DESC),
+                parseCursorDate(pageCursor.sortKeyAbove(Sort.Direction.DESC)),
+                pageCursor.idAbove(Sort.Direction.DESC),
+                pageable);
+
+        return PageResponse.ofKeyset(rows, size, pageCursor,
+                movement -> movement.getMovementDate().toString(), StockMovement::getId, this::toResponse);
+    }
+
     // ============================================
     // RECORD MOVEMENT (Enhanced with validations)
     // ============================================
+
+    /**
+     * Record a stock movement. Each attempt runs in its own transaction; if the
+     * lot's balance rows cannot be locked in time (contention or deadlock) the
+     * attempt is rolled back and retried up to {@value #MOVEMENT_MAX_ATTEMPTS}
+     * times before failing with STOCK_BUSY.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StockMovementResponse recordMovement(RecordStockMovementRequest request) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> doRecordMovement(request));
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= MOVEMENT_MAX_ATTEMPTS) {
+                    log.warn("Stock movement on lot {} gave up after {} lock attempts",
+                            request.getSupplyLotId(), attempt);
+                    throw new AppException(ErrorCode.STOCK_BUSY);
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private StockMovementResponse doRecordMovement(RecordStockMovementRequest request) {
         Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId())
                 .orElseThrow(() -> new AppException(ErrorCode.WAREHOUSE_NOT_FOUND));
         ensureWarehouseOwnership(warehouse);
@@ -282,9 +307,9 @@ public class InventoryService {
             }
         }
 
-        // ========== VALIDATION: Sufficient on-hand for OUT ==========
+        // ========== VALIDATION: Sufficient on-hand for OUT (row-locked) ==========
         if (type == StockMovementType.OUT) {
-            BigDecimal onHand = stockMovementRepository.calculateOnHandQuantity(lot, warehouse, location);
+            BigDecimal onHand = stockBalanceService.lockOnHand(lot, warehouse, location);
             if (onHand.compareTo(quantity) < 0) {
                 throw new AppException(ErrorCode.INSUFFICIENT_STOCK);
             }
@@ -303,6 +328,8 @@ public class InventoryService {
                 .build();
 
         StockMovement saved = stockMovementRepository.save(movement);
+        stockBalanceService.apply(saved);
+        eventPublisher.publishEvent(new StockMovementRecordedEvent(saved));
         return toResponse(saved);
     }
 
@@ -323,18 +350,34 @@ public class InventoryService {
                     .orElseThrow(() -> new AppException(ErrorCode.LOCATION_NOT_FOUND));
         }
 
-        return stockMovementRepository.calculateOnHandQuantity(lot, warehouse, location);
+        return stockBalanceService.getOnHand(lot, warehouse, location);
     }
 
     // ============================================
     // HELPER METHODS
     // ============================================
     private void ensureWarehouseOwnership(Warehouse warehouse) {
-        Farm farm = warehouse.getFarm();
-        if (farm == null) {
-            throw new AppException(ErrorCode.FORBIDDEN);
+        farmAccessService.assertCurrentUserCanAccessWarehouse(warehouse);
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(MOVEMENT_RETRY_BACKOFF_MS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.STOCK_BUSY);
+        }
+    }
+
+    private LocalDateTime parseCursorDate(String sortKey) {
+        if (sortKey == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
         }
-        farmAccessService.assertCurrentUserCanAccessFarm(farm);
     }
 
     private String buildLocationLabel(StockLocation location) {
@@ -408,14 +451,4 @@ public class InventoryService {
                 .note(movement.getNote())
                 .build();
     }
-
-    private PageResponse<OnHandRowResponse> createEmptyPageResponse(Pageable pageable) {
-        PageResponse<OnHandRowResponse> response = new PageResponse<>();
-        response.setItems(List.of());
-        response.setPage(pageable.getPageNumber());
-        response.setSize(pageable.getPageSize());
-        response.setTotalElements(0);
-        response.setTotalPages(0);
-        return response;
-    }
 }
@@ -9,7 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
-import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -29,7 +28,7 @@ import java.util.UUID;
 @Slf4j
 public class JwtTokenService {
 
-    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final RevokedTokenIndex revokedTokenIndex;
 
     @Value("${jwt.signerKey}")
     private String signerKey;
@@ -40,8 +39,8 @@ public class JwtTokenService {
     @Value("${jwt.refreshable-duration}")
     private long refreshableDuration;
 
-    public JwtTokenService(InvalidatedTokenRepository invalidatedTokenRepository) {
-        this.invalidatedTokenRepository = invalidatedTokenRepository;
+    public JwtTokenService(RevokedTokenIndex revokedTokenIndex) {
+        this.revokedTokenIndex = revokedTokenIndex;
     }
 
     /**
@@ -132,7 +131,7 @@ public class JwtTokenService {
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+        if (revokedTokenIndex.isRevoked(signedJWT.getJWTClaimsSet().getJWTID())) {
             log.warn("Token is invalidated - JIT: {}", signedJWT.getJWTClaimsSet().getJWTID());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
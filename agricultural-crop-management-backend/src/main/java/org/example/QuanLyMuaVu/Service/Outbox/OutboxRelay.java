@@ -0,0 +1,295 @@
+package org.example.QuanLyMuaVu.Service.Outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.AsyncConfig;
+import org.example.QuanLyMuaVu.Config.OutboxProperties;
+import org.example.QuanLyMuaVu.Pattern.Observer.OutboxMessage;
+import org.example.QuanLyMuaVu.Service.SchedulerLockService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers committed outbox rows to the local {@link OutboxMessage} listeners.
+ * <p>
+ * Every node polls. A poll claims up to outbox.batch-size PENDING rows with a
+ * conditional UPDATE that only succeeds on rows nobody else holds, so
+ * concurrent nodes split the backlog instead of blocking on each other's row
+ * locks; a node that loses a race simply claims again on its next poll. The
+ * batch is delivered in parallel on the domain event executor, then completed
+ * with one UPDATE for the delivered rows and a batch update for the failed
+ * ones, which are retried with exponential back-off until outbox.max-attempts.
+ * <p>
+ * Delivery is at-least-once: a claim expiring (node crash, very slow listener)
+ * hands the rows to another node. Events are not ordered across a batch.
+ * <p>
+ * Metrics: outbox.events.delivered, outbox.events.failed and
+ * outbox.events.dead counters, outbox.relay.batch timer; compare with
+ * outbox.events.written for the backlog growth.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    static final String COMPACTION_LOCK = "outbox-compaction";
+    static final String DELIVERED_METRIC = "outbox.events.delivered";
+    static final String FAILED_METRIC = "outbox.events.failed";
+    static final String DEAD_METRIC = "outbox.events.dead";
+    static final String BATCH_METRIC = "outbox.relay.batch";
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final SchedulerLockService schedulerLockService;
+    private final OutboxProperties properties;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer batchTimer;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+            @Qualifier(AsyncConfig.DOMAIN_EVENT_EXECUTOR) Executor executor,
+            SchedulerLockService schedulerLockService, OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.delivered = Counter.builder(DELIVERED_METRIC).register(meterRegistry);
+        this.failed = Counter.builder(FAILED_METRIC).register(meterRegistry);
+        this.dead = Counter.builder(DEAD_METRIC).register(meterRegistry);
+        this.batchTimer = Timer.builder(BATCH_METRIC).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}",
+            initialDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        for (int batch = 0; batch < properties.getMaxBatchesPerPoll(); batch++) {
+            if (relayBatch() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim and deliver one batch.
+     *
+     * @return the number of rows claimed
+     */
+    public int relayBatch() {
+        String token = UUID.randomUUID().toString();
+        List<Row> rows = claim(token);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        batchTimer.record(() -> deliver(rows, token));
+        return rows.size();
+    }
+
+    /**
+     * Delete PUBLISHED rows past outbox.retention, on one node at a time.
+     */
+    @Scheduled(cron = "${outbox.compaction.cron:0 40 3 * * ?}")
+    public void compact() {
+        if (!schedulerLockService.tryLock(COMPACTION_LOCK, properties.getClaimTimeout())) {
+            return;
+        }
+        try {
+            int deleted = compactPublishedBefore(LocalDateTime.now().minus(properties.getRetention()));
+            log.info("Outbox compaction: deleted {} published events", deleted);
+        } finally {
+            schedulerLockService.unlock(COMPACTION_LOCK);
+        }
+    }
+
+    /**
+     * Delete PUBLISHED rows published before {@code cutoff}, in chunks of
+     * outbox.compaction-chunk-size.
+     */
+    public int compactPublishedBefore(LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, properties.getCompactionChunkSize());
+        int total = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM outbox_events WHERE status = 'PUBLISHED' AND published_at < ? ORDER BY id LIMIT ?",
+                    Long.class, Timestamp.valueOf(cutoff), chunkSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            total += namedJdbcTemplate.update("DELETE FROM outbox_events WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", ids));
+            if (ids.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    private List<Row> claim(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = jdbcTemplate.queryForList("""
+                SELECT id FROM outbox_events
+                WHERE status = 'PENDING' AND (claimed_until IS NULL OR claimed_until <= ?)
+                ORDER BY id LIMIT ?""",
+                Long.class, Timestamp.valueOf(now), properties.getBatchSize());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", candidates)
+                .addValue("token", token)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("until", Timestamp.valueOf(now.plus(properties.getClaimTimeout())));
+        int claimed = namedJdbcTemplate.update("""
+                UPDATE outbox_events SET claim_token = :token, claimed_until = :until
+                WHERE id IN (:ids) AND status = 'PENDING' AND (claimed_until IS NULL OR claimed_until <= :now)""",
+                params);
+        if (claimed == 0) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("""
+                SELECT id, event_id, event_type, aggregate_type, aggregate_id, occurred_on, payload, attempts
+                FROM outbox_events WHERE id IN (:ids) AND claim_token = :token ORDER BY id""",
+                params,
+                (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("event_id"), rs.getString("event_type"),
+                        rs.getString("aggregate_type"), rs.getString("aggregate_id"),
+                        rs.getTimestamp("occurred_on").toLocalDateTime(), rs.getString("payload"),
+                        rs.getInt("attempts")));
+    }
+
+    /**
+     * Deliver claimed rows and record the outcome. Every completion UPDATE is
+     * fenced by the claim token: if this claim expired and another node
+     * re-claimed a row meanwhile, the row is left to that node.
+     */
+    private void deliver(List<Row> rows, String token) {
+        List<CompletableFuture<Throwable>> deliveries = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            deliveries.add(CompletableFuture.runAsync(() -> publish(row), executor)
+                    .handle((ignored, error) -> error));
+        }
+
+        List<Long> deliveredIds = new ArrayList<>();
+        List<Object[]> failures = new ArrayList<>();
+        List<Object[]> deaths = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Throwable error = deliveries.get(i).join();
+            if (error == null) {
+                deliveredIds.add(row.id());
+                continue;
+            }
+            int attempts = row.attempts() + 1;
+            String message = truncate(rootCause(error).toString());
+            log.warn("Outbox event {} ({}) failed delivery {}: {}", row.eventId(), row.eventType(), attempts, message);
+            if (attempts >= properties.getMaxAttempts()) {
+                deaths.add(new Object[] { attempts, message, row.id(), token });
+            } else {
+                long backoffMs = properties.getRetryBackoff().toMillis()
+                        << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS);
+                failures.add(new Object[] { attempts, message,
+                        Timestamp.valueOf(now.plusNanos(backoffMs * 1_000_000)), row.id(), token });
+            }
+        }
+
+        if (!deliveredIds.isEmpty()) {
+            int published = namedJdbcTemplate.update("""
+                    UPDATE outbox_events SET status = 'PUBLISHED', published_at = :now, attempts = attempts + 1,
+                        claim_token = NULL, claimed_until = NULL, last_error = NULL
+                    WHERE id IN (:ids) AND claim_token = :token""",
+                    new MapSqlParameterSource("ids", deliveredIds)
+                            .addValue("now", Timestamp.valueOf(now))
+                            .addValue("token", token));
+            delivered.increment(published);
+            warnIfReclaimed(deliveredIds.size() - published);
+        }
+        if (!failures.isEmpty()) {
+            int retried = updated(jdbcTemplate.batchUpdate("""
+                    UPDATE outbox_events SET attempts = ?, last_error = ?, claim_token = NULL, claimed_until = ?
+                    WHERE id = ? AND claim_token = ?""", failures));
+            failed.increment(retried);
+            warnIfReclaimed(failures.size() - retried);
+        }
+        if (!deaths.isEmpty()) {
+            int died = updated(jdbcTemplate.batchUpdate("""
+                    UPDATE outbox_events SET status = 'DEAD', attempts = ?, last_error = ?, claim_token = NULL,
+                        claimed_until = NULL
+                    WHERE id = ? AND claim_token = ?""", deaths));
+            failed.increment(died);
+            dead.increment(died);
+            warnIfReclaimed(deaths.size() - died);
+            if (died > 0) {
+                log.error("Outbox: {} events marked DEAD after {} attempts", died, properties.getMaxAttempts());
+            }
+        }
+    }
+
+    private void publish(Row row) {
+        try {
+            eventPublisher.publishEvent(new OutboxMessage(row.eventId(), row.eventType(), row.aggregateType(),
+                    row.aggregateId(), row.occurredOn(), objectMapper.readTree(row.payload()), row.attempts() + 1));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload of outbox event " + row.eventId(), e);
+        }
+    }
+
+    private void warnIfReclaimed(int rows) {
+        if (rows > 0) {
+            log.warn("Outbox: {} events were re-claimed by another relay before this one finished, "
+                    + "their outcome is left to it", rows);
+        }
+    }
+
+    /**
+     * Rows changed by a batch update; a driver reporting SUCCESS_NO_INFO (-2)
+     * counts as one row.
+     */
+    private static int updated(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+        }
+        return total;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private record Row(long id, String eventId, String eventType, String aggregateType, String aggregateId,
+            LocalDateTime occurredOn, String payload, int attempts) {
+    }
+}
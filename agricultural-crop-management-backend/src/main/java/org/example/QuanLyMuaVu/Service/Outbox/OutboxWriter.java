@@ -0,0 +1,59 @@
+package org.example.QuanLyMuaVu.Service.Outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.QuanLyMuaVu.Entity.OutboxEvent;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+import org.example.QuanLyMuaVu.Pattern.Observer.DomainEvent;
+import org.example.QuanLyMuaVu.Repository.OutboxEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every published domain event in the outbox.
+ * <p>
+ * Runs synchronously on the publishing thread, so the row is written in the
+ * publisher's transaction: it commits with the aggregate change or not at
+ * all. Events published outside a transaction are written in one of their
+ * own.
+ */
+@Component
+public class OutboxWriter {
+
+    static final String WRITTEN_METRIC = "outbox.events.written";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter written;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.written = Counter.builder(WRITTEN_METRIC).register(meterRegistry);
+    }
+
+    @EventListener
+    public void record(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Events hold ids and strings only; failing here is a programming error
+            throw new IllegalStateException("Cannot serialize " + event.getEventType(), e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .payload(payload)
+                .occurredOn(event.getOccurredOn())
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .build());
+        written.increment();
+    }
+}
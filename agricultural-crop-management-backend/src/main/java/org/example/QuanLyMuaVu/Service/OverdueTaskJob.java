@@ -0,0 +1,49 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.OverdueTaskProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduled job marking overdue tasks.
+ * <p>
+ * Every node schedules it, but only the node holding the overdue-tasks lock
+ * runs it; the others skip that run.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class OverdueTaskJob {
+
+    static final String OVERDUE_LOCK = "overdue-tasks";
+
+    OverdueTaskService overdueTaskService;
+    SchedulerLockService schedulerLockService;
+    OverdueTaskProperties properties;
+
+    /**
+     * Hourly by default (tasks.overdue.cron), so a run missed while no node
+     * was up is made up within the hour.
+     */
+    @Scheduled(cron = "${tasks.overdue.cron:0 5 * * * ?}")
+    public void updateOverdueTasks() {
+        if (!schedulerLockService.tryLock(OVERDUE_LOCK, properties.getLockLease())) {
+            log.debug("Overdue task scheduler: another node holds the lock, skipping");
+            return;
+        }
+        try {
+            OverdueTaskService.RunResult result = overdueTaskService.markOverdueTasks(LocalDate.now());
+            log.info("Overdue task scheduler: Updated {} tasks to OVERDUE status in {} chunks ({} ms)",
+                    result.getMarked(), result.getChunks(), result.getDurationMs());
+        } finally {
+            schedulerLockService.unlock(OVERDUE_LOCK);
+        }
+    }
+}
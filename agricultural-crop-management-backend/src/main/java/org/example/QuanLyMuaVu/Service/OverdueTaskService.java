@@ -0,0 +1,123 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.OverdueTaskProperties;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskOverdueEvent;
+import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Repository.TaskRepository.OverdueCandidate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves PENDING and IN_PROGRESS tasks due before a given day to OVERDUE.
+ * <p>
+ * The affected id range is walked in chunks of tasks.overdue.chunk-size ids,
+ * one short transaction per chunk: the candidates of the chunk are read, moved
+ * with a single bulk UPDATE and a {@link TaskOverdueEvent} is published for
+ * each task actually moved. A task completed between the read and the UPDATE
+ * keeps its new status and gets no event. Row locks are held for one chunk
+ * only, so farmers editing tasks are never blocked for the whole run.
+ * <p>
+ * Not safe to run on two nodes at once; {@link OverdueTaskJob} runs it under the
+ * cluster-wide job lock.
+ */
+@Service
+@Slf4j
+public class OverdueTaskService {
+
+    static final String RUN_METRIC = "tasks.overdue.run";
+    static final String MARKED_METRIC = "tasks.overdue.marked";
+    static final String CHUNKS_METRIC = "tasks.overdue.chunks";
+
+    static final List<TaskStatus> PENDING_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final OverdueTaskProperties properties;
+    private final Timer runTimer;
+    private final Counter marked;
+    private final Counter chunks;
+
+    public OverdueTaskService(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate, OverdueTaskProperties properties,
+            MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.runTimer = Timer.builder(RUN_METRIC).register(meterRegistry);
+        this.marked = Counter.builder(MARKED_METRIC).register(meterRegistry);
+        this.chunks = Counter.builder(CHUNKS_METRIC).register(meterRegistry);
+    }
+
+    /**
+     * Mark every PENDING or IN_PROGRESS task due before {@code today} as
+     * OVERDUE.
+     */
+    public RunResult markOverdueTasks(LocalDate today) {
+        long started = System.nanoTime();
+        TaskRepository.IdRange range = taskRepository.findOverdueIdRange(today, PENDING_STATUSES);
+        int chunkCount = 0;
+        int markedCount = 0;
+        if (range != null && range.getMinId() != null) {
+            int chunkSize = Math.max(1, properties.getChunkSize());
+            // long arithmetic: the last chunk may end past Integer.MAX_VALUE
+            for (long from = range.getMinId(); from <= range.getMaxId(); from += chunkSize) {
+                int fromId = (int) from;
+                int toId = (int) Math.min(from + chunkSize - 1, range.getMaxId());
+                Integer moved = transactionTemplate.execute(status -> markChunk(fromId, toId, today));
+                markedCount += moved != null ? moved : 0;
+                chunkCount++;
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        marked.increment(markedCount);
+        chunks.increment(chunkCount);
+        return new RunResult(markedCount, chunkCount, elapsed / 1_000_000);
+    }
+
+    private int markChunk(int fromId, int toId, LocalDate today) {
+        List<OverdueCandidate> candidates = taskRepository.findOverdueCandidates(fromId, toId, today,
+                PENDING_STATUSES);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> ids = new HashSet<>();
+        candidates.forEach(candidate -> ids.add(candidate.getId()));
+
+        int updated = taskRepository.markOverdue(ids, TaskStatus.OVERDUE, PENDING_STATUSES);
+        if (updated < ids.size()) {
+            // Some tasks changed status since they were read: only the moved ones get an event
+            ids.retainAll(taskRepository.findIdsByIdInAndStatus(ids, TaskStatus.OVERDUE));
+        }
+        for (OverdueCandidate candidate : candidates) {
+            if (ids.contains(candidate.getId())) {
+                eventPublisher.publishEvent(new TaskOverdueEvent(candidate.getId(), candidate.getTitle(),
+                        candidate.getSeasonId(), candidate.getStatus(), candidate.getOwnerId()));
+            }
+        }
+        return updated;
+    }
+
+    @Value
+    public static class RunResult {
+        int marked;
+        int chunks;
+        long durationMs;
+    }
+}
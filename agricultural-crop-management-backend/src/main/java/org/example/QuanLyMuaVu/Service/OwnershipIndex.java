@@ -0,0 +1,232 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the ownership chain season -> plot -> farm -> owner and
+ * warehouse -> farm, so authorization checks cost map lookups instead of
+ * loading the entity graph.
+ * <p>
+ * Each link is a bounded concurrent map filled on demand by an id-only
+ * projection query (e.g. {@code SELECT p.farm.id FROM Plot p WHERE p.id = ?}).
+ * Misses are not cached, so an id that does not exist yet always goes to the
+ * database. Services call the evict methods when a link is created, moved or
+ * deleted; the entry is dropped immediately and again after commit, and a
+ * lookup that raced with the eviction is not stored.
+ * <p>
+ * Seasons are indexed by plot rather than by farm so that moving a plot to
+ * another farm only invalidates the plot's own entry.
+ * <p>
+ * Metrics, tagged by link (farm, plot, season, warehouse):
+ * - {@value #GETS_METRIC} with result=hit|miss
+ * - {@value #SIZE_METRIC}
+ */
+@Component
+@Slf4j
+public class OwnershipIndex {
+
+    static final String GETS_METRIC = "ownership.index.gets";
+    static final String SIZE_METRIC = "ownership.index.size";
+
+    private final Link<Long> farmOwners;
+    private final Link<Integer> plotFarms;
+    private final Link<Integer> seasonPlots;
+    private final Link<Integer> warehouseFarms;
+
+    public OwnershipIndex(FarmRepository farmRepository,
+            PlotRepository plotRepository,
+            SeasonRepository seasonRepository,
+            WarehouseRepository warehouseRepository,
+            @Value("${farm.security.ownership-index.max-entries:50000}") int maxEntriesPerLink,
+            MeterRegistry meterRegistry) {
+        this.farmOwners = new Link<>("farm", farmRepository::findOwnerIdById, maxEntriesPerLink, meterRegistry);
+        this.plotFarms = new Link<>("plot", plotRepository::findFarmIdById, maxEntriesPerLink, meterRegistry);
+        this.seasonPlots = new Link<>("season", seasonRepository::findPlotIdById, maxEntriesPerLink, meterRegistry);
+        this.warehouseFarms = new Link<>("warehouse", warehouseRepository::findFarmIdById, maxEntriesPerLink,
+                meterRegistry);
+    }
+
+    // =========================================================================
+    // LOOKUPS (null when the entity or its parent does not exist)
+    // =========================================================================
+
+    public Long ownerOfFarm(Integer farmId) {
+        return farmOwners.get(farmId);
+    }
+
+    public Integer farmOfPlot(Integer plotId) {
+        return plotFarms.get(plotId);
+    }
+
+    public Integer farmOfSeason(Integer seasonId) {
+        return farmOfPlot(seasonPlots.get(seasonId));
+    }
+
+    public Integer farmOfWarehouse(Integer warehouseId) {
+        return warehouseFarms.get(warehouseId);
+    }
+
+    public Long ownerOfPlot(Integer plotId) {
+        return ownerOfFarm(farmOfPlot(plotId));
+    }
+
+    public Long ownerOfSeason(Integer seasonId) {
+        return ownerOfFarm(farmOfSeason(seasonId));
+    }
+
+    public Long ownerOfWarehouse(Integer warehouseId) {
+        return ownerOfFarm(farmOfWarehouse(warehouseId));
+    }
+
+    // =========================================================================
+    // INVALIDATION
+    // =========================================================================
+
+    /**
+     * Call when a farm is created, deleted or changes owner.
+     */
+    public void evictFarm(Integer farmId) {
+        farmOwners.evict(farmId);
+    }
+
+    /**
+     * Call when a plot is created, deleted or moved to another farm. Seasons
+     * that pointed at a deleted plot are dropped as well.
+     */
+    public void evictPlot(Integer plotId) {
+        plotFarms.evict(plotId);
+        seasonPlots.evictValue(plotId);
+    }
+
+    /**
+     * Call when a season is created, deleted or moved to another plot.
+     */
+    public void evictSeason(Integer seasonId) {
+        seasonPlots.evict(seasonId);
+    }
+
+    /**
+     * Call when a warehouse is created, deleted or moved to another farm.
+     */
+    public void evictWarehouse(Integer warehouseId) {
+        warehouseFarms.evict(warehouseId);
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    /**
+     * One link of the chain: child id -> parent id.
+     */
+    private static final class Link<V> {
+
+        private final String name;
+        private final Function<Integer, Optional<V>> loader;
+        private final int maxEntries;
+        private final Map<Integer, V> entries = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final Counter hits;
+        private final Counter misses;
+
+        Link(String name, Function<Integer, Optional<V>> loader, int maxEntries, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.loader = loader;
+            this.maxEntries = maxEntries;
+            this.hits = Counter.builder(GETS_METRIC).tag("link", name).tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder(GETS_METRIC).tag("link", name).tag("result", "miss").register(meterRegistry);
+            Gauge.builder(SIZE_METRIC, entries, Map::size).tag("link", name).register(meterRegistry);
+        }
+
+        V get(Integer id) {
+            if (id == null) {
+                return null;
+            }
+            V cached = entries.get(id);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+
+            long stamp = generation.get();
+            V loaded = loader.apply(id).orElse(null);
+            if (loaded != null) {
+                put(id, loaded, stamp);
+            }
+            return loaded;
+        }
+
+        void evict(Integer id) {
+            if (id == null) {
+                return;
+            }
+            evictNow(id);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // A lookup between now and commit still reads the old row
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(id);
+                    }
+                });
+            }
+        }
+
+        void evictValue(V value) {
+            if (value == null) {
+                return;
+            }
+            generation.incrementAndGet();
+            entries.values().removeIf(value::equals);
+        }
+
+        private void evictNow(Integer id) {
+            generation.incrementAndGet();
+            entries.remove(id);
+            log.debug("Ownership index evicted {} {}", name, id);
+        }
+
+        private void put(Integer id, V value, long stamp) {
+            if (entries.size() >= maxEntries) {
+                evictForSpace();
+            }
+            entries.put(id, value);
+            if (generation.get() != stamp) {
+                // An eviction ran while this row was being read; it may be stale
+                entries.remove(id, value);
+            }
+        }
+
+        /**
+         * Drop arbitrary entries down to 90% of the bound so the sweep does not
+         * run on every put.
+         */
+        private void evictForSpace() {
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            Iterator<Integer> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+}
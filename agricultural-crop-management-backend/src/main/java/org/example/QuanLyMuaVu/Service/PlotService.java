@@ -26,6 +26,7 @@ public class PlotService {
     private final PlotRepository plotRepository;
     private final FarmRepository farmRepository;
     private final CurrentUserService currentUserService;
+    private final OwnershipIndex ownershipIndex;
 
     @Transactional(readOnly = true)
     public List<PlotResponse> listPlotsForCurrentFarmer() {
@@ -86,6 +87,7 @@ public class PlotService {
                 .build();
 
         Plot savedPlot = plotRepository.save(plot);
+        ownershipIndex.evictPlot(savedPlot.getId());
         return toResponse(savedPlot);
     }
 
@@ -123,6 +125,7 @@ public class PlotService {
 
         // TODO: Check for dependencies (seasons, tasks etc) before delete
         plotRepository.delete(plot);
+        ownershipIndex.evictPlot(id);
     }
 
     private PlotResponse toResponse(Plot plot) {
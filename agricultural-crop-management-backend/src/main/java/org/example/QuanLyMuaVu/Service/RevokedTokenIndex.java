@@ -0,0 +1,163 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
+import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
+import org.example.QuanLyMuaVu.Util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of revoked JWT IDs, replacing the per-request
+ * {@code invalidated_token} lookup.
+ * <p>
+ * A Bloom filter answers most lookups (tokens that were never revoked) without
+ * touching the set; the concurrent map of live revocations is authoritative
+ * for the rest. A revocation is live until its token can no longer be
+ * presented, i.e. until the end of its refreshable window. Lookups are
+ * lock-free; writes are rare and serialized with the filter rebuild.
+ * <p>
+ * The index is loaded at startup and updated by logout/refresh on this node.
+ * Other nodes' revocations are picked up by a frequent incremental sync that
+ * reads only the rows created since the previous sync, less a lookback that
+ * covers transactions still committing and clock skew between nodes (see
+ * RevokedTokenScheduler). Until then a token revoked on another node is still
+ * accepted here. Every newly seen revocation also evicts the token from
+ * {@link VerifiedTokenCache}.
+ */
+@Component
+@Slf4j
+public class RevokedTokenIndex {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration retentionAfterExpiry;
+    private final long expectedRevocations;
+    private final Duration syncLookback;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    /** Start of the last load or sync; the next sync reads rows created after it, less the lookback. */
+    private volatile Instant syncedFrom;
+
+    public RevokedTokenIndex(InvalidatedTokenRepository invalidatedTokenRepository,
+            VerifiedTokenCache verifiedTokenCache,
+            @Value("${jwt.valid-duration}") long validDuration,
+            @Value("${jwt.refreshable-duration}") long refreshableDuration,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.sync-lookback-ms:10000}") long syncLookbackMs) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        // Rows only store the access expiry; a refresh is accepted until
+        // issue time + refreshable duration, which is this much later
+        this.retentionAfterExpiry = Duration.ofSeconds(Math.max(0, refreshableDuration - validDuration));
+        this.expectedRevocations = expectedRevocations;
+        this.syncLookback = Duration.ofMillis(syncLookbackMs);
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * Load every live revocation from the table. Entries already in memory
+     * are kept; they are dropped only by {@link #prune()}.
+     */
+    @PostConstruct
+    public void reload() {
+        Instant started = Instant.now();
+        List<InvalidatedToken> rows = invalidatedTokenRepository.findAllByExpiryTimeAfter(purgeCutoff());
+        for (InvalidatedToken row : rows) {
+            add(row.getId(), row.getExpiryTime());
+        }
+        syncedFrom = started;
+        log.debug("Revoked token index loaded - {} rows, {} live", rows.size(), revoked.size());
+    }
+
+    /**
+     * Load the revocations written since the previous load or sync, by this
+     * node or any other. Rows read twice because of the lookback are ignored.
+     */
+    public void sync() {
+        Instant since = syncedFrom;
+        if (since == null) {
+            reload();
+            return;
+        }
+        Instant started = Instant.now();
+        List<InvalidatedToken> rows = invalidatedTokenRepository
+                .findAllByCreatedAtAfter(Date.from(since.minus(syncLookback)));
+        for (InvalidatedToken row : rows) {
+            add(row.getId(), row.getExpiryTime());
+        }
+        syncedFrom = started;
+        if (!rows.isEmpty()) {
+            log.debug("Revoked token index synced - {} recent rows, {} live", rows.size(), revoked.size());
+        }
+    }
+
+    public boolean isRevoked(String jwtId) {
+        if (jwtId == null || !filter.mightContain(jwtId)) {
+            return false;
+        }
+        return revoked.containsKey(jwtId);
+    }
+
+    /**
+     * Record a revocation that has been persisted to invalidated_token.
+     */
+    public void revoke(String jwtId, Date expiryTime) {
+        add(jwtId, expiryTime);
+    }
+
+    /**
+     * Rows whose access token expired before this instant are past their
+     * refreshable window and can be deleted.
+     */
+    public Date purgeCutoff() {
+        return Date.from(Instant.now().minus(retentionAfterExpiry));
+    }
+
+    /**
+     * Drop revocations past their refreshable window and rebuild the filter
+     * so it does not fill up with dead entries.
+     */
+    public synchronized void prune() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(liveUntil -> liveUntil.isBefore(now));
+
+        // Fully built before it is published; add() cannot run meanwhile
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revoked.size()),
+                FALSE_POSITIVE_PROBABILITY);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Revoked token index pruned - {} live revocations", revoked.size());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    private synchronized void add(String jwtId, Date expiryTime) {
+        if (jwtId == null) {
+            return;
+        }
+        Instant expiry = expiryTime != null ? expiryTime.toInstant() : Instant.now();
+        Instant previous = revoked.put(jwtId, expiry.plus(retentionAfterExpiry));
+        filter.put(jwtId);
+        if (previous == null) {
+            verifiedTokenCache.invalidate(jwtId);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Scheduled jobs keeping the revoked token index and the invalidated_token
+ * table in step.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RevokedTokenScheduler {
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+    RevokedTokenIndex revokedTokenIndex;
+
+    /**
+     * Pick up revocations written by other nodes since the previous sync.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:2000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:2000}")
+    public void syncRevocations() {
+        revokedTokenIndex.sync();
+    }
+
+    /**
+     * Delete revocations past their refreshable window so the table stays
+     * bounded, then prune the in-memory index.
+     */
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 15 * * * ?}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = invalidatedTokenRepository.deleteExpiredBefore(revokedTokenIndex.purgeCutoff());
+        revokedTokenIndex.prune();
+        log.info("Revoked token purge: deleted {} rows, {} revocations still live",
+                deleted, revokedTokenIndex.size());
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leader election for scheduled jobs through the scheduler_locks table.
+ * <p>
+ * A node runs a job only while it holds an unexpired lease on the job's row.
+ * Acquiring is a single conditional UPDATE (or the INSERT of a missing row),
+ * so exactly one node wins even when all of them fire at the same time. The
+ * lease bounds how long a crashed holder blocks the others; keep it well above
+ * the job's normal run time.
+ * <p>
+ * Each statement commits on its own: the lease must be visible to other nodes
+ * before the job starts, not when its transaction ends.
+ */
+@Service
+@Slf4j
+public class SchedulerLockService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public SchedulerLockService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Take the lease on {@code name} for {@code leaseFor}, unless another node
+     * holds an unexpired one.
+     *
+     * @return true if this node now holds the lease
+     */
+    public boolean tryLock(String name, Duration leaseFor) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(leaseFor));
+        int taken = jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? "
+                        + "WHERE lock_name = ? AND locked_until <= ?",
+                until, Timestamp.valueOf(now), nodeId, name, Timestamp.valueOf(now));
+        if (taken == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_locks (lock_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    name, until, Timestamp.valueOf(now), nodeId);
+            return true;
+        } catch (DataIntegrityViolationException held) {
+            log.debug("Scheduler lock {} is held by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * End this node's lease on {@code name} so the next run on any node can
+     * take it right away. Does nothing if the lease was lost meanwhile.
+     */
+    public void unlock(String name) {
+        jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ? WHERE lock_name = ? AND locked_by = ?",
+                Timestamp.valueOf(LocalDateTime.now()), name, nodeId);
+    }
+}
@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Service.Season;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Response.MySeasonResponse;
 import org.example.QuanLyMuaVu.DTO.Response.SeasonDetailResponse;
@@ -143,11 +144,53 @@ public class SeasonQueryService {
         return PageResponse.of(pageData, pageItems);
     }
 
+    /**
+     * Keyset variant of {@link #searchMySeasons}: filters and seeks on season id
+     * (newest first) in a single query.
+     */
+    public PageResponse<SeasonResponse> searchMySeasonsByCursor(
+            Integer plotId,
+            Integer cropId,
+            String status,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            int size) {
+
+        User currentUser = farmAccessService.getCurrentUser();
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        SeasonStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = SeasonStatus.fromCode(status);
+            } catch (IllegalArgumentException ex) {
+                throw new AppException(ErrorCode.BAD_REQUEST);
+            }
+        }
+
+        Pageable pageable = PageRequest.of(0, size + 1,
+                Sort.by(pageCursor.fetchDirection(Sort.Direction.DESC), "id"));
+        List<Season> rows = seasonRepository.seekVisibleToUser(
+                currentUser.getId(),
+                plotId,
+                cropId,
+                statusFilter,
+                from,
+                to,
+                pageCursor.idBelow(Sort.Direction.DESC),
+                pageCursor.idAbove(Sort.Direction.DESC),
+                pageable);
+
+        return PageResponse.ofKeyset(rows, size, pageCursor, season -> null, Season::getId,
+                seasonMapper::toResponse);
+    }
+
     /**
      * Get season detail for the current farmer.
      */
     public SeasonDetailResponse getSeasonForCurrentFarmer(Integer id) {
-        Season season = seasonRepository.findById(id)
+        Season season = seasonRepository.findDetailById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.SEASON_NOT_FOUND));
         farmAccessService.assertCurrentUserCanAccessSeason(season);
         return seasonMapper.toDetailResponse(season);
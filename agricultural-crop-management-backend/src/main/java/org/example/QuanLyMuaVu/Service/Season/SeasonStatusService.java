@@ -19,6 +19,8 @@ import org.example.QuanLyMuaVu.Repository.HarvestRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
 import org.example.QuanLyMuaVu.Service.FarmAccessService;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonStatusChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +44,7 @@ public class SeasonStatusService {
     TaskRepository taskRepository;
     SeasonMapper seasonMapper;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
     SeasonStatusStrategy statusStrategy;
 
     /**
@@ -75,6 +78,7 @@ public class SeasonStatusService {
             season.setEndDate(end);
         }
 
+        SeasonStatus previousStatus = season.getStatus();
         season.setStatus(targetStatus);
 
         // When closing a season, sync actual yield from its harvest batches
@@ -83,6 +87,7 @@ public class SeasonStatusService {
         }
 
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonStatusChangedEvent(saved, previousStatus));
         return seasonMapper.toResponse(saved);
     }
 
@@ -111,8 +116,10 @@ public class SeasonStatusService {
             season.setStartDate(request.getActualStartDate());
         }
 
+        SeasonStatus previousStatus = season.getStatus();
         season.setStatus(SeasonStatus.ACTIVE);
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonStatusChangedEvent(saved, previousStatus));
         return seasonMapper.toResponse(saved);
     }
 
@@ -153,8 +160,10 @@ public class SeasonStatusService {
             syncActualYieldFromHarvests(season);
         }
 
+        SeasonStatus previousStatus = season.getStatus();
         season.setStatus(SeasonStatus.COMPLETED);
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonStatusChangedEvent(saved, previousStatus));
         return seasonMapper.toResponse(saved);
     }
 
@@ -175,12 +184,14 @@ public class SeasonStatusService {
             throw new AppException(ErrorCode.SEASON_HAS_CHILD_RECORDS);
         }
 
+        SeasonStatus previousStatus = season.getStatus();
         season.setStatus(SeasonStatus.CANCELLED);
         if (season.getEndDate() == null) {
             season.setEndDate(LocalDate.now());
         }
 
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonStatusChangedEvent(saved, previousStatus));
         return seasonMapper.toResponse(saved);
     }
 
@@ -195,8 +206,10 @@ public class SeasonStatusService {
             throw new AppException(ErrorCode.INVALID_SEASON_STATUS_TRANSITION);
         }
 
+        SeasonStatus previousStatus = season.getStatus();
         season.setStatus(SeasonStatus.ARCHIVED);
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonStatusChangedEvent(saved, previousStatus));
         return seasonMapper.toResponse(saved);
     }
 
@@ -3,12 +3,18 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Request.CreateExpenseRequest;
 import org.example.QuanLyMuaVu.DTO.Request.ExpenseSearchCriteria;
 import org.example.QuanLyMuaVu.DTO.Request.UpdateExpenseRequest;
 import org.example.QuanLyMuaVu.DTO.Response.ExpenseResponse;
 import org.example.QuanLyMuaVu.Entity.Expense;
+import org.example.QuanLyMuaVu.Entity.Plot;
 import org.example.QuanLyMuaVu.Entity.Season;
 import org.example.QuanLyMuaVu.Entity.Task;
 import org.example.QuanLyMuaVu.Entity.User;
@@ -18,13 +24,18 @@ import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.ExpenseRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.ExpenseChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -42,10 +53,13 @@ import java.util.List;
 @Transactional
 public class SeasonExpenseService {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     ExpenseRepository expenseRepository;
     SeasonRepository seasonRepository;
     TaskRepository taskRepository;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // BR176: CreateExpense(Expense expense) - Create Expense with Full Validation
@@ -114,6 +128,7 @@ public class SeasonExpenseService {
                 .build();
 
         Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(saved, ChangeType.CREATED));
 
         // BR176: Step (7) - Return success (MSG 7 handled by controller)
         return toResponse(saved);
@@ -200,6 +215,7 @@ public class SeasonExpenseService {
         expense.setExpenseDate(request.getExpenseDate());
 
         Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(saved, ChangeType.UPDATED));
 
         // BR180: Step (8) - Return success (MSG 7 handled by controller)
         return toResponse(saved);
@@ -223,6 +239,7 @@ public class SeasonExpenseService {
         ensureSeasonOpenForExpenses(expense.getSeason());
 
         expenseRepository.delete(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(expense, ChangeType.DELETED));
         // BR183: Step (7) - Success (MSG 7 handled by controller)
     }
 
@@ -243,92 +260,44 @@ public class SeasonExpenseService {
     public PageResponse<ExpenseResponse> SearchExpense(ExpenseSearchCriteria criteria, int page, int size) {
         User currentUser = getCurrentUser();
 
-        // Get all expenses for this farmer's seasons
-        List<Season> farmerSeasons = seasonRepository.findAllByFarmOwnerId(currentUser.getId());
-        List<Integer> seasonIds = farmerSeasons.stream().map(Season::getId).toList();
-
-        if (seasonIds.isEmpty()) {
-            Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-            return PageResponse.of(new PageImpl<>(List.of(), pageable, 0), List.of());
-        }
-
-        // Get all expenses for these seasons
-        List<Expense> allExpenses = new ArrayList<>();
-        for (Integer seasonId : seasonIds) {
-            allExpenses.addAll(expenseRepository.findAllBySeason_Id(seasonId));
-        }
+        // BR185: All criteria, ownership scope and ordering are pushed into a single
+        // SELECT plus a COUNT, instead of loading every season's expenses into memory
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+        Page<Expense> expensePage = expenseRepository.findAll(
+                buildSearchSpecification(criteria, currentUser.getId()), pageable);
 
-        // BR185: Apply search criteria filters
-        List<ExpenseResponse> filtered = allExpenses.stream()
-                .filter(expense -> {
-                    // Filter by seasonId
-                    if (criteria.getSeasonId() != null &&
-                            !criteria.getSeasonId().equals(expense.getSeason().getId())) {
-                        return false;
-                    }
-                    // Filter by plotId (season's plot)
-                    if (criteria.getPlotId() != null &&
-                            (expense.getSeason().getPlot() == null ||
-                                    !criteria.getPlotId().equals(expense.getSeason().getPlot().getId()))) {
-                        return false;
-                    }
-                    // Filter by taskId
-                    if (criteria.getTaskId() != null &&
-                            (expense.getTask() == null ||
-                                    !criteria.getTaskId().equals(expense.getTask().getId()))) {
-                        return false;
-                    }
-                    // Filter by category
-                    if (criteria.getCategory() != null && !criteria.getCategory().isBlank() &&
-                            (expense.getCategory() == null ||
-                                    !expense.getCategory().equalsIgnoreCase(criteria.getCategory()))) {
-                        return false;
-                    }
-                    // Filter by date range
-                    LocalDate date = expense.getExpenseDate();
-                    if (criteria.getFromDate() != null && date.isBefore(criteria.getFromDate())) {
-                        return false;
-                    }
-                    if (criteria.getToDate() != null && date.isAfter(criteria.getToDate())) {
-                        return false;
-                    }
-                    // Filter by amount range
-                    BigDecimal amount = expense.getEffectiveAmount();
-                    if (criteria.getMinAmount() != null && amount.compareTo(criteria.getMinAmount()) < 0) {
-                        return false;
-                    }
-                    if (criteria.getMaxAmount() != null && amount.compareTo(criteria.getMaxAmount()) > 0) {
-                        return false;
-                    }
-                    // Filter by keyword (itemName)
-                    if (criteria.getKeyword() != null && !criteria.getKeyword().isBlank()) {
-                        String kw = criteria.getKeyword().toLowerCase();
-                        if (expense.getItemName() == null ||
-                                !expense.getItemName().toLowerCase().contains(kw)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
-                .sorted((e1, e2) -> Integer.compare(
-                        e2.getId() != null ? e2.getId() : 0,
-                        e1.getId() != null ? e1.getId() : 0))
+        List<ExpenseResponse> pageItems = expensePage.getContent()
+                .stream()
                 .map(this::toResponse)
                 .toList();
 
-        // Paginate
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, filtered.size());
-        List<ExpenseResponse> pageItems = fromIndex >= filtered.size() ? List.of()
-                : filtered.subList(fromIndex, toIndex);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<ExpenseResponse> pageData = new PageImpl<>(pageItems, pageable, filtered.size());
-
         // BR186: Return results if available
         // BR187: Empty results indicate "Expense not found" (MSG 10 handled by
         // controller)
-        return PageResponse.of(pageData, pageItems);
+        return PageResponse.of(expensePage, pageItems);
+    }
+
+    /**
+     * BR185: Keyset variant of {@link #SearchExpense}. Seeks on expense id
+     * (newest first) so the cost of a page does not depend on its depth.
+     *
+     * @param criteria the search criteria from form controls
+     * @param cursor   opaque cursor from a previous page, blank for the first page
+     * @param size     page size
+     */
+    public PageResponse<ExpenseResponse> SearchExpenseByCursor(ExpenseSearchCriteria criteria, String cursor,
+            int size) {
+        User currentUser = getCurrentUser();
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        Specification<Expense> spec = buildSearchSpecification(criteria, currentUser.getId())
+                .and(seekSpecification(pageCursor, Sort.Direction.DESC));
+        Sort sort = Sort.by(pageCursor.fetchDirection(Sort.Direction.DESC), "id");
+        List<Expense> rows = expenseRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1)
+                .project("season", "season.plot", "task", "user")
+                .all());
+
+        return PageResponse.ofKeyset(rows, size, pageCursor, expense -> null, Expense::getId, this::toResponse);
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -546,6 +515,113 @@ public class SeasonExpenseService {
         }
     }
 
+    /**
+     * BR185: Build the expense search predicate for the farmer's own seasons.
+     * Amount filters compare against the effective amount
+     * (amount, then totalCost, then unitPrice * quantity), matching
+     * {@link Expense#getEffectiveAmount()}.
+     */
+    @SuppressWarnings("unchecked")
+    private Specification<Expense> buildSearchSpecification(ExpenseSearchCriteria criteria, Long ownerId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Fetch season and plot together with the page rows (not for the count query)
+            Join<Expense, Season> season;
+            Join<Season, Plot> plot;
+            Class<?> resultType = query.getResultType();
+            if (resultType == Long.class || resultType == long.class) {
+                season = root.join("season");
+                plot = season.join("plot");
+            } else {
+                Fetch<Expense, Season> seasonFetch = root.fetch("season");
+                Fetch<Season, Plot> plotFetch = seasonFetch.fetch("plot");
+                season = (Join<Expense, Season>) seasonFetch;
+                plot = (Join<Season, Plot>) plotFetch;
+            }
+
+            // Always restrict to seasons of farms owned by the current farmer
+            predicates.add(cb.equal(plot.get("farm").get("owner").get("id"), ownerId));
+
+            if (criteria.getSeasonId() != null) {
+                predicates.add(cb.equal(season.get("id"), criteria.getSeasonId()));
+            }
+            if (criteria.getPlotId() != null) {
+                predicates.add(cb.equal(plot.get("id"), criteria.getPlotId()));
+            }
+            if (criteria.getTaskId() != null) {
+                predicates.add(cb.equal(root.get("task").get("id"), criteria.getTaskId()));
+            }
+            if (StringUtils.hasText(criteria.getCategory())) {
+                predicates.add(cb.equal(cb.lower(root.get("category")), criteria.getCategory().toLowerCase()));
+            }
+
+            // Date range filter
+            if (criteria.getFromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expenseDate"), criteria.getFromDate()));
+            }
+            if (criteria.getToDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("expenseDate"), criteria.getToDate()));
+            }
+
+            // Amount range filter on the effective amount
+            if (criteria.getMinAmount() != null || criteria.getMaxAmount() != null) {
+                Expression<BigDecimal> effectiveAmount = cb.coalesce(
+                        root.<BigDecimal>get("amount"),
+                        cb.coalesce(
+                                root.<BigDecimal>get("totalCost"),
+                                cb.prod(root.<BigDecimal>get("unitPrice"), root.<Integer>get("quantity"))
+                                        .as(BigDecimal.class)));
+                if (criteria.getMinAmount() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(effectiveAmount, criteria.getMinAmount()));
+                }
+                if (criteria.getMaxAmount() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(effectiveAmount, criteria.getMaxAmount()));
+                }
+            }
+
+            // Search in item name; the keyword is matched literally
+            if (StringUtils.hasText(criteria.getKeyword())) {
+                predicates.add(cb.like(cb.lower(root.get("itemName")),
+                        "%" + escapeLike(criteria.getKeyword().toLowerCase()) + "%", LIKE_ESCAPE));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Escape LIKE wildcards in user input so {@code %} and {@code _} match
+     * themselves.
+     */
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Exclusive id bound for a keyset page of a list displayed in {@code order}.
+     */
+    private Specification<Expense> seekSpecification(PageCursor cursor, Sort.Direction order) {
+        return (root, query, cb) -> {
+            Integer idBelow = cursor.idBelow(order);
+            Integer idAbove = cursor.idAbove(order);
+            if (idBelow != null) {
+                return cb.lessThan(root.get("id"), idBelow);
+            }
+            if (idAbove != null) {
+                return cb.greaterThan(root.get("id"), idAbove);
+            }
+            return cb.conjunction();
+        };
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // HELPER METHODS
     // ═══════════════════════════════════════════════════════════════════════════
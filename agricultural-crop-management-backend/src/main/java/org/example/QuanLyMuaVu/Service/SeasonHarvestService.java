@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Request.CreateHarvestDetailRequest;
 import org.example.QuanLyMuaVu.DTO.Request.UpdateHarvestDetailRequest;
@@ -17,6 +18,9 @@ import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.HarvestMapper;
 import org.example.QuanLyMuaVu.Repository.HarvestRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.HarvestChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +44,7 @@ public class SeasonHarvestService {
     SeasonRepository seasonRepository;
     HarvestMapper harvestMapper;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * List all harvests for the current farmer's seasons (supports "All Seasons"
@@ -103,6 +108,36 @@ public class SeasonHarvestService {
         return PageResponse.of(pageData, pageItems);
     }
 
+    /**
+     * Keyset variant of {@link #listAllFarmerHarvests}: seeks on harvest id
+     * (newest first) instead of slicing the full list.
+     */
+    public PageResponse<HarvestResponse> listAllFarmerHarvestsByCursor(
+            Integer seasonId,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            int size) {
+        if (seasonId != null) {
+            getSeasonForCurrentFarmer(seasonId);
+        }
+        User currentUser = farmAccessService.getCurrentUser();
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        Pageable pageable = PageRequest.of(0, size + 1,
+                Sort.by(pageCursor.fetchDirection(Sort.Direction.DESC), "id"));
+        List<Harvest> rows = harvestRepository.seekByFarmOwnerId(
+                currentUser.getId(),
+                seasonId,
+                from,
+                to,
+                pageCursor.idBelow(Sort.Direction.DESC),
+                pageCursor.idAbove(Sort.Direction.DESC),
+                pageable);
+
+        return PageResponse.ofKeyset(rows, size, pageCursor, h -> null, Harvest::getId, harvestMapper::toResponse);
+    }
+
     /**
      * Get harvest summary/KPI for a specific season or all farmer seasons.
      */
@@ -238,6 +273,7 @@ public class SeasonHarvestService {
 
         Harvest saved = harvestRepository.save(harvest);
         recomputeSeasonActualYield(season);
+        eventPublisher.publishEvent(new HarvestChangedEvent(saved, ChangeType.CREATED));
         return harvestMapper.toResponse(saved);
     }
 
@@ -259,6 +295,7 @@ public class SeasonHarvestService {
 
         Harvest saved = harvestRepository.save(harvest);
         recomputeSeasonActualYield(harvest.getSeason());
+        eventPublisher.publishEvent(new HarvestChangedEvent(saved, ChangeType.UPDATED));
         return harvestMapper.toResponse(saved);
     }
 
@@ -271,6 +308,7 @@ public class SeasonHarvestService {
         if (season != null) {
             recomputeSeasonActualYield(season);
         }
+        eventPublisher.publishEvent(new HarvestChangedEvent(harvest, ChangeType.DELETED));
     }
 
     private void ensureSeasonAllowsHarvest(Season season) {
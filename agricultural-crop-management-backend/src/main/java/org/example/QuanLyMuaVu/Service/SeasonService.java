@@ -32,6 +32,10 @@ import org.example.QuanLyMuaVu.Repository.VarietyRepository;
 import org.example.QuanLyMuaVu.Service.Season.SeasonQueryService;
 import org.example.QuanLyMuaVu.Service.Season.SeasonStatusService;
 import org.example.QuanLyMuaVu.Service.Season.SeasonValidationService;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonCreatedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -72,6 +76,8 @@ public class SeasonService {
     SeasonStatusService statusService;
     SeasonValidationService validationService;
     FarmAccessService farmAccessService;
+    OwnershipIndex ownershipIndex;
+    ApplicationEventPublisher eventPublisher;
 
     // =========================================================================
     // LEGACY METHODS (Backward Compatibility)
@@ -137,6 +143,12 @@ public class SeasonService {
         return queryService.searchMySeasons(plotId, cropId, status, from, to, page, size);
     }
 
+    public PageResponse<SeasonResponse> searchMySeasonsByCursor(
+            Integer plotId, Integer cropId, String status,
+            LocalDate from, LocalDate to, String cursor, int size) {
+        return queryService.searchMySeasonsByCursor(plotId, cropId, status, from, to, cursor, size);
+    }
+
     public SeasonDetailResponse getSeasonForCurrentFarmer(Integer id) {
         return queryService.getSeasonForCurrentFarmer(id);
     }
@@ -233,6 +245,8 @@ public class SeasonService {
                 .build();
 
         Season saved = seasonRepository.save(season);
+        ownershipIndex.evictSeason(saved.getId());
+        eventPublisher.publishEvent(new SeasonCreatedEvent(saved));
         return seasonMapper.toDetailResponse(saved);
     }
 
@@ -296,6 +310,7 @@ public class SeasonService {
         }
 
         Season saved = seasonRepository.save(season);
+        eventPublisher.publishEvent(new SeasonChangedEvent(saved, ChangeType.UPDATED));
         return seasonMapper.toDetailResponse(saved);
     }
 
@@ -341,5 +356,7 @@ public class SeasonService {
         }
 
         seasonRepository.delete(season);
+        ownershipIndex.evictSeason(id);
+        eventPublisher.publishEvent(new SeasonChangedEvent(season, ChangeType.DELETED));
     }
 }
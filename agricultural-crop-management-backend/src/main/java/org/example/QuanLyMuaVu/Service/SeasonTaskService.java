@@ -17,6 +17,10 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskCompletedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -39,6 +43,7 @@ public class SeasonTaskService {
     TaskRepository taskRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
 
     public PageResponse<TaskResponse> listTasksForSeason(
             Integer seasonId,
@@ -115,6 +120,7 @@ public class SeasonTaskService {
                 .build();
 
         Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(saved, ChangeType.CREATED));
         return toResponse(saved);
     }
 
@@ -142,6 +148,7 @@ public class SeasonTaskService {
         task.setDueDate(due);
 
         Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(saved, ChangeType.UPDATED));
         return toResponse(saved);
     }
 
@@ -188,6 +195,11 @@ public class SeasonTaskService {
         }
 
         Task saved = taskRepository.save(task);
+        if (targetStatus == TaskStatus.DONE && currentStatus != TaskStatus.DONE) {
+            eventPublisher.publishEvent(new TaskCompletedEvent(saved, currentStatus));
+        } else if (targetStatus != currentStatus) {
+            eventPublisher.publishEvent(new TaskChangedEvent(saved, ChangeType.UPDATED));
+        }
         return toResponse(saved);
     }
 
@@ -200,6 +212,7 @@ public class SeasonTaskService {
         }
 
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.DELETED));
     }
 
     private boolean isValidStatusTransition(TaskStatus currentStatus, TaskStatus targetStatus) {
@@ -0,0 +1,278 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.StockBalanceReconcileResponse;
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockLocation;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Entity.SupplyLot;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains the stock_balances ledger.
+ * <p>
+ * Every stock movement insert must go through {@link #apply(StockMovement)} in
+ * the same transaction, so the ledger always equals the signed sum of the
+ * movement history. {@link #verify()} and {@link #rebuild()} recompute the
+ * ledger from stock_movements for the admin reconcile job; a rebuild holds the
+ * ledger locked while it compares and rewrites, so no movement commits in
+ * between.
+ * <p>
+ * On startup an empty ledger is filled from the movement history
+ * ({@link #backfillIfEmpty()}), so databases that predate the ledger keep
+ * their stock on hand.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@Transactional
+public class StockBalanceService {
+
+    StockBalanceRepository stockBalanceRepository;
+    StockMovementRepository stockMovementRepository;
+    SchedulerLockService schedulerLockService;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    AtomicReference<String> applySql = new AtomicReference<>();
+
+    static final String BACKFILL_LOCK = "stock-balance-backfill";
+    static final String REBUILD_LOCK = "stock-balance-rebuild";
+
+    private static final String BACKFILL_SQL = """
+            INSERT INTO stock_balances (supply_lot_id, warehouse_id, location_id, location_key, quantity, updated_at)
+            SELECT m.supply_lot_id, m.warehouse_id, m.location_id, COALESCE(m.location_id, 0),
+                   SUM(CASE WHEN m.movement_type = 'OUT' THEN -m.quantity ELSE m.quantity END),
+                   CURRENT_TIMESTAMP
+            FROM stock_movements m
+            WHERE NOT EXISTS (SELECT 1 FROM stock_balances)
+            GROUP BY m.supply_lot_id, m.warehouse_id, m.location_id""";
+
+    private static final String APPLY_SQL_MYSQL = """
+            INSERT INTO stock_balances (supply_lot_id, warehouse_id, location_id, location_key, quantity, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) AS new
+            ON DUPLICATE KEY UPDATE quantity = stock_balances.quantity + new.quantity,
+                updated_at = CURRENT_TIMESTAMP""";
+
+    // H2 (tests) has no row alias
+    private static final String APPLY_SQL_H2 = """
+            INSERT INTO stock_balances (supply_lot_id, warehouse_id, location_id, location_key, quantity, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), updated_at = CURRENT_TIMESTAMP""";
+
+    private static final String SET_QUANTITY_SQL = """
+            UPDATE stock_balances SET quantity = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?""";
+
+    /**
+     * Add the signed quantity of a movement to its balance row, creating the
+     * row on first use. One upsert on the (lot, warehouse, location key)
+     * unique key, so concurrent movements of any type never overwrite each
+     * other's delta and never create a second row for the same key.
+     */
+    public void apply(StockMovement movement) {
+        StockLocation location = movement.getLocation();
+        add(movement.getSupplyLot().getId(), movement.getWarehouse().getId(),
+                location != null ? location.getId() : null, signedQuantity(movement));
+    }
+
+    /**
+     * On-hand quantity of a lot at a warehouse; a null location sums all
+     * locations of the warehouse.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getOnHand(SupplyLot lot, Warehouse warehouse, StockLocation location) {
+        return stockBalanceRepository.sumOnHand(lot, warehouse, location);
+    }
+
+    /**
+     * On-hand quantity for a withdrawal. Locks the lot's balance rows at the
+     * warehouse until the surrounding transaction ends, so concurrent OUT
+     * movements on the same lot are serialized between check and insert.
+     */
+    public BigDecimal lockOnHand(SupplyLot lot, Warehouse warehouse, StockLocation location) {
+        return stockBalanceRepository.lockAllByLotAndWarehouse(lot, warehouse).stream()
+                .filter(balance -> location == null
+                        || (balance.getLocation() != null && balance.getLocation().getId().equals(location.getId())))
+                .map(StockBalance::getQuantity)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Compare the ledger with the movement history without changing anything.
+     * Nothing is locked, so a movement committed between the two reads can
+     * show up as drift.
+     */
+    @Transactional(readOnly = true)
+    public StockBalanceReconcileResponse verify() {
+        return reconcile(false);
+    }
+
+    /**
+     * Rewrite every drifted balance from the movement history. One node at a
+     * time (scheduler lease); the ledger is locked before the movements are
+     * summed, so movements in flight finish first and new ones wait.
+     *
+     * @throws AppException STOCK_BUSY while a rebuild runs on another node
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StockBalanceReconcileResponse rebuild() {
+        if (!schedulerLockService.tryLock(REBUILD_LOCK, Duration.ofMinutes(10))) {
+            throw new AppException(ErrorCode.STOCK_BUSY);
+        }
+        try {
+            return transactionTemplate.execute(status -> reconcile(true));
+        } finally {
+            schedulerLockService.unlock(REBUILD_LOCK);
+        }
+    }
+
+    /**
+     * Fill the ledger from stock_movements when it is empty but movements
+     * exist (first start after the ledger was introduced). One node does it,
+     * in a single INSERT ... SELECT; the others skip it.
+     *
+     * @return the number of balance rows written
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfillIfEmpty() {
+        if (stockBalanceRepository.count() > 0 || stockMovementRepository.count() == 0) {
+            return 0;
+        }
+        if (!schedulerLockService.tryLock(BACKFILL_LOCK, Duration.ofMinutes(10))) {
+            log.info("Stock balance backfill is running on another node");
+            return 0;
+        }
+        try {
+            int rows = jdbcTemplate.update(BACKFILL_SQL);
+            log.info("Backfilled {} stock balance rows from the movement history", rows);
+            return rows;
+        } finally {
+            schedulerLockService.unlock(BACKFILL_LOCK);
+        }
+    }
+
+    // ============================================
+    // HELPER METHODS
+    // ============================================
+
+    private StockBalanceReconcileResponse reconcile(boolean repair) {
+        // Lock first: the movement sum then includes every movement whose delta is in the ledger
+        Map<BalanceKey, StockBalance> actual = new HashMap<>();
+        for (StockBalance balance : repair ? stockBalanceRepository.lockAll() : stockBalanceRepository.findAll()) {
+            actual.put(BalanceKey.of(balance), balance);
+        }
+
+        Map<BalanceKey, BigDecimal> expected = new HashMap<>();
+        for (StockMovementRepository.MovementTotal total : stockMovementRepository.sumQuantityGroupedByBalanceKey()) {
+            expected.put(new BalanceKey(total.getLotId(), total.getWarehouseId(), total.getLocationId()),
+                    total.getTotal() != null ? total.getTotal() : BigDecimal.ZERO);
+        }
+
+        List<StockBalanceReconcileResponse.Drift> drifts = new ArrayList<>();
+        for (Map.Entry<BalanceKey, BigDecimal> entry : expected.entrySet()) {
+            StockBalance balance = actual.get(entry.getKey());
+            BigDecimal ledger = balance != null ? balance.getQuantity() : BigDecimal.ZERO;
+            if (ledger.compareTo(entry.getValue()) != 0) {
+                drifts.add(toDrift(entry.getKey(), ledger, entry.getValue()));
+                if (repair) {
+                    repairBalance(entry.getKey(), balance, entry.getValue());
+                }
+            }
+        }
+        for (Map.Entry<BalanceKey, StockBalance> entry : actual.entrySet()) {
+            if (!expected.containsKey(entry.getKey())
+                    && entry.getValue().getQuantity().compareTo(BigDecimal.ZERO) != 0) {
+                drifts.add(toDrift(entry.getKey(), entry.getValue().getQuantity(), BigDecimal.ZERO));
+                if (repair) {
+                    jdbcTemplate.update("DELETE FROM stock_balances WHERE id = ?", entry.getValue().getId());
+                }
+            }
+        }
+
+        if (!drifts.isEmpty()) {
+            log.warn("Stock balance reconcile: {} drifted keys found (repair={})", drifts.size(), repair);
+        }
+
+        return StockBalanceReconcileResponse.builder()
+                .repaired(repair)
+                .checkedKeys(expected.size())
+                .driftCount(drifts.size())
+                .drifts(drifts)
+                .build();
+    }
+
+    private void repairBalance(BalanceKey key, StockBalance balance, BigDecimal quantity) {
+        if (balance == null) {
+            // No row to lock: the upsert adds to one created meanwhile instead of failing
+            add(key.lotId(), key.warehouseId(), key.locationId(), quantity);
+        } else {
+            jdbcTemplate.update(SET_QUANTITY_SQL, quantity, balance.getId());
+        }
+    }
+
+    private void add(Integer lotId, Integer warehouseId, Integer locationId, BigDecimal quantity) {
+        jdbcTemplate.update(applySql(), lotId, warehouseId, locationId,
+                locationId != null ? locationId : 0, quantity);
+    }
+
+    private String applySql() {
+        String sql = applySql.get();
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            sql = "MySQL".equalsIgnoreCase(product) ? APPLY_SQL_MYSQL : APPLY_SQL_H2;
+            applySql.set(sql);
+        }
+        return sql;
+    }
+
+    private StockBalanceReconcileResponse.Drift toDrift(BalanceKey key, BigDecimal ledger, BigDecimal movements) {
+        return StockBalanceReconcileResponse.Drift.builder()
+                .supplyLotId(key.lotId())
+                .warehouseId(key.warehouseId())
+                .locationId(key.locationId())
+                .ledgerQuantity(ledger)
+                .movementQuantity(movements)
+                .build();
+    }
+
+    private BigDecimal signedQuantity(StockMovement movement) {
+        return movement.getMovementType() == StockMovementType.OUT
+                ? movement.getQuantity().negate()
+                : movement.getQuantity();
+    }
+
+    private record BalanceKey(Integer lotId, Integer warehouseId, Integer locationId) {
+        static BalanceKey of(StockBalance balance) {
+            return new BalanceKey(
+                    balance.getSupplyLot().getId(),
+                    balance.getWarehouse().getId(),
+                    balance.getLocation() != null ? balance.getLocation().getId() : null);
+        }
+    }
+}
@@ -25,11 +25,15 @@ import org.example.QuanLyMuaVu.Repository.SupplierRepository;
 import org.example.QuanLyMuaVu.Repository.SupplyItemRepository;
 import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
 import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.StockMovementRecordedEvent;
+import org.example.QuanLyMuaVu.Service.Dashboard.DashboardCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -48,6 +52,9 @@ public class SuppliesService {
     StockLocationRepository stockLocationRepository;
     StockMovementRepository stockMovementRepository;
     FarmAccessService farmAccessService;
+    StockBalanceService stockBalanceService;
+    ApplicationEventPublisher eventPublisher;
+    DashboardCache dashboardCache;
 
     // ============================================
     // CATALOG: SUPPLIERS
@@ -75,6 +82,20 @@ public class SuppliesService {
         return PageResponse.of(page, items);
     }
 
+    /**
+     * Set the low-stock alert threshold of an item; null restores the default.
+     */
+    public SupplyItemResponse updateLowStockThreshold(Integer itemId, BigDecimal threshold) {
+        SupplyItem item = supplyItemRepository.findById(itemId)
+                .orElseThrow(() -> new AppException(ErrorCode.SUPPLY_ITEM_NOT_FOUND));
+        item.setLowStockThreshold(threshold);
+        SupplyItem saved = supplyItemRepository.save(item);
+        // Thresholds apply across owners, so drop every cached alert
+        dashboardCache.evictAll(DashboardCache.Region.LOW_STOCK);
+        dashboardCache.evictAll(DashboardCache.Region.OVERVIEW);
+        return toSupplyItemResponse(saved);
+    }
+
     // ============================================
     // CATALOG: SUPPLY LOTS
     // ============================================
@@ -151,6 +172,8 @@ public class SuppliesService {
                 .note(request.getNote() != null ? request.getNote() : "Stock IN via Suppliers & Supplies")
                 .build();
         movement = stockMovementRepository.save(movement);
+        stockBalanceService.apply(movement);
+        eventPublisher.publishEvent(new StockMovementRecordedEvent(movement));
 
         // 9. Return response
         return StockInResponse.builder()
@@ -163,10 +186,7 @@ public class SuppliesService {
     // HELPER METHODS
     // ============================================
     private void ensureWarehouseOwnership(Warehouse warehouse) {
-        if (warehouse.getFarm() == null) {
-            throw new AppException(ErrorCode.FORBIDDEN);
-        }
-        farmAccessService.assertCurrentUserCanAccessFarm(warehouse.getFarm());
+        farmAccessService.assertCurrentUserCanAccessWarehouse(warehouse);
     }
 
     private SupplierResponse toSupplierResponse(Supplier supplier) {
@@ -186,6 +206,7 @@ public class SuppliesService {
                 .activeIngredient(item.getActiveIngredient())
                 .unit(item.getUnit())
                 .restrictedFlag(Boolean.TRUE.equals(item.getRestrictedFlag()))
+                .lowStockThreshold(item.getLowStockThreshold())
                 .build();
     }
 
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
 import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
 import org.example.QuanLyMuaVu.DTO.Request.*;
 import org.example.QuanLyMuaVu.DTO.Response.SeasonMinimalResponse;
@@ -16,6 +17,10 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskChangedEvent;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskCompletedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +45,7 @@ public class TaskWorkspaceService {
     TaskRepository taskRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new task for the current user.
@@ -79,6 +85,7 @@ public class TaskWorkspaceService {
 
         task = taskRepository.save(task);
         log.info("Created task {} for user {}", task.getId(), currentUser.getId());
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.CREATED));
 
         return mapToResponse(task);
     }
@@ -97,9 +104,6 @@ public class TaskWorkspaceService {
             String sortDirection) {
         User currentUser = farmAccessService.getCurrentUser();
 
-        // Auto-update overdue tasks before listing
-        updateOverdueTasksForUser(currentUser);
-
         // Build pagination
         Sort sort = Sort.by(
                 "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC,
@@ -127,6 +131,42 @@ public class TaskWorkspaceService {
         return response;
     }
 
+    /**
+     * List tasks for current user in keyset mode. Seeks on task id in the
+     * requested direction; any other sort field is rejected with BAD_REQUEST
+     * rather than ignored, since it would not match the order of the pages.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<TaskResponse> listTasksByCursor(
+            TaskStatus status,
+            Integer seasonId,
+            String searchQuery,
+            String cursor,
+            Integer size,
+            String sortBy,
+            String sortDirection) {
+        if (sortBy != null && !"id".equals(sortBy)) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+        User currentUser = farmAccessService.getCurrentUser();
+
+        int pageSize = size != null ? size : 20;
+        Sort.Direction order = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by(pageCursor.fetchDirection(order), "id"));
+
+        List<Task> rows = taskRepository.seekByUserWithFilters(
+                currentUser,
+                status,
+                seasonId,
+                searchQuery,
+                pageCursor.idBelow(order),
+                pageCursor.idAbove(order),
+                pageable);
+
+        return PageResponse.ofKeyset(rows, pageSize, pageCursor, task -> null, Task::getId, this::mapToResponse);
+    }
+
     /**
      * Get task by ID (must belong to current user).
      */
@@ -197,6 +237,7 @@ public class TaskWorkspaceService {
 
         task = taskRepository.save(task);
         log.info("Updated task {}", taskId);
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.UPDATED));
 
         return mapToResponse(task);
     }
@@ -221,6 +262,7 @@ public class TaskWorkspaceService {
 
         task = taskRepository.save(task);
         log.info("Started task {}", taskId);
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.UPDATED));
 
         return mapToResponse(task);
     }
@@ -246,11 +288,15 @@ public class TaskWorkspaceService {
             throw new AppException(ErrorCode.INVALID_DATE_RANGE);
         }
 
+        TaskStatus previousStatus = task.getStatus();
         task.setActualEndDate(endDate);
         task.setStatus(TaskStatus.DONE);
 
         task = taskRepository.save(task);
         log.info("Marked task {} as done", taskId);
+        if (previousStatus != TaskStatus.DONE) {
+            eventPublisher.publishEvent(new TaskCompletedEvent(task, previousStatus));
+        }
 
         return mapToResponse(task);
     }
@@ -267,6 +313,7 @@ public class TaskWorkspaceService {
         task.setStatus(TaskStatus.CANCELLED);
         task = taskRepository.save(task);
         log.info("Cancelled task {}", taskId);
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.UPDATED));
 
         return mapToResponse(task);
     }
@@ -282,6 +329,7 @@ public class TaskWorkspaceService {
 
         taskRepository.delete(task);
         log.info("Deleted task {}", taskId);
+        eventPublisher.publishEvent(new TaskChangedEvent(task, ChangeType.DELETED));
     }
 
     /**
@@ -304,27 +352,6 @@ public class TaskWorkspaceService {
 
     // ==================== Helper Methods ====================
 
-    /**
-     * Auto-update overdue tasks for a specific user.
-     */
-    private void updateOverdueTasksForUser(User user) {
-        List<Task> overdueCandidate = taskRepository.findByUserWithFilters(
-                user,
-                null,
-                null,
-                null,
-                Pageable.unpaged()).getContent();
-
-        for (Task task : overdueCandidate) {
-            if (task.getDueDate() != null &&
-                    task.getDueDate().isBefore(LocalDate.now()) &&
-                    (task.getStatus() == TaskStatus.PENDING || task.getStatus() == TaskStatus.IN_PROGRESS)) {
-                task.setStatus(TaskStatus.OVERDUE);
-                taskRepository.save(task);
-            }
-        }
-    }
-
     /**
      * Validate task dates.
      */
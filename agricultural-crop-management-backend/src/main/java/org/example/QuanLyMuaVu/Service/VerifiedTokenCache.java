@@ -0,0 +1,128 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of access tokens that already passed signature, expiry and
+ * revocation checks.
+ * <p>
+ * Entries are keyed by the compact token itself (the cached {@link Jwt} holds
+ * it anyway), so a hit requires a byte-identical token and a forged token can
+ * never match. An entry lives until the token's own expiry.
+ * <p>
+ * Revocation ({@link #invalidate}) removes the token immediately. A decode
+ * that raced with a revocation is not cached: callers take a
+ * {@link #generation()} stamp before checking revocation and pass it to
+ * {@link #put}, which drops the entry if a revocation happened in between.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    static final String GETS_METRIC = "auth.token.cache.gets";
+    static final String SIZE_METRIC = "auth.token.cache.size";
+
+    private final int maxEntries;
+    private final Map<String, Jwt> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder(GETS_METRIC).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(GETS_METRIC).tag("result", "miss").register(meterRegistry);
+        Gauge.builder(SIZE_METRIC, entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Return the verified token, or null if it is not cached or has expired.
+     */
+    public Jwt get(String token) {
+        Jwt jwt = entries.get(token);
+        if (jwt == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(jwt, Instant.now())) {
+            entries.remove(token, jwt);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return jwt;
+    }
+
+    /**
+     * Stamp to take before the revocation check of a token about to be cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a verified token unless a revocation happened since {@code stamp}.
+     */
+    public void put(String token, Jwt jwt, long stamp) {
+        if (jwt.getExpiresAt() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictForSpace();
+        }
+        entries.put(token, jwt);
+        if (generation.get() != stamp) {
+            // A revocation ran while this token was being verified; it may be the one
+            entries.remove(token, jwt);
+        }
+    }
+
+    /**
+     * Drop every cached token with the given JWT ID. Call after the revocation
+     * is persisted.
+     */
+    public void invalidate(String jwtId) {
+        if (jwtId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.values().removeIf(jwt -> jwtId.equals(jwt.getId()));
+        log.debug("Evicted cached token - JIT: {}", jwtId);
+    }
+
+    // =========================================================================
+    // PRIVATE HELPERS
+    // =========================================================================
+
+    /**
+     * Make room: drop expired tokens first, then arbitrary ones down to 90% of
+     * the bound so the sweep does not run on every put.
+     */
+    private void evictForSpace() {
+        Instant now = Instant.now();
+        entries.values().removeIf(jwt -> isExpired(jwt, now));
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static boolean isExpired(Jwt jwt, Instant now) {
+        return !jwt.getExpiresAt().isAfter(now);
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,12 +35,19 @@ import lombok.extern.slf4j.Slf4j;
  * User user = currentUserService.getCurrentUser();
  * }
  * </pre>
+ * 
+ * Id and role come straight from the JWT claims. The User entity is loaded
+ * lazily, at most once per HTTP request, and held as a request attribute so
+ * every service in the request shares it. Outside a request (scheduled jobs,
+ * worker threads) it is loaded on each call.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CurrentUserService {
 
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserService.class.getName() + ".currentUser";
+
     private final UserRepository userRepository;
 
     /**
@@ -117,8 +126,19 @@ public class CurrentUserService {
      */
     public User getCurrentUser() {
         Long userId = getCurrentUserId();
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return loadUser(userId);
+        }
+
+        Object cached = request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof User user && userId.equals(user.getId())) {
+            return user;
+        }
+        User user = loadUser(userId);
+        request.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
     }
 
     /**
@@ -169,4 +189,9 @@ public class CurrentUserService {
             throw new AppException(ErrorCode.FORBIDDEN);
         }
     }
+
+    private User loadUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+    }
 }
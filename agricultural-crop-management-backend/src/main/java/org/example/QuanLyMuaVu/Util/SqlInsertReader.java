@@ -0,0 +1,339 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming reader for the rows of {@code INSERT ... VALUES} statements in a
+ * MySQL dump such as loc.sql.
+ * <p>
+ * The input is tokenized character by character and each row is handed to the
+ * callback as soon as its closing parenthesis is read, so memory stays bounded
+ * by the largest single value however long the statement or file is. Other
+ * statements (CREATE TABLE, LOCK TABLES, ...) and comments, including MySQL
+ * conditional comments, are skipped.
+ * <p>
+ * Values are returned as strings with quotes and escapes removed; the NULL
+ * literal is returned as null.
+ */
+public class SqlInsertReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(String table, List<String> values);
+    }
+
+    private static final int EOF = -1;
+
+    private final PushbackReader in;
+    private final int maxValueLength;
+
+    /**
+     * @param reader         SQL source; buffering is up to the caller
+     * @param maxValueLength longest accepted value, as a guard against
+     *                       unterminated quotes in malformed input
+     */
+    public SqlInsertReader(Reader reader, int maxValueLength) {
+        this.in = new PushbackReader(reader, 2);
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * Read the whole input, calling {@code handler} for every inserted row.
+     *
+     * @return number of rows read
+     */
+    public long readAll(RowHandler handler) throws IOException {
+        long rows = 0;
+        while (true) {
+            skipWhitespaceAndComments();
+            int c = in.read();
+            if (c == EOF) {
+                return rows;
+            }
+            if (c == ';') {
+                continue;
+            }
+            in.unread(c);
+
+            String keyword = readWord();
+            if ("INSERT".equalsIgnoreCase(keyword)) {
+                rows += readInsert(handler);
+            } else {
+                skipStatement();
+            }
+        }
+    }
+
+    // =========================================================================
+    // STATEMENTS
+    // =========================================================================
+
+    private long readInsert(RowHandler handler) throws IOException {
+        expectWord("INTO");
+        String table = readWord().toLowerCase(Locale.ROOT);
+
+        skipWhitespaceAndComments();
+        int c = in.read();
+        if (c == '(') {
+            skipParenthesized();
+        } else {
+            in.unread(c);
+        }
+        expectWord("VALUES");
+
+        long rows = 0;
+        while (true) {
+            skipWhitespaceAndComments();
+            expect('(');
+            handler.row(table, readTuple());
+            rows++;
+
+            skipWhitespaceAndComments();
+            c = in.read();
+            if (c == ',') {
+                continue;
+            }
+            if (c == ';' || c == EOF) {
+                return rows;
+            }
+            throw new IOException("Unexpected '" + (char) c + "' after row " + rows + " of " + table);
+        }
+    }
+
+    private List<String> readTuple() throws IOException {
+        List<String> values = new ArrayList<>();
+        while (true) {
+            skipWhitespaceAndComments();
+            values.add(readValue());
+            skipWhitespaceAndComments();
+            int c = in.read();
+            if (c == ')') {
+                return values;
+            }
+            if (c != ',') {
+                throw new IOException("Expected ',' or ')' in row but found " + describe(c));
+            }
+        }
+    }
+
+    private String readValue() throws IOException {
+        int c = in.read();
+        if (c == '\'' || c == '"') {
+            return readQuoted((char) c);
+        }
+        StringBuilder token = new StringBuilder();
+        while (c != EOF && c != ',' && c != ')' && !Character.isWhitespace(c)) {
+            append(token, c);
+            c = in.read();
+        }
+        if (c != EOF) {
+            in.unread(c);
+        }
+        String value = token.toString();
+        return "NULL".equalsIgnoreCase(value) ? null : value;
+    }
+
+    private String readQuoted(char quote) throws IOException {
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = in.read();
+            if (c == EOF) {
+                throw new IOException("Unterminated string literal");
+            }
+            if (c == '\\') {
+                append(value, unescape(in.read()));
+            } else if (c == quote) {
+                int next = in.read();
+                if (next == quote) {
+                    append(value, quote);
+                } else {
+                    if (next != EOF) {
+                        in.unread(next);
+                    }
+                    return value.toString();
+                }
+            } else {
+                append(value, c);
+            }
+        }
+    }
+
+    /**
+     * Skip to the end of a statement that is not an INSERT.
+     */
+    private void skipStatement() throws IOException {
+        int c;
+        while ((c = in.read()) != EOF && c != ';') {
+            if (c == '\'' || c == '"' || c == '`') {
+                skipQuoted(c);
+            } else if (c == '/' || c == '-' || c == '#') {
+                in.unread(c);
+                if (!skipComment()) {
+                    in.read();
+                }
+            }
+        }
+    }
+
+    private void skipParenthesized() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = in.read();
+            if (c == EOF) {
+                throw new IOException("Unterminated column list");
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                skipQuoted(c);
+            }
+        }
+    }
+
+    // =========================================================================
+    // TOKENS
+    // =========================================================================
+
+    /**
+     * Read a keyword or identifier; backquotes around an identifier are
+     * removed.
+     */
+    private String readWord() throws IOException {
+        skipWhitespaceAndComments();
+        int c = in.read();
+        if (c == '`') {
+            StringBuilder quoted = new StringBuilder();
+            while ((c = in.read()) != '`') {
+                if (c == EOF) {
+                    throw new IOException("Unterminated identifier");
+                }
+                append(quoted, c);
+            }
+            return quoted.toString();
+        }
+        StringBuilder word = new StringBuilder();
+        while (c != EOF && (Character.isLetterOrDigit(c) || c == '_' || c == '.')) {
+            append(word, c);
+            c = in.read();
+        }
+        if (c != EOF) {
+            in.unread(c);
+        }
+        if (word.isEmpty()) {
+            // Not a word: consume one character so the caller makes progress
+            return c == EOF ? "" : String.valueOf((char) in.read());
+        }
+        return word.toString();
+    }
+
+    private void expectWord(String expected) throws IOException {
+        String word = readWord();
+        if (!expected.equalsIgnoreCase(word)) {
+            throw new IOException("Expected " + expected + " but found '" + word + "'");
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = in.read();
+        if (c != expected) {
+            throw new IOException("Expected '" + expected + "' but found " + describe(c));
+        }
+    }
+
+    private void skipWhitespaceAndComments() throws IOException {
+        while (true) {
+            int c = in.read();
+            if (c == EOF) {
+                return;
+            }
+            // U+FEFF: byte order mark at the start of the file
+            if (Character.isWhitespace(c) || c == '\uFEFF') {
+                continue;
+            }
+            in.unread(c);
+            if (!skipComment()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skip one comment starting at the current position, if there is one.
+     */
+    private boolean skipComment() throws IOException {
+        int c = in.read();
+        if (c == '#') {
+            skipLine();
+            return true;
+        }
+        if (c == '/' || c == '-') {
+            int next = in.read();
+            if (c == '/' && next == '*') {
+                int previous = 0;
+                while ((next = in.read()) != EOF && !(previous == '*' && next == '/')) {
+                    previous = next;
+                }
+                return true;
+            }
+            if (c == '-' && next == '-') {
+                skipLine();
+                return true;
+            }
+            if (next != EOF) {
+                in.unread(next);
+            }
+        }
+        if (c != EOF) {
+            in.unread(c);
+        }
+        return false;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = in.read()) != EOF && c != '\n') {
+            // skip
+        }
+    }
+
+    private void skipQuoted(int quote) throws IOException {
+        int c;
+        while ((c = in.read()) != EOF) {
+            if (c == '\\' && quote != '`') {
+                in.read();
+            } else if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    private void append(StringBuilder value, int c) throws IOException {
+        if (value.length() >= maxValueLength) {
+            throw new IOException("Value longer than " + maxValueLength + " characters");
+        }
+        value.append((char) c);
+    }
+
+    private static int unescape(int c) throws IOException {
+        return switch (c) {
+            case EOF -> throw new IOException("Unterminated escape sequence");
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case '0' -> '\0';
+            case 'Z' -> 26;
+            default -> c;
+        };
+    }
+
+    private static String describe(int c) {
+        return c == EOF ? "end of input" : "'" + (char) c + "'";
+    }
+}
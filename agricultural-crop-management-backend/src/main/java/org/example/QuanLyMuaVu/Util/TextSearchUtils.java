@@ -0,0 +1,33 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for accent-insensitive search over Vietnamese text.
+ */
+public final class TextSearchUtils {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextSearchUtils() {
+    }
+
+    /**
+     * Fold text for matching: strip diacritics (đ becomes d), lower-case and
+     * collapse whitespace, so "  Hà  Nội" and "ha noi" fold to the same value.
+     * Returns an empty string for null.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,23 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V10__supply_item_low_stock_threshold.sql
+-- Per-item low-stock thresholds and indexes for set-based dashboard alerts
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+-- Threshold override per supply item (NULL = dashboard.alerts.default-low-stock-threshold)
+ALTER TABLE supply_items
+    ADD COLUMN low_stock_threshold DECIMAL(14,3) NULL;
+
+-- Owner-wide balance aggregation: warehouses of a farm, balances of a warehouse
+-- Speeds up: ... FROM stock_balances b JOIN warehouses w ... WHERE farm.owner_id = ? GROUP BY lot, warehouse
+CREATE INDEX IF NOT EXISTS idx_warehouses_farm ON warehouses(farm_id);
+-- Covering version of V9's idx_stock_balances_wh_lot (which it replaces)
+CREATE INDEX IF NOT EXISTS idx_stock_balances_wh_lot_qty ON stock_balances(warehouse_id, supply_lot_id, quantity);
+DROP INDEX idx_stock_balances_wh_lot ON stock_balances;
+
+-- Expiring-lot count
+CREATE INDEX IF NOT EXISTS idx_supply_lots_expiry ON supply_lots(expiry_date);
+
+-- Notes:
+-- 1. Low-stock and expiring counts are computed in the database; no rows are
+--    loaded to count them
+-- 2. Expiring lots only count lots with stock on hand
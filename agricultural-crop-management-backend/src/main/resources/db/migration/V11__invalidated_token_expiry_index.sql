@@ -0,0 +1,14 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V11__invalidated_token_expiry_index.sql
+-- Supports the revoked token index load/sync and the expiry purge job
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+-- Speeds up: SELECT ... FROM invalidated_token WHERE expiry_time > ?
+--            DELETE FROM invalidated_token WHERE expiry_time < ?
+CREATE INDEX IF NOT EXISTS idx_invalidated_token_expiry ON invalidated_token(expiry_time);
+
+-- Notes:
+-- 1. Rows are deleted once past their refreshable window
+--    (expiry_time + refreshable-duration - valid-duration), so the table stays
+--    bounded by recent logouts/refreshes
+-- 2. Per-request revocation checks no longer query this table
@@ -0,0 +1,20 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V12__scheduler_locks.sql
+-- Cluster-wide leases for scheduled jobs (see SchedulerLockService)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    lock_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    locked_until DATETIME(6) NOT NULL COMMENT 'Lease end; the lock is free once this is in the past',
+    locked_at DATETIME(6) NOT NULL,
+    locked_by VARCHAR(255) NOT NULL COMMENT 'Node holding the lease'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Supports the chunked overdue scan:
+--   SELECT MIN(task_id), MAX(task_id) FROM tasks WHERE due_date < ? AND status IN (...)
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due ON tasks(status, due_date);
+
+-- Notes:
+-- 1. Rows are created on first use, one per job ('overdue-tasks')
+-- 2. Tasks are no longer marked overdue when a farmer lists them; the hourly
+--    job (tasks.overdue.cron) does it for all farmers
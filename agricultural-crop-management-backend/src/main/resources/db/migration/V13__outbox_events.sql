@@ -0,0 +1,31 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V13__outbox_events.sql
+-- Transactional outbox for domain events (see OutboxWriter / OutboxRelay)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL COMMENT 'DomainEvent id, idempotency key for listeners',
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL COMMENT 'Event properties as JSON',
+    occurred_on DATETIME(6) NOT NULL,
+    status VARCHAR(16) NOT NULL COMMENT 'PENDING, PUBLISHED or DEAD',
+    attempts INT NOT NULL DEFAULT 0,
+    claim_token VARCHAR(36) NULL,
+    claimed_until DATETIME(6) NULL COMMENT 'Not claimable before this time (claim or retry back-off)',
+    published_at DATETIME(6) NULL,
+    last_error VARCHAR(500) NULL,
+
+    UNIQUE KEY uk_outbox_event_id (event_id),
+    INDEX idx_outbox_status_id (status, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+  COMMENT='Written in the transaction of the change that raised the event';
+
+-- Notes:
+-- 1. Relay claim: SELECT id ... WHERE status = 'PENDING' ORDER BY id LIMIT n, then a
+--    conditional UPDATE sets claim_token/claimed_until on the rows still unclaimed
+-- 2. PUBLISHED rows are deleted after outbox.retention by the compaction job;
+--    DEAD rows are kept for inspection and can be requeued with
+--    UPDATE outbox_events SET status = 'PENDING', attempts = 0 WHERE status = 'DEAD'
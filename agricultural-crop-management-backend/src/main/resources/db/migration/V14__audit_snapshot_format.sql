@@ -0,0 +1,31 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V14__audit_snapshot_format.sql
+-- Diff-based, optionally compressed audit snapshots (see AuditSnapshotCodec)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+ALTER TABLE audit_logs
+    ADD COLUMN snapshot_format VARCHAR(10) NULL
+        COMMENT 'STATE (full projection) or DIFF (changes since the previous entry); NULL on older rows'
+        AFTER snapshot_data,
+    ADD COLUMN snapshot_compressed BOOLEAN NULL
+        COMMENT 'snapshot_data is Base64-encoded gzip'
+        AFTER snapshot_format;
+
+-- Entries are replayed in the order they happened, not in id order: the audit
+-- writer inserts spilled entries after later ones. Keep sub-second precision
+-- so entries of one entity within the same second stay ordered.
+ALTER TABLE audit_logs
+    MODIFY performed_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) COMMENT 'Timestamp of the operation';
+
+-- No new index: replaying an entity's entries
+--   SELECT ... FROM audit_logs WHERE entity_type = ? AND entity_id = ? ORDER BY performed_at, audit_log_id
+-- reads them through idx_entity_lookup and sorts the few rows of one entity.
+
+-- Notes:
+-- 1. Existing rows keep their full JSON snapshot and are read as keyframes
+-- 2. Snapshots are now a projection of the farm's own columns; owner, province
+--    and ward appear as ids only
+-- 3. A full state is stored every audit.snapshot.keyframe-interval entries of
+--    an entity, so rebuilding one state replays a bounded number of diffs
+-- 4. A diff is never based on stored rows: after a restart, a cache eviction or
+--    a spilled entry, the next entry of the entity is a keyframe
@@ -0,0 +1,43 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V15__stock_balance_location_key.sql
+-- Non-null location key so the stock_balances unique key holds for the
+-- warehouse-level bucket too
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+ALTER TABLE stock_balances
+    ADD COLUMN location_key INT NOT NULL DEFAULT 0
+        COMMENT 'location_id, or 0 for the warehouse-level bucket'
+        AFTER location_id;
+
+UPDATE stock_balances SET location_key = COALESCE(location_id, 0);
+
+-- Fold duplicate warehouse-level rows (possible under the old NULL key) into
+-- the oldest row of each key
+UPDATE stock_balances b
+JOIN (SELECT supply_lot_id, warehouse_id, location_key, MIN(id) AS keep_id, SUM(quantity) AS total
+      FROM stock_balances
+      GROUP BY supply_lot_id, warehouse_id, location_key
+      HAVING COUNT(*) > 1) d ON b.id = d.keep_id
+SET b.quantity = d.total;
+
+DELETE b FROM stock_balances b
+JOIN (SELECT supply_lot_id, warehouse_id, location_key, MIN(id) AS keep_id
+      FROM stock_balances
+      GROUP BY supply_lot_id, warehouse_id, location_key
+      HAVING COUNT(*) > 1) d
+  ON b.supply_lot_id = d.supply_lot_id
+ AND b.warehouse_id = d.warehouse_id
+ AND b.location_key = d.location_key
+ AND b.id <> d.keep_id;
+
+ALTER TABLE stock_balances
+    DROP INDEX uk_stock_balances_key,
+    ADD UNIQUE KEY uk_stock_balances_key (supply_lot_id, warehouse_id, location_key);
+
+-- Notes:
+-- 1. StockBalanceService.apply adds a movement with one
+--    INSERT ... AS new ON DUPLICATE KEY UPDATE
+--    quantity = stock_balances.quantity + new.quantity, so concurrent
+--    IN/ADJUST/OUT movements of one key never overwrite each other
+-- 2. location_id stays as the foreign key to stock_locations; queries keep
+--    filtering on it
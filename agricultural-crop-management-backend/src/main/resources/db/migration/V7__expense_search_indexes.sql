@@ -0,0 +1,28 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V7__expense_search_indexes.sql
+-- Composite indexes backing the database-side expense search (BR185)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+-- Season-scoped search ordered/filtered by date
+-- Speeds up: ... WHERE e.season_id IN (...) AND e.expense_date BETWEEN ? AND ?
+CREATE INDEX IF NOT EXISTS idx_expense_season_date ON expenses(season_id, expense_date);
+
+-- Season-scoped search by category
+-- Speeds up: ... WHERE e.season_id = ? AND LOWER(e.category) = ?
+CREATE INDEX IF NOT EXISTS idx_expense_season_category ON expenses(season_id, category);
+
+-- Task filter (cmbTaskID)
+CREATE INDEX IF NOT EXISTS idx_expense_task_id ON expenses(task_id);
+
+-- Farmer-wide expense listing ordered by date
+-- Speeds up: ... WHERE e.user_id = ? ORDER BY e.expense_date DESC
+CREATE INDEX IF NOT EXISTS idx_expense_user_date ON expenses(user_id, expense_date);
+
+-- Ownership join season -> plot -> farm -> owner
+CREATE INDEX IF NOT EXISTS idx_plots_farm_id ON plots(farm_id);
+CREATE INDEX IF NOT EXISTS idx_farms_owner_id ON farms(owner_id);
+
+-- Notes:
+-- 1. Keyword search uses LIKE '%kw%' and cannot use idx_expense_item_name; the
+--    season/owner predicates above narrow the scan first
+-- 2. ORDER BY expense_id DESC is served by the primary key
@@ -0,0 +1,22 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V8__keyset_pagination_indexes.sql
+-- Indexes backing cursor (keyset) pagination on the hot list endpoints
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+-- Movement history seek on (movement_date, id) within a warehouse
+-- Speeds up: ... WHERE warehouse_id = ? AND (movement_date, id) < (?, ?) ORDER BY movement_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_stock_movements_wh_date_id ON stock_movements(warehouse_id, movement_date, id);
+
+-- Harvest listing scoped by season, seek on primary key
+CREATE INDEX IF NOT EXISTS idx_harvests_season_id ON harvests(season_id);
+
+-- Field log listing scoped by season, seek on primary key
+CREATE INDEX IF NOT EXISTS idx_field_logs_season_id ON field_logs(season_id);
+
+-- Task workspace listing scoped by user and status, seek on primary key
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks(user_id, status);
+
+-- Notes:
+-- 1. InnoDB secondary indexes carry the primary key, so the single-column
+--    season/user indexes also serve "ORDER BY id" seeks within that scope
+-- 2. Offset pagination (page/size) remains available on every endpoint
@@ -0,0 +1,38 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V9__stock_balances.sql
+-- Running on-hand ledger per (supply lot, warehouse, location)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE IF NOT EXISTS stock_balances (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    supply_lot_id INT NOT NULL,
+    warehouse_id INT NOT NULL,
+    location_id INT NULL COMMENT 'NULL = warehouse-level bucket (movement without location)',
+    quantity DECIMAL(14,3) NOT NULL DEFAULT 0,
+    updated_at DATETIME NULL,
+
+    UNIQUE KEY uk_stock_balances_key (supply_lot_id, warehouse_id, location_id),
+    INDEX idx_stock_balances_wh_lot (warehouse_id, supply_lot_id),
+    CONSTRAINT fk_stock_balances_lot FOREIGN KEY (supply_lot_id) REFERENCES supply_lots(id),
+    CONSTRAINT fk_stock_balances_wh FOREIGN KEY (warehouse_id) REFERENCES warehouses(id),
+    CONSTRAINT fk_stock_balances_loc FOREIGN KEY (location_id) REFERENCES stock_locations(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+  COMMENT='Maintained by InventoryService/SuppliesService with every stock movement';
+
+-- Backfill from the movement history (only when the ledger is still empty).
+-- Schemas managed by ddl-auto never run this script: the application runs the
+-- same statement on startup (StockBalanceService.backfillIfEmpty)
+INSERT INTO stock_balances (supply_lot_id, warehouse_id, location_id, quantity, updated_at)
+SELECT m.supply_lot_id, m.warehouse_id, m.location_id,
+       SUM(CASE WHEN m.movement_type = 'OUT' THEN -m.quantity ELSE m.quantity END),
+       NOW()
+FROM stock_movements m
+WHERE NOT EXISTS (SELECT 1 FROM stock_balances)
+GROUP BY m.supply_lot_id, m.warehouse_id, m.location_id;
+
+-- Notes:
+-- 1. MySQL unique keys treat NULLs as distinct, so this key does not hold for
+--    the NULL-location bucket; V15 replaces it with a key on a non-null
+--    location_key
+-- 2. GET /api/v1/admin/inventory/balances/verify reports drift against
+--    stock_movements; POST .../rebuild locks the ledger and rewrites drifted rows
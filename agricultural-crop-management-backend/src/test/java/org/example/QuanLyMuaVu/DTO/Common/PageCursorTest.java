@@ -0,0 +1,98 @@
+package org.example.QuanLyMuaVu.DTO.Common;
+
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageCursor encoding and seek bounds.
+ *
+ * Covers:
+ * - Forward and backward cursors round-trip their sort key, id and direction
+ * - A blank cursor is the first page
+ * - Malformed cursors fail with INVALID_CURSOR
+ */
+public class PageCursorTest {
+
+    private static final String SORT_KEY = "2026-03-01T08:30";
+
+    @Test
+    @DisplayName("A forward cursor round-trips and seeks below its key on a descending list")
+    void forwardCursorRoundTrips() {
+        PageCursor cursor = PageCursor.decode(PageCursor.after(SORT_KEY, 42));
+
+        assertFalse(cursor.isFirst());
+        assertFalse(cursor.isBackward());
+        assertEquals(Sort.Direction.DESC, cursor.fetchDirection(Sort.Direction.DESC));
+        assertEquals(SORT_KEY, cursor.sortKeyBelow(Sort.Direction.DESC));
+        assertEquals(42, cursor.idBelow(Sort.Direction.DESC));
+        assertNull(cursor.sortKeyAbove(Sort.Direction.DESC));
+        assertNull(cursor.idAbove(Sort.Direction.DESC));
+        assertEquals(PageCursor.after(SORT_KEY, 42), cursor.encode());
+    }
+
+    @Test
+    @DisplayName("A backward cursor round-trips and reads the list in reverse")
+    void backwardCursorRoundTrips() {
+        PageCursor cursor = PageCursor.decode(PageCursor.before(SORT_KEY, 42));
+
+        assertTrue(cursor.isBackward());
+        assertEquals(Sort.Direction.ASC, cursor.fetchDirection(Sort.Direction.DESC));
+        assertEquals(SORT_KEY, cursor.sortKeyAbove(Sort.Direction.DESC));
+        assertEquals(42, cursor.idAbove(Sort.Direction.DESC));
+        assertNull(cursor.idBelow(Sort.Direction.DESC));
+
+        assertEquals(Sort.Direction.DESC, cursor.fetchDirection(Sort.Direction.ASC));
+        assertEquals(42, cursor.idBelow(Sort.Direction.ASC));
+    }
+
+    @Test
+    @DisplayName("An id-only cursor round-trips without a sort key")
+    void idOnlyCursorRoundTrips() {
+        PageCursor cursor = PageCursor.decode(PageCursor.after(null, 7));
+
+        assertNull(cursor.sortKeyBelow(Sort.Direction.DESC));
+        assertEquals(7, cursor.idBelow(Sort.Direction.DESC));
+    }
+
+    @Test
+    @DisplayName("A blank cursor requests the first page")
+    void blankCursorIsFirstPage() {
+        for (String blank : new String[] { null, "", "  " }) {
+            PageCursor cursor = PageCursor.decode(blank);
+            assertTrue(cursor.isFirst());
+            assertFalse(cursor.isBackward());
+            assertNull(cursor.idBelow(Sort.Direction.DESC));
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed cursors are rejected with INVALID_CURSOR")
+    void malformedCursorIsRejected() {
+        List<String> malformed = List.of(
+                "not a cursor!",
+                encode("X|" + SORT_KEY + "|42"),
+                encode("|" + SORT_KEY + "|42"),
+                encode("N|" + SORT_KEY),
+                encode("N|" + SORT_KEY + "|42|extra"),
+                encode("N|" + SORT_KEY + "|abc"),
+                encode("N|" + SORT_KEY + "|"));
+
+        for (String cursor : malformed) {
+            AppException exception = assertThrows(AppException.class, () -> PageCursor.decode(cursor), cursor);
+            assertEquals(ErrorCode.INVALID_CURSOR, exception.getErrorCode());
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the address import on an in-memory H2 database, whose schema is
+ * created from the entities.
+ *
+ * Covers:
+ * - The startup import of loc.sql fills both tables
+ * - importFromSqlFile upserts provinces and wards, skipping wards of unknown provinces
+ * - forceReimport updates changed rows and removes rows missing from the file
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "address.import.batch-size=2"
+})
+public class AddressImportServiceTest {
+
+    private static final String DUMP = """
+            INSERT INTO `provinces` (`Id`, `Name`, `Slug`, `Type`, `NameWithType`) VALUES
+            (11, 'Hà Nội', 'ha-noi', 'thanh-pho', 'Thành phố Hà Nội'),
+            (12, 'Đồng Nai', 'dong-nai', 'tinh', 'Tỉnh Đồng Nai');
+            INSERT INTO `wards` (`Id`, `Name`, `Slug`, `Type`, `NameWithType`, `ProvinceId`) VALUES
+            (267, 'Minh Châu', 'minh-chau', 'xa', 'Xã Minh Châu', 11),
+            (268, 'Tân Phú', 'tan-phu', 'xa', 'Xã Tân Phú', 12),
+            (269, 'Orphan', 'orphan', 'xa', 'Xã Orphan', 99);
+            """;
+
+    @Autowired
+    private AddressImportService addressImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("The startup import fills provinces and wards from loc.sql")
+    void importsOnStartup() {
+        // Imports loc.sql again if another test left the tables empty
+        addressImportService.importOnStartupIfEmpty();
+
+        assertTrue(count("provinces") > 0);
+        assertTrue(count("wards") > 0);
+    }
+
+    @Test
+    @DisplayName("importFromSqlFile writes the rows of empty tables")
+    void importsIntoEmptyTables() {
+        clear();
+
+        AddressImportService.ImportResult result = addressImportService.importFromSqlFile(stream(DUMP));
+
+        assertEquals(2, result.getProvincesImported());
+        assertEquals(2, result.getWardsImported());
+        assertEquals(1, result.getWardsSkipped());
+        assertEquals("Thành phố Hà Nội", jdbcTemplate.queryForObject(
+                "SELECT name_with_type FROM provinces WHERE id = 11", String.class));
+        assertEquals(12, jdbcTemplate.queryForObject(
+                "SELECT province_id FROM wards WHERE id = 268", Integer.class));
+    }
+
+    @Test
+    @DisplayName("forceReimport updates rows in place and removes rows missing from the file")
+    void reimportsReplacingData() {
+        clear();
+        addressImportService.importFromSqlFile(stream(DUMP));
+
+        String changed = """
+                INSERT INTO `provinces` (`Id`, `Name`, `Slug`, `Type`, `NameWithType`) VALUES
+                (11, 'Hà Nội', 'ha-noi', 'thanh-pho', 'TP Hà Nội');
+                INSERT INTO `wards` (`Id`, `Name`, `Slug`, `Type`, `NameWithType`, `ProvinceId`) VALUES
+                (267, 'Minh Châu', 'minh-chau', 'phuong', 'Phường Minh Châu', 11);
+                """;
+        AddressImportService.ImportResult result = addressImportService.forceReimport(stream(changed));
+
+        assertEquals(1, result.getProvincesRemoved());
+        assertEquals(1, result.getWardsRemoved());
+        assertEquals(List.of(11), jdbcTemplate.queryForList("SELECT id FROM provinces", Integer.class));
+        assertEquals("TP Hà Nội", jdbcTemplate.queryForObject(
+                "SELECT name_with_type FROM provinces WHERE id = 11", String.class));
+        assertEquals("phuong", jdbcTemplate.queryForObject("SELECT type FROM wards WHERE id = 267", String.class));
+    }
+
+    private void clear() {
+        jdbcTemplate.update("DELETE FROM wards");
+        jdbcTemplate.update("DELETE FROM provinces");
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static InputStream stream(String sql) {
+        return new ByteArrayInputStream(sql.getBytes(StandardCharsets.UTF_8));
+    }
+}
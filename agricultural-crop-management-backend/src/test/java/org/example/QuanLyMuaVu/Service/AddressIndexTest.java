@@ -0,0 +1,129 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
+import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
+import org.example.QuanLyMuaVu.Entity.Province;
+import org.example.QuanLyMuaVu.Mapper.AddressMapper;
+import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
+import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Util.TextSearchUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AddressIndex snapshots.
+ *
+ * Covers:
+ * - Accent-insensitive search with prefix matches first
+ * - Type filter and ward-by-province lookups
+ * - Content-based version
+ * - A failed rebuild leaves the snapshot stale, so the next reader retries
+ */
+public class AddressIndexTest {
+
+    private static final List<ProvinceResponse> PROVINCES = List.of(
+            province(1, "Hà Nội", "thanh-pho"),
+            province(2, "Thừa Thiên Huế", "thanh-pho"),
+            province(3, "Đồng Nai", "tinh"),
+            province(4, "Hà Tĩnh", "tinh"));
+
+    private static final List<WardResponse> WARDS = List.of(
+            ward(10, "Ba Đình", 1),
+            ward(11, "Hoàn Kiếm", 1),
+            ward(12, "Đông Anh", 1),
+            ward(30, "Biên Hòa", 3));
+
+    @Test
+    @DisplayName("Folding strips diacritics, case and extra spaces")
+    void fold() {
+        assertEquals("ha noi", TextSearchUtils.fold("  Hà   Nội "));
+        assertEquals("dong nai", TextSearchUtils.fold("ĐỒNG NAI"));
+        assertEquals("", TextSearchUtils.fold(null));
+    }
+
+    @Test
+    @DisplayName("Search ignores accents and lists prefix matches first")
+    void searchProvinces() {
+        AddressIndex.Snapshot snapshot = new AddressIndex.Snapshot(PROVINCES, WARDS);
+
+        assertEquals(List.of(1), ids(snapshot.searchProvinces("ha noi", null)));
+        assertEquals(List.of(3), ids(snapshot.searchProvinces("dong", null)));
+        // A word starting with the keyword counts as a prefix match
+        assertEquals(List.of(1, 2, 4), ids(snapshot.searchProvinces("h", null)));
+        assertEquals(List.of(4), ids(snapshot.searchProvinces("tinh", null)));
+        assertEquals(List.of(3, 4), ids(snapshot.searchProvinces("", "tinh")));
+        assertEquals(List.of(4), ids(snapshot.searchProvinces("ha", "tinh")));
+    }
+
+    @Test
+    @DisplayName("Wards are searched within their province")
+    void searchWards() {
+        AddressIndex.Snapshot snapshot = new AddressIndex.Snapshot(PROVINCES, WARDS);
+
+        assertEquals(List.of(10, 11, 12), wardIds(snapshot.searchWards(1, null)));
+        assertEquals(List.of(12), wardIds(snapshot.searchWards(1, "dong anh")));
+        // "Đông Anh" (word prefix) before "Hoàn Kiếm" (infix)
+        assertEquals(List.of(12, 11), wardIds(snapshot.searchWards(1, "an")));
+        assertEquals(List.of(), wardIds(snapshot.searchWards(2, null)));
+        assertTrue(snapshot.hasProvince(2));
+        assertFalse(snapshot.hasProvince(99));
+        assertEquals("Biên Hòa", snapshot.ward(30).getName());
+    }
+
+    @Test
+    @DisplayName("Version depends only on the content")
+    void versionIsContentBased() {
+        String version = new AddressIndex.Snapshot(PROVINCES, WARDS).version();
+
+        assertEquals(version, new AddressIndex.Snapshot(PROVINCES, WARDS).version());
+        assertNotEquals(version, new AddressIndex.Snapshot(PROVINCES, WARDS.subList(0, 3)).version());
+    }
+
+    @Test
+    @DisplayName("A rebuild that fails is retried by the next reader")
+    void failedRebuildStaysStale() {
+        ProvinceRepository provinceRepository = mock(ProvinceRepository.class);
+        WardRepository wardRepository = mock(WardRepository.class);
+        AddressMapper addressMapper = mock(AddressMapper.class);
+        Province hanoi = new Province();
+        when(addressMapper.toProvinceResponse(hanoi)).thenReturn(PROVINCES.get(0));
+        when(provinceRepository.findAll())
+                .thenReturn(List.of())
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(List.of(hanoi));
+        AddressIndex index = new AddressIndex(provinceRepository, wardRepository, addressMapper);
+
+        AddressIndex.Snapshot first = index.snapshot();
+        assertFalse(first.hasProvince(1));
+        assertSame(first, index.snapshot());
+
+        index.invalidate();
+        assertThrows(DataAccessResourceFailureException.class, index::snapshot);
+        assertTrue(index.snapshot().hasProvince(1));
+        verify(provinceRepository, times(3)).findAll();
+    }
+
+    private static List<Integer> ids(List<ProvinceResponse> provinces) {
+        return provinces.stream().map(ProvinceResponse::getId).toList();
+    }
+
+    private static List<Integer> wardIds(List<WardResponse> wards) {
+        return wards.stream().map(WardResponse::getId).toList();
+    }
+
+    private static ProvinceResponse province(int id, String name, String type) {
+        return ProvinceResponse.builder().id(id).name(name).slug("p-" + id).type(type)
+                .nameWithType(name).build();
+    }
+
+    private static WardResponse ward(int id, String name, int provinceId) {
+        return WardResponse.builder().id(id).name(name).slug("w-" + id).type("phuong")
+                .nameWithType(name).provinceId(provinceId).build();
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Service.Audit.AuditLogWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the background audit log writer on an in-memory H2 database.
+ *
+ * Covers:
+ * - Non-critical farm operations are queued, not written on the caller's thread
+ * - A flush batch-inserts everything queued
+ * - Entries beyond the queue capacity are spilled to file and replayed later
+ * - Entries submitted after the writer stopped are spilled, not left in the queue
+ * - A replay file left by an interrupted replay is replayed, not overwritten
+ * - Concurrent replays insert each spilled entry once
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        // The test flushes explicitly
+        "audit.writer.flush-interval-ms=3600000",
+        "audit.writer.batch-size=10",
+        "audit.writer.queue-capacity=3",
+        "audit.writer.spill-file=target/audit-writer-test/spill.jsonl"
+})
+public class AuditLogWriterTest {
+
+    private static final Path SPILL_FILE = Path.of("target/audit-writer-test/spill.jsonl");
+    private static final Path REPLAY_FILE = Path.of("target/audit-writer-test/spill.jsonl.replay");
+
+    @Autowired
+    private AuditLogWriter writer;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() throws IOException {
+        // Waits for the replay queued when the writer started, so it cannot run mid-test
+        writer.replaySpill();
+        writer.flush();
+        jdbcTemplate.update("DELETE FROM audit_logs");
+        Files.createDirectories(SPILL_FILE.getParent());
+        Files.deleteIfExists(SPILL_FILE);
+        Files.deleteIfExists(REPLAY_FILE);
+    }
+
+    @Test
+    @DisplayName("Farm operations are queued and written by the next flush")
+    void queuesUntilFlush() {
+        Farm farm = Farm.builder().id(7).name("North field").active(true).build();
+        auditLogService.logFarmOperation(farm, "SOFT_DELETE", "farmer1", "test", "127.0.0.1");
+        auditLogService.logFarmOperation(farm, "RESTORE", "farmer1", null, "127.0.0.1");
+
+        assertEquals(0, countRows(), "nothing written on the caller's thread");
+        assertEquals(2, writer.flush());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE entity_type = 'FARM' AND entity_id = 7", Integer.class));
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    @DisplayName("Entries beyond the queue capacity are spilled and replayed")
+    void spillsOverflowAndReplays() throws IOException {
+        for (int i = 1; i <= 5; i++) {
+            writer.submit(entry(i));
+        }
+
+        assertEquals(2, Files.readAllLines(SPILL_FILE).size());
+        assertEquals(3, writer.flush());
+
+        assertEquals(2, writer.replaySpill());
+        assertFalse(Files.exists(SPILL_FILE));
+        assertEquals(5, countRows());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE entity_id = 5 AND reason = 'entry 5'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Entries submitted after stop are spilled")
+    void spillsAfterStop() throws IOException {
+        writer.submit(entry(1));
+        writer.stop();
+        assertEquals(1, countRows(), "flushed on stop");
+
+        writer.submit(entry(2));
+        assertEquals(1, Files.readAllLines(SPILL_FILE).size());
+        assertEquals(0, writer.flush(), "nothing left queued");
+
+        assertEquals(1, writer.replaySpill());
+        writer.start();
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    @DisplayName("A replay file left by an interrupted replay is replayed before the new spill file")
+    void resumesInterruptedReplay() throws IOException {
+        for (int i = 1; i <= 5; i++) {
+            writer.submit(entry(i));
+        }
+        assertEquals(3, writer.flush());
+        // The process died after renaming the spill file, before inserting its entries
+        Files.move(SPILL_FILE, REPLAY_FILE);
+
+        for (int i = 6; i <= 9; i++) {
+            writer.submit(entry(i));
+        }
+        assertEquals(3, writer.flush());
+        assertEquals(1, Files.readAllLines(SPILL_FILE).size());
+
+        assertEquals(3, writer.replaySpill());
+        assertFalse(Files.exists(REPLAY_FILE));
+        assertFalse(Files.exists(SPILL_FILE));
+        assertEquals(9, countRows());
+    }
+
+    @Test
+    @DisplayName("Replays started together insert each spilled entry once")
+    void concurrentReplaysDoNotDuplicate() throws Exception {
+        for (int i = 1; i <= 9; i++) {
+            writer.submit(entry(i));
+        }
+        assertEquals(3, writer.flush());
+        assertEquals(6, Files.readAllLines(SPILL_FILE).size());
+
+        int callers = 4;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> replays = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                replays.add(pool.submit(() -> {
+                    go.await();
+                    return writer.replaySpill();
+                }));
+            }
+            go.countDown();
+            int inserted = 0;
+            for (Future<Integer> replay : replays) {
+                inserted += replay.get();
+            }
+            assertEquals(6, inserted);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(9, countRows());
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+
+    private static AuditLog entry(int entityId) {
+        return AuditLog.builder()
+                .entityType("FARM")
+                .entityId(entityId)
+                .operation("UPDATE")
+                .performedBy("farmer1")
+                .performedAt(LocalDateTime.now())
+                .snapshotDataJson("{\"id\":" + entityId + "}")
+                .reason("entry " + entityId)
+                .ipAddress("127.0.0.1")
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.QuanLyMuaVu.Config.AuditSnapshotProperties;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Enums.AuditSnapshotFormat;
+import org.example.QuanLyMuaVu.Service.Audit.AuditLogWriter;
+import org.example.QuanLyMuaVu.Service.Audit.AuditSnapshotCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for diff-based audit snapshots on an in-memory H2 database.
+ *
+ * Covers:
+ * - A full state on create, field diffs on later operations, a keyframe every
+ *   keyframe-interval entries
+ * - getFarmAuditTrail rebuilds the full state of every entry
+ * - Large snapshots are compressed and read back
+ * - Without a cached state the next entry is a keyframe, even while earlier
+ *   entries are still queued
+ * - Spilled entries are stored as keyframes and replayed in performedAt order
+ * - Diffs written by two nodes in turn replay against their own base
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        // The test flushes the audit writer explicitly
+        "audit.writer.flush-interval-ms=3600000",
+        "audit.writer.spill-file=target/audit-snapshot-test/spill.jsonl",
+        "audit.snapshot.keyframe-interval=3",
+        "audit.snapshot.compress-threshold-bytes=120"
+})
+public class AuditSnapshotTest {
+
+    private static final Path SPILL_FILE = Path.of("target/audit-snapshot-test/spill.jsonl");
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogWriter writer;
+
+    @Autowired
+    private AuditSnapshotCodec codec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditSnapshotProperties snapshotProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() throws IOException {
+        // Waits for the replay queued when the writer started, so it cannot run mid-test
+        writer.replaySpill();
+        writer.flush();
+        jdbcTemplate.update("DELETE FROM audit_logs");
+        Files.createDirectories(SPILL_FILE.getParent());
+        Files.deleteIfExists(SPILL_FILE);
+        Files.deleteIfExists(Path.of(SPILL_FILE + ".replay"));
+        Files.deleteIfExists(Path.of(SPILL_FILE + ".held"));
+    }
+
+    @Test
+    @DisplayName("Diffs between keyframes replay into the full state of every entry")
+    void storesDiffsAndReplaysThem() {
+        Farm farm = Farm.builder().id(11).name("North field").area(new BigDecimal("12.5")).active(true).build();
+        log(farm, "CREATE");
+        farm.setName("North field 2");
+        log(farm, "UPDATE");
+        farm.setArea(new BigDecimal("13.0"));
+        log(farm, "UPDATE");
+        farm.setActive(false);
+        log(farm, "SOFT_DELETE");
+        farm.setActive(true);
+        log(farm, "RESTORE");
+        writer.flush();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT snapshot_format, snapshot_data FROM audit_logs ORDER BY audit_log_id");
+        assertEquals(List.of("STATE", "DIFF", "DIFF", "STATE", "DIFF"),
+                rows.stream().map(row -> row.get("snapshot_format")).toList());
+        assertTrue(((String) rows.get(1).get("snapshot_data"))
+                .endsWith("\"ops\":[{\"op\":\"replace\",\"path\":\"/name\",\"value\":\"North field 2\"}]}"));
+
+        List<AuditLog> trail = auditLogService.getFarmAuditTrail(11);
+        assertEquals(List.of("RESTORE", "SOFT_DELETE", "UPDATE", "UPDATE", "CREATE"),
+                trail.stream().map(AuditLog::getOperation).toList());
+        ObjectNode restored = codec.read(trail.get(0)).deepCopy();
+        assertEquals("North field 2", restored.path("name").asText());
+        assertEquals(0, new BigDecimal("13.0").compareTo(restored.path("area").decimalValue()));
+        assertTrue(restored.path("active").asBoolean());
+        assertFalse(codec.read(trail.get(1)).path("active").asBoolean());
+        assertEquals("North field", codec.read(trail.get(4)).path("name").asText());
+    }
+
+    @Test
+    @DisplayName("Snapshots above the threshold are compressed and read back")
+    void compressesLargeSnapshots() {
+        Farm farm = Farm.builder().id(12).name("A farm with a rather long name to pass the threshold")
+                .active(true).build();
+        log(farm, "CREATE");
+        writer.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT snapshot_compressed, snapshot_data FROM audit_logs WHERE entity_id = 12");
+        assertEquals(Boolean.TRUE, row.get("snapshot_compressed"));
+        assertFalse(((String) row.get("snapshot_data")).contains("rather long name"));
+
+        assertEquals(farm.getName(), codec.read(auditLogService.getFarmAuditTrail(12).get(0))
+                .path("name").asText());
+    }
+
+    @Test
+    @DisplayName("Without a cached state the next entry is a keyframe")
+    void storesKeyframeAfterCacheMiss() {
+        Farm farm = Farm.builder().id(13).name("South").active(true).build();
+        log(farm, "CREATE");
+        writer.flush();
+        transactionTemplate.executeWithoutResult(status -> auditLogService.logFarmOperationCritical(
+                farm, "HARD_DELETE", "admin", "cleanup", "127.0.0.1"));
+
+        farm.setName("South 2");
+        log(farm, "RESTORE");
+        writer.flush();
+
+        assertEquals(List.of("STATE", "STATE", "STATE"), jdbcTemplate.queryForList(
+                "SELECT snapshot_format FROM audit_logs WHERE entity_id = 13 ORDER BY audit_log_id", String.class));
+        ObjectNode latest = auditLogService.getFarmStateAt(13, LocalDateTime.now().plusMinutes(1));
+        assertEquals("South 2", latest.path("name").asText());
+        assertNull(auditLogService.getFarmStateAt(13, LocalDateTime.now().minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("A cache miss does not diff against stored entries while newer ones are queued")
+    void storesKeyframeAfterCacheMissWithQueuedEntries() {
+        Farm farm = Farm.builder().id(14).name("East").area(new BigDecimal("4.0")).active(true).build();
+        log(farm, "CREATE");
+        writer.flush();
+        farm.setName("East 2");
+        log(farm, "UPDATE");
+        // Still queued when the cached state goes away
+        codec.forget("FARM", 14);
+        farm.setName("East");
+        farm.setArea(new BigDecimal("5.0"));
+        log(farm, "UPDATE");
+        writer.flush();
+
+        assertEquals(List.of("STATE", "DIFF", "STATE"), jdbcTemplate.queryForList(
+                "SELECT snapshot_format FROM audit_logs WHERE entity_id = 14 ORDER BY audit_log_id", String.class));
+        ObjectNode latest = auditLogService.getFarmStateAt(14, LocalDateTime.now().plusMinutes(1));
+        assertEquals("East", latest.path("name").asText());
+        assertEquals(0, new BigDecimal("5.0").compareTo(latest.path("area").decimalValue()));
+    }
+
+    @Test
+    @DisplayName("Spilled entries are stored as keyframes and replayed in the order they happened")
+    void replaysSpilledEntriesInOrder() throws IOException {
+        Path held = Path.of(SPILL_FILE + ".held");
+        Farm farm = Farm.builder().id(15).name("West").active(true).build();
+        log(farm, "CREATE");
+        writer.flush();
+
+        writer.stop();
+        try {
+            farm.setName("West 1");
+            log(farm, "UPDATE");
+        } finally {
+            // Keep the spill away from the replay on start, to insert it after later entries
+            Files.move(SPILL_FILE, held, StandardCopyOption.REPLACE_EXISTING);
+            writer.start();
+            // Waits for the replay start() queued, so it cannot pick up the spill put back below
+            assertEquals(0, writer.replaySpill());
+        }
+        farm.setName("West 2");
+        log(farm, "UPDATE");
+        farm.setActive(false);
+        log(farm, "SOFT_DELETE");
+        writer.flush();
+        Files.move(held, SPILL_FILE, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(1, writer.replaySpill());
+
+        assertEquals(List.of("STATE", "STATE", "DIFF", "STATE"), jdbcTemplate.queryForList(
+                "SELECT snapshot_format FROM audit_logs WHERE entity_id = 15 ORDER BY audit_log_id", String.class));
+        List<AuditLog> trail = auditLogService.getFarmAuditTrail(15);
+        assertEquals(List.of("SOFT_DELETE", "UPDATE", "UPDATE", "CREATE"),
+                trail.stream().map(AuditLog::getOperation).toList());
+        assertEquals("West 2", codec.read(trail.get(0)).path("name").asText());
+        assertFalse(codec.read(trail.get(0)).path("active").asBoolean());
+        assertEquals("West 1", codec.read(trail.get(2)).path("name").asText());
+        ObjectNode latest = auditLogService.getFarmStateAt(15, LocalDateTime.now().plusMinutes(1));
+        assertEquals("West 2", latest.path("name").asText());
+    }
+
+    @Test
+    @DisplayName("Diffs written by two nodes in turn replay against the state each node diffed")
+    void replaysInterleavedNodes() {
+        AuditSnapshotCodec nodeA = new AuditSnapshotCodec(objectMapper, snapshotProperties);
+        AuditSnapshotCodec nodeB = new AuditSnapshotCodec(objectMapper, snapshotProperties);
+        Farm farm = Farm.builder().id(16).name("X").area(new BigDecimal("2.50")).active(true).build();
+        List<AuditLog> entries = new ArrayList<>();
+
+        entries.add(entry(nodeA.encode("FARM", 16, nodeA.project(farm), true), entries.size()));
+        farm.setName("Y");
+        entries.add(entry(nodeB.encode("FARM", 16, nodeB.project(farm), false), entries.size()));
+        farm.setName("X");
+        entries.add(entry(nodeA.encode("FARM", 16, nodeA.project(farm), false), entries.size()));
+        farm.setName("Y");
+        farm.setActive(false);
+        entries.add(entry(nodeB.encode("FARM", 16, nodeB.project(farm), false), entries.size()));
+
+        assertEquals(List.of(AuditSnapshotFormat.STATE, AuditSnapshotFormat.STATE, AuditSnapshotFormat.DIFF,
+                AuditSnapshotFormat.DIFF), entries.stream().map(AuditLog::getSnapshotFormat).toList());
+        List<ObjectNode> states = codec.replay(entries);
+        assertEquals(List.of("X", "Y", "X", "Y"), states.stream().map(state -> state.path("name").asText()).toList());
+        assertTrue(states.get(2).path("active").asBoolean());
+        assertFalse(states.get(3).path("active").asBoolean());
+        assertEquals(0, new BigDecimal("2.50").compareTo(states.get(3).path("area").decimalValue()));
+    }
+
+    private AuditLog entry(AuditSnapshotCodec.Encoded snapshot, int sequence) {
+        return AuditLog.builder()
+                .entityType("FARM")
+                .entityId(16)
+                .operation("UPDATE")
+                .performedBy("farmer1")
+                .performedAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(sequence))
+                .snapshotDataJson(snapshot.data())
+                .snapshotFormat(snapshot.format())
+                .snapshotCompressed(snapshot.compressed())
+                .build();
+    }
+
+    private void log(Farm farm, String operation) {
+        auditLogService.logFarmOperation(farm, operation, "farmer1", null, "127.0.0.1");
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.QuanLyMuaVu.DTO.Request.CropRequest;
+import org.example.QuanLyMuaVu.DTO.Response.CropResponse;
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the crop catalog caches on the Caffeine cache manager.
+ *
+ * Covers:
+ * - Repeated catalog reads are served from the cache and counted as hits
+ * - Crop writes through the service evict the catalog
+ * - Caches not declared under cache.specs do not exist
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class CropServiceCacheTest {
+
+    @Autowired
+    private CropService cropService;
+
+    @Autowired
+    private CropRepository cropRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("The crop list is cached until a crop is written through the service")
+    void cachesCropListUntilWrite() {
+        List<CropResponse> first = cropService.getAll();
+        long hits = stats("crops").hitCount();
+
+        // Bypasses the service, so the cached list is served unchanged
+        cropRepository.save(Crop.builder().cropName("Cache Direct " + System.nanoTime()).build());
+        assertEquals(first.size(), cropService.getAll().size());
+        assertEquals(hits + 1, stats("crops").hitCount());
+
+        CropRequest request = new CropRequest();
+        request.setCropName("Cache Created " + System.nanoTime());
+        CropResponse created = cropService.create(request);
+
+        List<CropResponse> refreshed = cropService.getAll();
+        assertEquals(first.size() + 2, refreshed.size());
+        assertTrue(refreshed.stream().anyMatch(crop -> crop.getId().equals(created.getId())));
+    }
+
+    @Test
+    @DisplayName("Only caches declared under cache.specs exist")
+    void onlyDeclaredCachesExist() {
+        assertNotNull(cacheManager.getCache("crops"));
+        assertNotNull(cacheManager.getCache("crop"));
+        assertNull(cacheManager.getCache("provinces"));
+    }
+
+    private CacheStats stats(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().stats();
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.QuanLyMuaVu.Service.Dashboard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.QuanLyMuaVu.Config.DashboardProperties;
+import org.example.QuanLyMuaVu.DTO.Response.DashboardOverviewResponse;
+import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the dashboard overview fan-out.
+ *
+ * Covers:
+ * - A section past the time budget is degraded and its thread interrupted
+ * - Sections the saturated pool rejects are degraded, not run on the caller
+ */
+@ExtendWith(MockitoExtension.class)
+public class DashboardOverviewAssemblerTest {
+
+    private static final long OWNER_ID = 1L;
+
+    @Mock
+    private DashboardKpiService kpiService;
+
+    @Mock
+    private DashboardAlertsService alertsService;
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private PlotRepository plotRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private DashboardOverviewAssembler assembler;
+
+    @BeforeEach
+    void blockCounts() {
+        // The counts section runs until it is interrupted
+        when(farmRepository.countByOwnerIdAndActiveTrue(OWNER_ID)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new IllegalStateException("cancelled");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (assembler != null) {
+            assembler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A section past the time budget is degraded and its thread interrupted")
+    void slowSectionIsInterrupted() throws InterruptedException {
+        assembler = assembler(4, 10);
+
+        DashboardOverviewResponse overview = assembler.assemble(OWNER_ID, null);
+
+        assertEquals(List.of("counts"), overview.getDegradedSections());
+        assertNull(overview.getCounts());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "counts section interrupted");
+        assertEquals(1, meterRegistry.counter(DashboardOverviewAssembler.TIMEOUT_COUNTER,
+                "section", "counts").count());
+        verify(alertsService).buildAlerts(OWNER_ID);
+    }
+
+    @Test
+    @DisplayName("Sections the saturated pool rejects are degraded instead of run on the caller")
+    void rejectedSectionsAreDegraded() {
+        assembler = assembler(1, 0);
+
+        DashboardOverviewResponse overview = assembler.assemble(OWNER_ID, null);
+
+        assertEquals(List.of("counts", "kpis", "expenses", "harvest", "alerts"), overview.getDegradedSections());
+        verifyNoInteractions(kpiService, alertsService);
+        for (String section : List.of("kpis", "expenses", "harvest", "alerts")) {
+            assertEquals(1, meterRegistry.counter(DashboardOverviewAssembler.REJECTED_COUNTER,
+                    "section", section).count(), section);
+        }
+    }
+
+    private DashboardOverviewAssembler assembler(int poolSize, int queueCapacity) {
+        DashboardProperties properties = new DashboardProperties();
+        properties.getOverview().setSectionTimeoutMs(300);
+        properties.getOverview().getExecutor().setCorePoolSize(poolSize);
+        properties.getOverview().getExecutor().setMaxPoolSize(poolSize);
+        properties.getOverview().getExecutor().setQueueCapacity(queueCapacity);
+        DashboardOverviewAssembler created = new DashboardOverviewAssembler(kpiService, alertsService,
+                farmRepository, plotRepository, seasonRepository, transactionManager, meterRegistry, properties);
+        created.init();
+        return created;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.DTO.Response.DashboardOverviewResponse;
+import org.example.QuanLyMuaVu.Entity.*;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Repository.*;
+import org.example.QuanLyMuaVu.Service.Dashboard.DashboardAlertsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the set-based dashboard alerts on an in-memory H2 database.
+ *
+ * Covers:
+ * - Low-stock count uses the item threshold, else the configured default
+ * - Expiring lots only count lots with stock on hand
+ * - Another owner's stock is not counted
+ * - The count matches the rows of the low-stock list
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "dashboard.alerts.default-low-stock-threshold=5",
+        "dashboard.alerts.expiring-within-days=30"
+})
+public class DashboardAlertsServiceTest {
+
+    @Autowired
+    private DashboardAlertsService dashboardAlertsService;
+
+    @Autowired
+    private StockBalanceRepository stockBalanceRepository;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private SupplyItemRepository supplyItemRepository;
+
+    @Autowired
+    private SupplyLotRepository supplyLotRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    private Province province;
+    private Ward ward;
+
+    @BeforeEach
+    void setUp() {
+        province = provinceRepository.findById(990101).orElseGet(() -> provinceRepository.save(Province.builder()
+                .id(990101).name("Alerts").slug("alerts").type("tinh").nameWithType("Tinh Alerts").build()));
+        ward = wardRepository.findById(990101).orElseGet(() -> wardRepository.save(Ward.builder()
+                .id(990101).name("Alerts").slug("alerts").type("xa").nameWithType("Xa Alerts")
+                .province(province).build()));
+    }
+
+    @Test
+    @DisplayName("Alerts count low-stock and expiring lots of the owner's warehouses")
+    void countsOwnerAlerts() {
+        Warehouse warehouse = warehouseOf(newOwner());
+        SupplyItem thresholdItem = item("Seed", new BigDecimal("10"));
+        SupplyItem defaultItem = item("Fertilizer", null);
+
+        stockIn(warehouse, lot(thresholdItem, null), "8");                      // low: 8 <= 10
+        stockIn(warehouse, lot(defaultItem, null), "4");                        // low: 4 <= default 5
+        stockIn(warehouse, lot(defaultItem, LocalDate.now().plusDays(10)), "50"); // expiring, not low
+        lot(defaultItem, LocalDate.now().plusDays(5));                          // expiring, no stock
+
+        Warehouse otherWarehouse = warehouseOf(newOwner());
+        stockIn(otherWarehouse, lot(thresholdItem, LocalDate.now()), "1");
+
+        Long ownerId = warehouse.getFarm().getOwner().getId();
+        DashboardOverviewResponse.Alerts alerts = dashboardAlertsService.buildAlerts(ownerId);
+
+        assertEquals(2, alerts.getLowStockItems());
+        assertEquals(1, alerts.getExpiringLots());
+        assertEquals(0, alerts.getOpenIncidents());
+        assertEquals(stockBalanceRepository.findLowStockByOwner(ownerId, new BigDecimal("5"),
+                PageRequest.of(0, 100)).size(),
+                stockBalanceRepository.countLowStockByOwner(ownerId, new BigDecimal("5")));
+    }
+
+    private User newOwner() {
+        long suffix = System.nanoTime();
+        return userRepository.save(User.builder()
+                .username("alerts_owner_" + suffix)
+                .email("alerts_" + suffix + "@test.local")
+                .password("x")
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    private Warehouse warehouseOf(User owner) {
+        Farm farm = farmRepository.save(Farm.builder()
+                .owner(owner).name("Alerts Farm").province(province).ward(ward).active(true).build());
+        return warehouseRepository.save(Warehouse.builder().farm(farm).name("Alerts Warehouse").build());
+    }
+
+    private SupplyItem item(String name, BigDecimal lowStockThreshold) {
+        return supplyItemRepository.save(SupplyItem.builder()
+                .name(name).unit("kg").lowStockThreshold(lowStockThreshold).build());
+    }
+
+    private SupplyLot lot(SupplyItem item, LocalDate expiryDate) {
+        return supplyLotRepository.save(SupplyLot.builder()
+                .supplyItem(item).batchCode("ALERT-" + System.nanoTime()).expiryDate(expiryDate)
+                .status("IN_STOCK").build());
+    }
+
+    private void stockIn(Warehouse warehouse, SupplyLot lot, String quantity) {
+        transactionTemplate.executeWithoutResult(status -> stockBalanceService.apply(
+                stockMovementRepository.save(StockMovement.builder()
+                        .supplyLot(lot)
+                        .warehouse(warehouse)
+                        .movementType(StockMovementType.IN)
+                        .quantity(new BigDecimal(quantity))
+                        .movementDate(LocalDateTime.now())
+                        .build())));
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.QuanLyMuaVu.Config.AsyncConfig;
+import org.example.QuanLyMuaVu.Config.DomainEventProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the domain event executor of AsyncConfig.
+ *
+ * Covers:
+ * - A full queue makes the publishing thread run the listener
+ * - Queued events are drained on shutdown
+ * - Queue wait, duration, rejection and failure metrics
+ */
+public class DomainEventExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncConfig config;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        DomainEventProperties properties = new DomainEventProperties();
+        properties.setCorePoolSize(1);
+        properties.setMaxPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setAwaitTerminationSeconds(5);
+        meterRegistry = new SimpleMeterRegistry();
+        config = new AsyncConfig(properties, meterRegistry);
+        executor = config.domainEventExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("A full queue runs the event on the publishing thread and counts it")
+    void saturatedExecutorRunsOnCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, meterRegistry.get("events.async.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("events.async.queue.size").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Shutdown waits for queued events and every event is timed")
+    void shutdownDrainsQueue() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+        executor.execute(() -> {
+            await(release);
+            handled.incrementAndGet();
+        });
+        executor.execute(handled::incrementAndGet);
+        release.countDown();
+
+        executor.shutdown();
+
+        assertEquals(2, handled.get());
+        assertEquals(2, meterRegistry.get("events.async.wait").timer().count());
+        assertEquals(2, meterRegistry.get("events.async.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Listener failures are counted per listener")
+    void failuresAreCounted() throws Exception {
+        config.getAsyncUncaughtExceptionHandler().handleUncaughtException(new IllegalStateException("boom"),
+                Object.class.getMethod("toString"));
+
+        assertEquals(1.0, meterRegistry.get("events.async.failures").tag("listener", "Object.toString")
+                .counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
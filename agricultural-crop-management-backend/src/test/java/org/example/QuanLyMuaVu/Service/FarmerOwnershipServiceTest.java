@@ -1,5 +1,6 @@
 package org.example.QuanLyMuaVu.Service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.QuanLyMuaVu.Entity.*;
 import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Enums.UserStatus;
@@ -11,7 +12,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.*;
  * - Farm ownership (farms.owner_id = currentUserId)
  * - Plot ownership (via farm)
  * - Season ownership (via plot -> farm)
+ * - Denied requests never loading the entity (OwnershipIndex)
  */
 @ExtendWith(MockitoExtension.class)
 public class FarmerOwnershipServiceTest {
@@ -36,9 +37,6 @@ public class FarmerOwnershipServiceTest {
     @Mock
     private CurrentUserService currentUserService;
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private FarmRepository farmRepository;
 
@@ -48,7 +46,9 @@ public class FarmerOwnershipServiceTest {
     @Mock
     private SeasonRepository seasonRepository;
 
-    @InjectMocks
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
     private FarmerOwnershipService ownershipService;
 
     private User owner;
@@ -63,6 +63,11 @@ public class FarmerOwnershipServiceTest {
 
     @BeforeEach
     void setUp() {
+        OwnershipIndex ownershipIndex = new OwnershipIndex(farmRepository, plotRepository, seasonRepository,
+                warehouseRepository, 100, new SimpleMeterRegistry());
+        ownershipService = new FarmerOwnershipService(currentUserService, farmRepository, plotRepository,
+                seasonRepository, ownershipIndex);
+
         // Create users
         owner = User.builder()
                 .id(1L)
@@ -148,6 +153,7 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedFarm succeeds for owned farm")
     void testRequireOwnedFarm_Success() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
+        stubOwnership(ownedFarm);
         when(farmRepository.findById(ownedFarm.getId())).thenReturn(Optional.of(ownedFarm));
 
         Farm result = ownershipService.requireOwnedFarm(ownedFarm.getId());
@@ -161,19 +167,20 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedFarm throws NOT_OWNER for foreign farm")
     void testRequireOwnedFarm_ForeignFarm() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(farmRepository.findById(foreignFarm.getId())).thenReturn(Optional.of(foreignFarm));
+        stubOwnership(foreignFarm);
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedFarm(foreignFarm.getId()));
 
         assertEquals(ErrorCode.NOT_OWNER, exception.getErrorCode());
+        verify(farmRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("requireOwnedFarm throws FARM_NOT_FOUND for non-existent farm")
     void testRequireOwnedFarm_NotFound() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(farmRepository.findById(999)).thenReturn(Optional.empty());
+        when(farmRepository.findOwnerIdById(999)).thenReturn(Optional.empty());
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedFarm(999));
@@ -189,6 +196,7 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedPlot succeeds for owned plot")
     void testRequireOwnedPlot_Success() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
+        stubOwnership(ownedPlot);
         when(plotRepository.findById(ownedPlot.getId())).thenReturn(Optional.of(ownedPlot));
 
         Plot result = ownershipService.requireOwnedPlot(ownedPlot.getId());
@@ -202,19 +210,21 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedPlot throws NOT_OWNER for foreign plot")
     void testRequireOwnedPlot_ForeignPlot() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(plotRepository.findById(foreignPlot.getId())).thenReturn(Optional.of(foreignPlot));
+        stubOwnership(foreignPlot);
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedPlot(foreignPlot.getId()));
 
         assertEquals(ErrorCode.NOT_OWNER, exception.getErrorCode());
+        verify(plotRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("requireOwnedPlot throws PLOT_NOT_FOUND for non-existent plot")
     void testRequireOwnedPlot_NotFound() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(plotRepository.findById(999)).thenReturn(Optional.empty());
+        when(plotRepository.findFarmIdById(999)).thenReturn(Optional.empty());
+        when(plotRepository.existsById(999)).thenReturn(false);
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedPlot(999));
@@ -230,7 +240,8 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedSeason succeeds for owned season")
     void testRequireOwnedSeason_Success() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(seasonRepository.findById(ownedSeason.getId())).thenReturn(Optional.of(ownedSeason));
+        stubOwnership(ownedSeason);
+        when(seasonRepository.findDetailById(ownedSeason.getId())).thenReturn(Optional.of(ownedSeason));
 
         Season result = ownershipService.requireOwnedSeason(ownedSeason.getId());
 
@@ -243,19 +254,21 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedSeason throws NOT_OWNER for foreign season")
     void testRequireOwnedSeason_ForeignSeason() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(seasonRepository.findById(foreignSeason.getId())).thenReturn(Optional.of(foreignSeason));
+        stubOwnership(foreignSeason);
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedSeason(foreignSeason.getId()));
 
         assertEquals(ErrorCode.NOT_OWNER, exception.getErrorCode());
+        verify(seasonRepository, never()).findDetailById(any());
     }
 
     @Test
     @DisplayName("requireOwnedSeason throws SEASON_NOT_FOUND for non-existent season")
     void testRequireOwnedSeason_NotFound() {
         when(currentUserService.getCurrentUserId()).thenReturn(owner.getId());
-        when(seasonRepository.findById(999)).thenReturn(Optional.empty());
+        when(seasonRepository.findPlotIdById(999)).thenReturn(Optional.empty());
+        when(seasonRepository.existsById(999)).thenReturn(false);
 
         AppException exception = assertThrows(AppException.class,
                 () -> ownershipService.requireOwnedSeason(999));
@@ -295,7 +308,7 @@ public class FarmerOwnershipServiceTest {
     @DisplayName("requireOwnedSeasonOrAdmin allows admin to access any season")
     void testAdminBypass_Season() {
         when(currentUserService.isAdmin()).thenReturn(true);
-        when(seasonRepository.findById(foreignSeason.getId())).thenReturn(Optional.of(foreignSeason));
+        when(seasonRepository.findDetailById(foreignSeason.getId())).thenReturn(Optional.of(foreignSeason));
 
         Season result = ownershipService.requireOwnedSeasonOrAdmin(foreignSeason.getId());
 
@@ -339,4 +352,25 @@ public class FarmerOwnershipServiceTest {
 
         assertEquals(ErrorCode.SEASON_NOT_FOUND, exception.getErrorCode());
     }
+
+    // =========================================================================
+    // HELPERS
+    // =========================================================================
+
+    /**
+     * Stub the id-only projection queries behind OwnershipIndex.
+     */
+    private void stubOwnership(Farm farm) {
+        when(farmRepository.findOwnerIdById(farm.getId())).thenReturn(Optional.of(farm.getOwner().getId()));
+    }
+
+    private void stubOwnership(Plot plot) {
+        when(plotRepository.findFarmIdById(plot.getId())).thenReturn(Optional.of(plot.getFarm().getId()));
+        stubOwnership(plot.getFarm());
+    }
+
+    private void stubOwnership(Season season) {
+        when(seasonRepository.findPlotIdById(season.getId())).thenReturn(Optional.of(season.getPlot().getId()));
+        stubOwnership(season.getPlot());
+    }
 }
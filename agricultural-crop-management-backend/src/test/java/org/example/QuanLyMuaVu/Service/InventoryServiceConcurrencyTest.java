@@ -0,0 +1,276 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementRequest;
+import org.example.QuanLyMuaVu.DTO.Request.StockInRequest;
+import org.example.QuanLyMuaVu.Entity.*;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.*;
+import org.example.QuanLyMuaVu.support.JwtAuthentications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention stress tests for stock movements, against an in-memory H2
+ * database.
+ *
+ * Covers:
+ * - Concurrent single-unit OUT movements neither oversell nor undersell a
+ *   lot: exactly the initial stock is withdrawn, every other request is
+ *   rejected as insufficient
+ * - Concurrent IN, OUT and supplier receipts lose no update: the stock
+ *   balance ledger matches the movement history afterwards
+ *
+ * A request that gives up with STOCK_BUSY rolled back, so it is retried the way
+ * a client would; every request therefore ends as a success or a rejection and
+ * the expected counts are exact.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class InventoryServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 1000;
+    private static final int OUT_REQUESTS = 2000;
+    private static final int MIXED_REQUESTS = 1500;
+    private static final int THREADS = 16;
+    private static final int MAX_BUSY_RETRIES = 20;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SuppliesService suppliesService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private PlotRepository plotRepository;
+
+    @Autowired
+    private CropRepository cropRepository;
+
+    @Autowired
+    private SeasonRepository seasonRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private SupplyItemRepository supplyItemRepository;
+
+    @Autowired
+    private SupplyLotRepository supplyLotRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    private User owner;
+    private Warehouse warehouse;
+    private SupplyItem item;
+    private SupplyLot lot;
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("stress_owner_" + System.nanoTime())
+                .email("stress_" + System.nanoTime() + "@test.local")
+                .password("x")
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        Province province = provinceRepository.save(Province.builder()
+                .id(990001).name("Stress").slug("stress").type("tinh").nameWithType("Tinh Stress").build());
+        Ward ward = wardRepository.save(Ward.builder()
+                .id(990001).name("Stress").slug("stress").type("xa").nameWithType("Xa Stress")
+                .province(province).build());
+
+        Farm farm = farmRepository.save(Farm.builder()
+                .owner(owner).name("Stress Farm").province(province).ward(ward).active(true).build());
+        Plot plot = plotRepository.save(Plot.builder().farm(farm).user(owner).plotName("Stress Plot").build());
+        Crop crop = cropRepository.save(Crop.builder().cropName("Stress Crop").build());
+        season = seasonRepository.save(Season.builder()
+                .plot(plot).crop(crop).seasonName("Stress Season")
+                .startDate(LocalDate.now()).status(SeasonStatus.ACTIVE).initialPlantCount(1).build());
+
+        warehouse = warehouseRepository.save(Warehouse.builder().farm(farm).name("Stress Warehouse").build());
+        item = supplyItemRepository.save(SupplyItem.builder().name("Stress Fertilizer").unit("kg").build());
+        lot = supplyLotRepository.save(SupplyLot.builder()
+                .supplyItem(item).batchCode("STRESS-1").status("IN_STOCK").build());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StockMovement in = stockMovementRepository.save(StockMovement.builder()
+                    .supplyLot(lot)
+                    .warehouse(warehouse)
+                    .movementType(StockMovementType.IN)
+                    .quantity(BigDecimal.valueOf(INITIAL_STOCK))
+                    .movementDate(LocalDateTime.now())
+                    .build());
+            stockBalanceService.apply(in);
+        });
+    }
+
+    @Test
+    @DisplayName("Concurrent OUT movements withdraw exactly the stock on hand")
+    void concurrentOutNeverOversells() throws Exception {
+        Outcomes outcomes = new Outcomes();
+        runConcurrently(OUT_REQUESTS, index -> outMovement(), outcomes);
+
+        BigDecimal onHand = transactionTemplate.execute(status -> stockBalanceService.getOnHand(lot, warehouse, null));
+        assertEquals(INITIAL_STOCK, outcomes.succeeded.get());
+        assertEquals(OUT_REQUESTS - INITIAL_STOCK, outcomes.insufficient.get());
+        assertEquals(0, onHand.signum(), "Stock left on hand: " + onHand);
+        assertEquals(0, stockBalanceService.verify().getDriftCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent IN, OUT and supplier receipts keep the ledger equal to the movements")
+    void concurrentMixedMovementsLoseNoUpdate() throws Exception {
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Stress Supplier").build());
+        AtomicInteger ins = new AtomicInteger();
+        AtomicInteger outs = new AtomicInteger();
+        Outcomes outcomes = new Outcomes();
+
+        runConcurrently(MIXED_REQUESTS, index -> {
+            switch (index % 3) {
+                case 0 -> {
+                    inventoryService.recordMovement(RecordStockMovementRequest.builder()
+                            .supplyLotId(lot.getId())
+                            .warehouseId(warehouse.getId())
+                            .movementType("IN")
+                            .quantity(BigDecimal.ONE)
+                            .build());
+                    ins.incrementAndGet();
+                }
+                case 1 -> {
+                    outMovement();
+                    outs.incrementAndGet();
+                }
+                default -> {
+                    suppliesService.stockIn(StockInRequest.builder()
+                            .warehouseId(warehouse.getId())
+                            .supplierId(supplier.getId())
+                            .supplyItemId(item.getId())
+                            .batchCode("STRESS-R" + index)
+                            .quantity(BigDecimal.ONE)
+                            .build());
+                }
+            }
+        }, outcomes);
+
+        BigDecimal onHand = transactionTemplate.execute(status -> stockBalanceService.getOnHand(lot, warehouse, null));
+        // Fewer OUTs are sent than the initial stock, so none may be rejected
+        assertEquals(MIXED_REQUESTS, outcomes.succeeded.get());
+        assertEquals(MIXED_REQUESTS / 3, outs.get());
+        assertEquals(0, onHand.compareTo(BigDecimal.valueOf(INITIAL_STOCK + ins.get() - outs.get())));
+        assertEquals(0, stockBalanceService.verify().getDriftCount());
+    }
+
+    private void outMovement() {
+        inventoryService.recordMovement(RecordStockMovementRequest.builder()
+                .supplyLotId(lot.getId())
+                .warehouseId(warehouse.getId())
+                .movementType("OUT")
+                .quantity(BigDecimal.ONE)
+                .seasonId(season.getId())
+                .build());
+    }
+
+    /**
+     * Run {@code requests} calls of {@code request} as the owner on
+     * {@value #THREADS} threads, released together, and count their outcomes.
+     * A call failing with STOCK_BUSY is retried up to {@value #MAX_BUSY_RETRIES}
+     * times.
+     */
+    private void runConcurrently(int requests, IntConsumer request, Outcomes outcomes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(JwtAuthentications.farmer(owner));
+                try {
+                    start.await();
+                    runUntilSettled(index, request, outcomes);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+    }
+
+    private static void runUntilSettled(int index, IntConsumer request, Outcomes outcomes) {
+        for (int attempt = 0;; attempt++) {
+            try {
+                request.accept(index);
+                outcomes.succeeded.incrementAndGet();
+                return;
+            } catch (AppException e) {
+                if (e.getErrorCode() == ErrorCode.INSUFFICIENT_STOCK) {
+                    outcomes.insufficient.incrementAndGet();
+                    return;
+                }
+                if (e.getErrorCode() != ErrorCode.STOCK_BUSY || attempt >= MAX_BUSY_RETRIES) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static class Outcomes {
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger insufficient = new AtomicInteger();
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.example.QuanLyMuaVu.Pattern.Observer.OutboxMessage;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskOverdueEvent;
+import org.example.QuanLyMuaVu.Service.Outbox.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the transactional outbox on an in-memory H2 database.
+ *
+ * Covers:
+ * - Events are recorded in the publisher's transaction, and not on rollback
+ * - The relay delivers committed events once and marks them PUBLISHED
+ * - Failed deliveries are retried after a back-off, with the same event id
+ * - A relay whose claim was taken over does not overwrite the new outcome
+ * - Compaction deletes old PUBLISHED rows only
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        // The test drives the relay itself
+        "outbox.relay.poll-interval-ms=3600000"
+})
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void reset() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        listener.received.clear();
+        listener.failOn = null;
+        listener.duringDelivery = null;
+    }
+
+    @Test
+    @DisplayName("Events commit and roll back with the publishing transaction, then are delivered once")
+    void deliversCommittedEventsOnce() {
+        TaskOverdueEvent committed = event(1);
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(committed));
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(event(2));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(committed.getEventId()), jdbcTemplate.queryForList(
+                "SELECT event_id FROM outbox_events WHERE status = 'PENDING'", String.class));
+
+        assertEquals(1, relay.relayBatch());
+        assertEquals(0, relay.relayBatch());
+
+        assertEquals(1, listener.received.size());
+        OutboxMessage message = listener.received.get(0);
+        assertEquals(committed.getEventId(), message.getEventId());
+        assertEquals("TASK_OVERDUE", message.getEventType());
+        assertEquals(1, message.getPayload().path("taskId").asInt());
+        assertFalse(message.isRedelivery());
+        assertEquals("PUBLISHED", jdbcTemplate.queryForObject("SELECT status FROM outbox_events", String.class));
+    }
+
+    @Test
+    @DisplayName("A failed delivery is retried after its back-off with the same event id")
+    void retriesFailedDelivery() {
+        TaskOverdueEvent event = event(3);
+        listener.failOn = event.getEventId();
+        eventPublisher.publishEvent(event);
+
+        assertEquals(1, relay.relayBatch());
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, attempts, last_error, claimed_until FROM outbox_events");
+        assertEquals("PENDING", row.get("status"));
+        assertEquals(1, ((Number) row.get("attempts")).intValue());
+        assertNotNull(row.get("last_error"));
+        assertEquals(0, relay.relayBatch(), "still backing off");
+
+        listener.failOn = null;
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_until = ?", LocalDateTime.now().minusSeconds(1));
+        assertEquals(1, relay.relayBatch());
+
+        OutboxMessage redelivered = listener.received.get(listener.received.size() - 1);
+        assertEquals(event.getEventId(), redelivered.getEventId());
+        assertTrue(redelivered.isRedelivery());
+        assertEquals("PUBLISHED", jdbcTemplate.queryForObject("SELECT status FROM outbox_events", String.class));
+    }
+
+    @Test
+    @DisplayName("A failure reported after another relay re-claimed and published the row is ignored")
+    void ignoresCompletionOfExpiredClaim() {
+        TaskOverdueEvent event = event(7);
+        eventPublisher.publishEvent(event);
+        listener.failOn = event.getEventId();
+        // This relay's claim expired mid-delivery; another node re-claimed and published the row
+        listener.duringDelivery = () -> jdbcTemplate.update("""
+                UPDATE outbox_events SET status = 'PUBLISHED', published_at = ?, attempts = 1,
+                    claim_token = NULL, claimed_until = NULL""", LocalDateTime.now());
+
+        assertEquals(1, relay.relayBatch());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT status, attempts, last_error FROM outbox_events");
+        assertEquals("PUBLISHED", row.get("status"));
+        assertEquals(1, ((Number) row.get("attempts")).intValue());
+        assertNull(row.get("last_error"));
+    }
+
+    @Test
+    @DisplayName("Compaction deletes PUBLISHED rows older than the cutoff only")
+    void compactsOldPublishedRows() {
+        eventPublisher.publishEvent(event(4));
+        eventPublisher.publishEvent(event(5));
+        relay.relayBatch();
+        eventPublisher.publishEvent(event(6));
+        jdbcTemplate.update("UPDATE outbox_events SET published_at = ? WHERE status = 'PUBLISHED'",
+                LocalDateTime.now().minusDays(30));
+
+        assertEquals(2, relay.compactPublishedBefore(LocalDateTime.now().minusDays(7)));
+        assertEquals(List.of("PENDING"), jdbcTemplate.queryForList("SELECT status FROM outbox_events", String.class));
+    }
+
+    private static TaskOverdueEvent event(int taskId) {
+        return new TaskOverdueEvent(taskId, "Task " + taskId, 10, TaskStatus.PENDING, 20L);
+    }
+
+    static class RecordingListener {
+
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        volatile String failOn;
+        volatile Runnable duringDelivery;
+
+        @EventListener
+        public void on(OutboxMessage message) {
+            if (duringDelivery != null) {
+                duringDelivery.run();
+            }
+            if (message.getEventId().equals(failOn)) {
+                throw new IllegalStateException("listener failure");
+            }
+            received.add(message);
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskOverdueEvent;
+import org.example.QuanLyMuaVu.support.FarmDataset;
+import org.example.QuanLyMuaVu.support.FarmDatasetSeeder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the overdue task job on an in-memory H2 database.
+ *
+ * Covers:
+ * - Only PENDING/IN_PROGRESS tasks due before the day move to OVERDUE
+ * - The id range is walked in several chunks
+ * - One TaskOverdueEvent per moved task
+ * - The scheduler lock admits one holder at a time
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "tasks.overdue.chunk-size=3"
+})
+@RecordApplicationEvents
+public class OverdueTaskServiceTest {
+
+    @Autowired
+    private OverdueTaskService overdueTaskService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    @DisplayName("Open tasks due before today become OVERDUE, chunk by chunk, with one event each")
+    void marksOpenTasksDueBeforeToday() {
+        FarmDataset.Seeded data = new FarmDatasetSeeder(context).seed(FarmDataset.builder()
+                .farms(2).plotsPerFarm(2).tasksPerSeason(3).build());
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        MapSqlParameterSource seasons = new MapSqlParameterSource("seasonIds", data.getSeasonIds());
+        List<Integer> taskIds = namedJdbcTemplate.queryForList(
+                "SELECT task_id FROM tasks WHERE season_id IN (:seasonIds) ORDER BY task_id", seasons, Integer.class);
+        assertEquals(12, taskIds.size());
+
+        // Due yesterday except the last one; one overdue candidate is already DONE
+        namedJdbcTemplate.update("UPDATE tasks SET due_date = :yesterday WHERE season_id IN (:seasonIds)",
+                new MapSqlParameterSource(seasons.getValues()).addValue("yesterday", today.minusDays(1)));
+        jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE task_id = ?", today, taskIds.get(11));
+        jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE task_id = ?", taskIds.get(0));
+
+        OverdueTaskService.RunResult result = overdueTaskService.markOverdueTasks(today);
+
+        Map<Integer, String> statuses = namedJdbcTemplate.query(
+                "SELECT task_id, status FROM tasks WHERE season_id IN (:seasonIds)", seasons,
+                (rs, row) -> Map.entry(rs.getInt("task_id"), rs.getString("status"))).stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertEquals("DONE", statuses.get(taskIds.get(0)));
+        assertNotEquals("OVERDUE", statuses.get(taskIds.get(11)));
+        taskIds.subList(1, 11).forEach(id -> assertEquals("OVERDUE", statuses.get(id), "task " + id));
+
+        assertTrue(result.getMarked() >= 10);
+        assertTrue(result.getChunks() >= 4, "10 candidate ids in chunks of 3");
+        List<Integer> eventTaskIds = events.stream(TaskOverdueEvent.class)
+                .map(TaskOverdueEvent::getTaskId)
+                .filter(taskIds::contains)
+                .sorted()
+                .toList();
+        assertEquals(taskIds.subList(1, 11), eventTaskIds);
+        events.stream(TaskOverdueEvent.class)
+                .filter(event -> taskIds.contains(event.getTaskId()))
+                .forEach(event -> assertEquals(data.getOwner().getId(), event.getOwnerId()));
+
+        assertEquals(0, overdueTaskService.markOverdueTasks(today).getMarked(), "second run has nothing left");
+    }
+
+    @Test
+    @DisplayName("The scheduler lock has one holder until released or expired")
+    void lockAdmitsOneHolder() {
+        assertTrue(schedulerLockService.tryLock("test-job", Duration.ofMinutes(5)));
+        assertFalse(schedulerLockService.tryLock("test-job", Duration.ofMinutes(5)));
+
+        schedulerLockService.unlock("test-job");
+        assertTrue(schedulerLockService.tryLock("test-job", Duration.ZERO));
+        // A zero lease expires immediately
+        assertTrue(schedulerLockService.tryLock("test-job", Duration.ofMinutes(5)));
+        schedulerLockService.unlock("test-job");
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OwnershipIndex.
+ *
+ * Covers:
+ * - Each link is queried once and then served from memory
+ * - Missing rows are not cached
+ * - Eviction, including a lookup racing with it
+ * - The size bound
+ */
+@ExtendWith(MockitoExtension.class)
+public class OwnershipIndexTest {
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private PlotRepository plotRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    private OwnershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OwnershipIndex(farmRepository, plotRepository, seasonRepository, warehouseRepository,
+                10, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Season owner is resolved through the chain once, then from memory")
+    void ownerOfSeasonIsCached() {
+        when(seasonRepository.findPlotIdById(7)).thenReturn(Optional.of(3));
+        when(plotRepository.findFarmIdById(3)).thenReturn(Optional.of(1));
+        when(farmRepository.findOwnerIdById(1)).thenReturn(Optional.of(42L));
+
+        assertEquals(42L, index.ownerOfSeason(7));
+        assertEquals(42L, index.ownerOfSeason(7));
+        assertEquals(42L, index.ownerOfPlot(3));
+
+        verify(seasonRepository, times(1)).findPlotIdById(7);
+        verify(plotRepository, times(1)).findFarmIdById(3);
+        verify(farmRepository, times(1)).findOwnerIdById(1);
+    }
+
+    @Test
+    @DisplayName("Missing rows are looked up again")
+    void missesAreNotCached() {
+        when(warehouseRepository.findFarmIdById(5)).thenReturn(Optional.empty(), Optional.of(1));
+
+        assertNull(index.farmOfWarehouse(5));
+        assertEquals(1, index.farmOfWarehouse(5));
+        assertNull(index.ownerOfFarm(null));
+    }
+
+    @Test
+    @DisplayName("Evicting a plot reloads it and drops seasons pointing at it")
+    void evictPlot() {
+        when(seasonRepository.findPlotIdById(7)).thenReturn(Optional.of(3));
+        when(plotRepository.findFarmIdById(3)).thenReturn(Optional.of(1), Optional.of(2));
+
+        assertEquals(1, index.farmOfSeason(7));
+        index.evictPlot(3);
+        assertEquals(2, index.farmOfSeason(7));
+
+        verify(seasonRepository, times(2)).findPlotIdById(7);
+    }
+
+    @Test
+    @DisplayName("A row read before a concurrent eviction is not cached")
+    void lookupRacingWithEvictionIsDropped() {
+        when(farmRepository.findOwnerIdById(1)).thenAnswer(invocation -> {
+            index.evictFarm(1);
+            return Optional.of(42L);
+        }).thenReturn(Optional.of(43L));
+
+        assertEquals(42L, index.ownerOfFarm(1));
+        assertEquals(43L, index.ownerOfFarm(1));
+    }
+
+    @Test
+    @DisplayName("Each link never grows past its bound")
+    void sizeIsBounded() {
+        when(farmRepository.findOwnerIdById(anyInt())).thenAnswer(
+                invocation -> Optional.of(invocation.<Integer>getArgument(0).longValue()));
+
+        for (int farmId = 0; farmId < 50; farmId++) {
+            index.ownerOfFarm(farmId);
+        }
+        clearInvocations(farmRepository);
+
+        for (int farmId = 0; farmId < 50; farmId++) {
+            index.ownerOfFarm(farmId);
+        }
+        verify(farmRepository, atLeast(40)).findOwnerIdById(anyInt());
+    }
+}
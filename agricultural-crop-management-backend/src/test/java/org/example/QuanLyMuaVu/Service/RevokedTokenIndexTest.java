@@ -0,0 +1,113 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
+import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RevokedTokenIndex.
+ *
+ * Covers:
+ * - Loading live revocations from invalidated_token
+ * - Syncing only the rows created since the previous sync
+ * - Revocations made on this node take effect without a table lookup
+ * - Pruning keeps revocations until the end of the refreshable window
+ */
+@ExtendWith(MockitoExtension.class)
+public class RevokedTokenIndexTest {
+
+    private static final long VALID_DURATION = 3600;
+    private static final long REFRESHABLE_DURATION = 36000;
+    private static final long SYNC_LOOKBACK_MS = 10000;
+
+    @Mock
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private RevokedTokenIndex index;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(100, new SimpleMeterRegistry());
+        index = new RevokedTokenIndex(invalidatedTokenRepository, verifiedTokenCache,
+                VALID_DURATION, REFRESHABLE_DURATION, 1000, SYNC_LOOKBACK_MS);
+    }
+
+    @Test
+    @DisplayName("Reload picks up revocations persisted by any node")
+    void reloadLoadsLiveRows() {
+        when(invalidatedTokenRepository.findAllByExpiryTimeAfter(any())).thenReturn(List.of(
+                InvalidatedToken.builder().id("jti-1").expiryTime(hoursFromNow(1)).build()));
+
+        index.reload();
+
+        assertTrue(index.isRevoked("jti-1"));
+        assertFalse(index.isRevoked("jti-2"));
+        assertFalse(index.isRevoked(null));
+    }
+
+    @Test
+    @DisplayName("Sync reads only the rows created since the previous sync, less the lookback")
+    void syncIsIncremental() {
+        when(invalidatedTokenRepository.findAllByExpiryTimeAfter(any())).thenReturn(List.of());
+        index.reload();
+        Instant loaded = Instant.now();
+        ArgumentCaptor<Date> since = ArgumentCaptor.forClass(Date.class);
+        when(invalidatedTokenRepository.findAllByCreatedAtAfter(since.capture())).thenReturn(List.of(
+                InvalidatedToken.builder().id("jti-remote").expiryTime(hoursFromNow(1)).build()));
+
+        index.sync();
+        index.sync();
+
+        assertTrue(index.isRevoked("jti-remote"));
+        assertEquals(1, index.size());
+        verify(invalidatedTokenRepository, times(1)).findAllByExpiryTimeAfter(any());
+        Instant first = since.getAllValues().get(0).toInstant();
+        assertFalse(first.isAfter(loaded.minusMillis(SYNC_LOOKBACK_MS)));
+        assertTrue(first.isAfter(loaded.minusMillis(SYNC_LOOKBACK_MS + 60_000)));
+        assertFalse(since.getAllValues().get(1).before(since.getAllValues().get(0)));
+    }
+
+    @Test
+    @DisplayName("Revocation is effective immediately without querying the table")
+    void revokeIsImmediate() {
+        index.revoke("jti-1", hoursFromNow(1));
+
+        assertTrue(index.isRevoked("jti-1"));
+        verify(invalidatedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Prune keeps a revocation until its refreshable window ends")
+    void pruneUsesRefreshableWindow() {
+        // Access token expired 2h ago, still refreshable for another 7h
+        index.revoke("refreshable", hoursFromNow(-2));
+        // Access token expired 10h ago, refreshable window (9h after expiry) is over
+        index.revoke("dead", hoursFromNow(-10));
+
+        index.prune();
+
+        assertTrue(index.isRevoked("refreshable"));
+        assertFalse(index.isRevoked("dead"));
+        assertEquals(1, index.size());
+    }
+
+    private static Date hoursFromNow(long hours) {
+        return Date.from(Instant.now().plus(hours, ChronoUnit.HOURS));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.Util.SqlInsertReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming SQL reader used by the address import.
+ *
+ * Covers:
+ * - Rows of INSERT statements in the loc.sql dump format
+ * - Quoting, escapes and NULL
+ * - Skipped statements and comments, malformed input
+ */
+public class SqlInsertReaderTest {
+
+    private static final String DUMP = """
+            \uFEFF/*!40101 SET NAMES utf8mb4 */;
+            -- Table structure
+            DROP TABLE IF EXISTS `provinces`;
+            CREATE TABLE `provinces` (`Id` int NOT NULL, `Name` varchar(128) DEFAULT 'x;y');
+            LOCK TABLES `provinces` WRITE;
+            INSERT INTO provinces(Id, Name, Slug, Type, NameWithType) VALUES (11, 'Hà Nội', 'ha-noi', 'thanh-pho', 'Thành phố Hà Nội'),
+            (12, 'Đồng Nai', 'dong-nai', 'tinh', 'Tỉnh Đồng Nai');
+            # MySQL comment
+            INSERT INTO `wards` (`Id`, `Name`, `Slug`, `Type`, `NameWithType`, `ProvinceId`) VALUES (267, "Minh Châu", "minh-chau", "xa", "Xã Minh Châu", 11);
+            UNLOCK TABLES;
+            """;
+
+    @Test
+    @DisplayName("Rows of every INSERT are read in order with their table")
+    void readsRows() throws IOException {
+        List<String> rows = new ArrayList<>();
+        long count = new SqlInsertReader(new StringReader(DUMP), 100)
+                .readAll((table, values) -> rows.add(table + ":" + values));
+
+        assertEquals(3, count);
+        assertEquals(List.of(
+                "provinces:[11, Hà Nội, ha-noi, thanh-pho, Thành phố Hà Nội]",
+                "provinces:[12, Đồng Nai, dong-nai, tinh, Tỉnh Đồng Nai]",
+                "wards:[267, Minh Châu, minh-chau, xa, Xã Minh Châu, 11]"), rows);
+    }
+
+    @Test
+    @DisplayName("Quotes, escapes and NULL are decoded")
+    void decodesValues() throws IOException {
+        String sql = "INSERT INTO t VALUES ('it''s', 'a\\'b\\nc', \"x,y)\", NULL, -3.5);";
+        List<List<String>> rows = new ArrayList<>();
+        new SqlInsertReader(new StringReader(sql), 100).readAll((table, values) -> rows.add(values));
+
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList("it's", "a'b\nc", "x,y)", null, "-3.5"), rows.get(0));
+    }
+
+    @Test
+    @DisplayName("Malformed input fails instead of reading past it")
+    void rejectsMalformedInput() {
+        assertThrows(IOException.class, () -> new SqlInsertReader(
+                new StringReader("INSERT INTO t VALUES ('open"), 100).readAll((table, values) -> { }));
+        assertThrows(IOException.class, () -> new SqlInsertReader(
+                new StringReader("INSERT INTO t VALUES ('" + "x".repeat(20) + "');"), 10)
+                .readAll((table, values) -> { }));
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.Entity.*;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for filling and rebuilding the stock balance ledger from the movement
+ * history, on an in-memory H2 database.
+ *
+ * Covers:
+ * - An empty ledger is rebuilt as the signed sum of the movements
+ * - A ledger that already has rows is left alone
+ * - A rebuild rewrites drifted rows, adds missing ones and removes orphans
+ * - A rebuild while another node holds the rebuild lease fails with STOCK_BUSY
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class StockBalanceBackfillTest {
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private SupplyItemRepository supplyItemRepository;
+
+    @Autowired
+    private SupplyLotRepository supplyLotRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    // The ledger is global: start empty, and leave no movement without its
+    // balance behind for other tests sharing this context's database
+    @BeforeEach
+    void clearLedger() {
+        jdbcTemplate.update("DELETE FROM stock_balances");
+        jdbcTemplate.update("DELETE FROM stock_movements");
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearLedger();
+    }
+
+    @Test
+    @DisplayName("An empty ledger is backfilled from the movements, a filled one is left alone")
+    void backfillsEmptyLedgerOnly() {
+        Warehouse warehouse = warehouse(990201);
+        SupplyLot lot = lot("BACKFILL-1");
+
+        // Movements recorded before the ledger existed: no balance rows
+        movement(lot, warehouse, StockMovementType.IN, "100");
+        movement(lot, warehouse, StockMovementType.OUT, "30");
+        movement(lot, warehouse, StockMovementType.IN, "5");
+
+        assertEquals(1, stockBalanceService.backfillIfEmpty());
+        assertEquals(0, new BigDecimal("75").compareTo(
+                jdbcTemplate.queryForObject("SELECT quantity FROM stock_balances", BigDecimal.class)));
+        assertEquals(0, stockBalanceService.verify().getDriftCount());
+
+        movement(lot, warehouse, StockMovementType.IN, "1");
+        assertEquals(0, stockBalanceService.backfillIfEmpty());
+    }
+
+    @Test
+    @DisplayName("A rebuild rewrites drifted and missing balances and removes orphaned ones")
+    void rebuildRepairsDrift() {
+        Warehouse warehouse = warehouse(990202);
+        SupplyLot drifted = lot("REBUILD-1");
+        SupplyLot missing = lot("REBUILD-2");
+        SupplyLot orphaned = lot("REBUILD-3");
+
+        movement(drifted, warehouse, StockMovementType.IN, "40");
+        movement(drifted, warehouse, StockMovementType.OUT, "15");
+        movement(missing, warehouse, StockMovementType.IN, "8");
+        assertEquals(2, stockBalanceService.backfillIfEmpty());
+        jdbcTemplate.update("UPDATE stock_balances SET quantity = 99 WHERE supply_lot_id = ?", drifted.getId());
+        jdbcTemplate.update("DELETE FROM stock_balances WHERE supply_lot_id = ?", missing.getId());
+        jdbcTemplate.update("""
+                INSERT INTO stock_balances (supply_lot_id, warehouse_id, location_key, quantity)
+                VALUES (?, ?, 0, 3)""", orphaned.getId(), warehouse.getId());
+
+        assertEquals(3, stockBalanceService.rebuild().getDriftCount());
+        assertEquals(0, stockBalanceService.verify().getDriftCount());
+        assertEquals(0, new BigDecimal("25").compareTo(balance(drifted)));
+        assertEquals(0, new BigDecimal("8").compareTo(balance(missing)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_balances WHERE supply_lot_id = ?", Integer.class, orphaned.getId()));
+    }
+
+    @Test
+    @DisplayName("A rebuild is refused while another node holds the rebuild lease")
+    void rebuildRefusedWhileLeased() {
+        // An earlier rebuild leaves its expired row behind
+        jdbcTemplate.update("DELETE FROM scheduler_locks WHERE lock_name = ?", StockBalanceService.REBUILD_LOCK);
+        jdbcTemplate.update("""
+                INSERT INTO scheduler_locks (lock_name, locked_until, locked_at, locked_by)
+                VALUES (?, DATEADD('MINUTE', 5, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, 'other-node')""",
+                StockBalanceService.REBUILD_LOCK);
+        try {
+            AppException exception = assertThrows(AppException.class, () -> stockBalanceService.rebuild());
+            assertEquals(ErrorCode.STOCK_BUSY, exception.getErrorCode());
+        } finally {
+            jdbcTemplate.update("DELETE FROM scheduler_locks WHERE lock_name = ?", StockBalanceService.REBUILD_LOCK);
+        }
+        assertEquals(0, stockBalanceService.rebuild().getDriftCount());
+    }
+
+    private Warehouse warehouse(int addressId) {
+        User owner = userRepository.save(User.builder()
+                .username("backfill_owner_" + addressId).email("backfill_" + addressId + "@test.local")
+                .password("x").status(UserStatus.ACTIVE).build());
+        Province province = provinceRepository.save(Province.builder()
+                .id(addressId).name("Backfill").slug("backfill").type("tinh").nameWithType("Tinh Backfill").build());
+        Ward ward = wardRepository.save(Ward.builder()
+                .id(addressId).name("Backfill").slug("backfill").type("xa").nameWithType("Xa Backfill")
+                .province(province).build());
+        Farm farm = farmRepository.save(Farm.builder()
+                .owner(owner).name("Backfill Farm").province(province).ward(ward).active(true).build());
+        return warehouseRepository.save(Warehouse.builder().farm(farm).name("Backfill WH").build());
+    }
+
+    private SupplyLot lot(String batchCode) {
+        SupplyItem item = supplyItemRepository.save(SupplyItem.builder().name("Urea").unit("kg").build());
+        return supplyLotRepository.save(SupplyLot.builder()
+                .supplyItem(item).batchCode(batchCode).status("IN_STOCK").build());
+    }
+
+    private BigDecimal balance(SupplyLot lot) {
+        return jdbcTemplate.queryForObject(
+                "SELECT quantity FROM stock_balances WHERE supply_lot_id = ?", BigDecimal.class, lot.getId());
+    }
+
+    private void movement(SupplyLot lot, Warehouse warehouse, StockMovementType type, String quantity) {
+        stockMovementRepository.save(StockMovement.builder()
+                .supplyLot(lot)
+                .warehouse(warehouse)
+                .movementType(type)
+                .quantity(new BigDecimal(quantity))
+                .movementDate(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.DTO.Common.PageCursor;
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockMovementResponse;
+import org.example.QuanLyMuaVu.Entity.*;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.*;
+import org.example.QuanLyMuaVu.support.JwtAuthentications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset paging of stock movement history against an in-memory H2 database,
+ * through {@code StockMovementRepository.seekByWarehouseWithFilters} and
+ * {@link PageResponse#ofKeyset}.
+ *
+ * Covers:
+ * - Walking forward by nextCursor returns every row once, in (date, id) order,
+ *   when many rows share the same movement date
+ * - Walking backward by prevCursor from the last page returns the same rows
+ * - A cursor whose sort key is not a date fails with INVALID_CURSOR
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class StockMovementKeysetPagingTest {
+
+    private static final int MOVEMENTS = 23;
+    private static final int PAGE_SIZE = 5;
+    // Few distinct dates, so most page boundaries fall inside a run of ties
+    private static final int DISTINCT_DATES = 3;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private SupplyItemRepository supplyItemRepository;
+
+    @Autowired
+    private SupplyLotRepository supplyLotRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    private Warehouse warehouse;
+    private List<Integer> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("keyset_owner_" + System.nanoTime())
+                .email("keyset_" + System.nanoTime() + "@test.local")
+                .password("x")
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        Province province = provinceRepository.save(Province.builder()
+                .id(990101).name("Keyset").slug("keyset").type("tinh").nameWithType("Tinh Keyset").build());
+        Ward ward = wardRepository.save(Ward.builder()
+                .id(990101).name("Keyset").slug("keyset").type("xa").nameWithType("Xa Keyset")
+                .province(province).build());
+        Farm farm = farmRepository.save(Farm.builder()
+                .owner(owner).name("Keyset Farm").province(province).ward(ward).active(true).build());
+
+        warehouse = warehouseRepository.save(Warehouse.builder().farm(farm).name("Keyset Warehouse").build());
+        SupplyItem item = supplyItemRepository.save(SupplyItem.builder().name("Keyset Seed").unit("kg").build());
+        SupplyLot lot = supplyLotRepository.save(SupplyLot.builder()
+                .supplyItem(item).batchCode("KEYSET-1").status("IN_STOCK").build());
+
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 8, 30);
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < MOVEMENTS; i++) {
+            StockMovement movement = stockMovementRepository.save(StockMovement.builder()
+                    .supplyLot(lot)
+                    .warehouse(warehouse)
+                    .movementType(StockMovementType.IN)
+                    .quantity(BigDecimal.ONE)
+                    .movementDate(base.plusHours(i % DISTINCT_DATES))
+                    .build());
+            // Keep the ledger in step for tests sharing this context's database
+            stockBalanceService.apply(movement);
+            movements.add(movement);
+        }
+        expectedOrder = movements.stream()
+                .sorted(Comparator.comparing(StockMovement::getMovementDate)
+                        .thenComparing(StockMovement::getId)
+                        .reversed())
+                .map(StockMovement::getId)
+                .toList();
+
+        SecurityContextHolder.getContext().setAuthentication(JwtAuthentications.farmer(owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Forward and backward paging over tied dates neither skips nor repeats rows")
+    void pagesOverTiesWithoutGapsOrRepeats() {
+        List<Integer> forward = new ArrayList<>();
+        List<String> forwardCursors = new ArrayList<>();
+        PageResponse<StockMovementResponse> page = page("");
+        assertNull(page.getPrevCursor(), "first page has no previous page");
+        while (true) {
+            assertTrue(page.getItems().size() <= PAGE_SIZE);
+            page.getItems().forEach(movement -> forward.add(movement.getId()));
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            forwardCursors.add(page.getNextCursor());
+            page = page(page.getNextCursor());
+        }
+        assertEquals(expectedOrder, forward);
+        assertEquals((MOVEMENTS + PAGE_SIZE - 1) / PAGE_SIZE - 1, forwardCursors.size());
+
+        List<Integer> backward = new ArrayList<>(page.getItems().stream().map(StockMovementResponse::getId).toList());
+        while (page.getPrevCursor() != null) {
+            page = page(page.getPrevCursor());
+            assertEquals(PAGE_SIZE, page.getItems().size(), "backward pages are full");
+            assertNotNull(page.getNextCursor());
+            backward.addAll(0, page.getItems().stream().map(StockMovementResponse::getId).toList());
+        }
+        assertEquals(expectedOrder, backward);
+
+        Set<Integer> distinct = new HashSet<>(forward);
+        assertEquals(MOVEMENTS, distinct.size());
+    }
+
+    @Test
+    @DisplayName("A cursor whose sort key is not a movement date is rejected with INVALID_CURSOR")
+    void rejectsCursorWithUnparseableDate() {
+        String cursor = PageCursor.after("yesterday", expectedOrder.get(0));
+
+        AppException exception = assertThrows(AppException.class, () -> page(cursor));
+        assertEquals(ErrorCode.INVALID_CURSOR, exception.getErrorCode());
+    }
+
+    private PageResponse<StockMovementResponse> page(String cursor) {
+        return inventoryService.getMovementsByCursor(warehouse.getId(), null, null, null, cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.QuanLyMuaVu.Service;
+
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.DTO.Request.CreateTaskRequest;
+import org.example.QuanLyMuaVu.DTO.Response.TaskResponse;
+import org.example.QuanLyMuaVu.Entity.Task;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Pattern.Observer.ChangeType;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskChangedEvent;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskWorkspaceService cursor mode and task events.
+ *
+ * Covers:
+ * - Cursor mode seeks on id, by default or when asked to sort by id
+ * - Any other sort field is rejected instead of being silently ignored
+ * - Creating and deleting a task publish a TaskChangedEvent
+ */
+@ExtendWith(MockitoExtension.class)
+public class TaskWorkspaceServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private FarmAccessService farmAccessService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskWorkspaceService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskWorkspaceService(taskRepository, seasonRepository, farmAccessService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Cursor mode seeks on id when no sort field or id is requested")
+    void seeksOnId() {
+        User user = User.builder().id(1L).username("farmer").build();
+        when(farmAccessService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.seekByUserWithFilters(eq(user), isNull(), isNull(), isNull(), isNull(), isNull(),
+                any(Pageable.class))).thenReturn(List.of());
+
+        for (String sortBy : new String[] { null, "id" }) {
+            PageResponse<TaskResponse> page = service.listTasksByCursor(null, null, null, "", 20, sortBy, "desc");
+            assertTrue(page.getItems().isEmpty());
+        }
+
+        verify(taskRepository, times(2)).seekByUserWithFilters(eq(user), isNull(), isNull(), isNull(),
+                isNull(), isNull(), argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "id"))));
+    }
+
+    @Test
+    @DisplayName("Cursor mode rejects a sort field it cannot seek on")
+    void rejectsOtherSortFields() {
+        AppException exception = assertThrows(AppException.class,
+                () -> service.listTasksByCursor(null, null, null, "", 20, "createdAt", "desc"));
+
+        assertEquals(ErrorCode.BAD_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Creating and deleting a task publish a TaskChangedEvent")
+    void publishesTaskChanges() {
+        User user = User.builder().id(1L).username("farmer").build();
+        when(farmAccessService.getCurrentUser()).thenReturn(user);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(31);
+            return task;
+        });
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Weeding");
+
+        TaskResponse created = service.createTask(request);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && changed.getChangeType() == ChangeType.CREATED
+                && changed.getTaskId() == 31
+                && changed.getStatus() == TaskStatus.PENDING));
+
+        Task task = Task.builder().id(created.getTaskId()).user(user).title("Weeding").status(TaskStatus.PENDING).build();
+        when(taskRepository.findByIdAndUser(31, user)).thenReturn(Optional.of(task));
+        service.deleteTask(31);
+
+        verify(taskRepository).delete(task);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && changed.getChangeType() == ChangeType.DELETED
+                && "TASK_DELETED".equals(changed.getEventType())));
+    }
+}
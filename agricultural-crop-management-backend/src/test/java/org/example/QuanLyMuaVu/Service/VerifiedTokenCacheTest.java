@@ -0,0 +1,91 @@
+package org.example.QuanLyMuaVu.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VerifiedTokenCache.
+ *
+ * Covers:
+ * - Hits only for the exact token string, until the token expires
+ * - Immediate eviction on revocation, including a decode racing with it
+ * - The size bound
+ */
+public class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(4, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Cached token is returned until it expires")
+    void getReturnsUntilExpiry() {
+        Jwt live = jwt("token-a", "jti-a", Instant.now().plusSeconds(60));
+        Jwt expired = jwt("token-b", "jti-b", Instant.now().minusSeconds(1));
+
+        cache.put("token-a", live, cache.generation());
+        cache.put("token-b", expired, cache.generation());
+
+        assertSame(live, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertNull(cache.get("token-a-tampered"));
+    }
+
+    @Test
+    @DisplayName("Revocation evicts the token immediately")
+    void invalidateEvictsByJwtId() {
+        cache.put("token-a", jwt("token-a", "jti-a", Instant.now().plusSeconds(60)), cache.generation());
+
+        cache.invalidate("jti-a");
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    @DisplayName("A token verified before a concurrent revocation is not cached")
+    void putAfterRevocationIsDropped() {
+        long stamp = cache.generation();
+        cache.invalidate("jti-a");
+
+        cache.put("token-a", jwt("token-a", "jti-a", Instant.now().plusSeconds(60)), stamp);
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    @DisplayName("Cache never grows past its bound")
+    void sizeIsBounded() {
+        for (int i = 0; i < 20; i++) {
+            cache.put("token-" + i, jwt("token-" + i, "jti-" + i, Instant.now().plusSeconds(60)), cache.generation());
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 20; i++) {
+            if (cache.get("token-" + i) != null) {
+                cached++;
+            }
+        }
+        assertTrue(cached <= 4, "Cached " + cached + " tokens");
+        assertNotNull(cache.get("token-19"));
+    }
+
+    private static Jwt jwt(String token, String jwtId, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .jti(jwtId)
+                .subject("1")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.QuanLyMuaVu.controller;
+
+import org.example.QuanLyMuaVu.support.FarmDataset;
+import org.example.QuanLyMuaVu.support.StatementCountTestSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Statement-count regression tests for the farmer's list and detail endpoints.
+ *
+ * Every bound is below the number of rows the endpoint returns, so a query
+ * issued per row (a missing entity graph, a repository call in a mapping
+ * loop) makes the test fail. Reads must not write.
+ */
+public class FarmerHotPathStatementCountTest extends StatementCountTestSupport {
+
+    @Override
+    protected FarmDataset dataset() {
+        return FarmDataset.builder()
+                .farms(6)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Farm list loads addresses with the farms")
+    void farmList() throws Exception {
+        countGet("/api/v1/farms")
+                .assertSelectsAtMost(3)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Plot list loads farms with the plots")
+    void plotList() throws Exception {
+        countGet("/api/v1/plots")
+                .assertSelectsAtMost(3)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Task workspace loads seasons with the tasks")
+    void taskList() throws Exception {
+        countGet("/api/v1/workspace/tasks")
+                .assertSelectsAtMost(5)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Expense search loads season, plot and task with the expenses")
+    void expenseSearch() throws Exception {
+        countGet("/api/v1/expenses/search")
+                .assertSelectsAtMost(4)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Season detail loads plot, crop and variety in one query")
+    void seasonDetail() throws Exception {
+        countGet("/api/v1/seasons/{id}", data.getSeasonIds().get(0))
+                .assertSelectsAtMost(5)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Incident list loads season and reporter with the incidents")
+    void incidentList() throws Exception {
+        countGet("/api/v1/incidents?seasonId={id}", data.getSeasonIds().get(0))
+                .assertSelectsAtMost(5)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Dashboard plot status reads seasons and incident counts in bulk")
+    void dashboardPlotStatus() throws Exception {
+        countGet("/api/v1/dashboard/plot-status")
+                .assertSelectsAtMost(4)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Warehouse list loads farms with the warehouses")
+    void warehouseList() throws Exception {
+        countGet("/api/v1/inventory/warehouses/my")
+                .assertSelectsAtMost(4)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("Movement history loads lot, item and location with the movements")
+    void movementHistory() throws Exception {
+        countGet("/api/v1/inventory/movements?warehouseId={id}", data.getWarehouseIds().get(0))
+                .assertSelectsAtMost(5)
+                .assertWritesAtMost(0);
+    }
+
+    @Test
+    @DisplayName("On-hand list is one grouped query")
+    void onHandList() throws Exception {
+        countGet("/api/v1/inventory/on-hand?warehouseId={id}", data.getWarehouseIds().get(0))
+                .assertSelectsAtMost(5)
+                .assertWritesAtMost(0);
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.QuanLyMuaVu.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.DataGenProperties;
+import org.example.QuanLyMuaVu.Entity.Province;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Ward;
+import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
+import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Service.DataGen.SyntheticDatasetGenerator;
+import org.example.QuanLyMuaVu.Service.JwtTokenService;
+import org.example.QuanLyMuaVu.support.LatencyRecorder;
+import org.example.QuanLyMuaVu.support.LoadTestReport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the farmer read endpoints, and a stock-in write,
+ * over real HTTP.
+ * <p>
+ * Starts the application on an in-memory H2 database filled by the synthetic
+ * dataset generator, mints one JWT per generated farmer with
+ * {@link JwtTokenService} and lets concurrent virtual users cycle through the
+ * endpoints below. Latency percentiles and throughput per endpoint, and the
+ * domain events written to and delivered from the outbox per second (the
+ * stock-in raises one per request), are written to
+ * {@code target/loadtest/report.json} and compared with the stored baseline:
+ * the test fails on any error response, or when an endpoint's p95 or
+ * throughput, or the outbox delivery rate, is worse than the baseline by more
+ * than the tolerance.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Ploadtest test}.
+ * Tunable through system properties:
+ * <ul>
+ * <li>loadtest.users - concurrent virtual users (32)</li>
+ * <li>loadtest.warmup-seconds / loadtest.duration-seconds - warm-up and measured window (10 / 60)</li>
+ * <li>loadtest.farms - farms generated, two per farmer (200)</li>
+ * <li>loadtest.tolerance - allowed regression, 0.2 = 20% (0.2)</li>
+ * <li>loadtest.baseline - baseline file (src/test/resources/loadtest/baseline.json)</li>
+ * <li>loadtest.update-baseline - store this run as the new baseline (false)</li>
+ * </ul>
+ * The baseline is only meaningful on the machine that recorded it; record it
+ * again with loadtest.update-baseline=true when the reference machine changes.
+ */
+@Slf4j
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "logging.level.org.example.QuanLyMuaVu=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN"
+})
+public class HttpLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int FARMS = Integer.getInteger("loadtest.farms", 200);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+    private static final Path BASELINE = Path.of(System.getProperty("loadtest.baseline",
+            "src/test/resources/loadtest/baseline.json"));
+    private static final Path REPORT = Path.of("target/loadtest/report.json");
+    private static final String OUTBOX_WRITTEN = "outbox.events.written";
+    private static final String OUTBOX_DELIVERED = "outbox.events.delivered";
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            Endpoint.get("dashboard-overview", user -> "/api/v1/dashboard/overview"),
+            Endpoint.get("expenses-search", user -> "/api/v1/expenses/search?size=20"),
+            Endpoint.get("inventory-on-hand", user -> "/api/v1/inventory/on-hand?warehouseId=" + user.warehouseId()),
+            Endpoint.get("workspace-tasks", user -> "/api/v1/workspace/tasks?size=20"),
+            Endpoint.get("seasons", user -> "/api/v1/seasons?size=20"),
+            // Writes a stock movement and its StockMovementRecordedEvent outbox row
+            new Endpoint("inventory-stock-in", user -> "/api/v1/inventory/movements",
+                    user -> "{\"supplyLotId\":" + user.lotId() + ",\"warehouseId\":" + user.warehouseId()
+                            + ",\"movementType\":\"IN\",\"quantity\":1,\"note\":\"load test\"}"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDatasetGenerator generator;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProvinceRepository provinceRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void farmerEndpointsMeetBaseline() throws Exception {
+        SyntheticDatasetGenerator.GenerationResult dataset = generator.generate(datasetSpec());
+        List<VirtualUser> users = virtualUsers();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(USERS);
+        double writtenAtStart;
+        double deliveredAtStart;
+        double writtenAtEnd;
+        double deliveredAtEnd;
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                VirtualUser user = users.get(i % users.size());
+                int offset = i;
+                running.add(pool.submit(() -> drive(client, user, offset, recorder, measureFrom, measureUntil)));
+            }
+            sleepUntil(measureFrom);
+            writtenAtStart = count(OUTBOX_WRITTEN);
+            deliveredAtStart = count(OUTBOX_DELIVERED);
+            sleepUntil(measureUntil);
+            writtenAtEnd = count(OUTBOX_WRITTEN);
+            deliveredAtEnd = count(OUTBOX_DELIVERED);
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        LoadTestReport.OutboxStats outbox = new LoadTestReport.OutboxStats(
+                (writtenAtEnd - writtenAtStart) / DURATION_SECONDS,
+                (deliveredAtEnd - deliveredAtStart) / DURATION_SECONDS,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE status = 'PENDING'", Long.class));
+
+        LoadTestReport report = new LoadTestReport(startedAt.toString(), USERS, WARMUP_SECONDS, DURATION_SECONDS,
+                dataset.getRowsByTable(), recorder.summarize(DURATION_SECONDS), outbox);
+        report.write(REPORT);
+        report.endpoints().forEach((endpoint, stats) -> log.warn("{}: {}", endpoint, stats));
+        log.warn("outbox: {}", report.outbox());
+
+        if (Boolean.getBoolean("loadtest.update-baseline")) {
+            report.write(BASELINE);
+            log.warn("Stored {} as the new baseline", BASELINE);
+            return;
+        }
+        if (!Files.exists(BASELINE)) {
+            log.warn("No baseline at {}, nothing to compare (record one with -Dloadtest.update-baseline=true)",
+                    BASELINE);
+            assertTrue(report.failures().isEmpty(), () -> String.join("\n", report.failures()));
+            return;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadTestReport.read(BASELINE), TOLERANCE);
+        assertTrue(regressions.isEmpty(), () -> "Regressions against " + BASELINE + ":\n  "
+                + String.join("\n  ", regressions));
+    }
+
+    /**
+     * Loop over the endpoints until the end of the run, starting at a
+     * different endpoint per virtual user so they do not move in lockstep.
+     */
+    private void drive(HttpClient client, VirtualUser user, int offset, LatencyRecorder recorder,
+            long measureFrom, long measureUntil) {
+        for (int i = offset; System.nanoTime() < measureUntil; i++) {
+            Endpoint endpoint = ENDPOINTS.get(i % ENDPOINTS.size());
+            URI uri = URI.create("http://localhost:" + port + endpoint.path().apply(user));
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + user.token())
+                    .timeout(Duration.ofSeconds(30));
+            HttpRequest request = endpoint.body() == null
+                    ? builder.GET().build()
+                    : builder.header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(endpoint.body().apply(user)))
+                            .build();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (start >= measureFrom) {
+                recorder.record(endpoint.name(), System.nanoTime() - start, ok);
+            }
+        }
+    }
+
+    private double count(String counter) {
+        Counter found = meterRegistry.find(counter).counter();
+        return found != null ? found.count() : 0;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private DataGenProperties datasetSpec() {
+        if (wardRepository.count() == 0) {
+            Province province = provinceRepository.save(Province.builder()
+                    .id(990_001).name("Loadtest").slug("loadtest").type("tinh").nameWithType("Tỉnh Loadtest")
+                    .build());
+            wardRepository.save(Ward.builder()
+                    .id(990_001).name("Loadtest").slug("loadtest").type("xa").nameWithType("Xã Loadtest")
+                    .province(province).build());
+        }
+        DataGenProperties spec = new DataGenProperties();
+        spec.setSeed(42);
+        spec.setAnchorDate(LocalDate.of(2025, 6, 1));
+        spec.setFarms(FARMS);
+        return spec;
+    }
+
+    /**
+     * One virtual user per generated farmer (up to loadtest.users), each with
+     * its own token, the first warehouse of its farms and a lot stocked there.
+     */
+    private List<VirtualUser> virtualUsers() {
+        List<VirtualUser> users = jdbcTemplate.query("""
+                SELECT u.user_name, MIN(w.id) AS warehouse_id
+                FROM users u
+                JOIN farms f ON f.owner_id = u.user_id
+                JOIN warehouses w ON w.farm_id = f.farm_id
+                WHERE u.user_name LIKE 'gen_farmer_%'
+                GROUP BY u.user_name
+                ORDER BY u.user_name
+                LIMIT ?""",
+                (rs, row) -> {
+                    User user = userRepository.findByUsernameWithRoles(rs.getString("user_name")).orElseThrow();
+                    int warehouseId = rs.getInt("warehouse_id");
+                    Integer lotId = jdbcTemplate.queryForObject(
+                            "SELECT MIN(supply_lot_id) FROM stock_balances WHERE warehouse_id = ?",
+                            Integer.class, warehouseId);
+                    return new VirtualUser(jwtTokenService.generateToken(user, "FARMER"), warehouseId, lotId);
+                },
+                USERS);
+        assertFalse(users.isEmpty(), "the generated dataset has no farmers");
+        return users;
+    }
+
+    private record VirtualUser(String token, int warehouseId, Integer lotId) {
+    }
+
+    /**
+     * A request of the cycle; a null body is a GET, any other a JSON POST.
+     */
+    private record Endpoint(String name, Function<VirtualUser, String> path, Function<VirtualUser, String> body) {
+
+        static Endpoint get(String name, Function<VirtualUser, String> path) {
+            return new Endpoint(name, path, null);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.QuanLyMuaVu.support;
+
+import lombok.Builder;
+import lombok.Value;
+import org.example.QuanLyMuaVu.Entity.User;
+
+import java.util.List;
+
+/**
+ * Shape of the synthetic farm seeded for a statement-count test: one farmer
+ * owning {@code farms} farms, each with its plots, seasons, tasks, expenses,
+ * incidents and a warehouse of supply lots.
+ * <p>
+ * Sizes should exceed the statement bounds asserted by the tests, so a query
+ * issued per row cannot stay under a bound by accident.
+ */
+@Value
+@Builder
+public class FarmDataset {
+
+    @Builder.Default
+    int farms = 4;
+
+    @Builder.Default
+    int plotsPerFarm = 2;
+
+    @Builder.Default
+    int seasonsPerPlot = 1;
+
+    @Builder.Default
+    int tasksPerSeason = 2;
+
+    @Builder.Default
+    int expensesPerSeason = 2;
+
+    @Builder.Default
+    int incidentsPerSeason = 1;
+
+    @Builder.Default
+    int lotsPerFarm = 3;
+
+    @Builder.Default
+    int movementsPerLot = 3;
+
+    /**
+     * Ids of the rows seeded for a {@link FarmDataset}, and the credentials of
+     * their owner.
+     */
+    @Value
+    @Builder
+    public static class Seeded {
+        User owner;
+        String password;
+        List<Integer> farmIds;
+        List<Integer> plotIds;
+        List<Integer> seasonIds;
+        List<Integer> warehouseIds;
+        List<Integer> lotIds;
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.QuanLyMuaVu.support;
+
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Entity.Expense;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Entity.Incident;
+import org.example.QuanLyMuaVu.Entity.Plot;
+import org.example.QuanLyMuaVu.Entity.Province;
+import org.example.QuanLyMuaVu.Entity.Role;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockLocation;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Entity.SupplyItem;
+import org.example.QuanLyMuaVu.Entity.SupplyLot;
+import org.example.QuanLyMuaVu.Entity.Task;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Ward;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Enums.IncidentSeverity;
+import org.example.QuanLyMuaVu.Enums.IncidentStatus;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.example.QuanLyMuaVu.Repository.ExpenseRepository;
+import org.example.QuanLyMuaVu.Repository.FarmRepository;
+import org.example.QuanLyMuaVu.Repository.IncidentRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
+import org.example.QuanLyMuaVu.Repository.RoleRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockLocationRepository;
+import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyItemRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
+import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds a {@link FarmDataset} through the application's repositories in one
+ * transaction.
+ * <p>
+ * Every call seeds a new owner with its own province and wards, so test
+ * classes sharing a Spring context and database do not see each other's
+ * rows. Dates are relative to today and no task is overdue, so listing the
+ * data does not change it.
+ */
+public class FarmDatasetSeeder {
+
+    private static final String PASSWORD = "dataset123";
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final ApplicationContext context;
+
+    public FarmDatasetSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    public FarmDataset.Seeded seed(FarmDataset dataset) {
+        TransactionTemplate transaction = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        return transaction.execute(status -> seedInTransaction(dataset, SEQUENCE.incrementAndGet()));
+    }
+
+    private FarmDataset.Seeded seedInTransaction(FarmDataset dataset, int run) {
+        LocalDate today = LocalDate.now();
+        String prefix = "dataset" + run;
+
+        Role farmerRole = bean(RoleRepository.class).findByCode("FARMER")
+                .orElseGet(() -> bean(RoleRepository.class).save(Role.builder()
+                        .code("FARMER")
+                        .name("Farmer")
+                        .build()));
+        User owner = bean(UserRepository.class).save(User.builder()
+                .username(prefix + "_owner")
+                .email(prefix + "@test.local")
+                .password(bean(PasswordEncoder.class).encode(PASSWORD))
+                .fullName("Dataset Owner " + run)
+                .status(UserStatus.ACTIVE)
+                .roles(new HashSet<>(Set.of(farmerRole)))
+                .build());
+
+        // Address ids are assigned, not generated: keep them clear of loc.sql
+        Province province = bean(ProvinceRepository.class).save(Province.builder()
+                .id(900_000 + run)
+                .name("Dataset " + run)
+                .slug(prefix)
+                .type("tinh")
+                .nameWithType("Tỉnh Dataset " + run)
+                .build());
+        Crop crop = bean(CropRepository.class).save(Crop.builder().cropName("Lúa " + prefix).build());
+        SupplyItem item = bean(SupplyItemRepository.class).save(SupplyItem.builder()
+                .name("NPK " + prefix)
+                .unit("kg")
+                .lowStockThreshold(BigDecimal.valueOf(5))
+                .build());
+
+        List<Integer> farmIds = new ArrayList<>();
+        List<Integer> plotIds = new ArrayList<>();
+        List<Integer> seasonIds = new ArrayList<>();
+        List<Integer> warehouseIds = new ArrayList<>();
+        List<Integer> lotIds = new ArrayList<>();
+
+        for (int f = 0; f < dataset.getFarms(); f++) {
+            // A ward per farm, so loading addresses row by row would show
+            Ward ward = bean(WardRepository.class).save(Ward.builder()
+                    .id(90_000_000 + run * 10_000 + f)
+                    .name("Ward " + f)
+                    .slug(prefix + "-ward-" + f)
+                    .type("xa")
+                    .nameWithType("Xã Ward " + f)
+                    .province(province)
+                    .build());
+            Farm farm = bean(FarmRepository.class).save(Farm.builder()
+                    .owner(owner)
+                    .name("Farm " + f)
+                    .province(province)
+                    .ward(ward)
+                    .area(BigDecimal.valueOf(10))
+                    .active(true)
+                    .build());
+            farmIds.add(farm.getId());
+
+            Season lastSeason = null;
+            for (int p = 0; p < dataset.getPlotsPerFarm(); p++) {
+                Plot plot = bean(PlotRepository.class).save(Plot.builder()
+                        .user(owner)
+                        .farm(farm)
+                        .plotName("Plot " + f + "." + p)
+                        .area(BigDecimal.ONE)
+                        .build());
+                plotIds.add(plot.getId());
+
+                for (int s = 0; s < dataset.getSeasonsPerPlot(); s++) {
+                    lastSeason = seedSeason(dataset, owner, plot, crop, today.minusMonths(s * 4L),
+                            "Season " + f + "." + p + "." + s);
+                    seasonIds.add(lastSeason.getId());
+                }
+            }
+
+            Warehouse warehouse = bean(WarehouseRepository.class).save(Warehouse.builder()
+                    .farm(farm)
+                    .name("Warehouse " + f)
+                    .type("INPUT")
+                    .province(province)
+                    .ward(ward)
+                    .build());
+            warehouseIds.add(warehouse.getId());
+            StockLocation location = bean(StockLocationRepository.class).save(StockLocation.builder()
+                    .warehouse(warehouse)
+                    .zone("A")
+                    .shelf(String.valueOf(f))
+                    .build());
+
+            for (int l = 0; l < dataset.getLotsPerFarm(); l++) {
+                SupplyLot lot = bean(SupplyLotRepository.class).save(SupplyLot.builder()
+                        .supplyItem(item)
+                        .batchCode(prefix + "-" + f + "-" + l)
+                        .expiryDate(today.plusMonths(6))
+                        .status("IN_STOCK")
+                        .build());
+                lotIds.add(lot.getId());
+                for (int m = 0; m < dataset.getMovementsPerLot(); m++) {
+                    bean(StockMovementRepository.class).save(StockMovement.builder()
+                            .supplyLot(lot)
+                            .warehouse(warehouse)
+                            .location(location)
+                            .movementType(StockMovementType.IN)
+                            .quantity(BigDecimal.TEN)
+                            .movementDate(LocalDateTime.now().minusDays(m))
+                            .season(lastSeason)
+                            .build());
+                }
+                bean(StockBalanceRepository.class).save(StockBalance.builder()
+                        .supplyLot(lot)
+                        .warehouse(warehouse)
+                        .location(location)
+                        .quantity(BigDecimal.TEN.multiply(BigDecimal.valueOf(dataset.getMovementsPerLot())))
+                        .build());
+            }
+        }
+
+        return FarmDataset.Seeded.builder()
+                .owner(owner)
+                .password(PASSWORD)
+                .farmIds(farmIds)
+                .plotIds(plotIds)
+                .seasonIds(seasonIds)
+                .warehouseIds(warehouseIds)
+                .lotIds(lotIds)
+                .build();
+    }
+
+    private Season seedSeason(FarmDataset dataset, User owner, Plot plot, Crop crop, LocalDate start, String name) {
+        Season season = bean(SeasonRepository.class).save(Season.builder()
+                .seasonName(name)
+                .plot(plot)
+                .crop(crop)
+                .startDate(start)
+                .plannedHarvestDate(start.plusMonths(3))
+                .status(SeasonStatus.ACTIVE)
+                .initialPlantCount(100)
+                .build());
+
+        for (int t = 0; t < dataset.getTasksPerSeason(); t++) {
+            Task task = bean(TaskRepository.class).save(Task.builder()
+                    .user(owner)
+                    .season(season)
+                    .title(name + " task " + t)
+                    .plannedDate(LocalDate.now())
+                    .dueDate(LocalDate.now().plusDays(7))
+                    .status(t % 2 == 0 ? TaskStatus.PENDING : TaskStatus.IN_PROGRESS)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            if (t < dataset.getExpensesPerSeason()) {
+                seedExpense(owner, season, task, name + " expense " + t);
+            }
+        }
+        for (int e = dataset.getTasksPerSeason(); e < dataset.getExpensesPerSeason(); e++) {
+            seedExpense(owner, season, null, name + " expense " + e);
+        }
+        for (int i = 0; i < dataset.getIncidentsPerSeason(); i++) {
+            bean(IncidentRepository.class).save(Incident.builder()
+                    .season(season)
+                    .reportedBy(owner)
+                    .incidentType("PEST")
+                    .severity(IncidentSeverity.LOW)
+                    .description(name + " incident " + i)
+                    .status(i % 2 == 0 ? IncidentStatus.OPEN : IncidentStatus.RESOLVED)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return season;
+    }
+
+    private void seedExpense(User owner, Season season, Task task, String itemName) {
+        bean(ExpenseRepository.class).save(Expense.builder()
+                .user(owner)
+                .season(season)
+                .task(task)
+                .itemName(itemName)
+                .unitPrice(BigDecimal.ONE)
+                .quantity(2)
+                .totalCost(BigDecimal.valueOf(2))
+                .amount(BigDecimal.valueOf(2))
+                .expenseDate(LocalDate.now())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.QuanLyMuaVu.support;
+
+import org.example.QuanLyMuaVu.Entity.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authentications shaped like the ones the resource server builds from an
+ * access token, for service tests that run outside a request. The claims are
+ * the ones JwtTokenService issues and CurrentUserService reads.
+ */
+public final class JwtAuthentications {
+
+    private JwtAuthentications() {
+    }
+
+    public static JwtAuthenticationToken farmer(User user) {
+        Instant issuedAt = Instant.now();
+        Jwt jwt = Jwt.withTokenValue("test-" + user.getId())
+                .header("alg", "HS512")
+                .subject(user.getUsername())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .claim("user_id", user.getId())
+                .claim("username", user.getUsername())
+                .claim("role", "FARMER")
+                .claim("scope", "ROLE_FARMER")
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_FARMER")));
+    }
+}
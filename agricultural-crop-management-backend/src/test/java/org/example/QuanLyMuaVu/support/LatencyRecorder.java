@@ -0,0 +1,88 @@
+package org.example.QuanLyMuaVu.support;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Latencies of the requests sent during a load test, per endpoint.
+ * <p>
+ * Every sample is kept (a run of a few minutes produces at most a few million),
+ * so the percentiles are exact rather than estimated from buckets. Virtual
+ * users record into their own buffer; {@link #summarize} merges them.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Map<Thread, Samples>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(Thread.currentThread(), thread -> new Samples())
+                .add(latencyNanos);
+        if (!ok) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Statistics per endpoint, in the order the endpoints were first recorded.
+     */
+    public Map<String, LoadTestReport.EndpointStats> summarize(double measuredSeconds) {
+        Map<String, LoadTestReport.EndpointStats> stats = new LinkedHashMap<>();
+        samples.keySet().stream().sorted().forEach(endpoint -> {
+            long[] merged = samples.get(endpoint).values().stream()
+                    .flatMapToLong(Samples::stream)
+                    .sorted()
+                    .toArray();
+            LongAdder failed = errors.get(endpoint);
+            stats.put(endpoint, new LoadTestReport.EndpointStats(
+                    merged.length,
+                    failed != null ? failed.sum() : 0,
+                    millis(percentile(merged, 0.50)),
+                    millis(percentile(merged, 0.95)),
+                    millis(percentile(merged, 0.99)),
+                    millis(merged.length > 0 ? merged[merged.length - 1] : 0),
+                    Math.round(merged.length / measuredSeconds * 10) / 10.0));
+        });
+        return stats;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples.
+     */
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Growable buffer written by a single virtual user.
+     */
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        LongStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+}
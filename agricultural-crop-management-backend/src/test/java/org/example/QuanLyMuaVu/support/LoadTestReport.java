@@ -0,0 +1,105 @@
+package org.example.QuanLyMuaVu.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one load-test run, written as JSON so runs can be compared with
+ * each other and with the stored baseline.
+ * <p>
+ * Latencies are in milliseconds, throughput in requests per second over the
+ * measured window (warm-up excluded); outbox rates are in events per second
+ * over the same window. Reports recorded before the outbox was measured have
+ * no outbox stats.
+ */
+public record LoadTestReport(
+        String startedAt,
+        int virtualUsers,
+        int warmupSeconds,
+        int measuredSeconds,
+        Map<String, Long> dataset,
+        Map<String, EndpointStats> endpoints,
+        OutboxStats outbox) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record EndpointStats(
+            long requests,
+            long errors,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs,
+            double throughputPerSecond) {
+    }
+
+    /**
+     * Outbox events written by the requests and delivered by the relay, and
+     * the PENDING backlog left when the measured window ended.
+     */
+    public record OutboxStats(
+            double writtenPerSecond,
+            double deliveredPerSecond,
+            long pendingAtEnd) {
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    public static LoadTestReport read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * Endpoints that returned errors during this run.
+     */
+    public List<String> failures() {
+        List<String> failures = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            if (stats.errors() > 0) {
+                failures.add(endpoint + ": " + stats.errors() + " of " + stats.requests() + " requests failed");
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Regressions of this run against a baseline: the {@link #failures()},
+     * plus every endpoint of the baseline that is missing or whose p95 latency
+     * grew or throughput fell by more than {@code tolerance} (0.2 = 20%), and
+     * an outbox delivery rate that fell by more than that.
+     */
+    public List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+        List<String> regressions = failures();
+        baseline.endpoints().forEach((endpoint, expected) -> {
+            EndpointStats actual = endpoints.get(endpoint);
+            if (actual == null) {
+                regressions.add(endpoint + ": not measured");
+                return;
+            }
+            if (actual.p95Ms() > expected.p95Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p95 %.2f ms, baseline %.2f ms", endpoint,
+                        actual.p95Ms(), expected.p95Ms()));
+            }
+            if (actual.throughputPerSecond() < expected.throughputPerSecond() * (1 - tolerance)) {
+                regressions.add(String.format("%s: %.1f req/s, baseline %.1f req/s", endpoint,
+                        actual.throughputPerSecond(), expected.throughputPerSecond()));
+            }
+        });
+        if (baseline.outbox() != null && outbox != null && outbox.deliveredPerSecond()
+                < baseline.outbox().deliveredPerSecond() * (1 - tolerance)) {
+            regressions.add(String.format("outbox: %.1f events/s delivered, baseline %.1f events/s",
+                    outbox.deliveredPerSecond(), baseline.outbox().deliveredPerSecond()));
+        }
+        return regressions;
+    }
+}
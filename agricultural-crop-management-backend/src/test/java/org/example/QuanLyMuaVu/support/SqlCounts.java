@@ -0,0 +1,42 @@
+package org.example.QuanLyMuaVu.support;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements recorded by {@link SqlStatementCounter} for one request,
+ * counted by kind. The assertions list every statement when they fail, which
+ * makes a reintroduced per-row query easy to spot.
+ */
+public record SqlCounts(long selects, long inserts, long updates, long deletes, List<String> statements) {
+
+    public long writes() {
+        return inserts + updates + deletes;
+    }
+
+    public long total() {
+        return statements.size();
+    }
+
+    public SqlCounts assertSelectsAtMost(long max) {
+        assertTrue(selects <= max, () -> "Expected at most " + max + " selects but " + this);
+        return this;
+    }
+
+    public SqlCounts assertWritesAtMost(long max) {
+        assertTrue(writes() <= max, () -> "Expected at most " + max + " writes but " + this);
+        return this;
+    }
+
+    public SqlCounts assertTotalAtMost(long max) {
+        assertTrue(total() <= max, () -> "Expected at most " + max + " statements but " + this);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ran " + total() + " statements (" + selects + " select, " + inserts + " insert, "
+                + updates + " update, " + deletes + " delete):\n  " + String.join("\n  ", statements);
+    }
+}
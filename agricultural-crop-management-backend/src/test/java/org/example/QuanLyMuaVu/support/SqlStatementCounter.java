@@ -0,0 +1,81 @@
+package org.example.QuanLyMuaVu.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hibernate statement inspector that records every SQL statement Hibernate
+ * prepares, so tests can assert how many statements a request runs.
+ * <p>
+ * Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector (see
+ * {@link StatementCountTestSupport}). The log is global rather than per
+ * thread, so statements run on worker threads, such as the dashboard overview
+ * sections, are counted too. Statements issued through JdbcTemplate bypass
+ * Hibernate and are not recorded.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Forget the statements recorded so far.
+     */
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Counts of the statements recorded since the last {@link #reset()}.
+     */
+    public static SqlCounts snapshot() {
+        List<String> statements;
+        synchronized (STATEMENTS) {
+            statements = List.copyOf(STATEMENTS);
+        }
+        long selects = 0;
+        long inserts = 0;
+        long updates = 0;
+        long deletes = 0;
+        for (String sql : statements) {
+            switch (kind(sql)) {
+                case "select", "with" -> selects++;
+                case "insert" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> {
+                }
+            }
+        }
+        return new SqlCounts(selects, inserts, updates, deletes, statements);
+    }
+
+    /**
+     * First keyword of a statement, skipping leading whitespace and comments.
+     */
+    static String kind(String sql) {
+        String rest = sql.stripLeading();
+        while (rest.startsWith("/*")) {
+            int end = rest.indexOf("*/");
+            rest = end < 0 ? "" : rest.substring(end + 2).stripLeading();
+        }
+        int end = 0;
+        while (end < rest.length() && Character.isLetter(rest.charAt(end))) {
+            end++;
+        }
+        return rest.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
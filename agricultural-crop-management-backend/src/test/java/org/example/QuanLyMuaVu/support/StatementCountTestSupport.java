@@ -0,0 +1,98 @@
+package org.example.QuanLyMuaVu.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.QuanLyMuaVu.DTO.Request.AuthenticationRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base class for statement-count tests of the REST endpoints.
+ * <p>
+ * Starts the application on an in-memory H2 database with
+ * {@link SqlStatementCounter} installed, seeds a {@link FarmDataset} once per
+ * test class and signs its owner in. Tests call an endpoint through
+ * {@link #count} and assert upper bounds on the statements it ran, so a change
+ * that reintroduces per-row queries on a hot path fails the build.
+ * <p>
+ * There is no test transaction: each request runs in its own, and every lazy
+ * load it triggers is a real statement. Subclasses share one Spring context;
+ * override {@link #dataset()} to change the size of the seeded data.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.QuanLyMuaVu.support.SqlStatementCounter",
+        // Keep scheduled jobs from adding statements while a request is counted
+        "jwt.revocation.sync-interval-ms=3600000",
+        "outbox.relay.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class StatementCountTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    protected FarmDataset.Seeded data;
+
+    private String token;
+
+    /**
+     * Dataset seeded for this test class.
+     */
+    protected FarmDataset dataset() {
+        return FarmDataset.builder().build();
+    }
+
+    @BeforeAll
+    void seedDataset() throws Exception {
+        data = new FarmDatasetSeeder(context).seed(dataset());
+
+        AuthenticationRequest login = AuthenticationRequest.builder()
+                .identifier(data.getOwner().getEmail())
+                .password(data.getPassword())
+                .build();
+        String body = mockMvc.perform(post("/api/v1/auth/sign-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).path("result").path("token").asText();
+    }
+
+    /**
+     * Perform a request as the dataset owner, expect 200 OK and return the
+     * statements it ran.
+     */
+    protected SqlCounts count(MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return SqlStatementCounter.snapshot();
+    }
+
+    /**
+     * Shorthand for counting a GET request.
+     */
+    protected SqlCounts countGet(String url, Object... uriVariables) throws Exception {
+        return count(get(url, uriVariables));
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.QuanLyMuaVu.benchmark;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.QuanLyMuaVu.Config.CustomJwtDecoder;
+import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
+import org.example.QuanLyMuaVu.Service.RevokedTokenIndex;
+import org.example.QuanLyMuaVu.Service.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding one bearer token, before and after the verified-token cache.
+ * <p>
+ * - legacyIntrospectThenDecode: the former CustomJwtDecoder path, i.e. the
+ *   former JwtTokenService.verifyToken (parse + MACVerifier +
+ *   invalidatedTokenRepository.existsById) followed by a second Nimbus parse
+ *   and HMAC check
+ * - singlePassMiss: CustomJwtDecoder on a cache miss (one parse, one HMAC,
+ *   in-memory RevokedTokenIndex)
+ * - singlePassHit: CustomJwtDecoder on a cache hit
+ * <p>
+ * The legacy revocation lookup is a repository stub that spins for
+ * {@link LegacyLookup#lookupMicros} per call in place of the invalidated_token
+ * query; 0 leaves only the CPU cost. Measure the round trip of the target
+ * database and pass it with {@code -p lookupMicros=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecodeBenchmark {
+
+    private static final String SIGNER_KEY = "ltFNTJWYfNUEV5wm3K3npyQwCMW7tDRvnHLmkefPeoKR6BEpsoCPRNR/jIDKD+h/";
+
+    private String token;
+    private String jwtId;
+    private NimbusJwtDecoder legacyNimbusDecoder;
+    private VerifiedTokenCache verifiedTokenCache;
+    private CustomJwtDecoder customJwtDecoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtId = UUID.randomUUID().toString();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("42")
+                .issuer("QuanLyMuaVu")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+                .jwtID(jwtId)
+                .claim("user_id", 42L)
+                .claim("username", "farmer42")
+                .claim("email", "farmer42@example.org")
+                .claim("role", "FARMER")
+                .claim("scope", "ROLE_FARMER")
+                .build();
+        SignedJWT signed = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        signed.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        token = signed.serialize();
+
+        verifiedTokenCache = new VerifiedTokenCache(10_000, new SimpleMeterRegistry());
+        RevokedTokenIndex revokedTokenIndex = new RevokedTokenIndex(
+                unusedRepository(), verifiedTokenCache, 3600, 36000, 100_000, 10_000);
+
+        legacyNimbusDecoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(SIGNER_KEY.getBytes(), "HS512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+
+        customJwtDecoder = new CustomJwtDecoder(SIGNER_KEY, revokedTokenIndex, verifiedTokenCache);
+    }
+
+    @Benchmark
+    public Jwt legacyIntrospectThenDecode(LegacyLookup lookup) throws Exception {
+        SignedJWT signed = SignedJWT.parse(token);
+        JWTClaimsSet claims = signed.getJWTClaimsSet();
+        if (!signed.verify(new MACVerifier(SIGNER_KEY.getBytes()))
+                || !claims.getExpirationTime().after(new Date())
+                || lookup.invalidatedTokenRepository.existsById(claims.getJWTID())) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return legacyNimbusDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt singlePassMiss() {
+        verifiedTokenCache.invalidate(jwtId);
+        return customJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt singlePassHit() {
+        return customJwtDecoder.decode(token);
+    }
+
+    /**
+     * The invalidated_token lookup of the legacy path.
+     */
+    @State(Scope.Benchmark)
+    public static class LegacyLookup {
+
+        /** Simulated round trip of one existsById query. */
+        @Param({ "0", "200", "1000" })
+        public long lookupMicros;
+
+        InvalidatedTokenRepository invalidatedTokenRepository;
+
+        @Setup
+        public void setUp() {
+            long lookupNanos = TimeUnit.MICROSECONDS.toNanos(lookupMicros);
+            invalidatedTokenRepository = (InvalidatedTokenRepository) Proxy.newProxyInstance(
+                    InvalidatedTokenRepository.class.getClassLoader(),
+                    new Class<?>[] { InvalidatedTokenRepository.class },
+                    (proxy, method, args) -> {
+                        if (!method.getName().equals("existsById")) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        // Spin rather than sleep: parking is too coarse for sub-millisecond waits
+                        long until = System.nanoTime() + lookupNanos;
+                        while (System.nanoTime() < until) {
+                            Thread.onSpinWait();
+                        }
+                        return false;
+                    });
+        }
+    }
+
+    /**
+     * Repository stub for an index that is never loaded (no @PostConstruct
+     * outside Spring): every call fails loudly.
+     */
+    private static InvalidatedTokenRepository unusedRepository() {
+        return (InvalidatedTokenRepository) Proxy.newProxyInstance(
+                InvalidatedTokenRepository.class.getClassLoader(),
+                new Class<?>[] { InvalidatedTokenRepository.class },
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
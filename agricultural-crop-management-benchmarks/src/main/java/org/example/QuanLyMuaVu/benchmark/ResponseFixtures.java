@@ -0,0 +1,187 @@
+package org.example.QuanLyMuaVu.benchmark;
+
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Entity.Expense;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Entity.Harvest;
+import org.example.QuanLyMuaVu.Entity.Plot;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.StockLocation;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Entity.SupplyItem;
+import org.example.QuanLyMuaVu.Entity.SupplyLot;
+import org.example.QuanLyMuaVu.Entity.Task;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Variety;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Enums.TaskStatus;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Detached entity pages shaped like the rows the list endpoints load: every
+ * association a response reads is populated, strings have realistic lengths
+ * and the same seed always gives the same page.
+ * <p>
+ * The entities are plain objects, so Hibernate proxy and interceptor costs are
+ * not part of the numbers.
+ */
+final class ResponseFixtures {
+
+    private static final LocalDate ANCHOR = LocalDate.of(2025, 6, 1);
+
+    private final SplittableRandom random;
+    private final User owner;
+    private final List<Season> seasons = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<SupplyLot> lots = new ArrayList<>();
+    private final List<StockLocation> locations = new ArrayList<>();
+
+    ResponseFixtures(long seed) {
+        random = new SplittableRandom(seed);
+        owner = user(1L);
+
+        Farm farm = Farm.builder().id(1).owner(owner).farmName("Nông trại Hòa Bình").active(true).build();
+        Crop crop = Crop.builder().id(1).cropName("Lúa").description("Lúa nước").build();
+        Variety variety = Variety.builder().id(1).crop(crop).name("OM 5451").build();
+        for (int p = 1; p <= 8; p++) {
+            Plot plot = Plot.builder().id(p).user(owner).farm(farm).plotName("Thửa số " + p)
+                    .area(BigDecimal.valueOf(1_000 + random.nextInt(9_000))).soilType("Phù sa").build();
+            for (int s = 1; s <= 2; s++) {
+                int id = (p - 1) * 2 + s;
+                LocalDate start = ANCHOR.minusDays(120L * (3 - s));
+                Season season = Season.builder().id(id).seasonName("Vụ " + (s == 1 ? "Đông Xuân" : "Hè Thu") + " " + p)
+                        .plot(plot).crop(crop).variety(variety)
+                        .startDate(start).plannedHarvestDate(start.plusDays(100))
+                        .endDate(s == 1 ? start.plusDays(105) : null)
+                        .status(s == 1 ? SeasonStatus.COMPLETED : SeasonStatus.ACTIVE)
+                        .initialPlantCount(20_000).currentPlantCount(18_000 + random.nextInt(2_000))
+                        .expectedYieldKg(BigDecimal.valueOf(6_500, 1)).actualYieldKg(s == 1 ? BigDecimal.valueOf(6_210, 1) : null)
+                        .notes("Bón lót phân chuồng trước khi gieo sạ")
+                        .createdAt(start.atStartOfDay()).build();
+                seasons.add(season);
+                for (int t = 1; t <= 3; t++) {
+                    tasks.add(Task.builder().id(tasks.size() + 1).user(owner).season(season)
+                            .title("Phun thuốc trừ sâu đợt " + t).status(TaskStatus.DONE)
+                            .plannedDate(start.plusDays(20L * t)).dueDate(start.plusDays(20L * t + 3))
+                            .createdAt(start.atStartOfDay()).build());
+                }
+            }
+        }
+
+        Warehouse warehouse = Warehouse.builder().id(1).farm(farm).name("Kho vật tư chính").type("INPUT").build();
+        for (int l = 1; l <= 12; l++) {
+            locations.add(StockLocation.builder().id(l).warehouse(warehouse)
+                    .zone("Z" + (l % 3 + 1)).aisle("A" + l).shelf("S" + (l % 4 + 1)).bin(l % 2 == 0 ? "B1" : null).build());
+            SupplyItem item = SupplyItem.builder().id(l).name("Phân bón NPK 16-16-8 loại " + l).unit("kg")
+                    .activeIngredient("N-P-K").restrictedFlag(false).build();
+            lots.add(SupplyLot.builder().id(l).supplyItem(item).batchCode("LOT-2025-" + (1000 + l))
+                    .expiryDate(ANCHOR.plusMonths(l)).status("IN_STOCK").build());
+        }
+    }
+
+    List<StockMovement> movements(int count) {
+        List<StockMovement> page = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            boolean out = i % 3 == 0;
+            Season season = out ? pick(seasons) : null;
+            page.add(StockMovement.builder().id(i).supplyLot(pick(lots)).warehouse(locations.get(0).getWarehouse())
+                    .location(pick(locations)).movementType(out ? StockMovementType.OUT : StockMovementType.IN)
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(500), 1))
+                    .movementDate(ANCHOR.atStartOfDay().minusHours(random.nextInt(24 * 180)))
+                    .season(season).task(out ? taskOf(season) : null)
+                    .note(i % 4 == 0 ? "Xuất kho cho đợt phun thuốc" : null).build());
+        }
+        return page;
+    }
+
+    List<Season> seasons(int count) {
+        List<Season> page = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            page.add(seasons.get(i % seasons.size()));
+        }
+        return page;
+    }
+
+    List<Harvest> harvests(int count) {
+        List<Harvest> page = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            page.add(Harvest.builder().id(i).season(pick(seasons))
+                    .harvestDate(ANCHOR.minusDays(random.nextInt(365)))
+                    .quantity(BigDecimal.valueOf(500 + random.nextInt(5_000), 1))
+                    .unit(BigDecimal.valueOf(7_000 + random.nextInt(3_000)))
+                    .note(i % 2 == 0 ? "Thu hoạch bằng máy gặt đập liên hợp" : null)
+                    .createdAt(LocalDateTime.of(ANCHOR, LocalTime.NOON).minusDays(i)).build());
+        }
+        return page;
+    }
+
+    List<Expense> expenses(int count) {
+        List<Expense> page = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Season season = pick(seasons);
+            BigDecimal amount = BigDecimal.valueOf(50_000 + random.nextInt(2_000_000));
+            page.add(Expense.builder().id(i).user(owner).season(season).task(i % 2 == 0 ? taskOf(season) : null)
+                    .category("FERTILIZER").itemName("Phân bón NPK").unitPrice(amount).quantity(1)
+                    .totalCost(amount).amount(amount).note("Mua tại đại lý xã")
+                    .expenseDate(ANCHOR.minusDays(random.nextInt(365)))
+                    .createdAt(ANCHOR.atStartOfDay().minusDays(i)).build());
+        }
+        return page;
+    }
+
+    List<User> farmers(int count) {
+        List<User> page = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            page.add(user(i + 1L));
+        }
+        return page;
+    }
+
+    /**
+     * Instance of a service built with every collaborator left null, for
+     * calling its private mapping methods, which touch none of them.
+     */
+    static <T> T unwired(Class<T> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            ReflectionUtils.makeAccessible(constructor);
+            return type.cast(constructor.newInstance(new Object[constructor.getParameterCount()]));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+        }
+    }
+
+    static Method privateMethod(Class<?> type, String name, Class<?> parameterType) {
+        Method method = ReflectionUtils.findMethod(type, name, parameterType);
+        if (method == null) {
+            throw new IllegalStateException(type.getSimpleName() + "." + name + " not found");
+        }
+        ReflectionUtils.makeAccessible(method);
+        return method;
+    }
+
+    private Task taskOf(Season season) {
+        return tasks.get((season.getId() - 1) * 3 + random.nextInt(3));
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).username("farmer" + id).email("farmer" + id + "@example.org")
+                .phone("09" + String.format("%08d", id)).fullName("Nguyễn Văn Nông " + id).build();
+    }
+}
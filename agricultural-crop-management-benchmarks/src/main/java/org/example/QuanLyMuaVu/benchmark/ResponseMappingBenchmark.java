@@ -0,0 +1,124 @@
+package org.example.QuanLyMuaVu.benchmark;
+
+import org.example.QuanLyMuaVu.DTO.Response.ExpenseResponse;
+import org.example.QuanLyMuaVu.DTO.Response.FarmerResponse;
+import org.example.QuanLyMuaVu.DTO.Response.HarvestResponse;
+import org.example.QuanLyMuaVu.DTO.Response.SeasonDetailResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockMovementResponse;
+import org.example.QuanLyMuaVu.Entity.Expense;
+import org.example.QuanLyMuaVu.Entity.Harvest;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Mapper.FarmerMapper;
+import org.example.QuanLyMuaVu.Mapper.HarvestMapper;
+import org.example.QuanLyMuaVu.Mapper.SeasonMapper;
+import org.example.QuanLyMuaVu.Service.InventoryService;
+import org.example.QuanLyMuaVu.Service.SeasonExpenseService;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping of one list page, per response type.
+ * <p>
+ * - stockMovementPage: InventoryService.toResponse (movement history)
+ * - expensePage: SeasonExpenseService.toResponse (expense search)
+ * - seasonDetailPage: SeasonMapper.toDetailResponse
+ * - harvestPage: HarvestMapper.toResponse
+ * - farmerPage: the generated FarmerMapper implementation
+ * <p>
+ * The private service mappers are called through reflection, which adds a
+ * small constant per row. Run with {@code -prof gc} to see the bytes
+ * allocated per page next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({ "20", "100", "500" })
+    private int pageSize;
+
+    private List<StockMovement> movements;
+    private List<Expense> expenses;
+    private List<Season> seasons;
+    private List<Harvest> harvests;
+    private List<User> farmers;
+
+    private InventoryService inventoryService;
+    private Method movementToResponse;
+    private SeasonExpenseService seasonExpenseService;
+    private Method expenseToResponse;
+    private SeasonMapper seasonMapper;
+    private HarvestMapper harvestMapper;
+    private FarmerMapper farmerMapper;
+
+    @Setup
+    public void setUp() {
+        ResponseFixtures fixtures = new ResponseFixtures(42);
+        movements = fixtures.movements(pageSize);
+        expenses = fixtures.expenses(pageSize);
+        seasons = fixtures.seasons(pageSize);
+        harvests = fixtures.harvests(pageSize);
+        farmers = fixtures.farmers(pageSize);
+
+        inventoryService = ResponseFixtures.unwired(InventoryService.class);
+        movementToResponse = ResponseFixtures.privateMethod(InventoryService.class, "toResponse", StockMovement.class);
+        seasonExpenseService = ResponseFixtures.unwired(SeasonExpenseService.class);
+        expenseToResponse = ResponseFixtures.privateMethod(SeasonExpenseService.class, "toResponse", Expense.class);
+        seasonMapper = new SeasonMapper();
+        harvestMapper = new HarvestMapper();
+        farmerMapper = Mappers.getMapper(FarmerMapper.class);
+    }
+
+    @Benchmark
+    public List<StockMovementResponse> stockMovementPage() throws Exception {
+        List<StockMovementResponse> page = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements) {
+            page.add((StockMovementResponse) movementToResponse.invoke(inventoryService, movement));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<ExpenseResponse> expensePage() throws Exception {
+        List<ExpenseResponse> page = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            page.add((ExpenseResponse) expenseToResponse.invoke(seasonExpenseService, expense));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<SeasonDetailResponse> seasonDetailPage() {
+        return seasons.stream().map(seasonMapper::toDetailResponse).toList();
+    }
+
+    @Benchmark
+    public List<HarvestResponse> harvestPage() {
+        return harvests.stream().map(harvestMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<FarmerResponse> farmerPage() {
+        return farmers.stream().map(farmerMapper::toFarmerResponse).toList();
+    }
+}
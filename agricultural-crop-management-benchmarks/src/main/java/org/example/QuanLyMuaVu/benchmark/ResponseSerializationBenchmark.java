@@ -0,0 +1,119 @@
+package org.example.QuanLyMuaVu.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.QuanLyMuaVu.Config.JacksonConfig;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.Entity.Expense;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Mapper.HarvestMapper;
+import org.example.QuanLyMuaVu.Mapper.SeasonMapper;
+import org.example.QuanLyMuaVu.Service.InventoryService;
+import org.example.QuanLyMuaVu.Service.SeasonExpenseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JSON serialization of one list page as the controllers return it,
+ * ApiResponse wrapping a PageResponse of mapped rows, with the ObjectMapper
+ * configured by JacksonConfig.
+ * <p>
+ * - stockMovementPage: inventory movement history
+ * - expensePage: expense search
+ * - seasonDetailPage: season list
+ * - harvestPage: harvest list
+ * <p>
+ * Each benchmark writes the page to a byte array, as the message converter
+ * does for the response body. Run with {@code -prof gc} to see the bytes
+ * allocated per page next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({ "20", "100", "500" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<?> stockMovementPage;
+    private ApiResponse<?> expensePage;
+    private ApiResponse<?> seasonDetailPage;
+    private ApiResponse<?> harvestPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json());
+
+        ResponseFixtures fixtures = new ResponseFixtures(42);
+        InventoryService inventoryService = ResponseFixtures.unwired(InventoryService.class);
+        Method movementToResponse = ResponseFixtures.privateMethod(
+                InventoryService.class, "toResponse", StockMovement.class);
+        SeasonExpenseService seasonExpenseService = ResponseFixtures.unwired(SeasonExpenseService.class);
+        Method expenseToResponse = ResponseFixtures.privateMethod(
+                SeasonExpenseService.class, "toResponse", Expense.class);
+
+        stockMovementPage = page(fixtures.movements(pageSize), movement -> invoke(movementToResponse, inventoryService, movement));
+        expensePage = page(fixtures.expenses(pageSize), expense -> invoke(expenseToResponse, seasonExpenseService, expense));
+        seasonDetailPage = page(fixtures.seasons(pageSize), new SeasonMapper()::toDetailResponse);
+        harvestPage = page(fixtures.harvests(pageSize), new HarvestMapper()::toResponse);
+    }
+
+    @Benchmark
+    public byte[] stockMovementPage() throws Exception {
+        return objectMapper.writeValueAsBytes(stockMovementPage);
+    }
+
+    @Benchmark
+    public byte[] expensePage() throws Exception {
+        return objectMapper.writeValueAsBytes(expensePage);
+    }
+
+    @Benchmark
+    public byte[] seasonDetailPage() throws Exception {
+        return objectMapper.writeValueAsBytes(seasonDetailPage);
+    }
+
+    @Benchmark
+    public byte[] harvestPage() throws Exception {
+        return objectMapper.writeValueAsBytes(harvestPage);
+    }
+
+    /**
+     * First page of a listing with ten pages in total, mapped up front so the
+     * benchmark only measures serialization.
+     */
+    private <E, R> ApiResponse<PageResponse<R>> page(List<E> rows, Function<E, R> mapper) {
+        PageImpl<E> pageData = new PageImpl<>(rows, PageRequest.of(0, pageSize), pageSize * 10L);
+        return ApiResponse.success(PageResponse.of(pageData, rows.stream().map(mapper).toList()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R invoke(Method method, Object target, Object row) {
+        try {
+            return (R) method.invoke(target, row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}